@@ -264,6 +264,7 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 		addToEnableGroup("jb", "jb.tr", getjbjb_truse_older_type_assigner_widget(), "use-older-type-assigner");
 		addToEnableGroup("jb", "jb.tr", getjbjb_trcompare_type_assigners_widget(), "compare-type-assigners");
 		addToEnableGroup("jb", "jb.tr", getjbjb_trignore_nullpointer_dereferences_widget(), "ignore-nullpointer-dereferences");
+		addToEnableGroup("jb", "jb.tr", getjbjb_trmax_typings_widget(), "max-typings");
 		getjbjb_trenabled_widget().getButton().addSelectionListener(this);
 		getjbjb_truse_older_type_assigner_widget().getButton().addSelectionListener(this);
 		getjbjb_trcompare_type_assigners_widget().getButton().addSelectionListener(this);
@@ -659,7 +660,9 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 
 		makeNewEnableGroup("jop");
 		addToEnableGroup("jop", getjopenabled_widget(), "enabled");
+		addToEnableGroup("jop", getjopdef_use_index_widget(), "def-use-index");
 		getjopenabled_widget().getButton().addSelectionListener(this);
+		getjopdef_use_index_widget().getButton().addSelectionListener(this);
 
 		makeNewEnableGroup("jop", "jop.cse");
 		addToEnableGroup("jop", "jop.cse", getjopjop_cseenabled_widget(), "enabled");
@@ -1108,6 +1111,12 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 		if (boolRes != defBoolRes) {
 			getConfig().put(getInput_Optionssearch_dex_in_archives_widget().getAlias(), new Boolean(boolRes));
 		}
+		boolRes = getInput_Optionslean_dex_bodies_widget().getButton().getSelection();
+		defBoolRes = false;
+
+		if (boolRes != defBoolRes) {
+			getConfig().put(getInput_Optionslean_dex_bodies_widget().getAlias(), new Boolean(boolRes));
+		}
 		boolRes = getInput_Optionsderive_java_version_widget().getButton().getSelection();
 		defBoolRes = true;
 
@@ -1186,6 +1195,12 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 		if ((!(stringRes.equals(defStringRes))) && (stringRes != null) && (stringRes.length() != 0)) {
 			getConfig().put(getInput_Optionssoot_modulepath_widget().getAlias(), stringRes);
 		}
+		stringRes = getInput_Optionsclass_index_dir_widget().getText().getText();
+		defStringRes = "";
+
+		if ((!(stringRes.equals(defStringRes))) && (stringRes != null) && (stringRes.length() != 0)) {
+			getConfig().put(getInput_Optionsclass_index_dir_widget().getAlias(), stringRes);
+		}
 		stringRes = getInput_Optionsprocess_dir_widget().getText().getText();
 		defStringRes = "";
 
@@ -1353,6 +1368,12 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 		if ((!(stringRes.equals(defStringRes))) && (stringRes != null) && (stringRes.length() != 0)) {
 			getConfig().put(getProcessing_Optionsplugin_widget().getAlias(), stringRes);
 		}
+		stringRes = getProcessing_Optionsnum_threads_widget().getText().getText();
+		defStringRes = "";
+
+		if ((!(stringRes.equals(defStringRes))) && (stringRes != null) && (stringRes.length() != 0)) {
+			getConfig().put(getProcessing_Optionsnum_threads_widget().getAlias(), stringRes);
+		}
 		stringRes = getProcessing_Optionswrong_staticness_widget().getSelectedAlias();
 		defStringRes = "fixstrict";
 
@@ -1467,6 +1488,12 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 		if (boolRes != defBoolRes) {
 			getConfig().put(getjbjb_trignore_nullpointer_dereferences_widget().getAlias(), new Boolean(boolRes));
 		}
+		stringRes = getjbjb_trmax_typings_widget().getText().getText();
+		defStringRes = "0";
+
+		if ((!(stringRes.equals(defStringRes))) && (stringRes != null) && (stringRes.length() != 0)) {
+			getConfig().put(getjbjb_trmax_typings_widget().getAlias(), stringRes);
+		}
 		boolRes = getjbjb_ulpenabled_widget().getButton().getSelection();
 		defBoolRes = true;
 
@@ -2625,6 +2652,12 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 		if (boolRes != defBoolRes) {
 			getConfig().put(getjopenabled_widget().getAlias(), new Boolean(boolRes));
 		}
+		boolRes = getjopdef_use_index_widget().getButton().getSelection();
+		defBoolRes = false;
+
+		if (boolRes != defBoolRes) {
+			getConfig().put(getjopdef_use_index_widget().getAlias(), new Boolean(boolRes));
+		}
 		boolRes = getjopjop_cseenabled_widget().getButton().getSelection();
 		defBoolRes = false;
 
@@ -3255,6 +3288,12 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 		if (boolRes != defBoolRes) {
 			getConfig().put(getMiscellaneous_Optionsno_writeout_body_releasing_widget().getAlias(), new Boolean(boolRes));
 		}
+		stringRes = getMiscellaneous_Optionsmetrics_file_widget().getText().getText();
+		defStringRes = "";
+
+		if ((!(stringRes.equals(defStringRes))) && (stringRes != null) && (stringRes.length() != 0)) {
+			getConfig().put(getMiscellaneous_Optionsmetrics_file_widget().getAlias(), stringRes);
+		}
 
 		setSootMainClass(getSootMainClassWidget().getText().getText());			
 		return setSootMainProject(getSootMainProjectWidget().getText().getText());
@@ -4649,6 +4688,16 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 		return Input_Optionssearch_dex_in_archives_widget;
 	}	
 	
+	private BooleanOptionWidget Input_Optionslean_dex_bodies_widget;
+	
+	private void setInput_Optionslean_dex_bodies_widget(BooleanOptionWidget widget) {
+		Input_Optionslean_dex_bodies_widget = widget;
+	}
+	
+	public BooleanOptionWidget getInput_Optionslean_dex_bodies_widget() {
+		return Input_Optionslean_dex_bodies_widget;
+	}	
+	
 	private BooleanOptionWidget Input_Optionsderive_java_version_widget;
 	
 	private void setInput_Optionsderive_java_version_widget(BooleanOptionWidget widget) {
@@ -4796,6 +4845,18 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 	
 	
 	
+	private StringOptionWidget Input_Optionsclass_index_dir_widget;
+	
+	private void setInput_Optionsclass_index_dir_widget(StringOptionWidget widget) {
+		Input_Optionsclass_index_dir_widget = widget;
+	}
+	
+	public StringOptionWidget getInput_Optionsclass_index_dir_widget() {
+		return Input_Optionsclass_index_dir_widget;
+	}
+	
+	
+	
 	private StringOptionWidget Input_Optionsandroid_jars_widget;
 	
 	private void setInput_Optionsandroid_jars_widget(StringOptionWidget widget) {
@@ -5088,6 +5149,18 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 	
 	
 	
+	private StringOptionWidget Processing_Optionsnum_threads_widget;
+	
+	private void setProcessing_Optionsnum_threads_widget(StringOptionWidget widget) {
+		Processing_Optionsnum_threads_widget = widget;
+	}
+	
+	public StringOptionWidget getProcessing_Optionsnum_threads_widget() {
+		return Processing_Optionsnum_threads_widget;
+	}
+	
+	
+	
 	private MultiOptionWidget Processing_Optionswrong_staticness_widget;
 	
 	private void setProcessing_Optionswrong_staticness_widget(MultiOptionWidget widget) {
@@ -5285,6 +5358,18 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 		return jbjb_trignore_nullpointer_dereferences_widget;
 	}	
 	
+	
+	private StringOptionWidget jbjb_trmax_typings_widget;
+	
+	private void setjbjb_trmax_typings_widget(StringOptionWidget widget) {
+		jbjb_trmax_typings_widget = widget;
+	}
+	
+	public StringOptionWidget getjbjb_trmax_typings_widget() {
+		return jbjb_trmax_typings_widget;
+	}
+	
+	
 	private BooleanOptionWidget jbjb_ulpenabled_widget;
 	
 	private void setjbjb_ulpenabled_widget(BooleanOptionWidget widget) {
@@ -7285,6 +7370,16 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 		return jopenabled_widget;
 	}	
 	
+	private BooleanOptionWidget jopdef_use_index_widget;
+	
+	private void setjopdef_use_index_widget(BooleanOptionWidget widget) {
+		jopdef_use_index_widget = widget;
+	}
+	
+	public BooleanOptionWidget getjopdef_use_index_widget() {
+		return jopdef_use_index_widget;
+	}	
+	
 	private BooleanOptionWidget jopjop_cseenabled_widget;
 	
 	private void setjopjop_cseenabled_widget(BooleanOptionWidget widget) {
@@ -8351,6 +8446,18 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 		return Miscellaneous_Optionsno_writeout_body_releasing_widget;
 	}	
 	
+	
+	private StringOptionWidget Miscellaneous_Optionsmetrics_file_widget;
+	
+	private void setMiscellaneous_Optionsmetrics_file_widget(StringOptionWidget widget) {
+		Miscellaneous_Optionsmetrics_file_widget = widget;
+	}
+	
+	public StringOptionWidget getMiscellaneous_Optionsmetrics_file_widget() {
+		return Miscellaneous_Optionsmetrics_file_widget;
+	}
+	
+	
 
 	private Composite General_OptionsCreate(Composite parent) {
 		String defKey;
@@ -8649,6 +8756,17 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 
 		setInput_Optionssearch_dex_in_archives_widget(new BooleanOptionWidget(editGroupInput_Options, SWT.NONE, new OptionData("Search DEX files in Jar and Zip files", "", "","search-dex-in-archives", "\nBy default, Soot searches for DEX files in APKs and folders. \nThis option instructs Soot to also search for DEX files in Zip \nand Jar files on the classpath.", defaultBool)));
 
+		defKey = ""+" "+""+" "+"lean-dex-bodies";
+		defKey = defKey.trim();
+
+		if (isInDefList(defKey)) {
+			defaultBool = getBoolDef(defKey);	
+		} else {
+			defaultBool = false;
+		}
+
+		setInput_Optionslean_dex_bodies_widget(new BooleanOptionWidget(editGroupInput_Options, SWT.NONE, new OptionData("Lean DEX bodies", "", "","lean-dex-bodies", "\nWhen creating a Jimple body from a DEX method, look up \ninstructions by address in a sorted array instead of a hash map, \nrelease the DEX instructions and debug information as soon as \nthe Jimple statements have been generated, and skip rounds of \ndead assignment and unused local elimination if the body has not \nchanged since the previous round. The resulting bodies are the \nsame.", defaultBool)));
+
 		defKey = ""+" "+""+" "+"derive-java-version";
 		defKey = defKey.trim();
 
@@ -8846,6 +8964,18 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 		setInput_Optionssoot_modulepath_widget(new StringOptionWidget(editGroupInput_Options, SWT.NONE, new OptionData("Soot Modulepath",  "", "","soot-modulepath", "\nUse MODULEPATH as the list of directories in which Soot should \nsearch for classes. MODULEPATH should be a series of \ndirectories, separated by the path separator character for your \nsystem. If no modulepath is set on the command line, but the \nsystem property soot.module.path has been set, Soot uses its \nvalue as the modulepath. If neither the command line nor the \nsystem properties specify a Soot classpath, Soot falls back on a \ndefault modulepath jrt:.", defaultString)));
 		
 
+		defKey = ""+" "+""+" "+"class-index-dir";
+		defKey = defKey.trim();
+
+		if (isInDefList(defKey)) {
+			defaultString = getStringDef(defKey);	
+		} else {
+			defaultString = "";
+		}
+
+		setInput_Optionsclass_index_dir_widget(new StringOptionWidget(editGroupInput_Options, SWT.NONE, new OptionData("Class index directory",  "", "","class-index-dir", "\nStore the list of entries of every JAR and ZIP file on the Soot \nclasspath in DIR, and reuse it in later runs instead of scanning \nthe archive again. An index is only reused if the path, size, \nmodification time and a checksum of the archive's central \ndirectory still match, otherwise the archive is scanned and the \nindex is rewritten. The directory can be shared between \nconcurrent Soot processes.", defaultString)));
+		
+
 		defKey = ""+" "+""+" "+"android-jars";
 		defKey = defKey.trim();
 
@@ -9454,6 +9584,18 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 		setProcessing_Optionsplugin_widget(new ListOptionWidget(editGroupProcessing_Options, SWT.NONE, new OptionData("Plugin Configuration",  "", "","plugin", "\nLoads the plugin configuration FILE and registers all plugins. \nMake sure that the option is specified before you try to pass \noptions to the loaded plugins.", defaultString)));
 		
 
+		defKey = ""+" "+""+" "+"num-threads";
+		defKey = defKey.trim();
+
+		if (isInDefList(defKey)) {
+			defaultString = getStringDef(defKey);	
+		} else {
+			defaultString = "";
+		}
+
+		setProcessing_Optionsnum_threads_widget(new StringOptionWidget(editGroupProcessing_Options, SWT.NONE, new OptionData("Number of worker threads",  "", "","num-threads", "\nUse NUM worker threads when constructing method bodies and when \nrunning the per-body packs (jtp, jop, jap, gop, bop and tag). \nClasses are scheduled in a fixed order and each class is \ntransformed by exactly one thread, so the output does not depend \non the number of threads. If this option is not given, Soot \nprocesses all bodies on a single thread. A value of 0 uses one \nthread per available processor. When writing class files, the \nsame number of threads generates the bytecode. If the output is \na jar file, the classes are generated in memory and appended to \nthe jar in the usual order by a single writer. When building the \ncall graph with CHA (cg.cha), the same number of threads \nprocesses the reachable methods. The edges are added to the call \ngraph in a fixed order. Soot falls back to a single thread when \nproducing Dava output, when running in interactive mode, when \nusing the Coffi front end, or when -time is set, since these \nrely on global state that is not thread-safe.", defaultString)));
+		
+
 
 		return editGroupProcessing_Options;
 	}
@@ -9829,6 +9971,18 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 
 		setjbjb_trignore_nullpointer_dereferences_widget(new BooleanOptionWidget(editGroupjbjb_tr, SWT.NONE, new OptionData("Ignore Nullpointer Dereferences", "p phase-option", "jb.tr","ignore-nullpointer-dereferences", "\nIf this option is enabled, Soot wiil not check whether the base \nobject of a virtual method call can only be null. This will lead \nto the null_type pseudo type being used in your Jimple code.", defaultBool)));
 
+		defKey = "p phase-option"+" "+"jb.tr"+" "+"max-typings";
+		defKey = defKey.trim();
+
+		if (isInDefList(defKey)) {
+			defaultString = getStringDef(defKey);	
+		} else {
+			defaultString = "0";
+		}
+
+		setjbjb_trmax_typings_widget(new StringOptionWidget(editGroupjbjb_tr, SWT.NONE, new OptionData("Maximum typings",  "p phase-option", "jb.tr","max-typings", "\nLimits the number of alternative typings that the type assigner \nexplores at the same time for a method. Once the limit is \nreached, further candidate types for a local are dropped, which \nmay leave more casts in the Jimple code than necessary but \nbounds the time spent on methods with many ambiguously typed \nlocals. The default, 0, means no limit.", defaultString)));
+		
+
 
 		return editGroupjbjb_tr;
 	}
@@ -11682,6 +11836,10 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 						"none",
 						"\nNone means that propagation is not done; the graph is only built \nand simplified. This is useful if an external solver is being \nused to perform the propagation.",
 						false),
+				new OptionData("Parallel",
+						"parallel",
+						"\nParallel is a variant of the worklist algorithm that propagates \npoints-to sets using the number of threads given by the global \nnum-threads option. It computes the same result as Worklist. \nWith the heintze and sharedlist set implementations, it runs on \na single thread.",
+						false),
 		};
 
 
@@ -11726,6 +11884,10 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 						"double",
 						"\nDouble is an implementation that itself uses a pair of sets for \neach points-to set. The first set in the pair stores new \npointed-to objects that have not yet been propagated, while the \nsecond set stores old pointed-to objects that have been \npropagated and need not be reconsidered. This allows the \npropagation algorithms to be incremental, often speeding them up \nsignificantly.",
 						true),
+				new OptionData("Roaring",
+						"roaring",
+						"\nRoaring is an implementation that splits the set into chunks of \n65536 allocation sites. A chunk is stored as a sorted array \nwhile it holds at most 4096 elements, and as a bit-vector \notherwise, so that small sets stay compact and unions of large \nsets work a word at a time.",
+						false),
 		};
 
 
@@ -11766,6 +11928,10 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 						"sharedlist",
 						"\nShared List stores its elements in a linked list, and might \nshare its tail with other similar points-to sets.",
 						false),
+				new OptionData("Roaring",
+						"roaring",
+						"\nRoaring is an implementation that splits the set into chunks of \n65536 allocation sites. A chunk is stored as a sorted array \nwhile it holds at most 4096 elements, and as a bit-vector \notherwise, so that small sets stay compact and unions of large \nsets work a word at a time.",
+						false),
 		};
 
 
@@ -11806,6 +11972,10 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 						"sharedlist",
 						"\nShared List stores its elements in a linked list, and might \nshare its tail with other similar points-to sets.",
 						false),
+				new OptionData("Roaring",
+						"roaring",
+						"\nRoaring is an implementation that splits the set into chunks of \n65536 allocation sites. A chunk is stored as a sorted array \nwhile it holds at most 4096 elements, and as a bit-vector \notherwise, so that small sets stay compact and unions of large \nsets work a word at a time.",
+						false),
 		};
 
 
@@ -14317,6 +14487,17 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 
 		setjopenabled_widget(new BooleanOptionWidget(editGroupjop, SWT.NONE, new OptionData("Enabled", "p phase-option", "jop","enabled", "\n", defaultBool)));
 
+		defKey = "p phase-option"+" "+"jop"+" "+"def-use-index";
+		defKey = defKey.trim();
+
+		if (isInDefList(defKey)) {
+			defaultBool = getBoolDef(defKey);	
+		} else {
+			defaultBool = false;
+		}
+
+		setjopdef_use_index_widget(new BooleanOptionWidget(editGroupjop, SWT.NONE, new OptionData("Def-use index", "p phase-option", "jop","def-use-index", "\nMaintains an index of the definitions and uses of the locals of \neach body while the pack runs. The index is updated as the \ntransformers change the body, so that copy propagation, constant \npropagation and dead assignment elimination do not have to \nrecompute the definitions and uses of the whole body for every \npass.", defaultBool)));
+
 
 		return editGroupjop;
 	}
@@ -17248,6 +17429,18 @@ public class PhaseOptionsDialog extends AbstractOptionsDialog implements Selecti
 
 		setMiscellaneous_Optionsno_writeout_body_releasing_widget(new BooleanOptionWidget(editGroupMiscellaneous_Options, SWT.NONE, new OptionData("No body releasing after writeout", "", "","no-writeout-body-releasing", "\nBy default soot releases the method bodies of all reachable \nclasses after the final writeout. This option deactivates this \nbehaviour. This flag should not affect end users at all.", defaultBool)));
 
+		defKey = ""+" "+""+" "+"metrics-file";
+		defKey = defKey.trim();
+
+		if (isInDefList(defKey)) {
+			defaultString = getStringDef(defKey);	
+		} else {
+			defaultString = "";
+		}
+
+		setMiscellaneous_Optionsmetrics_file_widget(new StringOptionWidget(editGroupMiscellaneous_Options, SWT.NONE, new OptionData("Phase Metrics File",  "", "","metrics-file", "\nRecord the wall-clock time, CPU time and allocated bytes of \nevery phase and of the class resolver, together with the number \nof bodies and classes processed, and write them to FILE at the \nend of the run. Files ending in .prom or .txt are written in the \nPrometheus text format, all other files as JSON.", defaultString)));
+		
+
 
 		return editGroupMiscellaneous_Options;
 	}
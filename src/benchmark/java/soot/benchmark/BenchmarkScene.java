@@ -0,0 +1,144 @@
+package soot.benchmark;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import soot.Body;
+import soot.G;
+import soot.PhaseOptions;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.jimple.JimpleBody;
+import soot.options.Options;
+
+/**
+ * Sets up the Scene for the benchmarks. Unless the system property <code>soot.benchmark.classes</code> names other classes,
+ * the benchmarks work on the bodies of some of Soot's own classes, which are large and realistic inputs that are always
+ * available.
+ */
+final class BenchmarkScene {
+  /** The directory holding Soot's compiled classes. */
+  static final String SOOT_CLASSES_DIR = System.getProperty("soot.benchmark.sootClasses", "target/classes");
+
+  /** The directory holding the compiled sample programs of the system tests. */
+  static final String TARGET_CLASSES_DIR
+      = System.getProperty("soot.benchmark.targets", "target/systemTest-target-classes");
+
+  private static final String DEFAULT_CLASSES = "soot.asm.AsmMethodSource,soot.FastHierarchy,"
+      + "soot.jimple.toolkits.callgraph.OnFlyCallGraphBuilder,soot.jimple.spark.pag.PAG,"
+      + "soot.toolkits.graph.ExceptionalUnitGraph,soot.jimple.toolkits.typing.fast.TypeResolver";
+
+  private BenchmarkScene() {
+  }
+
+  /**
+   * Resets Soot and loads the benchmark classes with their method sources. The sources are kept after a body has been
+   * retrieved, so bodies can be created again and again.
+   */
+  static List<SootMethod> loadMethods() {
+    G.reset();
+    Options.v().set_soot_classpath(SOOT_CLASSES_DIR);
+    Options.v().set_prepend_classpath(true);
+    Options.v().set_allow_phantom_refs(true);
+    Options.v().set_drop_bodies_after_load(false);
+    Options.v().set_output_format(Options.output_format_none);
+    Scene.v().loadNecessaryClasses();
+
+    List<SootMethod> methods = new ArrayList<SootMethod>();
+    for (String className : System.getProperty("soot.benchmark.classes", DEFAULT_CLASSES).split(",")) {
+      SootClass sc = Scene.v().loadClassAndSupport(className.trim());
+      for (SootMethod m : sc.getMethods()) {
+        if (m.isConcrete()) {
+          methods.add(m);
+        }
+      }
+    }
+    return methods;
+  }
+
+  /**
+   * Creates the bodies of the given methods without applying the <code>jb</code> pack, i.e., as they come out of the front
+   * end.
+   */
+  static List<JimpleBody> rawBodies(List<SootMethod> methods) {
+    PhaseOptions.v().setPhaseOption("jb", "enabled:false");
+    try {
+      List<JimpleBody> bodies = new ArrayList<JimpleBody>(methods.size());
+      for (SootMethod m : methods) {
+        bodies.add((JimpleBody) m.getSource().getBody(m, "jb"));
+      }
+      return bodies;
+    } finally {
+      PhaseOptions.v().setPhaseOption("jb", "enabled:true");
+    }
+  }
+
+  /** Creates the bodies of the given methods, applying the <code>jb</code> pack. */
+  static List<JimpleBody> bodies(List<SootMethod> methods) {
+    List<JimpleBody> bodies = new ArrayList<JimpleBody>(methods.size());
+    for (SootMethod m : methods) {
+      bodies.add((JimpleBody) m.getSource().getBody(m, "jb"));
+    }
+    return bodies;
+  }
+
+  /** Returns fresh copies of the given bodies, for benchmarks that modify them. */
+  static List<JimpleBody> copies(List<JimpleBody> bodies) {
+    List<JimpleBody> copies = new ArrayList<JimpleBody>(bodies.size());
+    for (Body b : bodies) {
+      copies.add((JimpleBody) b.clone());
+    }
+    return copies;
+  }
+
+  /**
+   * Resets Soot and loads the sample programs of the system tests for a whole-program analysis. All concrete methods of
+   * these programs are entry points. The JDK is excluded, so the analysis only depends on the sample programs.
+   */
+  static void loadSamplePrograms() {
+    G.reset();
+    Options.v().set_whole_program(true);
+    Options.v().set_process_dir(Collections.singletonList(TARGET_CLASSES_DIR));
+    Options.v().set_prepend_classpath(true);
+    Options.v().set_allow_phantom_refs(true);
+    Options.v().set_no_bodies_for_excluded(true);
+    Options.v().set_output_format(Options.output_format_none);
+    Scene.v().loadNecessaryClasses();
+
+    List<SootMethod> entryPoints = new ArrayList<SootMethod>();
+    for (SootClass sc : Scene.v().getApplicationClasses()) {
+      for (SootMethod m : sc.getMethods()) {
+        if (m.isConcrete()) {
+          entryPoints.add(m);
+          // Jimplify before the measurement starts
+          m.retrieveActiveBody();
+        }
+      }
+    }
+    Scene.v().setEntryPoints(entryPoints);
+  }
+}
@@ -0,0 +1,71 @@
+package soot.benchmark;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import soot.PackManager;
+import soot.PhaseOptions;
+import soot.Scene;
+
+/**
+ * Measures Spark on the sample programs of the system tests, which are compiled to
+ * {@link BenchmarkScene#TARGET_CLASSES_DIR} by <code>mvn test-compile</code>. The bodies are created before the measurement,
+ * so only the construction of the pointer assignment graph, the propagation and the call graph are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SparkBenchmark {
+  @Param({ "worklist", "parallel" })
+  public String propagator;
+
+  @Setup(Level.Invocation)
+  public void setUp() {
+    BenchmarkScene.loadSamplePrograms();
+    PhaseOptions.v().setPhaseOption("cg.spark", "enabled:true");
+    PhaseOptions.v().setPhaseOption("cg.spark", "propagator:" + propagator);
+  }
+
+  @Benchmark
+  public Object spark() {
+    PackManager.v().getTransform("cg.spark").apply();
+    return Scene.v().getCallGraph();
+  }
+}
@@ -0,0 +1,84 @@
+package soot.benchmark;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import soot.PackManager;
+import soot.jimple.JimpleBody;
+import soot.jimple.toolkits.typing.fast.TypeResolver;
+
+/**
+ * Measures type inference by the fast {@link TypeResolver} on bodies that have been prepared by the <code>jb</code> phases
+ * that run before type assignment.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TypeResolverBenchmark {
+  private static final String[] PHASES_BEFORE_TYPING = { "jb.tt", "jb.dtr", "jb.uce", "jb.ls", "jb.a", "jb.ule" };
+
+  private List<JimpleBody> untypedBodies;
+  private List<JimpleBody> bodies;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    untypedBodies = BenchmarkScene.rawBodies(BenchmarkScene.loadMethods());
+    for (JimpleBody b : untypedBodies) {
+      for (String phase : PHASES_BEFORE_TYPING) {
+        PackManager.v().getTransform(phase).apply(b);
+      }
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void copyBodies() {
+    // Type inference assigns the types of the locals
+    bodies = BenchmarkScene.copies(untypedBodies);
+  }
+
+  @Benchmark
+  public void inferTypes(Blackhole bh) {
+    for (JimpleBody b : bodies) {
+      new TypeResolver(b).inferTypes();
+      bh.consume(b);
+    }
+  }
+}
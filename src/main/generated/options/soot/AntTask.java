@@ -208,6 +208,11 @@ public class AntTask extends MatchingTask {
             if(arg) addArg("-ignore-classpath-errors");
         }
   
+        public void setclass_index_dir(String arg) {
+            addArg("-class-index-dir");
+            addArg(arg);
+        }
+  
         public void setprocess_multiple_dex(boolean arg) {
             if(arg) addArg("-process-multiple-dex");
         }
@@ -216,6 +221,10 @@ public class AntTask extends MatchingTask {
             if(arg) addArg("-search-dex-in-archives");
         }
   
+        public void setlean_dex_bodies(boolean arg) {
+            if(arg) addArg("-lean-dex-bodies");
+        }
+  
         public void setprocess_dir(Path arg) {
             if(process_dir == null )
                 process_dir = new Path(getProject());
@@ -652,6 +661,11 @@ public class AntTask extends MatchingTask {
             if(arg) addArg("-subtract-gc");
         }
   
+        public void setmetrics_file(String arg) {
+            addArg("-metrics-file");
+            addArg(arg);
+        }
+  
         public void setno_writeout_body_releasing(boolean arg) {
             if(arg) addArg("-no-writeout-body-releasing");
         }
@@ -807,6 +821,12 @@ public class AntTask extends MatchingTask {
             addArg("ignore-nullpointer-dereferences:"+(arg?"true":"false"));
           }
       
+          public void setmax_typings(String arg) {
+            addArg("-p");
+            addArg("jb.tr");
+            addArg("max-typings:"+arg);
+          }
+      
         }
     
         public Object createp_jb_ulp() {
@@ -2424,6 +2444,12 @@ public class AntTask extends MatchingTask {
             addArg("enabled:"+(arg?"true":"false"));
           }
       
+          public void setdef_use_index(boolean arg) {
+            addArg("-p");
+            addArg("jop");
+            addArg("def-use-index:"+(arg?"true":"false"));
+          }
+      
         }
     
         public Object createp_jop_cse() {
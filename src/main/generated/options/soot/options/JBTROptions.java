@@ -83,4 +83,19 @@ public class JBTROptions {
         return soot.PhaseOptions.getBoolean(options, "ignore-nullpointer-dereferences");
     }
 
+    /**
+     * Maximum typings --
+     * Limits the number of typings explored at once.
+     *
+     * Limits the number of alternative typings that the type assigner 
+     * explores at the same time for a method. Once the limit is 
+     * reached, further candidate types for a local are dropped, which 
+     * may leave more casts in the Jimple code than necessary but 
+     * bounds the time spent on methods with many ambiguously typed 
+     * locals. The default, 0, means no limit.
+     */
+    public int max_typings() {
+        return soot.PhaseOptions.getInt(options, "max-typings");
+    }
+
 }
@@ -0,0 +1,63 @@
+package soot.options;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 2003 Ondrej Lhotak
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+/* THIS FILE IS AUTO-GENERATED FROM soot_options.xml. DO NOT MODIFY. */
+
+import java.util.*;
+
+/** Option parser for Jimple Optimization Pack. */
+@javax.annotation.Generated(value = "Saxonica v3.0", comments = "from soot_options.xml")
+public class JOPOptions {
+
+    private Map<String, String> options;
+
+    public JOPOptions(Map<String, String> options) {
+        this.options = options;
+    }
+
+    /**
+     * Enabled --
+     * Eliminates common subexpressions.
+     *
+     */
+    public boolean enabled() {
+        return soot.PhaseOptions.getBoolean(options, "enabled");
+    }
+
+    /**
+     * Def-use index --
+     * Maintain local definitions and uses incrementally.
+     *
+     * Maintains an index of the definitions and uses of the locals of 
+     * each body while the pack runs. The index is updated as the 
+     * transformers change the body, so that copy propagation, constant 
+     * propagation and dead assignment elimination do not have to 
+     * recompute the definitions and uses of the whole body for every 
+     * pass.
+     */
+    public boolean def_use_index() {
+        return soot.PhaseOptions.getBoolean(options, "def-use-index");
+    }
+
+}
@@ -275,6 +275,22 @@ public class Options extends OptionsBase {
                     || option.equals("ignore-classpath-errors")
             )
                 ignore_classpath_errors = true;
+            else if (false
+                    || option.equals("class-index-dir")
+            ) {
+                if (!hasMoreOptions()) {
+                    G.v().out.println("No value given for option -" + option);
+                    return false;
+                }
+
+                String value = nextOption();
+                if (class_index_dir.isEmpty())
+                    class_index_dir = value;
+                else {
+                    G.v().out.println("Duplicate values " + class_index_dir + " and " + value + " for option -" + option);
+                    return false;
+                }
+            }
             else if (false
                     || option.equals("process-multiple-dex")
             )
@@ -283,6 +299,10 @@ public class Options extends OptionsBase {
                     || option.equals("search-dex-in-archives")
             )
                 search_dex_in_archives = true;
+            else if (false
+                    || option.equals("lean-dex-bodies")
+            )
+                lean_dex_bodies = true;
             else if (false
                     || option.equals("process-path")
                     || option.equals("process-dir")
@@ -1186,6 +1206,22 @@ public class Options extends OptionsBase {
                     || option.equals("ignore-resolution-errors")
             )
                 ignore_resolution_errors = true;
+            else if (false
+                || option.equals("num-threads")
+            ) {
+                if (!hasMoreOptions()) {
+                    G.v().out.println("No value given for option -" + option);
+                    return false;
+                }
+
+                String value = nextOption();
+                if(num_threads == -1)
+                    num_threads = Integer.valueOf(value);
+                else {
+                    G.v().out.println("Duplicate values " + num_threads + " and " + value + " for option -" + option);
+                    return false;
+                }
+            }
             else if (false
                     || option.equals("i")
                     || option.equals("include")
@@ -1334,6 +1370,22 @@ public class Options extends OptionsBase {
                     || option.equals("subtract-gc")
             )
                 subtract_gc = true;
+            else if (false
+                    || option.equals("metrics-file")
+            ) {
+                if (!hasMoreOptions()) {
+                    G.v().out.println("No value given for option -" + option);
+                    return false;
+                }
+
+                String value = nextOption();
+                if (metrics_file.isEmpty())
+                    metrics_file = value;
+                else {
+                    G.v().out.println("Duplicate values " + metrics_file + " and " + value + " for option -" + option);
+                    return false;
+                }
+            }
             else if (false
                     || option.equals("no-writeout-body-releasing")
             )
@@ -1453,6 +1505,10 @@ public class Options extends OptionsBase {
     private boolean ignore_classpath_errors = false;
     public void set_ignore_classpath_errors(boolean setting) { ignore_classpath_errors = setting; }
 
+    public String class_index_dir() { return class_index_dir; }
+    public void set_class_index_dir(String setting) { class_index_dir = setting; }
+    private String class_index_dir = "";
+
     public boolean process_multiple_dex() { return process_multiple_dex; }
     private boolean process_multiple_dex = false;
     public void set_process_multiple_dex(boolean setting) { process_multiple_dex = setting; }
@@ -1461,6 +1517,10 @@ public class Options extends OptionsBase {
     private boolean search_dex_in_archives = false;
     public void set_search_dex_in_archives(boolean setting) { search_dex_in_archives = setting; }
 
+    public boolean lean_dex_bodies() { return lean_dex_bodies; }
+    private boolean lean_dex_bodies = false;
+    public void set_lean_dex_bodies(boolean setting) { lean_dex_bodies = setting; }
+
     public List<String> process_dir() {
         return process_dir == null ? Collections.emptyList() : process_dir;
     }
@@ -1649,6 +1709,10 @@ public class Options extends OptionsBase {
     private boolean ignore_resolution_errors = false;
     public void set_ignore_resolution_errors(boolean setting) { ignore_resolution_errors = setting; }
 
+    public int num_threads() { return num_threads; }
+    public void set_num_threads(int setting) { num_threads = setting; }
+    private int num_threads = -1;
+
     public List<String> include() {
         return include == null ? Collections.emptyList() : include;
     }
@@ -1703,6 +1767,10 @@ public class Options extends OptionsBase {
     private boolean subtract_gc = false;
     public void set_subtract_gc(boolean setting) { subtract_gc = setting; }
 
+    public String metrics_file() { return metrics_file; }
+    public void set_metrics_file(String setting) { metrics_file = setting; }
+    private String metrics_file = "";
+
     public boolean no_writeout_body_releasing() { return no_writeout_body_releasing; }
     private boolean no_writeout_body_releasing = false;
     public void set_no_writeout_body_releasing(boolean setting) { no_writeout_body_releasing = setting; }
@@ -1733,8 +1801,10 @@ public class Options extends OptionsBase {
                 + padOpt("-soot-modulepath ARG", "Use ARG as the modulepath for finding classes.")
                 + padOpt("-pp, -prepend-classpath", "Prepend the given soot classpath to the default classpath.")
                 + padOpt("-ice, -ignore-classpath-errors", "Ignores invalid entries on the Soot classpath.")
+                + padOpt("-class-index-dir ARG", "Keep a persistent index of class path archives in ARG")
                 + padOpt("-process-multiple-dex", "Process all DEX files found in APK.")
                 + padOpt("-search-dex-in-archives", "Also includes Jar and Zip files when searching for DEX files under the provided classpath.")
+                + padOpt("-lean-dex-bodies", "Use less memory and time when creating bodies from DEX files.")
                 + padOpt("-process-path ARG -process-dir ARG", "Process all classes found in ARG")
                 + padOpt("-derive-java-version", "Java version for output and internal processing will be derived from the given input classes")
                 + padOpt("-oaat", "From the process-dir, processes one class at a time.")
@@ -1852,6 +1922,7 @@ public class Options extends OptionsBase {
                 + "\nMiscellaneous Options:\n"
                 + padOpt("-time", "Report time required for transformations")
                 + padOpt("-subtract-gc", "Subtract gc from time")
+                + padOpt("-metrics-file ARG", "Write per-phase metrics to ARG")
                 + padOpt("-no-writeout-body-releasing", "Disables the release of method bodies after writeout. This flag is used internally.");
     }
 
@@ -2020,7 +2091,8 @@ public class Options extends OptionsBase {
                     + padOpt("enabled (true)", "")
                     + padOpt("use-older-type-assigner (false)", "Enables the older type assigner")
                     + padOpt("compare-type-assigners (false)", "Compares Ben Bellamy's and the older type assigner")
-                    + padOpt("ignore-nullpointer-dereferences (false)", "Ignores virtual method calls on base objects that may only be null");
+                    + padOpt("ignore-nullpointer-dereferences (false)", "Ignores virtual method calls on base objects that may only be null")
+                    + padOpt("max-typings (0)", "Limits the number of typings explored at once");
 
         if (phaseName.equals("jb.ulp"))
             return "Phase " + phaseName + ":\n"
@@ -2248,6 +2320,7 @@ public class Options extends OptionsBase {
                         + padVal("merge", "Unfinished field reference merging algorithms")
                         + padVal("alias", "Alias-edge based algorithm")
                         + padVal("none", "Disable propagation")
+                        + padVal("parallel", "Worklist-based algorithm using several threads")
                     + padOpt("set-impl", "Select points-to set implementation")
                         + padVal("hash", "Use Java HashSet")
                         + padVal("bit", "Bit vector")
@@ -2256,6 +2329,7 @@ public class Options extends OptionsBase {
                         + padVal("heintze", "Heintze's shared bit-vector and overflow list representation")
                         + padVal("sharedlist", "Shared list representation")
                         + padVal("double (default)", "Double set representation for incremental propagation")
+                        + padVal("roaring", "Compressed bitmap representation")
                     + padOpt("double-set-old", "Select implementation of points-to set for old part of double set")
                         + padVal("hash", "Use Java HashSet")
                         + padVal("bit", "Bit vector")
@@ -2263,6 +2337,7 @@ public class Options extends OptionsBase {
                         + padVal("array", "Sorted array representation")
                         + padVal("heintze", "Heintze's shared bit-vector and overflow list representation")
                         + padVal("sharedlist", "Shared list representation")
+                        + padVal("roaring", "Compressed bitmap representation")
                     + padOpt("double-set-new", "Select implementation of points-to set for new part of double set")
                         + padVal("hash", "Use Java HashSet")
                         + padVal("bit", "Bit vector")
@@ -2270,6 +2345,7 @@ public class Options extends OptionsBase {
                         + padVal("array", "Sorted array representation")
                         + padVal("heintze", "Heintze's shared bit-vector and overflow list representation")
                         + padVal("sharedlist", "Shared list representation")
+                        + padVal("roaring", "Compressed bitmap representation")
                     + padOpt("dump-html (false)", "Dump pointer assignment graph to HTML for debugging")
                     + padOpt("dump-pag (false)", "Dump pointer assignment graph for other solvers")
                     + padOpt("dump-solution (false)", "Dump final solution for comparison with other solvers")
@@ -2560,7 +2636,8 @@ public class Options extends OptionsBase {
             return "Phase " + phaseName + ":\n"
                     + "\nWhen Soot's Optimize option is on, Soot applies the Jimple \nOptimization Pack to every JimpleBody in application classes. \nThis section lists the default transformations in the Jimple \nOptimization Pack."
                     + "\n\nRecognized options (with default values):\n"
-                    + padOpt("enabled (false)", "Eliminates common subexpressions");
+                    + padOpt("enabled (false)", "Eliminates common subexpressions")
+                    + padOpt("def-use-index (false)", "Maintain local definitions and uses incrementally");
 
         if (phaseName.equals("jop.cse"))
             return "Phase " + phaseName + ":\n"
@@ -2964,7 +3041,8 @@ public class Options extends OptionsBase {
                     "enabled",
                     "use-older-type-assigner",
                     "compare-type-assigners",
-                    "ignore-nullpointer-dereferences"
+                    "ignore-nullpointer-dereferences",
+                    "max-typings"
             );
 
         if (phaseName.equals("jb.ulp"))
@@ -3361,7 +3439,8 @@ public class Options extends OptionsBase {
 
         if (phaseName.equals("jop"))
             return String.join(" ", 
-                    "enabled"
+                    "enabled",
+                    "def-use-index"
             );
 
         if (phaseName.equals("jop.cse"))
@@ -3703,7 +3782,8 @@ public class Options extends OptionsBase {
                     + "enabled:true "
                     + "use-older-type-assigner:false "
                     + "compare-type-assigners:false "
-                    + "ignore-nullpointer-dereferences:false ";
+                    + "ignore-nullpointer-dereferences:false "
+                    + "max-typings:0 ";
 
         if (phaseName.equals("jb.ulp"))
             return ""
@@ -4048,7 +4128,8 @@ public class Options extends OptionsBase {
 
         if (phaseName.equals("jop"))
             return ""
-                    + "enabled:false ";
+                    + "enabled:false "
+                    + "def-use-index:false ";
 
         if (phaseName.equals("jop.cse"))
             return ""
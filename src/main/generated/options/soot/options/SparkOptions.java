@@ -564,6 +564,7 @@ public class SparkOptions {
     public static final int propagator_merge = 4;
     public static final int propagator_alias = 5;
     public static final int propagator_none = 6;
+    public static final int propagator_parallel = 7;
 
     /**
      * Propagator --
@@ -588,6 +589,8 @@ public class SparkOptions {
             return propagator_alias;
         if (s.equalsIgnoreCase("none"))
             return propagator_none;
+        if (s.equalsIgnoreCase("parallel"))
+            return propagator_parallel;
 
         throw new RuntimeException(String.format("Invalid value %s of phase option propagator", s));
     }
@@ -599,6 +602,7 @@ public class SparkOptions {
     public static final int set_impl_heintze = 5;
     public static final int set_impl_sharedlist = 6;
     public static final int set_impl_double = 7;
+    public static final int set_impl_roaring = 8;
 
     /**
      * Set Implementation --
@@ -625,6 +629,8 @@ public class SparkOptions {
             return set_impl_sharedlist;
         if (s.equalsIgnoreCase("double"))
             return set_impl_double;
+        if (s.equalsIgnoreCase("roaring"))
+            return set_impl_roaring;
 
         throw new RuntimeException(String.format("Invalid value %s of phase option set-impl", s));
     }
@@ -635,6 +641,7 @@ public class SparkOptions {
     public static final int double_set_old_array = 4;
     public static final int double_set_old_heintze = 5;
     public static final int double_set_old_sharedlist = 6;
+    public static final int double_set_old_roaring = 7;
 
     /**
      * Double Set Old --
@@ -662,6 +669,8 @@ public class SparkOptions {
             return double_set_old_heintze;
         if (s.equalsIgnoreCase("sharedlist"))
             return double_set_old_sharedlist;
+        if (s.equalsIgnoreCase("roaring"))
+            return double_set_old_roaring;
 
         throw new RuntimeException(String.format("Invalid value %s of phase option double-set-old", s));
     }
@@ -672,6 +681,7 @@ public class SparkOptions {
     public static final int double_set_new_array = 4;
     public static final int double_set_new_heintze = 5;
     public static final int double_set_new_sharedlist = 6;
+    public static final int double_set_new_roaring = 7;
 
     /**
      * Double Set New --
@@ -699,6 +709,8 @@ public class SparkOptions {
             return double_set_new_heintze;
         if (s.equalsIgnoreCase("sharedlist"))
             return double_set_new_sharedlist;
+        if (s.equalsIgnoreCase("roaring"))
+            return double_set_new_roaring;
 
         throw new RuntimeException(String.format("Invalid value %s of phase option double-set-new", s));
     }
@@ -34,7 +34,7 @@ public class Singletons {
 
     protected Global g = new Global();
 
-    private soot.PhaseOptions instance_soot_PhaseOptions;
+    private volatile soot.PhaseOptions instance_soot_PhaseOptions;
     public soot.PhaseOptions soot_PhaseOptions() {
         if (instance_soot_PhaseOptions == null) {
 	       	synchronized (this) {
@@ -48,7 +48,7 @@ public class Singletons {
     	instance_soot_PhaseOptions = null;
     }
 
-    private soot.jimple.toolkits.callgraph.VirtualCalls instance_soot_jimple_toolkits_callgraph_VirtualCalls;
+    private volatile soot.jimple.toolkits.callgraph.VirtualCalls instance_soot_jimple_toolkits_callgraph_VirtualCalls;
     public soot.jimple.toolkits.callgraph.VirtualCalls soot_jimple_toolkits_callgraph_VirtualCalls() {
         if (instance_soot_jimple_toolkits_callgraph_VirtualCalls == null) {
 	       	synchronized (this) {
@@ -62,7 +62,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_callgraph_VirtualCalls = null;
     }
 
-    private soot.jimple.spark.fieldrw.FieldTagger instance_soot_jimple_spark_fieldrw_FieldTagger;
+    private volatile soot.jimple.spark.fieldrw.FieldTagger instance_soot_jimple_spark_fieldrw_FieldTagger;
     public soot.jimple.spark.fieldrw.FieldTagger soot_jimple_spark_fieldrw_FieldTagger() {
         if (instance_soot_jimple_spark_fieldrw_FieldTagger == null) {
 	       	synchronized (this) {
@@ -76,7 +76,7 @@ public class Singletons {
     	instance_soot_jimple_spark_fieldrw_FieldTagger = null;
     }
 
-    private soot.util.SharedBitSetCache instance_soot_util_SharedBitSetCache;
+    private volatile soot.util.SharedBitSetCache instance_soot_util_SharedBitSetCache;
     public soot.util.SharedBitSetCache soot_util_SharedBitSetCache() {
         if (instance_soot_util_SharedBitSetCache == null) {
 	       	synchronized (this) {
@@ -90,7 +90,7 @@ public class Singletons {
     	instance_soot_util_SharedBitSetCache = null;
     }
 
-    private soot.options.Options instance_soot_options_Options;
+    private volatile soot.options.Options instance_soot_options_Options;
     public soot.options.Options soot_options_Options() {
         if (instance_soot_options_Options == null) {
 	       	synchronized (this) {
@@ -104,7 +104,7 @@ public class Singletons {
     	instance_soot_options_Options = null;
     }
 
-    private soot.jimple.toolkits.callgraph.CHATransformer instance_soot_jimple_toolkits_callgraph_CHATransformer;
+    private volatile soot.jimple.toolkits.callgraph.CHATransformer instance_soot_jimple_toolkits_callgraph_CHATransformer;
     public soot.jimple.toolkits.callgraph.CHATransformer soot_jimple_toolkits_callgraph_CHATransformer() {
         if (instance_soot_jimple_toolkits_callgraph_CHATransformer == null) {
 	       	synchronized (this) {
@@ -118,7 +118,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_callgraph_CHATransformer = null;
     }
 
-    private soot.toolkits.graph.SlowPseudoTopologicalOrderer instance_soot_toolkits_graph_SlowPseudoTopologicalOrderer;
+    private volatile soot.toolkits.graph.SlowPseudoTopologicalOrderer instance_soot_toolkits_graph_SlowPseudoTopologicalOrderer;
     public soot.toolkits.graph.SlowPseudoTopologicalOrderer soot_toolkits_graph_SlowPseudoTopologicalOrderer() {
         if (instance_soot_toolkits_graph_SlowPseudoTopologicalOrderer == null) {
 	       	synchronized (this) {
@@ -132,7 +132,7 @@ public class Singletons {
     	instance_soot_toolkits_graph_SlowPseudoTopologicalOrderer = null;
     }
 
-    private soot.jimple.toolkits.invoke.SynchronizerManager instance_soot_jimple_toolkits_invoke_SynchronizerManager;
+    private volatile soot.jimple.toolkits.invoke.SynchronizerManager instance_soot_jimple_toolkits_invoke_SynchronizerManager;
     public soot.jimple.toolkits.invoke.SynchronizerManager soot_jimple_toolkits_invoke_SynchronizerManager() {
         if (instance_soot_jimple_toolkits_invoke_SynchronizerManager == null) {
 	       	synchronized (this) {
@@ -146,7 +146,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_invoke_SynchronizerManager = null;
     }
 
-    private soot.jimple.toolkits.typing.integer.ClassHierarchy instance_soot_jimple_toolkits_typing_integer_ClassHierarchy;
+    private volatile soot.jimple.toolkits.typing.integer.ClassHierarchy instance_soot_jimple_toolkits_typing_integer_ClassHierarchy;
     public soot.jimple.toolkits.typing.integer.ClassHierarchy soot_jimple_toolkits_typing_integer_ClassHierarchy() {
         if (instance_soot_jimple_toolkits_typing_integer_ClassHierarchy == null) {
 	       	synchronized (this) {
@@ -160,7 +160,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_typing_integer_ClassHierarchy = null;
     }
 
-    private soot.Main instance_soot_Main;
+    private volatile soot.Main instance_soot_Main;
     public soot.Main soot_Main() {
         if (instance_soot_Main == null) {
 	       	synchronized (this) {
@@ -174,7 +174,7 @@ public class Singletons {
     	instance_soot_Main = null;
     }
 
-    private soot.tagkit.TagManager instance_soot_tagkit_TagManager;
+    private volatile soot.tagkit.TagManager instance_soot_tagkit_TagManager;
     public soot.tagkit.TagManager soot_tagkit_TagManager() {
         if (instance_soot_tagkit_TagManager == null) {
 	       	synchronized (this) {
@@ -188,7 +188,7 @@ public class Singletons {
     	instance_soot_tagkit_TagManager = null;
     }
 
-    private soot.jimple.toolkits.pointer.representations.Environment instance_soot_jimple_toolkits_pointer_representations_Environment;
+    private volatile soot.jimple.toolkits.pointer.representations.Environment instance_soot_jimple_toolkits_pointer_representations_Environment;
     public soot.jimple.toolkits.pointer.representations.Environment soot_jimple_toolkits_pointer_representations_Environment() {
         if (instance_soot_jimple_toolkits_pointer_representations_Environment == null) {
 	       	synchronized (this) {
@@ -202,7 +202,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_pointer_representations_Environment = null;
     }
 
-    private soot.jimple.toolkits.pointer.representations.TypeConstants instance_soot_jimple_toolkits_pointer_representations_TypeConstants;
+    private volatile soot.jimple.toolkits.pointer.representations.TypeConstants instance_soot_jimple_toolkits_pointer_representations_TypeConstants;
     public soot.jimple.toolkits.pointer.representations.TypeConstants soot_jimple_toolkits_pointer_representations_TypeConstants() {
         if (instance_soot_jimple_toolkits_pointer_representations_TypeConstants == null) {
 	       	synchronized (this) {
@@ -216,7 +216,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_pointer_representations_TypeConstants = null;
     }
 
-    private soot.coffi.Util instance_soot_coffi_Util;
+    private volatile soot.coffi.Util instance_soot_coffi_Util;
     public soot.coffi.Util soot_coffi_Util() {
         if (instance_soot_coffi_Util == null) {
 	       	synchronized (this) {
@@ -230,7 +230,7 @@ public class Singletons {
     	instance_soot_coffi_Util = null;
     }
 
-    private soot.SourceLocator instance_soot_SourceLocator;
+    private volatile soot.SourceLocator instance_soot_SourceLocator;
     public soot.SourceLocator soot_SourceLocator() {
         if (instance_soot_SourceLocator == null) {
 	       	synchronized (this) {
@@ -244,7 +244,7 @@ public class Singletons {
     	instance_soot_SourceLocator = null;
     }
 
-    private soot.ModulePathSourceLocator instance_soot_ModulePathSourceLocator;
+    private volatile soot.ModulePathSourceLocator instance_soot_ModulePathSourceLocator;
     public soot.ModulePathSourceLocator soot_ModulePathSourceLocator() {
         if (instance_soot_ModulePathSourceLocator == null) {
 	       	synchronized (this) {
@@ -258,7 +258,7 @@ public class Singletons {
     	instance_soot_ModulePathSourceLocator = null;
     }
 
-    private soot.coffi.CONSTANT_Utf8_collector instance_soot_coffi_CONSTANT_Utf8_collector;
+    private volatile soot.coffi.CONSTANT_Utf8_collector instance_soot_coffi_CONSTANT_Utf8_collector;
     public soot.coffi.CONSTANT_Utf8_collector soot_coffi_CONSTANT_Utf8_collector() {
         if (instance_soot_coffi_CONSTANT_Utf8_collector == null) {
 	       	synchronized (this) {
@@ -272,7 +272,7 @@ public class Singletons {
     	instance_soot_coffi_CONSTANT_Utf8_collector = null;
     }
 
-    private soot.dava.toolkits.base.finders.AbruptEdgeFinder instance_soot_dava_toolkits_base_finders_AbruptEdgeFinder;
+    private volatile soot.dava.toolkits.base.finders.AbruptEdgeFinder instance_soot_dava_toolkits_base_finders_AbruptEdgeFinder;
     public soot.dava.toolkits.base.finders.AbruptEdgeFinder soot_dava_toolkits_base_finders_AbruptEdgeFinder() {
         if (instance_soot_dava_toolkits_base_finders_AbruptEdgeFinder == null) {
 	       	synchronized (this) {
@@ -286,7 +286,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_finders_AbruptEdgeFinder = null;
     }
 
-    private soot.jimple.toolkits.base.Aggregator instance_soot_jimple_toolkits_base_Aggregator;
+    private volatile soot.jimple.toolkits.base.Aggregator instance_soot_jimple_toolkits_base_Aggregator;
     public soot.jimple.toolkits.base.Aggregator soot_jimple_toolkits_base_Aggregator() {
         if (instance_soot_jimple_toolkits_base_Aggregator == null) {
 	       	synchronized (this) {
@@ -300,7 +300,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_base_Aggregator = null;
     }
 
-    private soot.jimple.toolkits.annotation.arraycheck.ArrayBoundsChecker instance_soot_jimple_toolkits_annotation_arraycheck_ArrayBoundsChecker;
+    private volatile soot.jimple.toolkits.annotation.arraycheck.ArrayBoundsChecker instance_soot_jimple_toolkits_annotation_arraycheck_ArrayBoundsChecker;
     public soot.jimple.toolkits.annotation.arraycheck.ArrayBoundsChecker soot_jimple_toolkits_annotation_arraycheck_ArrayBoundsChecker() {
         if (instance_soot_jimple_toolkits_annotation_arraycheck_ArrayBoundsChecker == null) {
 	       	synchronized (this) {
@@ -314,7 +314,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_arraycheck_ArrayBoundsChecker = null;
     }
 
-    private soot.jimple.spark.pag.ArrayElement instance_soot_jimple_spark_pag_ArrayElement;
+    private volatile soot.jimple.spark.pag.ArrayElement instance_soot_jimple_spark_pag_ArrayElement;
     public soot.jimple.spark.pag.ArrayElement soot_jimple_spark_pag_ArrayElement() {
         if (instance_soot_jimple_spark_pag_ArrayElement == null) {
 	       	synchronized (this) {
@@ -328,7 +328,7 @@ public class Singletons {
     	instance_soot_jimple_spark_pag_ArrayElement = null;
     }
 
-    private soot.jimple.toolkits.annotation.tags.ArrayNullTagAggregator instance_soot_jimple_toolkits_annotation_tags_ArrayNullTagAggregator;
+    private volatile soot.jimple.toolkits.annotation.tags.ArrayNullTagAggregator instance_soot_jimple_toolkits_annotation_tags_ArrayNullTagAggregator;
     public soot.jimple.toolkits.annotation.tags.ArrayNullTagAggregator soot_jimple_toolkits_annotation_tags_ArrayNullTagAggregator() {
         if (instance_soot_jimple_toolkits_annotation_tags_ArrayNullTagAggregator == null) {
 	       	synchronized (this) {
@@ -342,7 +342,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_tags_ArrayNullTagAggregator = null;
     }
 
-    private soot.dava.toolkits.base.AST.ASTWalker instance_soot_dava_toolkits_base_AST_ASTWalker;
+    private volatile soot.dava.toolkits.base.AST.ASTWalker instance_soot_dava_toolkits_base_AST_ASTWalker;
     public soot.dava.toolkits.base.AST.ASTWalker soot_dava_toolkits_base_AST_ASTWalker() {
         if (instance_soot_dava_toolkits_base_AST_ASTWalker == null) {
 	       	synchronized (this) {
@@ -356,7 +356,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_AST_ASTWalker = null;
     }
 
-    private soot.baf.Baf instance_soot_baf_Baf;
+    private volatile soot.baf.Baf instance_soot_baf_Baf;
     public soot.baf.Baf soot_baf_Baf() {
         if (instance_soot_baf_Baf == null) {
 	       	synchronized (this) {
@@ -370,7 +370,7 @@ public class Singletons {
     	instance_soot_baf_Baf = null;
     }
 
-    private soot.BooleanType instance_soot_BooleanType;
+    private volatile soot.BooleanType instance_soot_BooleanType;
     public soot.BooleanType soot_BooleanType() {
         if (instance_soot_BooleanType == null) {
 	       	synchronized (this) {
@@ -384,7 +384,7 @@ public class Singletons {
     	instance_soot_BooleanType = null;
     }
 
-    private soot.jimple.toolkits.scalar.pre.BusyCodeMotion instance_soot_jimple_toolkits_scalar_pre_BusyCodeMotion;
+    private volatile soot.jimple.toolkits.scalar.pre.BusyCodeMotion instance_soot_jimple_toolkits_scalar_pre_BusyCodeMotion;
     public soot.jimple.toolkits.scalar.pre.BusyCodeMotion soot_jimple_toolkits_scalar_pre_BusyCodeMotion() {
         if (instance_soot_jimple_toolkits_scalar_pre_BusyCodeMotion == null) {
 	       	synchronized (this) {
@@ -398,7 +398,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_pre_BusyCodeMotion = null;
     }
 
-    private soot.ByteType instance_soot_ByteType;
+    private volatile soot.ByteType instance_soot_ByteType;
     public soot.ByteType soot_ByteType() {
         if (instance_soot_ByteType == null) {
 	       	synchronized (this) {
@@ -412,7 +412,7 @@ public class Singletons {
     	instance_soot_ByteType = null;
     }
 
-    private soot.jimple.toolkits.pointer.CastCheckEliminatorDumper instance_soot_jimple_toolkits_pointer_CastCheckEliminatorDumper;
+    private volatile soot.jimple.toolkits.pointer.CastCheckEliminatorDumper instance_soot_jimple_toolkits_pointer_CastCheckEliminatorDumper;
     public soot.jimple.toolkits.pointer.CastCheckEliminatorDumper soot_jimple_toolkits_pointer_CastCheckEliminatorDumper() {
         if (instance_soot_jimple_toolkits_pointer_CastCheckEliminatorDumper == null) {
 	       	synchronized (this) {
@@ -426,7 +426,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_pointer_CastCheckEliminatorDumper = null;
     }
 
-    private soot.CharType instance_soot_CharType;
+    private volatile soot.CharType instance_soot_CharType;
     public soot.CharType soot_CharType() {
         if (instance_soot_CharType == null) {
 	       	synchronized (this) {
@@ -440,7 +440,7 @@ public class Singletons {
     	instance_soot_CharType = null;
     }
 
-    private soot.jimple.toolkits.annotation.arraycheck.ClassFieldAnalysis instance_soot_jimple_toolkits_annotation_arraycheck_ClassFieldAnalysis;
+    private volatile soot.jimple.toolkits.annotation.arraycheck.ClassFieldAnalysis instance_soot_jimple_toolkits_annotation_arraycheck_ClassFieldAnalysis;
     public soot.jimple.toolkits.annotation.arraycheck.ClassFieldAnalysis soot_jimple_toolkits_annotation_arraycheck_ClassFieldAnalysis() {
         if (instance_soot_jimple_toolkits_annotation_arraycheck_ClassFieldAnalysis == null) {
 	       	synchronized (this) {
@@ -454,7 +454,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_arraycheck_ClassFieldAnalysis = null;
     }
 
-    private soot.jimple.toolkits.scalar.CommonSubexpressionEliminator instance_soot_jimple_toolkits_scalar_CommonSubexpressionEliminator;
+    private volatile soot.jimple.toolkits.scalar.CommonSubexpressionEliminator instance_soot_jimple_toolkits_scalar_CommonSubexpressionEliminator;
     public soot.jimple.toolkits.scalar.CommonSubexpressionEliminator soot_jimple_toolkits_scalar_CommonSubexpressionEliminator() {
         if (instance_soot_jimple_toolkits_scalar_CommonSubexpressionEliminator == null) {
 	       	synchronized (this) {
@@ -468,7 +468,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_CommonSubexpressionEliminator = null;
     }
 
-    private soot.jimple.toolkits.scalar.ConditionalBranchFolder instance_soot_jimple_toolkits_scalar_ConditionalBranchFolder;
+    private volatile soot.jimple.toolkits.scalar.ConditionalBranchFolder instance_soot_jimple_toolkits_scalar_ConditionalBranchFolder;
     public soot.jimple.toolkits.scalar.ConditionalBranchFolder soot_jimple_toolkits_scalar_ConditionalBranchFolder() {
         if (instance_soot_jimple_toolkits_scalar_ConditionalBranchFolder == null) {
 	       	synchronized (this) {
@@ -482,7 +482,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_ConditionalBranchFolder = null;
     }
 
-    private soot.jimple.toolkits.scalar.ConstantPropagatorAndFolder instance_soot_jimple_toolkits_scalar_ConstantPropagatorAndFolder;
+    private volatile soot.jimple.toolkits.scalar.ConstantPropagatorAndFolder instance_soot_jimple_toolkits_scalar_ConstantPropagatorAndFolder;
     public soot.jimple.toolkits.scalar.ConstantPropagatorAndFolder soot_jimple_toolkits_scalar_ConstantPropagatorAndFolder() {
         if (instance_soot_jimple_toolkits_scalar_ConstantPropagatorAndFolder == null) {
 	       	synchronized (this) {
@@ -496,7 +496,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_ConstantPropagatorAndFolder = null;
     }
 
-    private soot.grimp.toolkits.base.ConstructorFolder instance_soot_grimp_toolkits_base_ConstructorFolder;
+    private volatile soot.grimp.toolkits.base.ConstructorFolder instance_soot_grimp_toolkits_base_ConstructorFolder;
     public soot.grimp.toolkits.base.ConstructorFolder soot_grimp_toolkits_base_ConstructorFolder() {
         if (instance_soot_grimp_toolkits_base_ConstructorFolder == null) {
 	       	synchronized (this) {
@@ -510,7 +510,7 @@ public class Singletons {
     	instance_soot_grimp_toolkits_base_ConstructorFolder = null;
     }
 
-    private soot.jimple.toolkits.scalar.CopyPropagator instance_soot_jimple_toolkits_scalar_CopyPropagator;
+    private volatile soot.jimple.toolkits.scalar.CopyPropagator instance_soot_jimple_toolkits_scalar_CopyPropagator;
     public soot.jimple.toolkits.scalar.CopyPropagator soot_jimple_toolkits_scalar_CopyPropagator() {
         if (instance_soot_jimple_toolkits_scalar_CopyPropagator == null) {
 	       	synchronized (this) {
@@ -524,7 +524,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_CopyPropagator = null;
     }
 
-    private soot.jimple.toolkits.graph.CriticalEdgeRemover instance_soot_jimple_toolkits_graph_CriticalEdgeRemover;
+    private volatile soot.jimple.toolkits.graph.CriticalEdgeRemover instance_soot_jimple_toolkits_graph_CriticalEdgeRemover;
     public soot.jimple.toolkits.graph.CriticalEdgeRemover soot_jimple_toolkits_graph_CriticalEdgeRemover() {
         if (instance_soot_jimple_toolkits_graph_CriticalEdgeRemover == null) {
 	       	synchronized (this) {
@@ -538,7 +538,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_graph_CriticalEdgeRemover = null;
     }
 
-    private soot.dava.toolkits.base.finders.CycleFinder instance_soot_dava_toolkits_base_finders_CycleFinder;
+    private volatile soot.dava.toolkits.base.finders.CycleFinder instance_soot_dava_toolkits_base_finders_CycleFinder;
     public soot.dava.toolkits.base.finders.CycleFinder soot_dava_toolkits_base_finders_CycleFinder() {
         if (instance_soot_dava_toolkits_base_finders_CycleFinder == null) {
 	       	synchronized (this) {
@@ -552,7 +552,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_finders_CycleFinder = null;
     }
 
-    private soot.dava.Dava instance_soot_dava_Dava;
+    private volatile soot.dava.Dava instance_soot_dava_Dava;
     public soot.dava.Dava soot_dava_Dava() {
         if (instance_soot_dava_Dava == null) {
 	       	synchronized (this) {
@@ -566,7 +566,7 @@ public class Singletons {
     	instance_soot_dava_Dava = null;
     }
 
-    private soot.dava.DavaPrinter instance_soot_dava_DavaPrinter;
+    private volatile soot.dava.DavaPrinter instance_soot_dava_DavaPrinter;
     public soot.dava.DavaPrinter soot_dava_DavaPrinter() {
         if (instance_soot_dava_DavaPrinter == null) {
 	       	synchronized (this) {
@@ -580,7 +580,7 @@ public class Singletons {
     	instance_soot_dava_DavaPrinter = null;
     }
 
-    private soot.xml.XMLPrinter instance_soot_xml_XMLPrinter;
+    private volatile soot.xml.XMLPrinter instance_soot_xml_XMLPrinter;
     public soot.xml.XMLPrinter soot_xml_XMLPrinter() {
         if (instance_soot_xml_XMLPrinter == null) {
 	       	synchronized (this) {
@@ -594,7 +594,7 @@ public class Singletons {
     	instance_soot_xml_XMLPrinter = null;
     }
 
-    private soot.Printer instance_soot_Printer;
+    private volatile soot.Printer instance_soot_Printer;
     public soot.Printer soot_Printer() {
         if (instance_soot_Printer == null) {
 	       	synchronized (this) {
@@ -608,7 +608,7 @@ public class Singletons {
     	instance_soot_Printer = null;
     }
 
-    private soot.jimple.toolkits.scalar.DeadAssignmentEliminator instance_soot_jimple_toolkits_scalar_DeadAssignmentEliminator;
+    private volatile soot.jimple.toolkits.scalar.DeadAssignmentEliminator instance_soot_jimple_toolkits_scalar_DeadAssignmentEliminator;
     public soot.jimple.toolkits.scalar.DeadAssignmentEliminator soot_jimple_toolkits_scalar_DeadAssignmentEliminator() {
         if (instance_soot_jimple_toolkits_scalar_DeadAssignmentEliminator == null) {
 	       	synchronized (this) {
@@ -622,7 +622,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_DeadAssignmentEliminator = null;
     }
 
-    private soot.jimple.toolkits.pointer.DependenceTagAggregator instance_soot_jimple_toolkits_pointer_DependenceTagAggregator;
+    private volatile soot.jimple.toolkits.pointer.DependenceTagAggregator instance_soot_jimple_toolkits_pointer_DependenceTagAggregator;
     public soot.jimple.toolkits.pointer.DependenceTagAggregator soot_jimple_toolkits_pointer_DependenceTagAggregator() {
         if (instance_soot_jimple_toolkits_pointer_DependenceTagAggregator == null) {
 	       	synchronized (this) {
@@ -636,7 +636,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_pointer_DependenceTagAggregator = null;
     }
 
-    private soot.coffi.Double2ndHalfType instance_soot_coffi_Double2ndHalfType;
+    private volatile soot.coffi.Double2ndHalfType instance_soot_coffi_Double2ndHalfType;
     public soot.coffi.Double2ndHalfType soot_coffi_Double2ndHalfType() {
         if (instance_soot_coffi_Double2ndHalfType == null) {
 	       	synchronized (this) {
@@ -650,7 +650,7 @@ public class Singletons {
     	instance_soot_coffi_Double2ndHalfType = null;
     }
 
-    private soot.DoubleType instance_soot_DoubleType;
+    private volatile soot.DoubleType instance_soot_DoubleType;
     public soot.DoubleType soot_DoubleType() {
         if (instance_soot_DoubleType == null) {
 	       	synchronized (this) {
@@ -664,7 +664,7 @@ public class Singletons {
     	instance_soot_DoubleType = null;
     }
 
-    private soot.baf.DoubleWordType instance_soot_baf_DoubleWordType;
+    private volatile soot.baf.DoubleWordType instance_soot_baf_DoubleWordType;
     public soot.baf.DoubleWordType soot_baf_DoubleWordType() {
         if (instance_soot_baf_DoubleWordType == null) {
 	       	synchronized (this) {
@@ -678,7 +678,7 @@ public class Singletons {
     	instance_soot_baf_DoubleWordType = null;
     }
 
-    private soot.jimple.toolkits.pointer.DumbPointerAnalysis instance_soot_jimple_toolkits_pointer_DumbPointerAnalysis;
+    private volatile soot.jimple.toolkits.pointer.DumbPointerAnalysis instance_soot_jimple_toolkits_pointer_DumbPointerAnalysis;
     public soot.jimple.toolkits.pointer.DumbPointerAnalysis soot_jimple_toolkits_pointer_DumbPointerAnalysis() {
         if (instance_soot_jimple_toolkits_pointer_DumbPointerAnalysis == null) {
 	       	synchronized (this) {
@@ -692,7 +692,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_pointer_DumbPointerAnalysis = null;
     }
 
-    private soot.jimple.spark.sets.EmptyPointsToSet instance_soot_jimple_spark_sets_EmptyPointsToSet;
+    private volatile soot.jimple.spark.sets.EmptyPointsToSet instance_soot_jimple_spark_sets_EmptyPointsToSet;
     public soot.jimple.spark.sets.EmptyPointsToSet soot_jimple_spark_sets_EmptyPointsToSet() {
         if (instance_soot_jimple_spark_sets_EmptyPointsToSet == null) {
 	       	synchronized (this) {
@@ -706,7 +706,7 @@ public class Singletons {
     	instance_soot_jimple_spark_sets_EmptyPointsToSet = null;
     }
 
-    private soot.ErroneousType instance_soot_ErroneousType;
+    private volatile soot.ErroneousType instance_soot_ErroneousType;
     public soot.ErroneousType soot_ErroneousType() {
         if (instance_soot_ErroneousType == null) {
 	       	synchronized (this) {
@@ -720,7 +720,7 @@ public class Singletons {
     	instance_soot_ErroneousType = null;
     }
 
-    private soot.dava.toolkits.base.finders.ExceptionFinder instance_soot_dava_toolkits_base_finders_ExceptionFinder;
+    private volatile soot.dava.toolkits.base.finders.ExceptionFinder instance_soot_dava_toolkits_base_finders_ExceptionFinder;
     public soot.dava.toolkits.base.finders.ExceptionFinder soot_dava_toolkits_base_finders_ExceptionFinder() {
         if (instance_soot_dava_toolkits_base_finders_ExceptionFinder == null) {
 	       	synchronized (this) {
@@ -734,7 +734,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_finders_ExceptionFinder = null;
     }
 
-    private soot.jimple.toolkits.pointer.FieldRWTagger instance_soot_jimple_toolkits_pointer_FieldRWTagger;
+    private volatile soot.jimple.toolkits.pointer.FieldRWTagger instance_soot_jimple_toolkits_pointer_FieldRWTagger;
     public soot.jimple.toolkits.pointer.FieldRWTagger soot_jimple_toolkits_pointer_FieldRWTagger() {
         if (instance_soot_jimple_toolkits_pointer_FieldRWTagger == null) {
 	       	synchronized (this) {
@@ -748,7 +748,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_pointer_FieldRWTagger = null;
     }
 
-    private soot.FloatType instance_soot_FloatType;
+    private volatile soot.FloatType instance_soot_FloatType;
     public soot.FloatType soot_FloatType() {
         if (instance_soot_FloatType == null) {
 	       	synchronized (this) {
@@ -762,7 +762,7 @@ public class Singletons {
     	instance_soot_FloatType = null;
     }
 
-    private soot.jimple.toolkits.pointer.FullObjectSet instance_soot_jimple_toolkits_pointer_FullObjectSet;
+    private volatile soot.jimple.toolkits.pointer.FullObjectSet instance_soot_jimple_toolkits_pointer_FullObjectSet;
     public soot.jimple.toolkits.pointer.FullObjectSet soot_jimple_toolkits_pointer_FullObjectSet() {
         if (instance_soot_jimple_toolkits_pointer_FullObjectSet == null) {
 	       	synchronized (this) {
@@ -776,7 +776,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_pointer_FullObjectSet = null;
     }
 
-    private soot.grimp.Grimp instance_soot_grimp_Grimp;
+    private volatile soot.grimp.Grimp instance_soot_grimp_Grimp;
     public soot.grimp.Grimp soot_grimp_Grimp() {
         if (instance_soot_grimp_Grimp == null) {
 	       	synchronized (this) {
@@ -790,7 +790,7 @@ public class Singletons {
     	instance_soot_grimp_Grimp = null;
     }
 
-    private soot.dava.toolkits.base.finders.IfFinder instance_soot_dava_toolkits_base_finders_IfFinder;
+    private volatile soot.dava.toolkits.base.finders.IfFinder instance_soot_dava_toolkits_base_finders_IfFinder;
     public soot.dava.toolkits.base.finders.IfFinder soot_dava_toolkits_base_finders_IfFinder() {
         if (instance_soot_dava_toolkits_base_finders_IfFinder == null) {
 	       	synchronized (this) {
@@ -804,7 +804,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_finders_IfFinder = null;
     }
 
-    private soot.IntType instance_soot_IntType;
+    private volatile soot.IntType instance_soot_IntType;
     public soot.IntType soot_IntType() {
         if (instance_soot_IntType == null) {
 	       	synchronized (this) {
@@ -818,7 +818,7 @@ public class Singletons {
     	instance_soot_IntType = null;
     }
 
-    private soot.jimple.Jimple instance_soot_jimple_Jimple;
+    private volatile soot.jimple.Jimple instance_soot_jimple_Jimple;
     public soot.jimple.Jimple soot_jimple_Jimple() {
         if (instance_soot_jimple_Jimple == null) {
 	       	synchronized (this) {
@@ -832,7 +832,7 @@ public class Singletons {
     	instance_soot_jimple_Jimple = null;
     }
 
-    private soot.dava.toolkits.base.finders.LabeledBlockFinder instance_soot_dava_toolkits_base_finders_LabeledBlockFinder;
+    private volatile soot.dava.toolkits.base.finders.LabeledBlockFinder instance_soot_dava_toolkits_base_finders_LabeledBlockFinder;
     public soot.dava.toolkits.base.finders.LabeledBlockFinder soot_dava_toolkits_base_finders_LabeledBlockFinder() {
         if (instance_soot_dava_toolkits_base_finders_LabeledBlockFinder == null) {
 	       	synchronized (this) {
@@ -846,7 +846,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_finders_LabeledBlockFinder = null;
     }
 
-    private soot.jimple.toolkits.scalar.pre.LazyCodeMotion instance_soot_jimple_toolkits_scalar_pre_LazyCodeMotion;
+    private volatile soot.jimple.toolkits.scalar.pre.LazyCodeMotion instance_soot_jimple_toolkits_scalar_pre_LazyCodeMotion;
     public soot.jimple.toolkits.scalar.pre.LazyCodeMotion soot_jimple_toolkits_scalar_pre_LazyCodeMotion() {
         if (instance_soot_jimple_toolkits_scalar_pre_LazyCodeMotion == null) {
 	       	synchronized (this) {
@@ -860,7 +860,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_pre_LazyCodeMotion = null;
     }
 
-    private soot.tagkit.LineNumberTagAggregator instance_soot_tagkit_LineNumberTagAggregator;
+    private volatile soot.tagkit.LineNumberTagAggregator instance_soot_tagkit_LineNumberTagAggregator;
     public soot.tagkit.LineNumberTagAggregator soot_tagkit_LineNumberTagAggregator() {
         if (instance_soot_tagkit_LineNumberTagAggregator == null) {
 	       	synchronized (this) {
@@ -874,7 +874,7 @@ public class Singletons {
     	instance_soot_tagkit_LineNumberTagAggregator = null;
     }
 
-    private soot.tagkit.InnerClassTagAggregator instance_soot_tagkit_InnerClassTagAggregator;
+    private volatile soot.tagkit.InnerClassTagAggregator instance_soot_tagkit_InnerClassTagAggregator;
     public soot.tagkit.InnerClassTagAggregator soot_tagkit_InnerClassTagAggregator() {
         if (instance_soot_tagkit_InnerClassTagAggregator == null) {
 	       	synchronized (this) {
@@ -888,7 +888,7 @@ public class Singletons {
     	instance_soot_tagkit_InnerClassTagAggregator = null;
     }
 
-    private soot.jimple.toolkits.annotation.LineNumberAdder instance_soot_jimple_toolkits_annotation_LineNumberAdder;
+    private volatile soot.jimple.toolkits.annotation.LineNumberAdder instance_soot_jimple_toolkits_annotation_LineNumberAdder;
     public soot.jimple.toolkits.annotation.LineNumberAdder soot_jimple_toolkits_annotation_LineNumberAdder() {
         if (instance_soot_jimple_toolkits_annotation_LineNumberAdder == null) {
 	       	synchronized (this) {
@@ -902,7 +902,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_LineNumberAdder = null;
     }
 
-    private soot.baf.toolkits.base.LoadStoreOptimizer instance_soot_baf_toolkits_base_LoadStoreOptimizer;
+    private volatile soot.baf.toolkits.base.LoadStoreOptimizer instance_soot_baf_toolkits_base_LoadStoreOptimizer;
     public soot.baf.toolkits.base.LoadStoreOptimizer soot_baf_toolkits_base_LoadStoreOptimizer() {
         if (instance_soot_baf_toolkits_base_LoadStoreOptimizer == null) {
 	       	synchronized (this) {
@@ -916,7 +916,7 @@ public class Singletons {
     	instance_soot_baf_toolkits_base_LoadStoreOptimizer = null;
     }
 
-    private soot.baf.toolkits.base.StoreChainOptimizer instance_soot_baf_toolkits_base_StoreChainOptimizer;
+    private volatile soot.baf.toolkits.base.StoreChainOptimizer instance_soot_baf_toolkits_base_StoreChainOptimizer;
     public soot.baf.toolkits.base.StoreChainOptimizer soot_baf_toolkits_base_StoreChainOptimizer() {
         if (instance_soot_baf_toolkits_base_StoreChainOptimizer == null) {
 	       	synchronized (this) {
@@ -930,7 +930,7 @@ public class Singletons {
     	instance_soot_baf_toolkits_base_StoreChainOptimizer = null;
     }
 
-    private soot.jimple.toolkits.scalar.LocalNameStandardizer instance_soot_jimple_toolkits_scalar_LocalNameStandardizer;
+    private volatile soot.jimple.toolkits.scalar.LocalNameStandardizer instance_soot_jimple_toolkits_scalar_LocalNameStandardizer;
     public soot.jimple.toolkits.scalar.LocalNameStandardizer soot_jimple_toolkits_scalar_LocalNameStandardizer() {
         if (instance_soot_jimple_toolkits_scalar_LocalNameStandardizer == null) {
 	       	synchronized (this) {
@@ -944,7 +944,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_LocalNameStandardizer = null;
     }
 
-    private soot.toolkits.scalar.LocalPacker instance_soot_toolkits_scalar_LocalPacker;
+    private volatile soot.toolkits.scalar.LocalPacker instance_soot_toolkits_scalar_LocalPacker;
     public soot.toolkits.scalar.LocalPacker soot_toolkits_scalar_LocalPacker() {
         if (instance_soot_toolkits_scalar_LocalPacker == null) {
 	       	synchronized (this) {
@@ -958,7 +958,7 @@ public class Singletons {
     	instance_soot_toolkits_scalar_LocalPacker = null;
     }
 
-    private soot.toolkits.scalar.LocalSplitter instance_soot_toolkits_scalar_LocalSplitter;
+    private volatile soot.toolkits.scalar.LocalSplitter instance_soot_toolkits_scalar_LocalSplitter;
     public soot.toolkits.scalar.LocalSplitter soot_toolkits_scalar_LocalSplitter() {
         if (instance_soot_toolkits_scalar_LocalSplitter == null) {
 	       	synchronized (this) {
@@ -972,7 +972,7 @@ public class Singletons {
     	instance_soot_toolkits_scalar_LocalSplitter = null;
     }
 
-    private soot.coffi.Long2ndHalfType instance_soot_coffi_Long2ndHalfType;
+    private volatile soot.coffi.Long2ndHalfType instance_soot_coffi_Long2ndHalfType;
     public soot.coffi.Long2ndHalfType soot_coffi_Long2ndHalfType() {
         if (instance_soot_coffi_Long2ndHalfType == null) {
 	       	synchronized (this) {
@@ -986,7 +986,7 @@ public class Singletons {
     	instance_soot_coffi_Long2ndHalfType = null;
     }
 
-    private soot.LongType instance_soot_LongType;
+    private volatile soot.LongType instance_soot_LongType;
     public soot.LongType soot_LongType() {
         if (instance_soot_LongType == null) {
 	       	synchronized (this) {
@@ -1000,7 +1000,7 @@ public class Singletons {
     	instance_soot_LongType = null;
     }
 
-    private soot.dava.toolkits.base.misc.MonitorConverter instance_soot_dava_toolkits_base_misc_MonitorConverter;
+    private volatile soot.dava.toolkits.base.misc.MonitorConverter instance_soot_dava_toolkits_base_misc_MonitorConverter;
     public soot.dava.toolkits.base.misc.MonitorConverter soot_dava_toolkits_base_misc_MonitorConverter() {
         if (instance_soot_dava_toolkits_base_misc_MonitorConverter == null) {
 	       	synchronized (this) {
@@ -1014,7 +1014,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_misc_MonitorConverter = null;
     }
 
-    private soot.jimple.toolkits.scalar.NopEliminator instance_soot_jimple_toolkits_scalar_NopEliminator;
+    private volatile soot.jimple.toolkits.scalar.NopEliminator instance_soot_jimple_toolkits_scalar_NopEliminator;
     public soot.jimple.toolkits.scalar.NopEliminator soot_jimple_toolkits_scalar_NopEliminator() {
         if (instance_soot_jimple_toolkits_scalar_NopEliminator == null) {
 	       	synchronized (this) {
@@ -1028,7 +1028,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_NopEliminator = null;
     }
 
-    private soot.jimple.NullConstant instance_soot_jimple_NullConstant;
+    private volatile soot.jimple.NullConstant instance_soot_jimple_NullConstant;
     public soot.jimple.NullConstant soot_jimple_NullConstant() {
         if (instance_soot_jimple_NullConstant == null) {
 	       	synchronized (this) {
@@ -1042,7 +1042,7 @@ public class Singletons {
     	instance_soot_jimple_NullConstant = null;
     }
 
-    private soot.jimple.toolkits.annotation.nullcheck.NullPointerChecker instance_soot_jimple_toolkits_annotation_nullcheck_NullPointerChecker;
+    private volatile soot.jimple.toolkits.annotation.nullcheck.NullPointerChecker instance_soot_jimple_toolkits_annotation_nullcheck_NullPointerChecker;
     public soot.jimple.toolkits.annotation.nullcheck.NullPointerChecker soot_jimple_toolkits_annotation_nullcheck_NullPointerChecker() {
         if (instance_soot_jimple_toolkits_annotation_nullcheck_NullPointerChecker == null) {
 	       	synchronized (this) {
@@ -1056,7 +1056,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_nullcheck_NullPointerChecker = null;
     }
 
-    private soot.NullType instance_soot_NullType;
+    private volatile soot.NullType instance_soot_NullType;
     public soot.NullType soot_NullType() {
         if (instance_soot_NullType == null) {
 	       	synchronized (this) {
@@ -1070,7 +1070,7 @@ public class Singletons {
     	instance_soot_NullType = null;
     }
 
-    private soot.dava.toolkits.base.misc.PackageNamer instance_soot_dava_toolkits_base_misc_PackageNamer;
+    private volatile soot.dava.toolkits.base.misc.PackageNamer instance_soot_dava_toolkits_base_misc_PackageNamer;
     public soot.dava.toolkits.base.misc.PackageNamer soot_dava_toolkits_base_misc_PackageNamer() {
         if (instance_soot_dava_toolkits_base_misc_PackageNamer == null) {
 	       	synchronized (this) {
@@ -1084,7 +1084,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_misc_PackageNamer = null;
     }
 
-    private soot.PackManager instance_soot_PackManager;
+    private volatile soot.PackManager instance_soot_PackManager;
     public soot.PackManager soot_PackManager() {
         if (instance_soot_PackManager == null) {
 	       	synchronized (this) {
@@ -1098,7 +1098,7 @@ public class Singletons {
     	instance_soot_PackManager = null;
     }
 
-    private soot.baf.toolkits.base.PeepholeOptimizer instance_soot_baf_toolkits_base_PeepholeOptimizer;
+    private volatile soot.baf.toolkits.base.PeepholeOptimizer instance_soot_baf_toolkits_base_PeepholeOptimizer;
     public soot.baf.toolkits.base.PeepholeOptimizer soot_baf_toolkits_base_PeepholeOptimizer() {
         if (instance_soot_baf_toolkits_base_PeepholeOptimizer == null) {
 	       	synchronized (this) {
@@ -1112,7 +1112,7 @@ public class Singletons {
     	instance_soot_baf_toolkits_base_PeepholeOptimizer = null;
     }
 
-    private soot.jimple.toolkits.annotation.profiling.ProfilingGenerator instance_soot_jimple_toolkits_annotation_profiling_ProfilingGenerator;
+    private volatile soot.jimple.toolkits.annotation.profiling.ProfilingGenerator instance_soot_jimple_toolkits_annotation_profiling_ProfilingGenerator;
     public soot.jimple.toolkits.annotation.profiling.ProfilingGenerator soot_jimple_toolkits_annotation_profiling_ProfilingGenerator() {
         if (instance_soot_jimple_toolkits_annotation_profiling_ProfilingGenerator == null) {
 	       	synchronized (this) {
@@ -1126,7 +1126,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_profiling_ProfilingGenerator = null;
     }
 
-    private soot.jimple.toolkits.annotation.arraycheck.RectangularArrayFinder instance_soot_jimple_toolkits_annotation_arraycheck_RectangularArrayFinder;
+    private volatile soot.jimple.toolkits.annotation.arraycheck.RectangularArrayFinder instance_soot_jimple_toolkits_annotation_arraycheck_RectangularArrayFinder;
     public soot.jimple.toolkits.annotation.arraycheck.RectangularArrayFinder soot_jimple_toolkits_annotation_arraycheck_RectangularArrayFinder() {
         if (instance_soot_jimple_toolkits_annotation_arraycheck_RectangularArrayFinder == null) {
 	       	synchronized (this) {
@@ -1140,7 +1140,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_arraycheck_RectangularArrayFinder = null;
     }
 
-    private soot.RefType instance_soot_RefType;
+    private volatile soot.RefType instance_soot_RefType;
     public soot.RefType soot_RefType() {
         if (instance_soot_RefType == null) {
 	       	synchronized (this) {
@@ -1154,7 +1154,7 @@ public class Singletons {
     	instance_soot_RefType = null;
     }
 
-    private soot.ModuleRefType instance_soot_ModuleRefType;
+    private volatile soot.ModuleRefType instance_soot_ModuleRefType;
     public soot.ModuleRefType soot_ModuleRefType() {
         if (instance_soot_ModuleRefType == null) {
 	       	synchronized (this) {
@@ -1168,7 +1168,7 @@ public class Singletons {
     	instance_soot_ModuleRefType = null;
     }
 
-    private soot.Scene instance_soot_Scene;
+    private volatile soot.Scene instance_soot_Scene;
     public soot.Scene soot_Scene() {
         if (instance_soot_Scene == null) {
 	       	synchronized (this) {
@@ -1182,7 +1182,7 @@ public class Singletons {
     	instance_soot_Scene = null;
     }
 
-    private soot.ModuleScene instance_soot_ModuleScene;
+    private volatile soot.ModuleScene instance_soot_ModuleScene;
     public soot.ModuleScene soot_ModuleScene() {
         if (instance_soot_ModuleScene == null) {
 	       	synchronized (this) {
@@ -1196,7 +1196,7 @@ public class Singletons {
     	instance_soot_ModuleScene = null;
     }
 
-    private soot.ModuleUtil instance_soot_ModuleUtil;
+    private volatile soot.ModuleUtil instance_soot_ModuleUtil;
     public soot.ModuleUtil soot_ModuleUtil() {
         if (instance_soot_ModuleUtil == null) {
 	       	synchronized (this) {
@@ -1210,7 +1210,7 @@ public class Singletons {
     	instance_soot_ModuleUtil = null;
     }
 
-    private soot.dava.toolkits.base.finders.SequenceFinder instance_soot_dava_toolkits_base_finders_SequenceFinder;
+    private volatile soot.dava.toolkits.base.finders.SequenceFinder instance_soot_dava_toolkits_base_finders_SequenceFinder;
     public soot.dava.toolkits.base.finders.SequenceFinder soot_dava_toolkits_base_finders_SequenceFinder() {
         if (instance_soot_dava_toolkits_base_finders_SequenceFinder == null) {
 	       	synchronized (this) {
@@ -1224,7 +1224,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_finders_SequenceFinder = null;
     }
 
-    private soot.shimple.Shimple instance_soot_shimple_Shimple;
+    private volatile soot.shimple.Shimple instance_soot_shimple_Shimple;
     public soot.shimple.Shimple soot_shimple_Shimple() {
         if (instance_soot_shimple_Shimple == null) {
 	       	synchronized (this) {
@@ -1238,7 +1238,7 @@ public class Singletons {
     	instance_soot_shimple_Shimple = null;
     }
 
-    private soot.shimple.ShimpleTransformer instance_soot_shimple_ShimpleTransformer;
+    private volatile soot.shimple.ShimpleTransformer instance_soot_shimple_ShimpleTransformer;
     public soot.shimple.ShimpleTransformer soot_shimple_ShimpleTransformer() {
         if (instance_soot_shimple_ShimpleTransformer == null) {
 	       	synchronized (this) {
@@ -1252,7 +1252,7 @@ public class Singletons {
     	instance_soot_shimple_ShimpleTransformer = null;
     }
 
-    private soot.shimple.toolkits.scalar.SConstantPropagatorAndFolder instance_soot_shimple_toolkits_scalar_SConstantPropagatorAndFolder;
+    private volatile soot.shimple.toolkits.scalar.SConstantPropagatorAndFolder instance_soot_shimple_toolkits_scalar_SConstantPropagatorAndFolder;
     public soot.shimple.toolkits.scalar.SConstantPropagatorAndFolder soot_shimple_toolkits_scalar_SConstantPropagatorAndFolder() {
         if (instance_soot_shimple_toolkits_scalar_SConstantPropagatorAndFolder == null) {
 	       	synchronized (this) {
@@ -1266,7 +1266,7 @@ public class Singletons {
     	instance_soot_shimple_toolkits_scalar_SConstantPropagatorAndFolder = null;
     }
 
-    private soot.ShortType instance_soot_ShortType;
+    private volatile soot.ShortType instance_soot_ShortType;
     public soot.ShortType soot_ShortType() {
         if (instance_soot_ShortType == null) {
 	       	synchronized (this) {
@@ -1280,7 +1280,7 @@ public class Singletons {
     	instance_soot_ShortType = null;
     }
 
-    private soot.jimple.toolkits.pointer.SideEffectTagger instance_soot_jimple_toolkits_pointer_SideEffectTagger;
+    private volatile soot.jimple.toolkits.pointer.SideEffectTagger instance_soot_jimple_toolkits_pointer_SideEffectTagger;
     public soot.jimple.toolkits.pointer.SideEffectTagger soot_jimple_toolkits_pointer_SideEffectTagger() {
         if (instance_soot_jimple_toolkits_pointer_SideEffectTagger == null) {
 	       	synchronized (this) {
@@ -1294,7 +1294,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_pointer_SideEffectTagger = null;
     }
 
-    private soot.jimple.spark.SparkTransformer instance_soot_jimple_spark_SparkTransformer;
+    private volatile soot.jimple.spark.SparkTransformer instance_soot_jimple_spark_SparkTransformer;
     public soot.jimple.spark.SparkTransformer soot_jimple_spark_SparkTransformer() {
         if (instance_soot_jimple_spark_SparkTransformer == null) {
 	       	synchronized (this) {
@@ -1308,7 +1308,7 @@ public class Singletons {
     	instance_soot_jimple_spark_SparkTransformer = null;
     }
 
-    private soot.jimple.toolkits.invoke.StaticInliner instance_soot_jimple_toolkits_invoke_StaticInliner;
+    private volatile soot.jimple.toolkits.invoke.StaticInliner instance_soot_jimple_toolkits_invoke_StaticInliner;
     public soot.jimple.toolkits.invoke.StaticInliner soot_jimple_toolkits_invoke_StaticInliner() {
         if (instance_soot_jimple_toolkits_invoke_StaticInliner == null) {
 	       	synchronized (this) {
@@ -1322,7 +1322,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_invoke_StaticInliner = null;
     }
 
-    private soot.jimple.toolkits.invoke.StaticMethodBinder instance_soot_jimple_toolkits_invoke_StaticMethodBinder;
+    private volatile soot.jimple.toolkits.invoke.StaticMethodBinder instance_soot_jimple_toolkits_invoke_StaticMethodBinder;
     public soot.jimple.toolkits.invoke.StaticMethodBinder soot_jimple_toolkits_invoke_StaticMethodBinder() {
         if (instance_soot_jimple_toolkits_invoke_StaticMethodBinder == null) {
 	       	synchronized (this) {
@@ -1336,7 +1336,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_invoke_StaticMethodBinder = null;
     }
 
-    private soot.StmtAddressType instance_soot_StmtAddressType;
+    private volatile soot.StmtAddressType instance_soot_StmtAddressType;
     public soot.StmtAddressType soot_StmtAddressType() {
         if (instance_soot_StmtAddressType == null) {
 	       	synchronized (this) {
@@ -1350,7 +1350,7 @@ public class Singletons {
     	instance_soot_StmtAddressType = null;
     }
 
-    private soot.dava.toolkits.base.finders.SwitchFinder instance_soot_dava_toolkits_base_finders_SwitchFinder;
+    private volatile soot.dava.toolkits.base.finders.SwitchFinder instance_soot_dava_toolkits_base_finders_SwitchFinder;
     public soot.dava.toolkits.base.finders.SwitchFinder soot_dava_toolkits_base_finders_SwitchFinder() {
         if (instance_soot_dava_toolkits_base_finders_SwitchFinder == null) {
 	       	synchronized (this) {
@@ -1364,7 +1364,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_finders_SwitchFinder = null;
     }
 
-    private soot.dava.toolkits.base.finders.SynchronizedBlockFinder instance_soot_dava_toolkits_base_finders_SynchronizedBlockFinder;
+    private volatile soot.dava.toolkits.base.finders.SynchronizedBlockFinder instance_soot_dava_toolkits_base_finders_SynchronizedBlockFinder;
     public soot.dava.toolkits.base.finders.SynchronizedBlockFinder soot_dava_toolkits_base_finders_SynchronizedBlockFinder() {
         if (instance_soot_dava_toolkits_base_finders_SynchronizedBlockFinder == null) {
 	       	synchronized (this) {
@@ -1378,7 +1378,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_finders_SynchronizedBlockFinder = null;
     }
 
-    private soot.dava.toolkits.base.misc.ThrowFinder instance_soot_dava_toolkits_base_misc_ThrowFinder;
+    private volatile soot.dava.toolkits.base.misc.ThrowFinder instance_soot_dava_toolkits_base_misc_ThrowFinder;
     public soot.dava.toolkits.base.misc.ThrowFinder soot_dava_toolkits_base_misc_ThrowFinder() {
         if (instance_soot_dava_toolkits_base_misc_ThrowFinder == null) {
 	       	synchronized (this) {
@@ -1392,7 +1392,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_misc_ThrowFinder = null;
     }
 
-    private soot.dava.toolkits.base.misc.ThrowNullConverter instance_soot_dava_toolkits_base_misc_ThrowNullConverter;
+    private volatile soot.dava.toolkits.base.misc.ThrowNullConverter instance_soot_dava_toolkits_base_misc_ThrowNullConverter;
     public soot.dava.toolkits.base.misc.ThrowNullConverter soot_dava_toolkits_base_misc_ThrowNullConverter() {
         if (instance_soot_dava_toolkits_base_misc_ThrowNullConverter == null) {
 	       	synchronized (this) {
@@ -1406,7 +1406,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_misc_ThrowNullConverter = null;
     }
 
-    private soot.Timers instance_soot_Timers;
+    private volatile soot.Timers instance_soot_Timers;
     public soot.Timers soot_Timers() {
         if (instance_soot_Timers == null) {
 	       	synchronized (this) {
@@ -1420,7 +1420,21 @@ public class Singletons {
     	instance_soot_Timers = null;
     }
 
-    private soot.dava.toolkits.base.AST.TryContentsFinder instance_soot_dava_toolkits_base_AST_TryContentsFinder;
+    private volatile soot.PhaseMetrics instance_soot_PhaseMetrics;
+    public soot.PhaseMetrics soot_PhaseMetrics() {
+        if (instance_soot_PhaseMetrics == null) {
+	       	synchronized (this) {
+		        if (instance_soot_PhaseMetrics == null)
+	        		instance_soot_PhaseMetrics = new soot.PhaseMetrics(g);
+	       	}
+       	}
+        return instance_soot_PhaseMetrics;
+    }
+    protected void release_soot_PhaseMetrics() {
+    	instance_soot_PhaseMetrics = null;
+    }
+
+    private volatile soot.dava.toolkits.base.AST.TryContentsFinder instance_soot_dava_toolkits_base_AST_TryContentsFinder;
     public soot.dava.toolkits.base.AST.TryContentsFinder soot_dava_toolkits_base_AST_TryContentsFinder() {
         if (instance_soot_dava_toolkits_base_AST_TryContentsFinder == null) {
 	       	synchronized (this) {
@@ -1434,7 +1448,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_AST_TryContentsFinder = null;
     }
 
-    private soot.jimple.toolkits.typing.TypeAssigner instance_soot_jimple_toolkits_typing_TypeAssigner;
+    private volatile soot.jimple.toolkits.typing.TypeAssigner instance_soot_jimple_toolkits_typing_TypeAssigner;
     public soot.jimple.toolkits.typing.TypeAssigner soot_jimple_toolkits_typing_TypeAssigner() {
         if (instance_soot_jimple_toolkits_typing_TypeAssigner == null) {
 	       	synchronized (this) {
@@ -1448,7 +1462,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_typing_TypeAssigner = null;
     }
 
-    private soot.jimple.toolkits.scalar.UnconditionalBranchFolder instance_soot_jimple_toolkits_scalar_UnconditionalBranchFolder;
+    private volatile soot.jimple.toolkits.scalar.UnconditionalBranchFolder instance_soot_jimple_toolkits_scalar_UnconditionalBranchFolder;
     public soot.jimple.toolkits.scalar.UnconditionalBranchFolder soot_jimple_toolkits_scalar_UnconditionalBranchFolder() {
         if (instance_soot_jimple_toolkits_scalar_UnconditionalBranchFolder == null) {
 	       	synchronized (this) {
@@ -1462,7 +1476,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_UnconditionalBranchFolder = null;
     }
 
-    private soot.jimple.toolkits.scalar.ConstantCastEliminator instance_soot_jimple_toolkits_scalar_ConstantCastEliminator;
+    private volatile soot.jimple.toolkits.scalar.ConstantCastEliminator instance_soot_jimple_toolkits_scalar_ConstantCastEliminator;
     public soot.jimple.toolkits.scalar.ConstantCastEliminator soot_jimple_toolkits_scalar_ConstantCastEliminator() {
         if (instance_soot_jimple_toolkits_scalar_ConstantCastEliminator == null) {
 	       	synchronized (this) {
@@ -1476,7 +1490,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_ConstantCastEliminator = null;
     }
 
-    private soot.jimple.toolkits.scalar.IdentityCastEliminator instance_soot_jimple_toolkits_scalar_IdentityCastEliminator;
+    private volatile soot.jimple.toolkits.scalar.IdentityCastEliminator instance_soot_jimple_toolkits_scalar_IdentityCastEliminator;
     public soot.jimple.toolkits.scalar.IdentityCastEliminator soot_jimple_toolkits_scalar_IdentityCastEliminator() {
         if (instance_soot_jimple_toolkits_scalar_IdentityCastEliminator == null) {
 	       	synchronized (this) {
@@ -1490,7 +1504,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_IdentityCastEliminator = null;
     }
 
-    private soot.jimple.toolkits.scalar.FieldStaticnessCorrector instance_soot_jimple_toolkits_scalar_FieldStaticnessCorrector;
+    private volatile soot.jimple.toolkits.scalar.FieldStaticnessCorrector instance_soot_jimple_toolkits_scalar_FieldStaticnessCorrector;
     public soot.jimple.toolkits.scalar.FieldStaticnessCorrector soot_jimple_toolkits_scalar_FieldStaticnessCorrector() {
         if (instance_soot_jimple_toolkits_scalar_FieldStaticnessCorrector == null) {
 	       	synchronized (this) {
@@ -1504,7 +1518,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_FieldStaticnessCorrector = null;
     }
 
-    private soot.jimple.toolkits.scalar.MethodStaticnessCorrector instance_soot_jimple_toolkits_scalar_MethodStaticnessCorrector;
+    private volatile soot.jimple.toolkits.scalar.MethodStaticnessCorrector instance_soot_jimple_toolkits_scalar_MethodStaticnessCorrector;
     public soot.jimple.toolkits.scalar.MethodStaticnessCorrector soot_jimple_toolkits_scalar_MethodStaticnessCorrector() {
         if (instance_soot_jimple_toolkits_scalar_MethodStaticnessCorrector == null) {
 	       	synchronized (this) {
@@ -1518,7 +1532,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_MethodStaticnessCorrector = null;
     }
 
-    private soot.jimple.toolkits.scalar.IdentityOperationEliminator instance_soot_jimple_toolkits_scalar_IdentityOperationEliminator;
+    private volatile soot.jimple.toolkits.scalar.IdentityOperationEliminator instance_soot_jimple_toolkits_scalar_IdentityOperationEliminator;
     public soot.jimple.toolkits.scalar.IdentityOperationEliminator soot_jimple_toolkits_scalar_IdentityOperationEliminator() {
         if (instance_soot_jimple_toolkits_scalar_IdentityOperationEliminator == null) {
 	       	synchronized (this) {
@@ -1532,7 +1546,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_IdentityOperationEliminator = null;
     }
 
-    private soot.UnknownType instance_soot_UnknownType;
+    private volatile soot.UnknownType instance_soot_UnknownType;
     public soot.UnknownType soot_UnknownType() {
         if (instance_soot_UnknownType == null) {
 	       	synchronized (this) {
@@ -1546,7 +1560,7 @@ public class Singletons {
     	instance_soot_UnknownType = null;
     }
 
-    private soot.jimple.toolkits.scalar.UnreachableCodeEliminator instance_soot_jimple_toolkits_scalar_UnreachableCodeEliminator;
+    private volatile soot.jimple.toolkits.scalar.UnreachableCodeEliminator instance_soot_jimple_toolkits_scalar_UnreachableCodeEliminator;
     public soot.jimple.toolkits.scalar.UnreachableCodeEliminator soot_jimple_toolkits_scalar_UnreachableCodeEliminator() {
         if (instance_soot_jimple_toolkits_scalar_UnreachableCodeEliminator == null) {
 	       	synchronized (this) {
@@ -1560,7 +1574,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_UnreachableCodeEliminator = null;
     }
 
-    private soot.toolkits.scalar.UnusedLocalEliminator instance_soot_toolkits_scalar_UnusedLocalEliminator;
+    private volatile soot.toolkits.scalar.UnusedLocalEliminator instance_soot_toolkits_scalar_UnusedLocalEliminator;
     public soot.toolkits.scalar.UnusedLocalEliminator soot_toolkits_scalar_UnusedLocalEliminator() {
         if (instance_soot_toolkits_scalar_UnusedLocalEliminator == null) {
 	       	synchronized (this) {
@@ -1574,7 +1588,7 @@ public class Singletons {
     	instance_soot_toolkits_scalar_UnusedLocalEliminator = null;
     }
 
-    private soot.coffi.UnusuableType instance_soot_coffi_UnusuableType;
+    private volatile soot.coffi.UnusuableType instance_soot_coffi_UnusuableType;
     public soot.coffi.UnusuableType soot_coffi_UnusuableType() {
         if (instance_soot_coffi_UnusuableType == null) {
 	       	synchronized (this) {
@@ -1588,7 +1602,7 @@ public class Singletons {
     	instance_soot_coffi_UnusuableType = null;
     }
 
-    private soot.dava.toolkits.base.AST.UselessTryRemover instance_soot_dava_toolkits_base_AST_UselessTryRemover;
+    private volatile soot.dava.toolkits.base.AST.UselessTryRemover instance_soot_dava_toolkits_base_AST_UselessTryRemover;
     public soot.dava.toolkits.base.AST.UselessTryRemover soot_dava_toolkits_base_AST_UselessTryRemover() {
         if (instance_soot_dava_toolkits_base_AST_UselessTryRemover == null) {
 	       	synchronized (this) {
@@ -1602,7 +1616,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_AST_UselessTryRemover = null;
     }
 
-    private soot.VoidType instance_soot_VoidType;
+    private volatile soot.VoidType instance_soot_VoidType;
     public soot.VoidType soot_VoidType() {
         if (instance_soot_VoidType == null) {
 	       	synchronized (this) {
@@ -1616,7 +1630,7 @@ public class Singletons {
     	instance_soot_VoidType = null;
     }
 
-    private soot.baf.WordType instance_soot_baf_WordType;
+    private volatile soot.baf.WordType instance_soot_baf_WordType;
     public soot.baf.WordType soot_baf_WordType() {
         if (instance_soot_baf_WordType == null) {
 	       	synchronized (this) {
@@ -1630,7 +1644,7 @@ public class Singletons {
     	instance_soot_baf_WordType = null;
     }
 
-    private soot.jimple.spark.fieldrw.FieldReadTagAggregator instance_soot_jimple_spark_fieldrw_FieldReadTagAggregator;
+    private volatile soot.jimple.spark.fieldrw.FieldReadTagAggregator instance_soot_jimple_spark_fieldrw_FieldReadTagAggregator;
     public soot.jimple.spark.fieldrw.FieldReadTagAggregator soot_jimple_spark_fieldrw_FieldReadTagAggregator() {
         if (instance_soot_jimple_spark_fieldrw_FieldReadTagAggregator == null) {
 	       	synchronized (this) {
@@ -1644,7 +1658,7 @@ public class Singletons {
     	instance_soot_jimple_spark_fieldrw_FieldReadTagAggregator = null;
     }
 
-    private soot.jimple.spark.fieldrw.FieldWriteTagAggregator instance_soot_jimple_spark_fieldrw_FieldWriteTagAggregator;
+    private volatile soot.jimple.spark.fieldrw.FieldWriteTagAggregator instance_soot_jimple_spark_fieldrw_FieldWriteTagAggregator;
     public soot.jimple.spark.fieldrw.FieldWriteTagAggregator soot_jimple_spark_fieldrw_FieldWriteTagAggregator() {
         if (instance_soot_jimple_spark_fieldrw_FieldWriteTagAggregator == null) {
 	       	synchronized (this) {
@@ -1658,7 +1672,7 @@ public class Singletons {
     	instance_soot_jimple_spark_fieldrw_FieldWriteTagAggregator = null;
     }
 
-    private soot.jimple.spark.fieldrw.FieldTagAggregator instance_soot_jimple_spark_fieldrw_FieldTagAggregator;
+    private volatile soot.jimple.spark.fieldrw.FieldTagAggregator instance_soot_jimple_spark_fieldrw_FieldTagAggregator;
     public soot.jimple.spark.fieldrw.FieldTagAggregator soot_jimple_spark_fieldrw_FieldTagAggregator() {
         if (instance_soot_jimple_spark_fieldrw_FieldTagAggregator == null) {
 	       	synchronized (this) {
@@ -1672,7 +1686,7 @@ public class Singletons {
     	instance_soot_jimple_spark_fieldrw_FieldTagAggregator = null;
     }
 
-    private soot.EntryPoints instance_soot_EntryPoints;
+    private volatile soot.EntryPoints instance_soot_EntryPoints;
     public soot.EntryPoints soot_EntryPoints() {
         if (instance_soot_EntryPoints == null) {
 	       	synchronized (this) {
@@ -1686,7 +1700,7 @@ public class Singletons {
     	instance_soot_EntryPoints = null;
     }
 
-    private soot.jimple.toolkits.annotation.callgraph.CallGraphTagger instance_soot_jimple_toolkits_annotation_callgraph_CallGraphTagger;
+    private volatile soot.jimple.toolkits.annotation.callgraph.CallGraphTagger instance_soot_jimple_toolkits_annotation_callgraph_CallGraphTagger;
     public soot.jimple.toolkits.annotation.callgraph.CallGraphTagger soot_jimple_toolkits_annotation_callgraph_CallGraphTagger() {
         if (instance_soot_jimple_toolkits_annotation_callgraph_CallGraphTagger == null) {
 	       	synchronized (this) {
@@ -1700,7 +1714,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_callgraph_CallGraphTagger = null;
     }
 
-    private soot.jimple.toolkits.annotation.nullcheck.NullPointerColorer instance_soot_jimple_toolkits_annotation_nullcheck_NullPointerColorer;
+    private volatile soot.jimple.toolkits.annotation.nullcheck.NullPointerColorer instance_soot_jimple_toolkits_annotation_nullcheck_NullPointerColorer;
     public soot.jimple.toolkits.annotation.nullcheck.NullPointerColorer soot_jimple_toolkits_annotation_nullcheck_NullPointerColorer() {
         if (instance_soot_jimple_toolkits_annotation_nullcheck_NullPointerColorer == null) {
 	       	synchronized (this) {
@@ -1714,7 +1728,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_nullcheck_NullPointerColorer = null;
     }
 
-    private soot.jimple.toolkits.annotation.parity.ParityTagger instance_soot_jimple_toolkits_annotation_parity_ParityTagger;
+    private volatile soot.jimple.toolkits.annotation.parity.ParityTagger instance_soot_jimple_toolkits_annotation_parity_ParityTagger;
     public soot.jimple.toolkits.annotation.parity.ParityTagger soot_jimple_toolkits_annotation_parity_ParityTagger() {
         if (instance_soot_jimple_toolkits_annotation_parity_ParityTagger == null) {
 	       	synchronized (this) {
@@ -1728,7 +1742,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_parity_ParityTagger = null;
     }
 
-    private soot.jimple.toolkits.annotation.methods.UnreachableMethodsTagger instance_soot_jimple_toolkits_annotation_methods_UnreachableMethodsTagger;
+    private volatile soot.jimple.toolkits.annotation.methods.UnreachableMethodsTagger instance_soot_jimple_toolkits_annotation_methods_UnreachableMethodsTagger;
     public soot.jimple.toolkits.annotation.methods.UnreachableMethodsTagger soot_jimple_toolkits_annotation_methods_UnreachableMethodsTagger() {
         if (instance_soot_jimple_toolkits_annotation_methods_UnreachableMethodsTagger == null) {
 	       	synchronized (this) {
@@ -1742,7 +1756,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_methods_UnreachableMethodsTagger = null;
     }
 
-    private soot.jimple.toolkits.annotation.fields.UnreachableFieldsTagger instance_soot_jimple_toolkits_annotation_fields_UnreachableFieldsTagger;
+    private volatile soot.jimple.toolkits.annotation.fields.UnreachableFieldsTagger instance_soot_jimple_toolkits_annotation_fields_UnreachableFieldsTagger;
     public soot.jimple.toolkits.annotation.fields.UnreachableFieldsTagger soot_jimple_toolkits_annotation_fields_UnreachableFieldsTagger() {
         if (instance_soot_jimple_toolkits_annotation_fields_UnreachableFieldsTagger == null) {
 	       	synchronized (this) {
@@ -1756,7 +1770,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_fields_UnreachableFieldsTagger = null;
     }
 
-    private soot.jimple.toolkits.annotation.qualifiers.TightestQualifiersTagger instance_soot_jimple_toolkits_annotation_qualifiers_TightestQualifiersTagger;
+    private volatile soot.jimple.toolkits.annotation.qualifiers.TightestQualifiersTagger instance_soot_jimple_toolkits_annotation_qualifiers_TightestQualifiersTagger;
     public soot.jimple.toolkits.annotation.qualifiers.TightestQualifiersTagger soot_jimple_toolkits_annotation_qualifiers_TightestQualifiersTagger() {
         if (instance_soot_jimple_toolkits_annotation_qualifiers_TightestQualifiersTagger == null) {
 	       	synchronized (this) {
@@ -1770,7 +1784,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_qualifiers_TightestQualifiersTagger = null;
     }
 
-    private soot.jimple.toolkits.pointer.ParameterAliasTagger instance_soot_jimple_toolkits_pointer_ParameterAliasTagger;
+    private volatile soot.jimple.toolkits.pointer.ParameterAliasTagger instance_soot_jimple_toolkits_pointer_ParameterAliasTagger;
     public soot.jimple.toolkits.pointer.ParameterAliasTagger soot_jimple_toolkits_pointer_ParameterAliasTagger() {
         if (instance_soot_jimple_toolkits_pointer_ParameterAliasTagger == null) {
 	       	synchronized (this) {
@@ -1784,7 +1798,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_pointer_ParameterAliasTagger = null;
     }
 
-    private soot.jimple.toolkits.annotation.defs.ReachingDefsTagger instance_soot_jimple_toolkits_annotation_defs_ReachingDefsTagger;
+    private volatile soot.jimple.toolkits.annotation.defs.ReachingDefsTagger instance_soot_jimple_toolkits_annotation_defs_ReachingDefsTagger;
     public soot.jimple.toolkits.annotation.defs.ReachingDefsTagger soot_jimple_toolkits_annotation_defs_ReachingDefsTagger() {
         if (instance_soot_jimple_toolkits_annotation_defs_ReachingDefsTagger == null) {
 	       	synchronized (this) {
@@ -1798,7 +1812,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_defs_ReachingDefsTagger = null;
     }
 
-    private soot.jimple.toolkits.annotation.liveness.LiveVarsTagger instance_soot_jimple_toolkits_annotation_liveness_LiveVarsTagger;
+    private volatile soot.jimple.toolkits.annotation.liveness.LiveVarsTagger instance_soot_jimple_toolkits_annotation_liveness_LiveVarsTagger;
     public soot.jimple.toolkits.annotation.liveness.LiveVarsTagger soot_jimple_toolkits_annotation_liveness_LiveVarsTagger() {
         if (instance_soot_jimple_toolkits_annotation_liveness_LiveVarsTagger == null) {
 	       	synchronized (this) {
@@ -1812,7 +1826,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_liveness_LiveVarsTagger = null;
     }
 
-    private soot.toolkits.graph.interaction.InteractionHandler instance_soot_toolkits_graph_interaction_InteractionHandler;
+    private volatile soot.toolkits.graph.interaction.InteractionHandler instance_soot_toolkits_graph_interaction_InteractionHandler;
     public soot.toolkits.graph.interaction.InteractionHandler soot_toolkits_graph_interaction_InteractionHandler() {
         if (instance_soot_toolkits_graph_interaction_InteractionHandler == null) {
 	       	synchronized (this) {
@@ -1826,7 +1840,7 @@ public class Singletons {
     	instance_soot_toolkits_graph_interaction_InteractionHandler = null;
     }
 
-    private soot.jimple.toolkits.annotation.logic.LoopInvariantFinder instance_soot_jimple_toolkits_annotation_logic_LoopInvariantFinder;
+    private volatile soot.jimple.toolkits.annotation.logic.LoopInvariantFinder instance_soot_jimple_toolkits_annotation_logic_LoopInvariantFinder;
     public soot.jimple.toolkits.annotation.logic.LoopInvariantFinder soot_jimple_toolkits_annotation_logic_LoopInvariantFinder() {
         if (instance_soot_jimple_toolkits_annotation_logic_LoopInvariantFinder == null) {
 	       	synchronized (this) {
@@ -1840,7 +1854,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_logic_LoopInvariantFinder = null;
     }
 
-    private soot.jimple.toolkits.annotation.AvailExprTagger instance_soot_jimple_toolkits_annotation_AvailExprTagger;
+    private volatile soot.jimple.toolkits.annotation.AvailExprTagger instance_soot_jimple_toolkits_annotation_AvailExprTagger;
     public soot.jimple.toolkits.annotation.AvailExprTagger soot_jimple_toolkits_annotation_AvailExprTagger() {
         if (instance_soot_jimple_toolkits_annotation_AvailExprTagger == null) {
 	       	synchronized (this) {
@@ -1854,7 +1868,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_AvailExprTagger = null;
     }
 
-    private soot.util.PhaseDumper instance_soot_util_PhaseDumper;
+    private volatile soot.util.PhaseDumper instance_soot_util_PhaseDumper;
     public soot.util.PhaseDumper soot_util_PhaseDumper() {
         if (instance_soot_util_PhaseDumper == null) {
 	       	synchronized (this) {
@@ -1868,7 +1882,7 @@ public class Singletons {
     	instance_soot_util_PhaseDumper = null;
     }
 
-    private soot.util.cfgcmd.AltClassLoader instance_soot_util_cfgcmd_AltClassLoader;
+    private volatile soot.util.cfgcmd.AltClassLoader instance_soot_util_cfgcmd_AltClassLoader;
     public soot.util.cfgcmd.AltClassLoader soot_util_cfgcmd_AltClassLoader() {
         if (instance_soot_util_cfgcmd_AltClassLoader == null) {
 	       	synchronized (this) {
@@ -1882,7 +1896,7 @@ public class Singletons {
     	instance_soot_util_cfgcmd_AltClassLoader = null;
     }
 
-    private soot.toolkits.exceptions.ThrowableSet.Manager instance_soot_toolkits_exceptions_ThrowableSet_Manager;
+    private volatile soot.toolkits.exceptions.ThrowableSet.Manager instance_soot_toolkits_exceptions_ThrowableSet_Manager;
     public soot.toolkits.exceptions.ThrowableSet.Manager soot_toolkits_exceptions_ThrowableSet_Manager() {
         if (instance_soot_toolkits_exceptions_ThrowableSet_Manager == null) {
 	       	synchronized (this) {
@@ -1896,7 +1910,7 @@ public class Singletons {
     	instance_soot_toolkits_exceptions_ThrowableSet_Manager = null;
     }
 
-    private soot.toolkits.exceptions.UnitThrowAnalysis instance_soot_toolkits_exceptions_UnitThrowAnalysis;
+    private volatile soot.toolkits.exceptions.UnitThrowAnalysis instance_soot_toolkits_exceptions_UnitThrowAnalysis;
     public soot.toolkits.exceptions.UnitThrowAnalysis soot_toolkits_exceptions_UnitThrowAnalysis() {
         if (instance_soot_toolkits_exceptions_UnitThrowAnalysis == null) {
 	       	synchronized (this) {
@@ -1910,7 +1924,7 @@ public class Singletons {
     	instance_soot_toolkits_exceptions_UnitThrowAnalysis = null;
     }
 
-    private soot.dexpler.DalvikThrowAnalysis instance_soot_dexpler_DalvikThrowAnalysis;
+    private volatile soot.dexpler.DalvikThrowAnalysis instance_soot_dexpler_DalvikThrowAnalysis;
     public soot.dexpler.DalvikThrowAnalysis soot_dexpler_DalvikThrowAnalysis() {
         if (instance_soot_dexpler_DalvikThrowAnalysis == null) {
 	       	synchronized (this) {
@@ -1924,7 +1938,7 @@ public class Singletons {
     	instance_soot_dexpler_DalvikThrowAnalysis = null;
     }
 
-    private soot.dexpler.DexFileProvider instance_soot_dexpler_DexFileProvider;
+    private volatile soot.dexpler.DexFileProvider instance_soot_dexpler_DexFileProvider;
     public soot.dexpler.DexFileProvider soot_dexpler_DexFileProvider() {
         if (instance_soot_dexpler_DexFileProvider == null) {
 	       	synchronized (this) {
@@ -1938,7 +1952,7 @@ public class Singletons {
     	instance_soot_dexpler_DexFileProvider = null;
     }
 
-    private soot.toolkits.exceptions.PedanticThrowAnalysis instance_soot_toolkits_exceptions_PedanticThrowAnalysis;
+    private volatile soot.toolkits.exceptions.PedanticThrowAnalysis instance_soot_toolkits_exceptions_PedanticThrowAnalysis;
     public soot.toolkits.exceptions.PedanticThrowAnalysis soot_toolkits_exceptions_PedanticThrowAnalysis() {
         if (instance_soot_toolkits_exceptions_PedanticThrowAnalysis == null) {
 	       	synchronized (this) {
@@ -1952,7 +1966,7 @@ public class Singletons {
     	instance_soot_toolkits_exceptions_PedanticThrowAnalysis = null;
     }
 
-    private soot.toolkits.exceptions.TrapTightener instance_soot_toolkits_exceptions_TrapTightener;
+    private volatile soot.toolkits.exceptions.TrapTightener instance_soot_toolkits_exceptions_TrapTightener;
     public soot.toolkits.exceptions.TrapTightener soot_toolkits_exceptions_TrapTightener() {
         if (instance_soot_toolkits_exceptions_TrapTightener == null) {
 	       	synchronized (this) {
@@ -1966,7 +1980,7 @@ public class Singletons {
     	instance_soot_toolkits_exceptions_TrapTightener = null;
     }
 
-    private soot.toolkits.exceptions.DuplicateCatchAllTrapRemover instance_soot_toolkits_exceptions_DuplicateCatchAllTrapRemover;
+    private volatile soot.toolkits.exceptions.DuplicateCatchAllTrapRemover instance_soot_toolkits_exceptions_DuplicateCatchAllTrapRemover;
     public soot.toolkits.exceptions.DuplicateCatchAllTrapRemover soot_toolkits_exceptions_DuplicateCatchAllTrapRemover() {
         if (instance_soot_toolkits_exceptions_DuplicateCatchAllTrapRemover == null) {
 	       	synchronized (this) {
@@ -1980,7 +1994,7 @@ public class Singletons {
     	instance_soot_toolkits_exceptions_DuplicateCatchAllTrapRemover = null;
     }
 
-    private soot.jimple.toolkits.annotation.callgraph.CallGraphGrapher instance_soot_jimple_toolkits_annotation_callgraph_CallGraphGrapher;
+    private volatile soot.jimple.toolkits.annotation.callgraph.CallGraphGrapher instance_soot_jimple_toolkits_annotation_callgraph_CallGraphGrapher;
     public soot.jimple.toolkits.annotation.callgraph.CallGraphGrapher soot_jimple_toolkits_annotation_callgraph_CallGraphGrapher() {
         if (instance_soot_jimple_toolkits_annotation_callgraph_CallGraphGrapher == null) {
 	       	synchronized (this) {
@@ -1994,7 +2008,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_callgraph_CallGraphGrapher = null;
     }
 
-    private soot.SootResolver instance_soot_SootResolver;
+    private volatile soot.SootResolver instance_soot_SootResolver;
     public soot.SootResolver soot_SootResolver() {
         if (instance_soot_SootResolver == null) {
 	       	synchronized (this) {
@@ -2008,7 +2022,7 @@ public class Singletons {
     	instance_soot_SootResolver = null;
     }
 
-    private soot.SootModuleResolver instance_soot_SootModuleResolver;
+    private volatile soot.SootModuleResolver instance_soot_SootModuleResolver;
     public soot.SootModuleResolver soot_SootModuleResolver() {
         if (instance_soot_SootModuleResolver == null) {
 	       	synchronized (this) {
@@ -2022,7 +2036,7 @@ public class Singletons {
     	instance_soot_SootModuleResolver = null;
     }
 
-    private soot.javaToJimple.InitialResolver instance_soot_javaToJimple_InitialResolver;
+    private volatile soot.javaToJimple.InitialResolver instance_soot_javaToJimple_InitialResolver;
     public soot.javaToJimple.InitialResolver soot_javaToJimple_InitialResolver() {
         if (instance_soot_javaToJimple_InitialResolver == null) {
 	       	synchronized (this) {
@@ -2036,7 +2050,7 @@ public class Singletons {
     	instance_soot_javaToJimple_InitialResolver = null;
     }
 
-    private soot.jimple.paddle.PaddleHook instance_soot_jimple_paddle_PaddleHook;
+    private volatile soot.jimple.paddle.PaddleHook instance_soot_jimple_paddle_PaddleHook;
     public soot.jimple.paddle.PaddleHook soot_jimple_paddle_PaddleHook() {
         if (instance_soot_jimple_paddle_PaddleHook == null) {
 	       	synchronized (this) {
@@ -2050,7 +2064,7 @@ public class Singletons {
     	instance_soot_jimple_paddle_PaddleHook = null;
     }
 
-    private soot.jimple.toolkits.annotation.DominatorsTagger instance_soot_jimple_toolkits_annotation_DominatorsTagger;
+    private volatile soot.jimple.toolkits.annotation.DominatorsTagger instance_soot_jimple_toolkits_annotation_DominatorsTagger;
     public soot.jimple.toolkits.annotation.DominatorsTagger soot_jimple_toolkits_annotation_DominatorsTagger() {
         if (instance_soot_jimple_toolkits_annotation_DominatorsTagger == null) {
 	       	synchronized (this) {
@@ -2064,7 +2078,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_DominatorsTagger = null;
     }
 
-    private soot.jimple.toolkits.annotation.purity.PurityAnalysis instance_soot_jimple_toolkits_annotation_purity_PurityAnalysis;
+    private volatile soot.jimple.toolkits.annotation.purity.PurityAnalysis instance_soot_jimple_toolkits_annotation_purity_PurityAnalysis;
     public soot.jimple.toolkits.annotation.purity.PurityAnalysis soot_jimple_toolkits_annotation_purity_PurityAnalysis() {
         if (instance_soot_jimple_toolkits_annotation_purity_PurityAnalysis == null) {
 	       	synchronized (this) {
@@ -2078,7 +2092,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_purity_PurityAnalysis = null;
     }
 
-    private soot.javaToJimple.toolkits.CondTransformer instance_soot_javaToJimple_toolkits_CondTransformer;
+    private volatile soot.javaToJimple.toolkits.CondTransformer instance_soot_javaToJimple_toolkits_CondTransformer;
     public soot.javaToJimple.toolkits.CondTransformer soot_javaToJimple_toolkits_CondTransformer() {
         if (instance_soot_javaToJimple_toolkits_CondTransformer == null) {
 	       	synchronized (this) {
@@ -2092,7 +2106,7 @@ public class Singletons {
     	instance_soot_javaToJimple_toolkits_CondTransformer = null;
     }
 
-    private soot.dava.toolkits.base.AST.transformations.UselessLabelFinder instance_soot_dava_toolkits_base_AST_transformations_UselessLabelFinder;
+    private volatile soot.dava.toolkits.base.AST.transformations.UselessLabelFinder instance_soot_dava_toolkits_base_AST_transformations_UselessLabelFinder;
     public soot.dava.toolkits.base.AST.transformations.UselessLabelFinder soot_dava_toolkits_base_AST_transformations_UselessLabelFinder() {
         if (instance_soot_dava_toolkits_base_AST_transformations_UselessLabelFinder == null) {
 	       	synchronized (this) {
@@ -2106,7 +2120,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_AST_transformations_UselessLabelFinder = null;
     }
 
-    private soot.dava.DavaStaticBlockCleaner instance_soot_dava_DavaStaticBlockCleaner;
+    private volatile soot.dava.DavaStaticBlockCleaner instance_soot_dava_DavaStaticBlockCleaner;
     public soot.dava.DavaStaticBlockCleaner soot_dava_DavaStaticBlockCleaner() {
         if (instance_soot_dava_DavaStaticBlockCleaner == null) {
 	       	synchronized (this) {
@@ -2120,7 +2134,7 @@ public class Singletons {
     	instance_soot_dava_DavaStaticBlockCleaner = null;
     }
 
-    private soot.dava.toolkits.base.AST.traversals.ClosestAbruptTargetFinder instance_soot_dava_toolkits_base_AST_traversals_ClosestAbruptTargetFinder;
+    private volatile soot.dava.toolkits.base.AST.traversals.ClosestAbruptTargetFinder instance_soot_dava_toolkits_base_AST_traversals_ClosestAbruptTargetFinder;
     public soot.dava.toolkits.base.AST.traversals.ClosestAbruptTargetFinder soot_dava_toolkits_base_AST_traversals_ClosestAbruptTargetFinder() {
         if (instance_soot_dava_toolkits_base_AST_traversals_ClosestAbruptTargetFinder == null) {
 	       	synchronized (this) {
@@ -2134,7 +2148,7 @@ public class Singletons {
     	instance_soot_dava_toolkits_base_AST_traversals_ClosestAbruptTargetFinder = null;
     }
 
-    private soot.jimple.spark.sets.AllSharedListNodes instance_soot_jimple_spark_sets_AllSharedListNodes;
+    private volatile soot.jimple.spark.sets.AllSharedListNodes instance_soot_jimple_spark_sets_AllSharedListNodes;
     public soot.jimple.spark.sets.AllSharedListNodes soot_jimple_spark_sets_AllSharedListNodes() {
         if (instance_soot_jimple_spark_sets_AllSharedListNodes == null) {
 	       	synchronized (this) {
@@ -2148,7 +2162,7 @@ public class Singletons {
     	instance_soot_jimple_spark_sets_AllSharedListNodes = null;
     }
 
-    private soot.jimple.spark.sets.AllSharedHybridNodes instance_soot_jimple_spark_sets_AllSharedHybridNodes;
+    private volatile soot.jimple.spark.sets.AllSharedHybridNodes instance_soot_jimple_spark_sets_AllSharedHybridNodes;
     public soot.jimple.spark.sets.AllSharedHybridNodes soot_jimple_spark_sets_AllSharedHybridNodes() {
         if (instance_soot_jimple_spark_sets_AllSharedHybridNodes == null) {
 	       	synchronized (this) {
@@ -2162,7 +2176,7 @@ public class Singletons {
     	instance_soot_jimple_spark_sets_AllSharedHybridNodes = null;
     }
 
-    private soot.jimple.toolkits.thread.synchronization.LockAllocator instance_soot_jimple_toolkits_thread_synchronization_LockAllocator;
+    private volatile soot.jimple.toolkits.thread.synchronization.LockAllocator instance_soot_jimple_toolkits_thread_synchronization_LockAllocator;
     public soot.jimple.toolkits.thread.synchronization.LockAllocator soot_jimple_toolkits_thread_synchronization_LockAllocator() {
         if (instance_soot_jimple_toolkits_thread_synchronization_LockAllocator == null) {
 	       	synchronized (this) {
@@ -2176,7 +2190,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_thread_synchronization_LockAllocator = null;
     }
 
-    private soot.jimple.toolkits.thread.mhp.MhpTransformer instance_soot_jimple_toolkits_thread_mhp_MhpTransformer;
+    private volatile soot.jimple.toolkits.thread.mhp.MhpTransformer instance_soot_jimple_toolkits_thread_mhp_MhpTransformer;
     public soot.jimple.toolkits.thread.mhp.MhpTransformer soot_jimple_toolkits_thread_mhp_MhpTransformer() {
         if (instance_soot_jimple_toolkits_thread_mhp_MhpTransformer == null) {
 	       	synchronized (this) {
@@ -2190,7 +2204,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_thread_mhp_MhpTransformer = null;
     }
 
-    private soot.JastAddInitialResolver instance_soot_JastAddInitialResolver;
+    private volatile soot.JastAddInitialResolver instance_soot_JastAddInitialResolver;
     public soot.JastAddInitialResolver soot_JastAddInitialResolver() {
         if (instance_soot_JastAddInitialResolver == null) {
 	       	synchronized (this) {
@@ -2204,7 +2218,7 @@ public class Singletons {
     	instance_soot_JastAddInitialResolver = null;
     }
 
-    private soot.jimple.toolkits.annotation.j5anno.AnnotationGenerator instance_soot_jimple_toolkits_annotation_j5anno_AnnotationGenerator;
+    private volatile soot.jimple.toolkits.annotation.j5anno.AnnotationGenerator instance_soot_jimple_toolkits_annotation_j5anno_AnnotationGenerator;
     public soot.jimple.toolkits.annotation.j5anno.AnnotationGenerator soot_jimple_toolkits_annotation_j5anno_AnnotationGenerator() {
         if (instance_soot_jimple_toolkits_annotation_j5anno_AnnotationGenerator == null) {
 	       	synchronized (this) {
@@ -2218,7 +2232,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_annotation_j5anno_AnnotationGenerator = null;
     }
 
-    private soot.sootify.TemplatePrinter instance_soot_sootify_TemplatePrinter;
+    private volatile soot.sootify.TemplatePrinter instance_soot_sootify_TemplatePrinter;
     public soot.sootify.TemplatePrinter soot_sootify_TemplatePrinter() {
         if (instance_soot_sootify_TemplatePrinter == null) {
 	       	synchronized (this) {
@@ -2232,7 +2246,7 @@ public class Singletons {
     	instance_soot_sootify_TemplatePrinter = null;
     }
 
-    private soot.dexpler.DexResolver instance_soot_dexpler_DexResolver;
+    private volatile soot.dexpler.DexResolver instance_soot_dexpler_DexResolver;
     public soot.dexpler.DexResolver soot_dexpler_DexResolver() {
         if (instance_soot_dexpler_DexResolver == null) {
 	       	synchronized (this) {
@@ -2246,7 +2260,7 @@ public class Singletons {
     	instance_soot_dexpler_DexResolver = null;
     }
 
-    private soot.jimple.toolkits.scalar.EmptySwitchEliminator instance_soot_jimple_toolkits_scalar_EmptySwitchEliminator;
+    private volatile soot.jimple.toolkits.scalar.EmptySwitchEliminator instance_soot_jimple_toolkits_scalar_EmptySwitchEliminator;
     public soot.jimple.toolkits.scalar.EmptySwitchEliminator soot_jimple_toolkits_scalar_EmptySwitchEliminator() {
         if (instance_soot_jimple_toolkits_scalar_EmptySwitchEliminator == null) {
 	       	synchronized (this) {
@@ -2260,7 +2274,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_scalar_EmptySwitchEliminator = null;
     }
 
-    private soot.toDex.SynchronizedMethodTransformer instance_soot_toDex_SynchronizedMethodTransformer;
+    private volatile soot.toDex.SynchronizedMethodTransformer instance_soot_toDex_SynchronizedMethodTransformer;
     public soot.toDex.SynchronizedMethodTransformer soot_toDex_SynchronizedMethodTransformer() {
         if (instance_soot_toDex_SynchronizedMethodTransformer == null) {
 	       	synchronized (this) {
@@ -2274,7 +2288,7 @@ public class Singletons {
     	instance_soot_toDex_SynchronizedMethodTransformer = null;
     }
 
-    private soot.toDex.TrapSplitter instance_soot_toDex_TrapSplitter;
+    private volatile soot.toDex.TrapSplitter instance_soot_toDex_TrapSplitter;
     public soot.toDex.TrapSplitter soot_toDex_TrapSplitter() {
         if (instance_soot_toDex_TrapSplitter == null) {
 	       	synchronized (this) {
@@ -2288,7 +2302,7 @@ public class Singletons {
     	instance_soot_toDex_TrapSplitter = null;
     }
 
-    private soot.toDex.FastDexTrapTightener instance_soot_toDex_FastDexTrapTightener;
+    private volatile soot.toDex.FastDexTrapTightener instance_soot_toDex_FastDexTrapTightener;
     public soot.toDex.FastDexTrapTightener soot_toDex_FastDexTrapTightener() {
         if (instance_soot_toDex_FastDexTrapTightener == null) {
 	       	synchronized (this) {
@@ -2302,7 +2316,7 @@ public class Singletons {
     	instance_soot_toDex_FastDexTrapTightener = null;
     }
 
-    private soot.jimple.toolkits.base.RenameDuplicatedClasses instance_soot_jimple_toolkits_base_RenameDuplicatedClasses;
+    private volatile soot.jimple.toolkits.base.RenameDuplicatedClasses instance_soot_jimple_toolkits_base_RenameDuplicatedClasses;
     public soot.jimple.toolkits.base.RenameDuplicatedClasses soot_jimple_toolkits_base_RenameDuplicatedClasses() {
         if (instance_soot_jimple_toolkits_base_RenameDuplicatedClasses == null) {
 	       	synchronized (this) {
@@ -2316,7 +2330,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_base_RenameDuplicatedClasses = null;
     }
 
-    private soot.jimple.toolkits.typing.fast.Integer127Type instance_soot_jimple_toolkits_typing_fast_Integer127Type;
+    private volatile soot.jimple.toolkits.typing.fast.Integer127Type instance_soot_jimple_toolkits_typing_fast_Integer127Type;
     public soot.jimple.toolkits.typing.fast.Integer127Type soot_jimple_toolkits_typing_fast_Integer127Type() {
         if (instance_soot_jimple_toolkits_typing_fast_Integer127Type == null) {
 	       	synchronized (this) {
@@ -2330,7 +2344,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_typing_fast_Integer127Type = null;
     }
 
-    private soot.jimple.toolkits.typing.fast.Integer1Type instance_soot_jimple_toolkits_typing_fast_Integer1Type;
+    private volatile soot.jimple.toolkits.typing.fast.Integer1Type instance_soot_jimple_toolkits_typing_fast_Integer1Type;
     public soot.jimple.toolkits.typing.fast.Integer1Type soot_jimple_toolkits_typing_fast_Integer1Type() {
         if (instance_soot_jimple_toolkits_typing_fast_Integer1Type == null) {
 	       	synchronized (this) {
@@ -2344,7 +2358,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_typing_fast_Integer1Type = null;
     }
 
-    private soot.jimple.toolkits.typing.fast.Integer32767Type instance_soot_jimple_toolkits_typing_fast_Integer32767Type;
+    private volatile soot.jimple.toolkits.typing.fast.Integer32767Type instance_soot_jimple_toolkits_typing_fast_Integer32767Type;
     public soot.jimple.toolkits.typing.fast.Integer32767Type soot_jimple_toolkits_typing_fast_Integer32767Type() {
         if (instance_soot_jimple_toolkits_typing_fast_Integer32767Type == null) {
 	       	synchronized (this) {
@@ -2358,7 +2372,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_typing_fast_Integer32767Type = null;
     }
 
-    private soot.jimple.toolkits.typing.fast.BottomType instance_soot_jimple_toolkits_typing_fast_BottomType;
+    private volatile soot.jimple.toolkits.typing.fast.BottomType instance_soot_jimple_toolkits_typing_fast_BottomType;
     public soot.jimple.toolkits.typing.fast.BottomType soot_jimple_toolkits_typing_fast_BottomType() {
         if (instance_soot_jimple_toolkits_typing_fast_BottomType == null) {
 	       	synchronized (this) {
@@ -2372,7 +2386,21 @@ public class Singletons {
     	instance_soot_jimple_toolkits_typing_fast_BottomType = null;
     }
 
-    private soot.dexpler.TrapMinimizer instance_soot_dexpler_TrapMinimizer;
+    private volatile soot.jimple.toolkits.typing.fast.LcaCache instance_soot_jimple_toolkits_typing_fast_LcaCache;
+    public soot.jimple.toolkits.typing.fast.LcaCache soot_jimple_toolkits_typing_fast_LcaCache() {
+        if (instance_soot_jimple_toolkits_typing_fast_LcaCache == null) {
+	       	synchronized (this) {
+		        if (instance_soot_jimple_toolkits_typing_fast_LcaCache == null)
+	        		instance_soot_jimple_toolkits_typing_fast_LcaCache = new soot.jimple.toolkits.typing.fast.LcaCache(g);
+	       	}
+       	}
+        return instance_soot_jimple_toolkits_typing_fast_LcaCache;
+    }
+    protected void release_soot_jimple_toolkits_typing_fast_LcaCache() {
+    	instance_soot_jimple_toolkits_typing_fast_LcaCache = null;
+    }
+
+    private volatile soot.dexpler.TrapMinimizer instance_soot_dexpler_TrapMinimizer;
     public soot.dexpler.TrapMinimizer soot_dexpler_TrapMinimizer() {
         if (instance_soot_dexpler_TrapMinimizer == null) {
 	       	synchronized (this) {
@@ -2386,7 +2414,7 @@ public class Singletons {
     	instance_soot_dexpler_TrapMinimizer = null;
     }
 
-    private soot.toolkits.scalar.SmartLocalDefsPool instance_soot_toolkits_scalar_SmartLocalDefsPool;
+    private volatile soot.toolkits.scalar.SmartLocalDefsPool instance_soot_toolkits_scalar_SmartLocalDefsPool;
     public soot.toolkits.scalar.SmartLocalDefsPool soot_toolkits_scalar_SmartLocalDefsPool() {
         if (instance_soot_toolkits_scalar_SmartLocalDefsPool == null) {
 	       	synchronized (this) {
@@ -2400,7 +2428,7 @@ public class Singletons {
     	instance_soot_toolkits_scalar_SmartLocalDefsPool = null;
     }
 
-    private soot.jimple.spark.internal.PublicAndProtectedAccessibility instance_soot_jimple_spark_internal_PublicAndProtectedAccessibility;
+    private volatile soot.jimple.spark.internal.PublicAndProtectedAccessibility instance_soot_jimple_spark_internal_PublicAndProtectedAccessibility;
     public soot.jimple.spark.internal.PublicAndProtectedAccessibility soot_jimple_spark_internal_PublicAndProtectedAccessibility() {
         if (instance_soot_jimple_spark_internal_PublicAndProtectedAccessibility == null) {
 	       	synchronized (this) {
@@ -2414,7 +2442,7 @@ public class Singletons {
     	instance_soot_jimple_spark_internal_PublicAndProtectedAccessibility = null;
     }
 
-    private soot.jimple.spark.internal.CompleteAccessibility instance_soot_jimple_spark_internal_CompleteAccessibility;
+    private volatile soot.jimple.spark.internal.CompleteAccessibility instance_soot_jimple_spark_internal_CompleteAccessibility;
     public soot.jimple.spark.internal.CompleteAccessibility soot_jimple_spark_internal_CompleteAccessibility() {
         if (instance_soot_jimple_spark_internal_CompleteAccessibility == null) {
 	       	synchronized (this) {
@@ -2428,7 +2456,7 @@ public class Singletons {
     	instance_soot_jimple_spark_internal_CompleteAccessibility = null;
     }
 
-    private soot.jimple.toolkits.reflection.ConstantInvokeMethodBaseTransformer instance_soot_jimple_toolkits_reflection_ConstantInvokeMethodBaseTransformer;
+    private volatile soot.jimple.toolkits.reflection.ConstantInvokeMethodBaseTransformer instance_soot_jimple_toolkits_reflection_ConstantInvokeMethodBaseTransformer;
     public soot.jimple.toolkits.reflection.ConstantInvokeMethodBaseTransformer soot_jimple_toolkits_reflection_ConstantInvokeMethodBaseTransformer() {
         if (instance_soot_jimple_toolkits_reflection_ConstantInvokeMethodBaseTransformer == null) {
 	       	synchronized (this) {
@@ -2442,7 +2470,7 @@ public class Singletons {
     	instance_soot_jimple_toolkits_reflection_ConstantInvokeMethodBaseTransformer = null;
     }
 
-    private soot.jbco.jimpleTransformations.ClassRenamer instance_soot_jbco_jimpleTransformations_ClassRenamer;
+    private volatile soot.jbco.jimpleTransformations.ClassRenamer instance_soot_jbco_jimpleTransformations_ClassRenamer;
     public soot.jbco.jimpleTransformations.ClassRenamer soot_jbco_jimpleTransformations_ClassRenamer() {
         if (instance_soot_jbco_jimpleTransformations_ClassRenamer == null) {
 	       	synchronized (this) {
@@ -2456,7 +2484,7 @@ public class Singletons {
     	instance_soot_jbco_jimpleTransformations_ClassRenamer = null;
     }
 
-    private soot.jbco.jimpleTransformations.MethodRenamer instance_soot_jbco_jimpleTransformations_MethodRenamer;
+    private volatile soot.jbco.jimpleTransformations.MethodRenamer instance_soot_jbco_jimpleTransformations_MethodRenamer;
     public soot.jbco.jimpleTransformations.MethodRenamer soot_jbco_jimpleTransformations_MethodRenamer() {
         if (instance_soot_jbco_jimpleTransformations_MethodRenamer == null) {
 	       	synchronized (this) {
@@ -2470,7 +2498,7 @@ public class Singletons {
     	instance_soot_jbco_jimpleTransformations_MethodRenamer = null;
     }
 
-    private soot.LambdaMetaFactory instance_soot_LambdaMetaFactory;
+    private volatile soot.LambdaMetaFactory instance_soot_LambdaMetaFactory;
     public soot.LambdaMetaFactory soot_LambdaMetaFactory() {
         if (instance_soot_LambdaMetaFactory == null) {
 	       	synchronized (this) {
@@ -2484,7 +2512,7 @@ public class Singletons {
     	instance_soot_LambdaMetaFactory = null;
     }
 
-    private soot.jbco.jimpleTransformations.FieldRenamer instance_soot_jbco_jimpleTransformations_FieldRenamer;
+    private volatile soot.jbco.jimpleTransformations.FieldRenamer instance_soot_jbco_jimpleTransformations_FieldRenamer;
     public soot.jbco.jimpleTransformations.FieldRenamer soot_jbco_jimpleTransformations_FieldRenamer() {
         if (instance_soot_jbco_jimpleTransformations_FieldRenamer == null) {
 	       	synchronized (this) {
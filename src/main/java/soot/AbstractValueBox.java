@@ -31,6 +31,7 @@ import soot.tagkit.Tag;
 @SuppressWarnings("serial")
 public abstract class AbstractValueBox extends AbstractHost implements ValueBox {
   Value value;
+  transient ValueBoxObserver observer;
 
   public void setValue(Value value) {
     if (value == null) {
@@ -38,6 +39,9 @@ public abstract class AbstractValueBox extends AbstractHost implements ValueBox
     }
     if (canContainValue(value)) {
       this.value = value;
+      if (observer != null) {
+        observer.valueChanged(this);
+      }
     } else {
       throw new RuntimeException("Box " + this + " cannot contain value: " + value + "(" + value.getClass() + ")");
     }
@@ -47,6 +51,16 @@ public abstract class AbstractValueBox extends AbstractHost implements ValueBox
     return value;
   }
 
+  /** Returns the observer that is notified when the value of this box is replaced, or null. */
+  public ValueBoxObserver getObserver() {
+    return observer;
+  }
+
+  /** Sets the observer that is notified when the value of this box is replaced. Pass null to remove it. */
+  public void setObserver(ValueBoxObserver observer) {
+    this.observer = observer;
+  }
+
   public void toString(UnitPrinter up) {
     up.startValueBox(this);
     value.toString(up);
@@ -0,0 +1,196 @@
+package soot;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.hash.Hashing;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent index of the entries of JAR and ZIP files, stored in a directory on disk. Each archive gets its own index
+ * file, which records the archive's canonical path, size, modification time and a checksum of its tail (the tail of a ZIP
+ * file holds the central directory). An index is only used if all of these still match the archive; otherwise the archive
+ * is scanned again and the index is rewritten.
+ *
+ * <p>
+ * Index files are replaced atomically, so several Soot processes can share the same index directory.
+ * </p>
+ */
+public class ArchiveIndexCache {
+  private static final Logger logger = LoggerFactory.getLogger(ArchiveIndexCache.class);
+
+  private static final int MAGIC = 0x534f4f54;
+  private static final int VERSION = 1;
+
+  /**
+   * The number of bytes at the end of an archive over which the checksum is computed. This covers the end of central
+   * directory record including the maximal comment length.
+   */
+  private static final int TAIL_SIZE = 64 * 1024 + 22;
+
+  private final File indexDir;
+
+  public ArchiveIndexCache(File indexDir) {
+    this.indexDir = indexDir;
+  }
+
+  /**
+   * Returns the names of all entries in the given archive, in the order in which they appear in the archive.
+   *
+   * @param archivePath
+   *          The path of the JAR or ZIP file
+   * @return The entry names
+   * @throws IOException
+   *           If the archive cannot be read
+   */
+  public List<String> getEntries(String archivePath) throws IOException {
+    final File archive = new File(archivePath).getCanonicalFile();
+    final long size = archive.length();
+    final long lastModified = archive.lastModified();
+    final long checksum = tailChecksum(archive, size);
+    final File indexFile = getIndexFile(archive);
+
+    if (indexFile.isFile()) {
+      try {
+        List<String> entries = readIndex(indexFile, archive.getPath(), size, lastModified, checksum);
+        if (entries != null) {
+          return entries;
+        }
+      } catch (IOException e) {
+        // A damaged index is not fatal, we simply rebuild it
+        logger.debug("Could not read archive index " + indexFile + ": " + e.getMessage());
+      }
+    }
+
+    List<String> entries = buildIndex(archive);
+    try {
+      writeIndex(indexFile, archive.getPath(), size, lastModified, checksum, entries);
+    } catch (IOException e) {
+      logger.warn("Could not write archive index " + indexFile + ": " + e.getMessage());
+    }
+    return entries;
+  }
+
+  /**
+   * Returns the entries of the given archive when no valid index exists for it.
+   */
+  protected List<String> buildIndex(File archive) throws IOException {
+    return scanArchive(archive);
+  }
+
+  /**
+   * Scans the given archive and returns the names of all its entries.
+   */
+  public static List<String> scanArchive(File archive) throws IOException {
+    try (ZipFile zip = new ZipFile(archive)) {
+      List<String> entries = new ArrayList<String>(zip.size());
+      for (Enumeration<? extends ZipEntry> it = zip.entries(); it.hasMoreElements();) {
+        entries.add(it.nextElement().getName());
+      }
+      return entries;
+    }
+  }
+
+  private File getIndexFile(File archive) {
+    String key = Hashing.sha256().hashString(archive.getPath(), StandardCharsets.UTF_8).toString();
+    return new File(indexDir, key + ".idx");
+  }
+
+  private static long tailChecksum(File archive, long size) throws IOException {
+    final int len = (int) Math.min(size, TAIL_SIZE);
+    final byte[] tail = new byte[len];
+    try (RandomAccessFile raf = new RandomAccessFile(archive, "r")) {
+      raf.seek(size - len);
+      raf.readFully(tail);
+    }
+    CRC32 crc = new CRC32();
+    crc.update(tail, 0, len);
+    return crc.getValue();
+  }
+
+  /**
+   * Reads the index file, returning <code>null</code> if it does not describe the given state of the archive.
+   */
+  private static List<String> readIndex(File indexFile, String path, long size, long lastModified, long checksum)
+      throws IOException {
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        return null;
+      }
+      if (!path.equals(in.readUTF()) || in.readLong() != size || in.readLong() != lastModified
+          || in.readLong() != checksum) {
+        return null;
+      }
+      final int count = in.readInt();
+      List<String> entries = new ArrayList<String>(count);
+      for (int i = 0; i < count; i++) {
+        entries.add(in.readUTF());
+      }
+      return Collections.unmodifiableList(entries);
+    }
+  }
+
+  private void writeIndex(File indexFile, String path, long size, long lastModified, long checksum, List<String> entries)
+      throws IOException {
+    SourceLocator.ensureDirectoryExists(indexDir);
+    File tmp = File.createTempFile("archive", ".tmp", indexDir);
+    try {
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(path);
+        out.writeLong(size);
+        out.writeLong(lastModified);
+        out.writeLong(checksum);
+        out.writeInt(entries.size());
+        for (String e : entries) {
+          out.writeUTF(e);
+        }
+      }
+      Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp.toPath());
+    }
+  }
+}
@@ -43,6 +43,15 @@ public abstract class ClassSource {
    */
   public abstract Dependencies resolve(SootClass sc);
 
+  /**
+   * Does the part of the work of {@link #resolve(SootClass)} that does not touch the Scene, such as reading and parsing the
+   * class file. This may be called on a worker thread before <code>resolve</code> is called on the resolving thread. If it
+   * fails, the class source must still be usable, so that <code>resolve</code> can report the problem. The default
+   * implementation does nothing.
+   */
+  public void prefetch() {
+  }
+
   public void close() {
   }
 }
@@ -25,11 +25,13 @@ package soot;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.jf.dexlib2.iface.ClassDef;
 import org.jf.dexlib2.iface.DexFile;
@@ -98,29 +100,75 @@ public class DexClassProvider implements ClassProvider {
    *          paths to index
    */
   private void buildDexIndex(Map<String, File> index, List<String> classPath) {
+    final DexFileProvider provider = DexFileProvider.v();
+
+    // open all dex sources, in parallel if there are several of them
+    List<Callable<List<DexFileProvider.DexContainer<? extends DexFile>>>> loaders = new ArrayList<>();
     for (String path : classPath) {
+      loaders.add(() -> loadDexContainers(path));
+    }
+    final List<DexFileProvider.DexContainer<? extends DexFile>> containers = new ArrayList<>();
+    final List<Set<String>> classes;
+    try {
+      for (List<DexFileProvider.DexContainer<? extends DexFile>> l : provider.invokeAll(loaders)) {
+        containers.addAll(l);
+      }
+
+      // collect the class names of each dex file in parallel as well
+      List<Callable<Set<String>>> indexers = new ArrayList<>(containers.size());
+      for (DexFileProvider.DexContainer<? extends DexFile> container : containers) {
+        indexers.add(() -> classesOfContainer(container));
+      }
+      classes = provider.invokeAll(indexers);
+    } catch (IOException e) {
+      logger.warn("IO error while indexing dex files");
+      logger.debug("Exception: " + e);
+      return;
+    }
+
+    // merge in class path order, so that the first definition of a class wins
+    for (int i = 0; i < containers.size(); i++) {
+      DexFileProvider.DexContainer<? extends DexFile> container = containers.get(i);
       try {
-        File dexFile = new File(path);
-        if (dexFile.exists()) {
-          for (DexFileProvider.DexContainer<? extends DexFile> container : DexFileProvider.v().getDexFromSource(dexFile)) {
-            for (String className : classesOfDex(container.getBase().getDexFile())) {
-              if (!index.containsKey(className)) {
-                index.put(className, container.getFilePath());
-              } else if (Options.v().verbose()) {
-                logger.debug(String.format(
-                    "Warning: Duplicate of class '%s' found in dex file '%s' from source '%s'. Omitting class.", className,
-                    container.getDexName(), container.getFilePath().getCanonicalPath()));
-              }
-            }
+        for (String className : classes.get(i)) {
+          if (!index.containsKey(className)) {
+            index.put(className, container.getFilePath());
+          } else if (Options.v().verbose()) {
+            logger.debug(String.format(
+                "Warning: Duplicate of class '%s' found in dex file '%s' from source '%s'. Omitting class.", className,
+                container.getDexName(), container.getFilePath().getCanonicalPath()));
           }
         }
       } catch (IOException e) {
-        logger.warn("IO error while processing dex file '" + path + "'");
-        logger.debug("Exception: " + e);
-      } catch (Exception e) {
-        logger.warn("exception while processing dex file '" + path + "'");
+        logger.warn("IO error while processing dex file '" + container.getFilePath() + "'");
         logger.debug("Exception: " + e);
       }
     }
   }
+
+  private Set<String> classesOfContainer(DexFileProvider.DexContainer<? extends DexFile> container) {
+    try {
+      return classesOfDex(container.getBase().getDexFile());
+    } catch (Exception e) {
+      logger.warn("exception while processing dex file '" + container.getFilePath() + "'");
+      logger.debug("Exception: " + e);
+      return Collections.emptySet();
+    }
+  }
+
+  private List<DexFileProvider.DexContainer<? extends DexFile>> loadDexContainers(String path) {
+    try {
+      File dexFile = new File(path);
+      if (dexFile.exists()) {
+        return DexFileProvider.v().getDexFromSource(dexFile);
+      }
+    } catch (IOException e) {
+      logger.warn("IO error while processing dex file '" + path + "'");
+      logger.debug("Exception: " + e);
+    } catch (Exception e) {
+      logger.warn("exception while processing dex file '" + path + "'");
+      logger.debug("Exception: " + e);
+    }
+    return Collections.emptyList();
+  }
 }
@@ -22,8 +22,8 @@ package soot;
  * #L%
  */
 
-import com.google.common.collect.HashBasedTable;
-import com.google.common.collect.Table;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import java.util.ArrayDeque;
 import java.util.Collection;
@@ -37,10 +37,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 import soot.options.Options;
 import soot.util.ConcurrentHashMultiMap;
 import soot.util.MultiMap;
+import soot.util.NumberedString;
 
 /**
  * Represents the class hierarchy. It is closely linked to a Scene, and must be recreated if the Scene changes.
@@ -53,7 +55,23 @@ import soot.util.MultiMap;
  *         for overwritten return types
  */
 public class FastHierarchy {
-  protected Table<SootClass, String, SootMethod> typeToVtbl = HashBasedTable.create();
+  /** The default number of entries each dispatch cache holds. */
+  public static final int DEFAULT_DISPATCH_CACHE_CAPACITY = 1 << 20;
+
+  protected int dispatchCacheCapacity = DEFAULT_DISPATCH_CACHE_CAPACITY;
+
+  /**
+   * Caches the results of {@link #resolveMethod(SootClass, SootMethodRef, boolean)} and thus of concrete dispatch.
+   */
+  protected final DispatchCache<SootMethod> methodCache = new DispatchCache<SootMethod>();
+
+  /**
+   * Caches the results of {@link #resolveAbstractDispatch(SootClass, SootMethodRef)}.
+   */
+  protected final DispatchCache<Set<SootMethod>> abstractDispatchCache = new DispatchCache<Set<SootMethod>>();
+
+  protected final LongAdder dispatchCacheHits = new LongAdder();
+  protected final LongAdder dispatchCacheMisses = new LongAdder();
 
   /**
    * This map holds all key,value pairs such that value.getSuperclass() == key. This is one of the three maps that hold the
@@ -124,6 +142,98 @@ public class FastHierarchy {
     }
   }
 
+  /**
+   * Identifies a dispatch query by the numbers of the receiver class, the class declaring the called method and the called
+   * subsignature.
+   */
+  protected static final class DispatchKey {
+    final int baseType;
+    final int declaringClass;
+    final int subSig;
+    final boolean allowAbstract;
+
+    DispatchKey(int baseType, int declaringClass, int subSig, boolean allowAbstract) {
+      this.baseType = baseType;
+      this.declaringClass = declaringClass;
+      this.subSig = subSig;
+      this.allowAbstract = allowAbstract;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = baseType;
+      result = 31 * result + declaringClass;
+      result = 31 * result + subSig;
+      return allowAbstract ? result : ~result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof DispatchKey)) {
+        return false;
+      }
+      DispatchKey other = (DispatchKey) obj;
+      return baseType == other.baseType && declaringClass == other.declaringClass && subSig == other.subSig
+          && allowAbstract == other.allowAbstract;
+    }
+  }
+
+  /**
+   * A thread-safe memo table for dispatch results. Once it holds {@link #dispatchCacheCapacity} entries, the least recently
+   * used ones are evicted. It is cleared when the Scene reports a change of the class hierarchy.
+   */
+  protected class DispatchCache<V> {
+    private volatile Cache<DispatchKey, V> cache = newCache();
+    private volatile int sceneState = -1;
+
+    private Cache<DispatchKey, V> newCache() {
+      return CacheBuilder.newBuilder().maximumSize(Math.max(dispatchCacheCapacity, 0)).build();
+    }
+
+    /**
+     * Returns the key for the given query, or null if the query cannot be cached because one of the classes has no number or
+     * the subsignature is not known to the Scene.
+     */
+    DispatchKey key(SootClass baseType, SootClass declaringClass, NumberedString subSig, boolean allowAbstract) {
+      final int base = baseType.getNumber();
+      final int declaring = declaringClass.getNumber();
+      if (base == 0 || declaring == 0 || subSig == null) {
+        return null;
+      }
+      return new DispatchKey(base, declaring, subSig.getNumber(), allowAbstract);
+    }
+
+    V get(DispatchKey key) {
+      final int state = sc.getState();
+      if (state != sceneState) {
+        cache.invalidateAll();
+        sceneState = state;
+      }
+      V ret = cache.getIfPresent(key);
+      if (ret == null) {
+        dispatchCacheMisses.increment();
+      } else {
+        dispatchCacheHits.increment();
+      }
+      return ret;
+    }
+
+    void put(DispatchKey key, V value) {
+      if (dispatchCacheCapacity <= 0) {
+        return;
+      }
+      cache.put(key, value);
+    }
+
+    /** Discards all entries and applies the current capacity. */
+    void clear() {
+      cache = newCache();
+    }
+  }
+
   protected int dfsVisit(int start, SootClass c) {
     Interval r = new Interval();
     r.lower = start++;
@@ -621,6 +731,23 @@ public class FastHierarchy {
    *          The declared type C
    */
   public Set<SootMethod> resolveAbstractDispatch(SootClass baseType, SootMethodRef m) {
+    final DispatchKey key = abstractDispatchCache.key(baseType, m.getDeclaringClass(), m.getSubSignature(), false);
+    if (key != null) {
+      Set<SootMethod> cached = abstractDispatchCache.get(key);
+      if (cached != null) {
+        // Callers may modify the returned set
+        return new HashSet<>(cached);
+      }
+    }
+
+    Set<SootMethod> ret = resolveAbstractDispatchUncached(baseType, m);
+    if (key != null) {
+      abstractDispatchCache.put(key, new HashSet<>(ret));
+    }
+    return ret;
+  }
+
+  private Set<SootMethod> resolveAbstractDispatchUncached(SootClass baseType, SootMethodRef m) {
     HashSet<SootClass> resolved = new HashSet<>();
     HashSet<SootMethod> ret = new HashSet<>();
     ArrayDeque<SootClass> worklist = new ArrayDeque<>();
@@ -696,7 +823,7 @@ public class FastHierarchy {
    * @return The concrete method o.f() to call
    */
   public SootMethod resolveMethod(SootClass baseType, SootMethod m, boolean allowAbstract) {
-    return resolveMethod(baseType, m, allowAbstract);
+    return resolveMethod(baseType, m.makeRef(), allowAbstract);
   }
 
   /**
@@ -742,7 +869,7 @@ public class FastHierarchy {
    */
   private SootMethod resolveMethod(SootClass baseType, SootMethodRef m, boolean allowAbstract, Set<SootClass> ignoreList) {
     return resolveMethod(baseType, m.getDeclaringClass(), m.getName(), m.getParameterTypes(), m.getReturnType(),
-        allowAbstract, ignoreList);
+        m.getSubSignature(), allowAbstract, ignoreList);
   }
 
   /**
@@ -764,7 +891,11 @@ public class FastHierarchy {
    */
   public SootMethod resolveMethod(SootClass baseType, SootClass declaringClass, String name, List<Type> parameterTypes,
       Type returnType, boolean allowAbstract) {
-    return resolveMethod(baseType, declaringClass, name, parameterTypes, returnType, allowAbstract, new HashSet<>());
+    // A subsignature the Scene does not know yet is not worth adding just for the cache
+    NumberedString subSig
+        = Scene.v().getSubSigNumberer().find(SootMethod.getSubSignature(name, parameterTypes, returnType));
+    return resolveMethod(baseType, declaringClass, name, parameterTypes, returnType, subSig, allowAbstract,
+        new HashSet<>());
   }
 
   /**
@@ -782,6 +913,8 @@ public class FastHierarchy {
    *          declaring class of the method to resolve
    * @param name
    *          Name of the method to resolve
+   * @param subSig
+   *          The subsignature of the method to resolve
    * @param ignoreList
    *          A set of classes that should be ignored during dispatch. This set will also be modified since every traversed
    *          class/interface will be added. This is required for the abstract dispatch to not do additional resolving effort
@@ -789,15 +922,30 @@ public class FastHierarchy {
    * @return The concrete method o.f() to call
    */
   private SootMethod resolveMethod(SootClass baseType, SootClass declaringClass, String name, List<Type> parameterTypes,
-      Type returnType, boolean allowAbstract, Set<SootClass> ignoreList) {
+      Type returnType, NumberedString subSig, boolean allowAbstract, Set<SootClass> ignoreList) {
+    // Walks that share their ignore list with earlier walks (see
+    // resolveAbstractDispatch) may stop early, so only fresh walks use the cache
+    final DispatchKey key = ignoreList.isEmpty() ? methodCache.key(baseType, declaringClass, subSig, allowAbstract) : null;
+    if (key != null) {
+      SootMethod cached = methodCache.get(key);
+      if (cached != null) {
+        return cached;
+      }
+    }
+
+    SootMethod ret = resolveMethodUncached(baseType, declaringClass, name, parameterTypes, returnType, allowAbstract,
+        ignoreList);
+    if (key != null && ret != null) {
+      methodCache.put(key, ret);
+    }
+    return ret;
+  }
+
+  private SootMethod resolveMethodUncached(SootClass baseType, SootClass declaringClass, String name,
+      List<Type> parameterTypes, Type returnType, boolean allowAbstract, Set<SootClass> ignoreList) {
     SootClass concreteType = baseType;
 
     SootMethod candidate = null;
-    String methodSignature = SootMethod.getSubSignature(name, parameterTypes, returnType);
-    SootMethod resolvedMethod = typeToVtbl.get(baseType, methodSignature);
-    if (resolvedMethod != null) {
-      return resolvedMethod;
-    }
 
     // When there is no proper dispatch found, we simply return null to let
     // the caller decide what to do
@@ -810,9 +958,6 @@ public class FastHierarchy {
             break;
           }
 
-          if (!candidate.isAbstract()) {
-            typeToVtbl.put(baseType, methodSignature, candidate);
-          }
           return candidate;
         }
       }
@@ -867,9 +1012,6 @@ public class FastHierarchy {
       ignoreList.addAll(interfaceIgnoreList);
     }
 
-    if (candidate != null) {
-      typeToVtbl.put(baseType, methodSignature, candidate);
-    }
     return candidate;
   }
 
@@ -917,6 +1059,25 @@ public class FastHierarchy {
     return candidate;
   }
 
+  /** Returns how often a dispatch query was answered from the cache. */
+  public long getDispatchCacheHits() {
+    return dispatchCacheHits.sum();
+  }
+
+  /** Returns how often a dispatch query had to walk the hierarchy. */
+  public long getDispatchCacheMisses() {
+    return dispatchCacheMisses.sum();
+  }
+
+  /**
+   * Sets the maximum number of entries of each dispatch cache. A capacity of 0 disables the caches.
+   */
+  public void setDispatchCacheCapacity(int capacity) {
+    this.dispatchCacheCapacity = capacity;
+    methodCache.clear();
+    abstractDispatchCache.clear();
+  }
+
   /**
    * Gets the direct subclasses of a given class. The class needs to be resolved at least at the HIERARCHY level.
    *
@@ -47,6 +47,8 @@ public class FoundFile {
   protected String entryName;
   protected ZipFile zipFile;
   protected ZipEntry zipEntry;
+  /** The cache the archive was taken from, <code>null</code> if this file owns its archive. */
+  private ZipFileCache zipFileCache;
   protected List<InputStream> openedInputStreams;
 
   public FoundFile(ZipFile file, ZipEntry entry) {
@@ -117,43 +119,59 @@ public class FoundFile {
         throw new RuntimeException("Error: Failed to open a InputStream for the file at path '" + file.getPath() + "'.", e);
       }
     } else {
-      if (zipFile == null) {
-        try {
-          zipFile = new ZipFile(file);
-          zipEntry = zipFile.getEntry(entryName);
-          if (zipEntry == null) {
-            silentClose();
-            throw new RuntimeException(
-                "Error: Failed to find entry '" + entryName + "' in the archive file at path '" + file.getPath() + "'.");
-          }
-        } catch (Exception e) {
-          silentClose();
-          throw new RuntimeException(
-              "Error: Failed to open the archive file at path '" + file.getPath() + "' for entry '" + entryName + "'.", e);
-        }
+      ret = new ByteArrayInputStream(readZipEntry());
+    }
+
+    openedInputStreams.add(ret);
+    return ret;
+  }
+
+  /**
+   * Reads the whole file into an array of exactly the file's size. Unlike {@link #inputStream()}, this does not copy the
+   * contents through intermediate buffers.
+   */
+  public byte[] readBytes() {
+    if (path != null) {
+      try {
+        return Files.readAllBytes(path);
+      } catch (IOException e) {
+        throw new RuntimeException("Error: Failed to read the file at path '" + path.toAbsolutePath().toString() + "'.", e);
+      }
+    } else if (!isZipFile()) {
+      try {
+        return Files.readAllBytes(file.toPath());
+      } catch (IOException e) {
+        throw new RuntimeException("Error: Failed to read the file at path '" + file.getPath() + "'.", e);
       }
+    } else {
+      return readZipEntry();
+    }
+  }
 
-      InputStream stream = null;
+  private byte[] readZipEntry() {
+    if (zipFile == null) {
       try {
-        stream = zipFile.getInputStream(zipEntry);
-        ret = doJDKBugWorkaround(stream, zipEntry.getSize());
-      } catch (Exception e) {
-        throw new RuntimeException("Error: Failed to open a InputStream for the entry '" + zipEntry.getName()
-            + "' of the archive at path '" + zipFile.getName() + "'.", e);
-      } finally {
-        if (stream != null) {
-          try {
-            stream.close();
-          } catch (IOException e) {
-            // There's not much we can do here
-            logger.debug(e.getMessage(), e);
-          }
+        zipFileCache = SourceLocator.v().getZipFileCache();
+        zipFile = zipFileCache.acquire(file);
+        zipEntry = zipFile.getEntry(entryName);
+        if (zipEntry == null) {
+          silentClose();
+          throw new RuntimeException(
+              "Error: Failed to find entry '" + entryName + "' in the archive file at path '" + file.getPath() + "'.");
         }
+      } catch (Exception e) {
+        silentClose();
+        throw new RuntimeException(
+            "Error: Failed to open the archive file at path '" + file.getPath() + "' for entry '" + entryName + "'.", e);
       }
     }
 
-    openedInputStreams.add(ret);
-    return ret;
+    try (InputStream stream = zipFile.getInputStream(zipEntry)) {
+      return doJDKBugWorkaround(stream, zipEntry.getSize());
+    } catch (Exception e) {
+      throw new RuntimeException("Error: Failed to open a InputStream for the entry '" + zipEntry.getName()
+          + "' of the archive at path '" + zipFile.getName() + "'.", e);
+    }
   }
 
   public void silentClose() {
@@ -204,7 +222,13 @@ public class FoundFile {
 
   protected void closeZipFile(List<Exception> errs) {
     // Try to close the opened zip file if it exists
-    if (zipFile != null) {
+    if (zipFile != null && zipFileCache != null) {
+      // The archive is shared with other files, so we only hand it back
+      zipFileCache.release(zipFile);
+      zipFileCache = null;
+      zipFile = null;
+      zipEntry = null;
+    } else if (zipFile != null) {
       try {
         zipFile.close();
         errs.clear();// Successfully closed the archive so all input
@@ -217,7 +241,16 @@ public class FoundFile {
     }
   }
 
-  private InputStream doJDKBugWorkaround(InputStream is, long size) throws IOException {
+  private byte[] doJDKBugWorkaround(InputStream is, long size) throws IOException {
+    if (size < 0) {
+      // The size is not recorded in the archive
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] chunk = new byte[4096];
+      for (int ln; (ln = is.read(chunk)) != -1;) {
+        out.write(chunk, 0, ln);
+      }
+      return out.toByteArray();
+    }
     int sz = (int) size;
     byte[] buf = new byte[sz];
     final int N = 1024;
@@ -227,6 +260,6 @@ public class FoundFile {
       count += ln;
       sz -= ln;
     }
-    return new ByteArrayInputStream(buf);
+    return buf;
   }
 }
@@ -57,10 +57,14 @@ public final class LambdaMetaFactory {
 
   private final Wrapper wrapper;
 
-  private int uniq;
+  /**
+   * Counters for the generated class names, one per enclosing class. Keeping them separate makes the names independent of
+   * the order in which the bodies of different classes are constructed.
+   */
+  private final Map<String, Integer> uniq;
 
   public LambdaMetaFactory(Singletons.Global g) {
-    uniq = 0;
+    uniq = new HashMap<String, Integer>();
     wrapper = new Wrapper();
   }
 
@@ -176,18 +180,12 @@ public final class LambdaMetaFactory {
       enclosingClassnamePrefix = enclosingClassname + "$";
     }
 
-    String className;
-    final boolean readableClassnames = true;
-    if (readableClassnames) {
-      // class names cannot contain <>
-      String implMethodName = implMethod.getMethodRef().getName();
-      String dummyName = "<init>".equals(implMethodName) ? "init" : implMethodName;
-      // XXX: $ causes confusion in inner class inference; remove for now
-      dummyName = dummyName.replaceAll("\\$", "_");
-      className = enclosingClassnamePrefix + dummyName + "__" + uniqSupply();
-    } else {
-      className = "soot.dummy.lambda" + uniqSupply();
-    }
+    // class names cannot contain <>
+    String implMethodName = implMethod.getMethodRef().getName();
+    String dummyName = "<init>".equals(implMethodName) ? "init" : implMethodName;
+    // XXX: $ causes confusion in inner class inference; remove for now
+    dummyName = dummyName.replaceAll("\\$", "_");
+    String className = enclosingClassnamePrefix + dummyName + "__" + uniqSupply(enclosingClassnamePrefix);
     SootClass tclass = Scene.v().makeSootClass(className);
     tclass.setModifiers(Modifier.PUBLIC | Modifier.FINAL);
     tclass.setSuperclass(Scene.v().getObjectType().getSootClass());
@@ -314,8 +312,11 @@ public final class LambdaMetaFactory {
     m.setSource(ms);
   }
 
-  private synchronized long uniqSupply() {
-    return ++uniq;
+  private synchronized long uniqSupply(String prefix) {
+    Integer last = uniq.get(prefix);
+    int next = last == null ? 1 : last + 1;
+    uniq.put(prefix, next);
+    return next;
   }
 
   private static class Wrapper {
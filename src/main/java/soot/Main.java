@@ -299,6 +299,9 @@ public class Main {
       if (Options.v().time()) {
         Timers.v().printProfilingInformation();
       }
+      if (!Options.v().metrics_file().isEmpty()) {
+        PhaseMetrics.v().writeTo(Options.v().metrics_file());
+      }
 
     } catch (CompilationDeathException e) {
       Timers.v().totalTimer.end();
@@ -114,7 +114,12 @@ public abstract class Pack implements HasPhaseOptions, Iterable<Transform> {
     if (!PhaseOptions.getBoolean(options, "enabled")) {
       return;
     }
-    internalApply();
+    final PhaseMetrics.Sample sample = PhaseMetrics.v().start(getPhaseName());
+    try {
+      internalApply();
+    } finally {
+      PhaseMetrics.v().end(sample, 0, 0);
+    }
   }
 
   public final void apply(Body b) {
@@ -122,7 +127,12 @@ public abstract class Pack implements HasPhaseOptions, Iterable<Transform> {
     if (!PhaseOptions.getBoolean(options, "enabled")) {
       return;
     }
-    internalApply(b);
+    final PhaseMetrics.Sample sample = PhaseMetrics.v().start(getPhaseName());
+    try {
+      internalApply(b);
+    } finally {
+      PhaseMetrics.v().end(sample, 1, 0);
+    }
   }
 
   public String getDeclaredOptions() {
@@ -24,20 +24,27 @@ package soot;
 
 import heros.solver.CountingThreadPoolExecutor;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.jar.JarEntry;
@@ -118,6 +125,7 @@ import soot.jimple.toolkits.scalar.pre.LazyCodeMotion;
 import soot.jimple.toolkits.thread.mhp.MhpTransformer;
 import soot.jimple.toolkits.thread.synchronization.LockAllocator;
 import soot.jimple.toolkits.typing.TypeAssigner;
+import soot.options.JOPOptions;
 import soot.options.Options;
 import soot.shimple.Shimple;
 import soot.shimple.ShimpleBody;
@@ -150,6 +158,8 @@ public class PackManager {
   private final List<Pack> packList = new LinkedList<Pack>();
   private boolean onlyStandardPacks = false;
   private JarOutputStream jarFile = null;
+  /** Set while {@link #writeJarOutput(Iterator, int)} lets the current thread write a class into a buffer. */
+  private final ThreadLocal<JarEntryBuffer> jarEntryBuffer = new ThreadLocal<JarEntryBuffer>();
   protected DexPrinter dexPrinter = null;
 
   public PackManager(Singletons.Global g) {
@@ -580,7 +590,9 @@ public class PackManager {
   }
 
   protected void writeDexOutput() {
-    dexPrinter = new DexPrinter();
+    // writeClass hands the classes to the printer, which converts them
+    // concurrently but adds them to the dex files in this order
+    dexPrinter = new DexPrinter(getBodyThreadCount());
     writeOutput(reachableClasses());
     dexPrinter.print();
     dexPrinter = null;
@@ -650,15 +662,53 @@ public class PackManager {
     }
   }
 
+  /**
+   * Returns the number of threads Soot may use for its parallel phases. This is the value of the <code>-num-threads</code>
+   * option, or the number of available processors if that option is 0, but we fall back to a single thread whenever a
+   * configuration relies on global state that is not thread-safe.
+   */
+  public static int getThreadCount() {
+    final Options opts = Options.v();
+    if (opts.coffi() || opts.time() || opts.interactive_mode() || opts.output_format() == Options.output_format_dava) {
+      return 1;
+    }
+    final int num = opts.num_threads();
+    if (num == 0) {
+      return Runtime.getRuntime().availableProcessors();
+    }
+    return num > 0 ? num : 1;
+  }
+
+  /**
+   * Returns the number of threads to use for loading method bodies and for running the per-body packs. This is
+   * {@link #getThreadCount()}, except that dumping bodies or graphs needs a single thread.
+   */
+  protected int getBodyThreadCount() {
+    final Options opts = Options.v();
+    if (!opts.dump_body().isEmpty() || !opts.dump_cfg().isEmpty()) {
+      return 1;
+    }
+    return getThreadCount();
+  }
+
   private void runBodyPacks(final Iterator<SootClass> classes) {
-    int threadNum = Runtime.getRuntime().availableProcessors();
+    final int threadNum = getBodyThreadCount();
+    if (threadNum <= 1) {
+      while (classes.hasNext()) {
+        runBodyPacks(classes.next());
+      }
+      return;
+    }
+
+    // Every class is handed to exactly one worker, and classes are submitted
+    // in the same order as in the single-threaded case. The output is written
+    // afterwards, so the scheduling does not influence the result.
     CountingThreadPoolExecutor executor
         = new CountingThreadPoolExecutor(threadNum, threadNum, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
 
     while (classes.hasNext()) {
       final SootClass c = classes.next();
-//      executor.execute(() -> runBodyPacks(c));
-      this.runBodyPacks(c); //改并行为串行
+      executor.execute(() -> runBodyPacks(c));
     }
 
     // Wait till all packs have been executed
@@ -686,19 +736,28 @@ public class PackManager {
   }
 
   protected void writeOutput(Iterator<SootClass> classes) {
-    // If we're writing individual class files, we can write them
-    // concurrently. Otherwise, we need to synchronize for not destroying
-    // the shared output stream.
-    int threadNum = Options.v().output_format() == Options.output_format_class && jarFile == null
-        ? Runtime.getRuntime().availableProcessors()
-        : 1;
+    // If we're writing class files, we can generate them concurrently. When
+    // writing to a jar, the workers only produce the bytes and we append the
+    // finished entries to the shared output stream from this thread.
+    final int threadNum
+        = Options.v().output_format() == Options.output_format_class ? getBodyThreadCount() : 1;
+    if (threadNum <= 1) {
+      while (classes.hasNext()) {
+        writeClass(classes.next());
+      }
+      return;
+    }
+    if (jarFile != null) {
+      writeJarOutput(classes, threadNum);
+      return;
+    }
+
     CountingThreadPoolExecutor executor
         = new CountingThreadPoolExecutor(threadNum, threadNum, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
 
     while (classes.hasNext()) {
       final SootClass c = classes.next();
-//      executor.execute(() -> writeClass(c)); //改线程池执行为单线程执行
-      this.writeClass(c);
+      executor.execute(() -> writeClass(c));
     }
 
     // Wait till all classes have been written
@@ -720,6 +779,80 @@ public class PackManager {
     }
   }
 
+  /**
+   * Writes the given classes into the output jar. <code>threadNum</code> worker threads call {@link #writeClass(SootClass)},
+   * which writes each class into an in-memory buffer, while the calling thread appends the finished entries to the jar in the
+   * order of the given iterator. At most a few classes per worker are buffered at any time.
+   */
+  private void writeJarOutput(Iterator<SootClass> classes, int threadNum) {
+    final ExecutorService executor = Executors.newFixedThreadPool(threadNum);
+    final int maxPending = threadNum * 4;
+    final Deque<Future<JarEntryBuffer>> pending = new ArrayDeque<Future<JarEntryBuffer>>(maxPending);
+    try {
+      while (classes.hasNext()) {
+        final SootClass c = classes.next();
+        pending.add(executor.submit(() -> writeClassToBuffer(c)));
+        if (pending.size() >= maxPending) {
+          writeJarEntry(pending.poll());
+        }
+      }
+      while (!pending.isEmpty()) {
+        writeJarEntry(pending.poll());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private JarEntryBuffer writeClassToBuffer(SootClass c) {
+    final JarEntryBuffer buffer = new JarEntryBuffer();
+    jarEntryBuffer.set(buffer);
+    try {
+      writeClass(c);
+    } finally {
+      jarEntryBuffer.remove();
+    }
+    return buffer;
+  }
+
+  private void writeJarEntry(Future<JarEntryBuffer> future) {
+    final JarEntryBuffer buffer;
+    try {
+      buffer = future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Could not wait for writer threads to " + "finish: " + e.getMessage(), e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
+    if (buffer.fileName == null) {
+      // writeClass did not produce an entry for this class
+      return;
+    }
+
+    try {
+      JarEntry entry = new JarEntry(buffer.fileName);
+      entry.setMethod(ZipEntry.DEFLATED);
+      jarFile.putNextEntry(entry);
+      buffer.bytes.writeTo(jarFile);
+      jarFile.closeEntry();
+    } catch (IOException e) {
+      throw new CompilationDeathException("Cannot output file " + buffer.fileName, e);
+    }
+  }
+
+  /**
+   * The contents of a jar entry that {@link #writeClass(SootClass)} produced on a worker thread of
+   * {@link #writeJarOutput(Iterator, int)}.
+   */
+  private static class JarEntryBuffer {
+    String fileName;
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+  }
+
   private void tearDownJAR() {
     try {
       if (jarFile != null) {
@@ -1008,7 +1141,7 @@ public class PackManager {
         if (Options.v().validate()) {
           body.validate();
         }
-        PackManager.v().getPack("jop").apply(body);
+        applyJimpleOptimizationPack(body);
         PackManager.v().getPack("jap").apply(body);
         if (Options.v().xml_attributes() && Options.v().output_format() != Options.output_format_jimple) {
           // System.out.println("collecting body tags");
@@ -1060,6 +1193,26 @@ public class PackManager {
     } // end if produceDava
   }
 
+  /**
+   * Applies the jop pack to the given body, maintaining an index of its local definitions and uses while the pack runs if
+   * the def-use-index option of jop is set.
+   */
+  private void applyJimpleOptimizationPack(Body body) {
+    final Pack jop = getPack("jop");
+    final JOPOptions options = new JOPOptions(PhaseOptions.v().getPhaseOptions(jop));
+    if (!options.enabled() || !options.def_use_index() || !(body instanceof JimpleBody)) {
+      jop.apply(body);
+      return;
+    }
+    final JimpleBody jBody = (JimpleBody) body;
+    jBody.enableDefUseIndex();
+    try {
+      jop.apply(body);
+    } finally {
+      jBody.disableDefUseIndex();
+    }
+  }
+
   public BafBody convertJimpleBodyToBaf(SootMethod m) {
     JimpleBody body = (JimpleBody) m.getActiveBody().clone();
     // Change
@@ -1107,8 +1260,14 @@ public class PackManager {
       fileName = fileName + ".gz";
     }
 
+    final JarEntryBuffer buffer = jarEntryBuffer.get();
     try {
-      if (jarFile != null) {
+      if (buffer != null) {
+        // Fix path delimiters according to ZIP specification; the entry is
+        // added to the jar by writeJarOutput
+        buffer.fileName = fileName.replace("\\", "/");
+        streamOut = buffer.bytes;
+      } else if (jarFile != null) {
         // Fix path delimiters according to ZIP specification
         fileName = fileName.replace("\\", "/");
         JarEntry entry = new JarEntry(fileName);
@@ -1178,7 +1337,7 @@ public class PackManager {
 
     try {
       writerOut.flush();
-      if (jarFile == null) {
+      if (jarFile == null || buffer != null) {
         streamOut.close();
         writerOut.close();
       } else {
@@ -1259,32 +1418,32 @@ public class PackManager {
     }
   }
 
+  private void retrieveAllBodies(SootClass cl) {
+    // note: the following is a snapshot iterator;
+    // this is necessary because it can happen that phantom methods
+    // are added during resolution
+    for (SootMethod m : new ArrayList<SootMethod>(cl.getMethods())) {
+      if (m.isConcrete()) {
+        m.retrieveActiveBody();
+      }
+    }
+  }
+
   private void retrieveAllBodies() {
     // The old coffi front-end is not thread-safe
-    int threadNum = Options.v().coffi() ? 1 : Runtime.getRuntime().availableProcessors();
+    final int threadNum = getBodyThreadCount();
     CountingThreadPoolExecutor executor
         = new CountingThreadPoolExecutor(threadNum, threadNum, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
 
     Iterator<SootClass> clIt = reachableClasses();
     while (clIt.hasNext()) {
-      SootClass cl = clIt.next();
-      // note: the following is a snapshot iterator;
-      // this is necessary because it can happen that phantom methods
-      // are added during resolution
-      Iterator<SootMethod> methodIt = new ArrayList<SootMethod>(cl.getMethods()).iterator();
-      while (methodIt.hasNext()) {
-        final SootMethod m = methodIt.next();
-        if (m.isConcrete()) {
-//          executor.execute(new Runnable() {
-//
-//            @Override
-//            public void run() {
-//              m.retrieveActiveBody();
-//            }
-//
-//          });
-          m.retrieveActiveBody(); //修改线程池处理为串行执行
-        }
+      final SootClass cl = clIt.next();
+      if (threadNum <= 1) {
+        retrieveAllBodies(cl);
+      } else {
+        // All bodies of one class are loaded by the same worker, so that
+        // names generated per class (e.g., for lambdas) stay deterministic
+        executor.execute(() -> retrieveAllBodies(cl));
       }
     }
 
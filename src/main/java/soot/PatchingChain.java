@@ -29,6 +29,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import soot.util.Chain;
+import soot.util.ChainObserver;
 
 /**
  * An implementation of a Chain which can contain only Units, and handles patching to deal with element insertions and
@@ -37,12 +38,47 @@ import soot.util.Chain;
 @SuppressWarnings("serial")
 public class PatchingChain<E extends Unit> extends AbstractCollection<E> implements Chain<E> {
   protected Chain<E> innerChain;
+  protected transient ChainObserver<? super E> observer;
 
   /** Constructs a PatchingChain from the given Chain. */
   public PatchingChain(Chain<E> aChain) {
     innerChain = aChain;
   }
 
+  /**
+   * Sets the observer that is notified of all elements added to or removed from this chain. Pass null to remove it. Changes
+   * made through the {@link #getNonPatchingChain() inner chain} are not reported.
+   */
+  public void setObserver(ChainObserver<? super E> observer) {
+    this.observer = observer;
+  }
+
+  /** Returns the observer of this chain, or null. */
+  public ChainObserver<? super E> getObserver() {
+    return observer;
+  }
+
+  protected void fireAdded(E e) {
+    if (observer != null) {
+      observer.added(e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  protected void fireAdded(Iterable<? extends E> elements) {
+    if (observer != null) {
+      for (Object e : elements) {
+        observer.added((E) e);
+      }
+    }
+  }
+
+  protected void fireRemoved(E e) {
+    if (observer != null) {
+      observer.removed(e);
+    }
+  }
+
   /**
    * Returns the inner chain used by the PatchingChain. In general, this should not be used. However, direct access to the
    * inner chain may be necessary if you wish to perform certain operations (such as control-flow manipulations) without
@@ -55,7 +91,9 @@ public class PatchingChain<E extends Unit> extends AbstractCollection<E> impleme
   /** Adds the given object to this Chain. */
   @Override
   public boolean add(E o) {
-    return innerChain.add(o);
+    boolean res = innerChain.add(o);
+    fireAdded(o);
+    return res;
   }
 
   /** Replaces <code>out</code> in the Chain by <code>in</code>. */
@@ -63,23 +101,28 @@ public class PatchingChain<E extends Unit> extends AbstractCollection<E> impleme
   public void swapWith(E out, E in) {
     innerChain.swapWith(out, in);
     out.redirectJumpsToThisTo(in);
+    fireRemoved(out);
+    fireAdded(in);
   }
 
   /** Inserts <code>toInsert</code> in the Chain after <code>point</code>. */
   @Override
   public void insertAfter(E toInsert, E point) {
     innerChain.insertAfter(toInsert, point);
+    fireAdded(toInsert);
   }
 
   /** Inserts <code>toInsert</code> in the Chain after <code>point</code>. */
   @Override
   public void insertAfter(List<E> toInsert, E point) {
     innerChain.insertAfter(toInsert, point);
+    fireAdded(toInsert);
   }
 
   @Override
   public void insertAfter(Chain<E> toInsert, E point) {
     innerChain.insertAfter(toInsert, point);
+    fireAdded(toInsert);
   }
 
   /** Inserts <code>toInsert</code> in the Chain before <code>point</code>. */
@@ -113,11 +156,13 @@ public class PatchingChain<E extends Unit> extends AbstractCollection<E> impleme
   public void insertBefore(E toInsert, E point) {
     point.redirectJumpsToThisTo(toInsert);
     innerChain.insertBefore(toInsert, point);
+    fireAdded(toInsert);
   }
 
   /** Inserts <code>toInsert</code> in the Chain before <code>point</code> WITHOUT redirecting jumps. */
   public void insertBeforeNoRedirect(E toInsert, E point) {
     innerChain.insertBefore(toInsert, point);
+    fireAdded(toInsert);
   }
 
   /** Returns true if object <code>a</code> follows object <code>b</code> in the Chain. */
@@ -151,6 +196,7 @@ public class PatchingChain<E extends Unit> extends AbstractCollection<E> impleme
       res = innerChain.remove(obj);
 
       ((E) obj).redirectJumpsToThisTo(successor);
+      fireRemoved((E) obj);
     }
 
     return res;
@@ -166,12 +212,14 @@ public class PatchingChain<E extends Unit> extends AbstractCollection<E> impleme
   @Override
   public void addFirst(E u) {
     innerChain.addFirst(u);
+    fireAdded(u);
   }
 
   /** Adds the given object at the end of the Chain. */
   @Override
   public void addLast(E u) {
     innerChain.addLast(u);
+    fireAdded(u);
   }
 
   /** Removes the first object from this Chain. */
@@ -263,6 +311,7 @@ public class PatchingChain<E extends Unit> extends AbstractCollection<E> impleme
       innerIterator.remove();
 
       lastObject.redirectJumpsToThisTo(successor);
+      fireRemoved(lastObject);
     }
   }
 
@@ -314,10 +363,12 @@ public class PatchingChain<E extends Unit> extends AbstractCollection<E> impleme
   @Override
   public void insertAfter(Collection<? extends E> toInsert, E point) {
     innerChain.insertAfter(toInsert, point);
+    fireAdded(toInsert);
   }
 
   @Override
   public void insertBefore(Collection<? extends E> toInsert, E point) {
     innerChain.insertBefore(toInsert, point);
+    fireAdded(toInsert);
   }
 }
@@ -0,0 +1,326 @@
+package soot;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import soot.options.Options;
+
+/**
+ * Records where Soot spends its time. For every phase, e.g. <code>jb.ls</code>, <code>cg.spark</code> or
+ * <code>jop.cse</code>, it sums up the wall-clock time, the CPU time and the bytes allocated by the running thread, together
+ * with the number of invocations and of bodies or classes processed. The class resolver reports its work as the phases
+ * <code>resolver.hierarchy</code>, <code>resolver.signatures</code> and <code>resolver.bodies</code>. As resolving a class
+ * may resolve other classes, these phases only count the time that is not spent in a nested resolver phase.
+ *
+ * <p>
+ * Packs are measured as a whole as well as through their transforms, so the numbers of a pack include those of its
+ * transforms. Measurements may be taken by several threads at once. Nothing is recorded unless metrics are enabled, either by
+ * {@link #setEnabled(boolean)} or by the <code>-metrics-file</code> option, in which case the metrics are written to that
+ * file at the end of the run.
+ * </p>
+ */
+public class PhaseMetrics {
+  private static final Logger logger = LoggerFactory.getLogger(PhaseMetrics.class);
+
+  private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+  private final Map<String, PhaseStats> phases = new ConcurrentHashMap<String, PhaseStats>();
+  private final ThreadLocal<Sample> currentExclusive = new ThreadLocal<Sample>();
+  private volatile boolean enabled;
+
+  public PhaseMetrics(Singletons.Global g) {
+  }
+
+  public static PhaseMetrics v() {
+    return G.v().soot_PhaseMetrics();
+  }
+
+  /** Returns true if measurements are recorded. */
+  public boolean isEnabled() {
+    return enabled || !Options.v().metrics_file().isEmpty();
+  }
+
+  /** Enables or disables the recording of measurements independently of the command-line options. */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Starts a measurement of the given phase on the current thread. Returns null if metrics are disabled.
+   */
+  public Sample start(String phaseName) {
+    if (!isEnabled()) {
+      return null;
+    }
+    return new Sample(phaseName);
+  }
+
+  /**
+   * Starts a measurement of the given phase on the current thread that does not count the measurements started by this
+   * method on the same thread while it runs. This keeps phases that invoke each other recursively from being counted twice.
+   * Returns null if metrics are disabled.
+   */
+  public Sample startExclusive(String phaseName) {
+    if (!isEnabled()) {
+      return null;
+    }
+    final Sample sample = new Sample(phaseName);
+    sample.parent = currentExclusive.get();
+    sample.exclusive = true;
+    currentExclusive.set(sample);
+    return sample;
+  }
+
+  /**
+   * Ends the given measurement, which must have been started on the current thread, and adds it to the statistics of its
+   * phase. Does nothing if the sample is null.
+   */
+  public void end(Sample sample, int bodies, int classes) {
+    if (sample == null) {
+      return;
+    }
+    long wall = System.nanoTime() - sample.wallStart;
+    long cpu = sample.cpuStart < 0 ? 0 : cpuTime() - sample.cpuStart;
+    long allocated = sample.allocatedStart < 0 ? 0 : allocatedBytes() - sample.allocatedStart;
+    if (sample.exclusive) {
+      final Sample parent = sample.parent;
+      if (parent == null) {
+        currentExclusive.remove();
+      } else {
+        currentExclusive.set(parent);
+        parent.childWallNanos += wall;
+        parent.childCpuNanos += cpu;
+        parent.childAllocatedBytes += allocated;
+      }
+      wall -= sample.childWallNanos;
+      cpu -= sample.childCpuNanos;
+      allocated -= sample.childAllocatedBytes;
+    }
+
+    PhaseStats stats = phases.computeIfAbsent(sample.phaseName, PhaseStats::new);
+    stats.invocations.increment();
+    stats.wallNanos.add(wall);
+    stats.cpuNanos.add(cpu);
+    stats.allocatedBytes.add(allocated);
+    stats.bodies.add(bodies);
+    stats.classes.add(classes);
+  }
+
+  /** Returns the statistics of the given phase, or null if it has not been measured. */
+  public PhaseStats getStats(String phaseName) {
+    return phases.get(phaseName);
+  }
+
+  /** Returns the statistics of all measured phases, sorted by phase name. */
+  public Map<String, PhaseStats> getAllStats() {
+    return new TreeMap<String, PhaseStats>(phases);
+  }
+
+  /** Discards all measurements. */
+  public void reset() {
+    phases.clear();
+  }
+
+  /**
+   * Writes the metrics to the given file. Files ending in <code>.prom</code> or <code>.txt</code> are written in the
+   * Prometheus text format, all others as JSON.
+   */
+  public void writeTo(String fileName) {
+    try (Writer w = new OutputStreamWriter(Files.newOutputStream(Paths.get(fileName)), StandardCharsets.UTF_8)) {
+      if (fileName.endsWith(".prom") || fileName.endsWith(".txt")) {
+        writePrometheus(w);
+      } else {
+        writeJson(w);
+      }
+    } catch (IOException e) {
+      throw new CompilationDeathException("Cannot write phase metrics to " + fileName, e);
+    }
+    logger.debug("Phase metrics written to " + fileName);
+  }
+
+  /** Writes the metrics as a JSON object with one entry per phase. */
+  public void writeJson(Writer w) throws IOException {
+    w.write("{\n  \"phases\": [");
+    boolean first = true;
+    for (PhaseStats s : getAllStats().values()) {
+      w.write(first ? "\n" : ",\n");
+      first = false;
+      w.write("    {\"phase\": \"" + escapeJson(s.getPhaseName()) + "\"");
+      w.write(", \"invocations\": " + s.getInvocations());
+      w.write(", \"wallNanos\": " + s.getWallNanos());
+      w.write(", \"cpuNanos\": " + s.getCpuNanos());
+      w.write(", \"allocatedBytes\": " + s.getAllocatedBytes());
+      w.write(", \"bodies\": " + s.getBodies());
+      w.write(", \"classes\": " + s.getClasses() + "}");
+    }
+    w.write(first ? "]\n}\n" : "\n  ]\n}\n");
+  }
+
+  /** Writes the metrics in the Prometheus text exposition format, labeled by phase. */
+  public void writePrometheus(Writer w) throws IOException {
+    final Map<String, PhaseStats> all = getAllStats();
+    writeCounter(w, all, "soot_phase_invocations_total", "Number of times the phase was applied",
+        s -> Long.toString(s.getInvocations()));
+    writeCounter(w, all, "soot_phase_wall_seconds_total", "Wall-clock time spent in the phase",
+        s -> Double.toString(s.getWallNanos() / 1e9));
+    writeCounter(w, all, "soot_phase_cpu_seconds_total", "CPU time spent in the phase",
+        s -> Double.toString(s.getCpuNanos() / 1e9));
+    writeCounter(w, all, "soot_phase_allocated_bytes_total", "Bytes allocated while running the phase",
+        s -> Long.toString(s.getAllocatedBytes()));
+    writeCounter(w, all, "soot_phase_bodies_total", "Number of bodies processed by the phase",
+        s -> Long.toString(s.getBodies()));
+    writeCounter(w, all, "soot_phase_classes_total", "Number of classes processed by the phase",
+        s -> Long.toString(s.getClasses()));
+  }
+
+  private static void writeCounter(Writer w, Map<String, PhaseStats> all, String name, String help,
+      Function<PhaseStats, String> value) throws IOException {
+    w.write("# HELP " + name + " " + help + "\n");
+    w.write("# TYPE " + name + " counter\n");
+    for (PhaseStats s : all.values()) {
+      w.write(name + "{phase=\"" + escapeLabel(s.getPhaseName()) + "\"} " + value.apply(s) + "\n");
+    }
+  }
+
+  private static String escapeJson(String s) {
+    StringBuilder sb = new StringBuilder(s.length());
+    for (int i = 0; i < s.length(); i++) {
+      final char c = s.charAt(i);
+      if (c == '"' || c == '\\') {
+        sb.append('\\').append(c);
+      } else if (c < 0x20) {
+        sb.append(String.format("\\u%04x", (int) c));
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  private static String escapeLabel(String s) {
+    return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static long cpuTime() {
+    try {
+      return threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : -1;
+    } catch (UnsupportedOperationException e) {
+      return -1;
+    }
+  }
+
+  private static long allocatedBytes() {
+    if (threadBean instanceof com.sun.management.ThreadMXBean) {
+      final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+      try {
+        if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+          return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+      } catch (UnsupportedOperationException e) {
+        // fall through
+      }
+    }
+    return -1;
+  }
+
+  /** A measurement that has been started but not yet ended. */
+  public static final class Sample {
+    final String phaseName;
+    final long wallStart;
+    final long cpuStart;
+    final long allocatedStart;
+
+    // only used by exclusive measurements, which are confined to one thread
+    boolean exclusive;
+    Sample parent;
+    long childWallNanos;
+    long childCpuNanos;
+    long childAllocatedBytes;
+
+    Sample(String phaseName) {
+      this.phaseName = phaseName;
+      this.cpuStart = cpuTime();
+      this.allocatedStart = allocatedBytes();
+      this.wallStart = System.nanoTime();
+    }
+  }
+
+  /** The accumulated measurements of one phase. */
+  public static final class PhaseStats {
+    private final String phaseName;
+    final LongAdder invocations = new LongAdder();
+    final LongAdder wallNanos = new LongAdder();
+    final LongAdder cpuNanos = new LongAdder();
+    final LongAdder allocatedBytes = new LongAdder();
+    final LongAdder bodies = new LongAdder();
+    final LongAdder classes = new LongAdder();
+
+    PhaseStats(String phaseName) {
+      this.phaseName = phaseName;
+    }
+
+    public String getPhaseName() {
+      return phaseName;
+    }
+
+    public long getInvocations() {
+      return invocations.sum();
+    }
+
+    public long getWallNanos() {
+      return wallNanos.sum();
+    }
+
+    public long getCpuNanos() {
+      return cpuNanos.sum();
+    }
+
+    public long getAllocatedBytes() {
+      return allocatedBytes.sum();
+    }
+
+    public long getBodies() {
+      return bodies.sum();
+    }
+
+    public long getClasses() {
+      return classes.sum();
+    }
+  }
+}
@@ -773,7 +773,7 @@ public class Scene {
     return sb.toString();
   }
 
-  private int stateCount;
+  private volatile int stateCount;
 
   public int getState() {
     return this.stateCount;
@@ -1768,6 +1768,7 @@ public class Scene {
    * 加载soot需要的一组类，包括命令行中指定的。这是初始化soot应该使用的类列表的标准方法。
    */
   public void loadNecessaryClasses() {
+    final long start = System.nanoTime();
     loadBasicClasses();
 
     for (String name : Options.v().classes()) {
@@ -1782,7 +1783,9 @@ public class Scene {
       }
     } else {
       for (final String path : Options.v().process_dir()) {
-        for (String cl : SourceLocator.v().getClassesUnder(path)) {
+        List<String> classNames = SourceLocator.v().getClassesUnder(path);
+        SootResolver.v().prefetchClasses(classNames);
+        for (String cl : classNames) {
           System.out.println("处理的cl:" + cl);
           SootClass theClass = loadClassAndSupport(cl);
           if (!theClass.isPhantom) {
@@ -1791,6 +1794,14 @@ public class Scene {
         }
       }
     }
+    SootResolver.v().discardPrefetchedClasses();
+    // Classes resolved later on reopen the archives they need
+    SourceLocator.v().getZipFileCache().closeIdle();
+
+    if (Options.v().verbose()) {
+      logger.info("Loaded " + classes.size() + " classes in " + (System.nanoTime() - start) / 1000000 + " ms using "
+          + SootResolver.v().getResolverThreadCount() + " resolver thread(s)");
+    }
 
     prepareClasses();
     setDoneResolving();
@@ -26,10 +26,15 @@ package soot;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +64,25 @@ public class SootResolver {
 
   private Program program = null;
 
+  /**
+   * The number of class files per resolver thread that may be read and parsed ahead of the resolving thread.
+   */
+  private static final int PREFETCH_PER_THREAD = 32;
+
+  /**
+   * Class sources that are being read and parsed in the background, by class name. This and {@link #prefetchQueue} are
+   * guarded by the resolver's lock, as classes may be resolved on demand from several threads.
+   */
+  private final Map<String, ForkJoinTask<ClassSource>> prefetched = new HashMap<String, ForkJoinTask<ClassSource>>();
+
+  /** Names of classes that will be prefetched as soon as there is room. */
+  private final Deque<String> prefetchQueue = new ArrayDeque<String>();
+
+  private ForkJoinPool prefetchPool = null;
+
+  /** Set once {@link #discardPrefetchedClasses()} has been called; classes are no longer prefetched afterwards. */
+  private boolean prefetchStopped = false;
+
   public SootResolver(Singletons.Global g) {
     worklist[SootClass.HIERARCHY] = new ArrayDeque<SootClass>();
     worklist[SootClass.SIGNATURES] = new ArrayDeque<SootClass>();
@@ -108,6 +132,112 @@ public class SootResolver {
         || Options.v().output_format() == Options.output_format_dava);
   }
 
+  /**
+   * Returns the number of threads used to read and parse class files. Classes are always installed into the Scene by the
+   * resolving thread, in the same order as with a single thread, so the result of resolution does not depend on this.
+   */
+  protected int getResolverThreadCount() {
+    if (ModuleUtil.module_mode()) {
+      return 1;
+    }
+    return PackManager.getThreadCount();
+  }
+
+  /**
+   * Starts reading and parsing the given classes in the background if more than one resolver thread is configured. The
+   * classes are not added to the Scene; this only happens once they are resolved.
+   */
+  public synchronized void prefetchClasses(Collection<String> classNames) {
+    if (!prefetchStopped && getResolverThreadCount() > 1) {
+      prefetchQueue.addAll(classNames);
+      fillPrefetchWindow();
+    }
+  }
+
+  /**
+   * Waits for all outstanding background work, drops classes that were prefetched but never resolved and shuts down the
+   * background threads. Classes that are resolved afterwards, which happens one at a time on demand, are no longer
+   * prefetched.
+   */
+  public void discardPrefetchedClasses() {
+    final List<ForkJoinTask<ClassSource>> tasks;
+    final ForkJoinPool pool;
+    synchronized (this) {
+      prefetchStopped = true;
+      prefetchQueue.clear();
+      tasks = new ArrayList<ForkJoinTask<ClassSource>>(prefetched.values());
+      prefetched.clear();
+      pool = prefetchPool;
+      prefetchPool = null;
+    }
+    for (ForkJoinTask<ClassSource> task : tasks) {
+      try {
+        task.join().close();
+      } catch (RuntimeException e) {
+        logger.debug(e.getMessage(), e);
+      }
+    }
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+  /** Prefetches the given class before all other queued classes. */
+  private synchronized void prefetchFirst(String className) {
+    if (prefetchStopped) {
+      return;
+    }
+    prefetchQueue.addFirst(className);
+    fillPrefetchWindow();
+  }
+
+  /** Must be called while holding the resolver's lock. */
+  private void fillPrefetchWindow() {
+    final int window = getResolverThreadCount() * PREFETCH_PER_THREAD;
+    while (prefetched.size() < window && !prefetchQueue.isEmpty()) {
+      final String className = prefetchQueue.poll();
+      if (prefetched.containsKey(className)) {
+        continue;
+      }
+      SootClass sc = Scene.v().getSootClassUnsafe(className, false);
+      if (sc != null && (sc.resolvingLevel() >= SootClass.HIERARCHY || sc.isPhantom())) {
+        continue;
+      }
+      final ClassSource is;
+      try {
+        is = SourceLocator.v().getClassSource(className);
+      } catch (RuntimeException e) {
+        // The resolving thread looks the class up again and reports the problem
+        continue;
+      }
+      if (is != null) {
+        if (prefetchPool == null) {
+          prefetchPool = new ForkJoinPool(getResolverThreadCount());
+        }
+        prefetched.put(className, prefetchPool.submit(() -> {
+          is.prefetch();
+          return is;
+        }));
+      }
+    }
+  }
+
+  /**
+   * Returns the prefetched class source for the given class, waiting for it to be parsed if necessary, or
+   * <code>null</code> if the class has not been prefetched.
+   */
+  private ClassSource takePrefetched(String className) {
+    final ForkJoinTask<ClassSource> task;
+    synchronized (this) {
+      task = prefetched.remove(className);
+      if (task == null) {
+        return null;
+      }
+      fillPrefetchWindow();
+    }
+    return task.join();
+  }
+
   /**
    * Returns a (possibly not yet resolved) SootClass to be used in references to a class. If/when the class is resolved, it
    * will be resolved into this SootClass.
@@ -203,6 +333,10 @@ public class SootResolver {
       return;
     }
     worklist[desiredLevel].add(sc);
+    if (sc.resolvingLevel() < SootClass.HIERARCHY && !sc.isPhantom() && getResolverThreadCount() > 1) {
+      // Classes found on the worklist are needed soon, so they go before any bulk requests
+      prefetchFirst(sc.getName());
+    }
   }
 
   /**
@@ -218,7 +352,12 @@ public class SootResolver {
     }
     sc.setResolvingLevel(SootClass.HIERARCHY);
 
-    bringToHierarchyUnchecked(sc);
+    final PhaseMetrics.Sample sample = PhaseMetrics.v().startExclusive("resolver.hierarchy");
+    try {
+      bringToHierarchyUnchecked(sc);
+    } finally {
+      PhaseMetrics.v().end(sample, 0, 1);
+    }
   }
 
   protected void bringToHierarchyUnchecked(SootClass sc) {
@@ -228,7 +367,10 @@ public class SootResolver {
       is = ModulePathSourceLocator.v().getClassSource(className,
           com.google.common.base.Optional.fromNullable(sc.moduleName));
     } else {
-      is = SourceLocator.v().getClassSource(className);
+      is = takePrefetched(className);
+      if (is == null) {
+        is = SourceLocator.v().getClassSource(className);
+      }
     }
     try {
       boolean modelAsPhantomRef = is == null;
@@ -295,7 +437,12 @@ public class SootResolver {
     }
     sc.setResolvingLevel(SootClass.SIGNATURES);
 
-    bringToSignaturesUnchecked(sc);
+    final PhaseMetrics.Sample sample = PhaseMetrics.v().startExclusive("resolver.signatures");
+    try {
+      bringToSignaturesUnchecked(sc);
+    } finally {
+      PhaseMetrics.v().end(sample, 0, 1);
+    }
   }
 
   protected void bringToSignaturesUnchecked(SootClass sc) {
@@ -335,7 +482,12 @@ public class SootResolver {
     }
     sc.setResolvingLevel(SootClass.BODIES);
 
-    bringToBodiesUnchecked(sc);
+    final PhaseMetrics.Sample sample = PhaseMetrics.v().startExclusive("resolver.bodies");
+    try {
+      bringToBodiesUnchecked(sc);
+    } finally {
+      PhaseMetrics.v().end(sample, 0, 1);
+    }
   }
 
   protected void bringToBodiesUnchecked(SootClass sc) {
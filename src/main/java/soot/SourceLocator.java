@@ -31,7 +31,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -39,8 +38,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.regex.Pattern;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 import org.jf.dexlib2.iface.DexFile;
 import org.slf4j.Logger;
@@ -96,22 +93,17 @@ public class SourceLocator {
           .concurrencyLevel(Runtime.getRuntime().availableProcessors()).build(new CacheLoader<String, Set<String>>() {
             @Override
             public Set<String> load(String archivePath) throws Exception {
-              ZipFile archive = null;
-              try {
-                archive = new ZipFile(archivePath);
-                Set<String> ret = new HashSet<String>();
-                Enumeration<? extends ZipEntry> it = archive.entries();
-                while (it.hasMoreElements()) {
-                  ret.add(it.nextElement().getName());
-                }
-                return ret;
-              } finally {
-                if (archive != null) {
-                  archive.close();
-                }
-              }
+              return new HashSet<String>(getArchiveEntries(archivePath));
             }
           });
+  /**
+   * The persistent index of archive entries, or <code>null</code> if no index directory has been configured.
+   */
+  private ArchiveIndexCache archiveIndexCache;
+  /**
+   * The archives of the class path that are kept open for reading classes.
+   */
+  private final ZipFileCache zipFileCache = new ZipFileCache(16);
   /**
    * Set containing all dex files that were appended to the classpath later on. The classes from these files are not yet
    * loaded and are still missing from dexClassIndex.
@@ -290,6 +282,7 @@ public class SourceLocator {
   public void invalidateClassPath() {
     classPath = null;
     dexClassIndex = null;
+    zipFileCache.closeIdle();
   }
 
   public List<String> sourcePath() {
@@ -344,12 +337,8 @@ public class SourceLocator {
     }
     // load Java class files from ZIP and JAR
     else if (cst == ClassSourceType.jar || cst == ClassSourceType.zip) {
-      ZipFile archive = null;
       try {
-        archive = new ZipFile(aPath);
-        for (Enumeration<? extends ZipEntry> entries = archive.entries(); entries.hasMoreElements();) {
-          ZipEntry entry = entries.nextElement();
-          String entryName = entry.getName();
+        for (String entryName : getArchiveEntries(aPath)) {
           if (entryName.endsWith(".class") || entryName.endsWith(".jimple")) {
             int extensionIndex = entryName.lastIndexOf('.');
             entryName = entryName.substring(0, extensionIndex);
@@ -359,14 +348,6 @@ public class SourceLocator {
         }
       } catch (Throwable e) {
         throw new CompilationDeathException("Error reading archive '" + aPath + "'", e);
-      } finally {
-        try {
-          if (archive != null) {
-            archive.close();
-          }
-        } catch (Throwable t) {
-          logger.debug("" + t.getMessage());
-        }
       }
 
       // we might have dex files inside the archive
@@ -651,6 +632,31 @@ public class SourceLocator {
     return null;
   }
 
+  /**
+   * Returns the names of all entries in the given archive, in the order in which they appear in the archive. If the
+   * <code>-class-index-dir</code> option is set, the names are taken from the persistent index whenever it is still up to
+   * date.
+   */
+  protected List<String> getArchiveEntries(String archivePath) throws IOException {
+    final String indexDir = Options.v().class_index_dir();
+    if (indexDir == null || indexDir.isEmpty()) {
+      return ArchiveIndexCache.scanArchive(new File(archivePath));
+    }
+    synchronized (this) {
+      if (archiveIndexCache == null) {
+        archiveIndexCache = new ArchiveIndexCache(new File(indexDir));
+      }
+    }
+    return archiveIndexCache.getEntries(archivePath);
+  }
+
+  /**
+   * Returns the cache of open archives from which class files are read.
+   */
+  public ZipFileCache getZipFileCache() {
+    return zipFileCache;
+  }
+
   protected FoundFile lookupInArchive(String archivePath, String fileName) {
     Set<String> entryNames = null;
     try {
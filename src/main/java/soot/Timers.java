@@ -29,6 +29,10 @@ import org.slf4j.LoggerFactory;
 
 import soot.options.Options;
 
+/**
+ * Fixed timers for some parts of Soot, reported by the <code>-time</code> option. For metrics of every phase and of the
+ * class resolver, use {@link PhaseMetrics}.
+ */
 public class Timers {
   private static final Logger logger = LoggerFactory.getLogger(Timers.class);
 
@@ -28,6 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import soot.options.Options;
+import soot.toolkits.scalar.LocalDefUseIndex;
 import soot.util.PhaseDumper;
 
 /**
@@ -99,7 +100,12 @@ public class Transform implements HasPhaseOptions {
       PhaseDumper.v().dumpBefore(getPhaseName());
     }
 
-    ((SceneTransformer) t).transform(phaseName, options);
+    final PhaseMetrics.Sample sample = PhaseMetrics.v().start(phaseName);
+    try {
+      ((SceneTransformer) t).transform(phaseName, options);
+    } finally {
+      PhaseMetrics.v().end(sample, 0, 0);
+    }
 
     if (DEBUG) {
       PhaseDumper.v().dumpAfter(getPhaseName());
@@ -117,7 +123,19 @@ public class Transform implements HasPhaseOptions {
       PhaseDumper.v().dumpBefore(b, getPhaseName());
     }
 
-    ((BodyTransformer) t).transform(b, phaseName, options);
+    // The def-use index does not see every change to the control flow, so
+    // each transformer starts with a fresh flow analysis
+    final LocalDefUseIndex index = LocalDefUseIndex.of(b);
+    if (index != null) {
+      index.invalidateFlowAnalysis();
+    }
+
+    final PhaseMetrics.Sample sample = PhaseMetrics.v().start(phaseName);
+    try {
+      ((BodyTransformer) t).transform(b, phaseName, options);
+    } finally {
+      PhaseMetrics.v().end(sample, 1, 0);
+    }
 
     if (DEBUG) {
       PhaseDumper.v().dumpAfter(b, getPhaseName());
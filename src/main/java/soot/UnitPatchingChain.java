@@ -82,6 +82,7 @@ public class UnitPatchingChain extends PatchingChain<Unit> {
     if (point_src == null && point_tgt != null) {
       point_tgt.redirectJumpsToThisTo(toInsert.iterator().next());
       innerChain.insertBefore(toInsert, point_tgt);
+      fireAdded(toInsert);
       return;
     }
 
@@ -89,6 +90,7 @@ public class UnitPatchingChain extends PatchingChain<Unit> {
     // is null
     if (point_src != null && point_tgt == null) {
       innerChain.insertAfter(toInsert, point_src);
+      fireAdded(toInsert);
       return;
     }
 
@@ -110,6 +112,7 @@ public class UnitPatchingChain extends PatchingChain<Unit> {
         }
       }
       innerChain.insertAfter(toInsert, point_src);
+      fireAdded(toInsert);
       return;
     }
 
@@ -133,6 +136,7 @@ public class UnitPatchingChain extends PatchingChain<Unit> {
 
           box.setUnit(toInsert.iterator().next());
           innerChain.insertAfter(toInsert, point_src);
+          fireAdded(toInsert);
 
           Unit goto_unit = Jimple.v().newGotoStmt(point_tgt);
           if (toInsert instanceof List) {
@@ -141,6 +145,7 @@ public class UnitPatchingChain extends PatchingChain<Unit> {
           } else {
             innerChain.insertAfter(goto_unit, (Unit) toInsert.toArray()[toInsert.size() - 1]);
           }
+          fireAdded(goto_unit);
           return;
         }
 
@@ -151,6 +156,7 @@ public class UnitPatchingChain extends PatchingChain<Unit> {
     }
     if (validEdgeFound) {
       innerChain.insertBefore(toInsert, point_tgt);
+      fireAdded(toInsert);
 
       if (originalPred != point_src) {
         if (originalPred instanceof GotoStmt) {
@@ -159,6 +165,7 @@ public class UnitPatchingChain extends PatchingChain<Unit> {
 
         Unit goto_unit = Jimple.v().newGotoStmt(point_tgt);
         innerChain.insertBefore(Arrays.asList(goto_unit), toInsert.iterator().next());
+        fireAdded(goto_unit);
       }
       return;
     }
@@ -174,6 +181,7 @@ public class UnitPatchingChain extends PatchingChain<Unit> {
 
         succ.redirectJumpsToThisTo(toInsert.iterator().next());
         innerChain.insertBefore(toInsert, succ);
+        fireAdded(toInsert);
 
         return;
       }
@@ -0,0 +1,163 @@
+package soot;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the archives on the class path open, so that reading a class from an archive does not have to open the archive
+ * and parse its central directory again. A {@link ZipFile} also pools its inflaters, which are therefore reused across all
+ * entries read from the same archive.
+ *
+ * <p>
+ * Archives are reference counted. An archive that is in use is never closed; of the archives that are not in use, only the
+ * most recently used ones are kept open. An archive that has changed on disk since it was opened is not handed out again.
+ * The archives that are not in use are closed once {@link Scene#loadNecessaryClasses()} is done and whenever the class path
+ * is invalidated.
+ * </p>
+ */
+public class ZipFileCache {
+  private static final Logger logger = LoggerFactory.getLogger(ZipFileCache.class);
+
+  private static class Handle {
+    final ZipFile zipFile;
+    final long size;
+    final long lastModified;
+    int users = 0;
+    boolean stale = false;
+
+    Handle(ZipFile zipFile, long size, long lastModified) {
+      this.zipFile = zipFile;
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+  }
+
+  private final int maxIdle;
+
+  /** The open archives by path, least recently used first. */
+  private final Map<String, Handle> archives = new LinkedHashMap<String, Handle>(16, 0.75f, true);
+
+  private final Map<ZipFile, Handle> handles = new IdentityHashMap<ZipFile, Handle>();
+
+  /**
+   * @param maxIdle
+   *          The maximum number of archives that are kept open while not in use
+   */
+  public ZipFileCache(int maxIdle) {
+    this.maxIdle = maxIdle;
+  }
+
+  /**
+   * Returns an open {@link ZipFile} for the given archive. The caller must hand it back with {@link #release(ZipFile)}
+   * instead of closing it.
+   */
+  public synchronized ZipFile acquire(File archive) throws IOException {
+    final String key = archive.getPath();
+    final long size = archive.length();
+    final long lastModified = archive.lastModified();
+
+    Handle h = archives.get(key);
+    if (h != null && (h.size != size || h.lastModified != lastModified)) {
+      archives.remove(key);
+      h.stale = true;
+      if (h.users == 0) {
+        close(h);
+      }
+      h = null;
+    }
+    if (h == null) {
+      h = new Handle(new ZipFile(archive), size, lastModified);
+      archives.put(key, h);
+      handles.put(h.zipFile, h);
+    }
+    h.users++;
+    return h.zipFile;
+  }
+
+  /**
+   * Hands back an archive obtained from {@link #acquire(File)}.
+   */
+  public synchronized void release(ZipFile zipFile) {
+    Handle h = handles.get(zipFile);
+    if (h == null) {
+      throw new IllegalArgumentException("Error: The archive " + zipFile.getName() + " was not acquired from this cache.");
+    }
+    if (--h.users > 0) {
+      return;
+    }
+    if (h.stale) {
+      close(h);
+    } else {
+      evictIdle();
+    }
+  }
+
+  /**
+   * Closes all archives that are not in use.
+   */
+  public synchronized void closeIdle() {
+    for (Iterator<Handle> it = archives.values().iterator(); it.hasNext();) {
+      Handle h = it.next();
+      if (h.users == 0) {
+        it.remove();
+        close(h);
+      }
+    }
+  }
+
+  private void evictIdle() {
+    int idle = 0;
+    for (Handle h : archives.values()) {
+      if (h.users == 0) {
+        idle++;
+      }
+    }
+    for (Iterator<Handle> it = archives.values().iterator(); idle > maxIdle && it.hasNext();) {
+      Handle h = it.next();
+      if (h.users == 0) {
+        it.remove();
+        close(h);
+        idle--;
+      }
+    }
+  }
+
+  private void close(Handle h) {
+    handles.remove(h.zipFile);
+    try {
+      h.zipFile.close();
+    } catch (IOException e) {
+      logger.debug(e.getMessage(), e);
+    }
+  }
+}
@@ -22,9 +22,9 @@ package soot.asm;
  * #L%
  */
 
-import java.io.IOException;
-import java.io.InputStream;
 import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
 import soot.ClassSource;
 import soot.FoundFile;
 import soot.SootClass;
@@ -40,6 +40,9 @@ public class AsmClassSource extends ClassSource {
 
   protected FoundFile foundFile;
 
+  /** The parsed class file if it has been prefetched, <code>null</code> otherwise. */
+  protected ClassNode classNode;
+
   /**
    * Constructs a new ASM class source.
    * 
@@ -56,14 +59,30 @@ public class AsmClassSource extends ClassSource {
     this.foundFile = foundFile;
   }
 
+  @Override
+  public void prefetch() {
+    ClassNode node = new ClassNode(Opcodes.ASM8);
+    try {
+      new ClassReader(foundFile.readBytes()).accept(node, ClassReader.SKIP_FRAMES);
+    } catch (RuntimeException e) {
+      // resolve() reads the class file again and reports the problem
+      return;
+    }
+    classNode = node;
+    close();
+  }
+
   @Override
   public Dependencies resolve(SootClass sc) {
-    InputStream d = null;
     try {
-      d = foundFile.inputStream();
-      ClassReader clsr = new ClassReader(d);
       SootClassBuilder scb = new SootClassBuilder(sc);
-      clsr.accept(scb, ClassReader.SKIP_FRAMES);
+      if (classNode != null) {
+        classNode.accept(scb);
+        classNode = null;
+      } else {
+        ClassReader clsr = new ClassReader(foundFile.readBytes());
+        clsr.accept(scb, ClassReader.SKIP_FRAMES);
+      }
       Dependencies deps = new Dependencies();
       deps.typesToSignature.addAll(scb.deps);
       // add the outer class information, could not be called in the builder, since sc needs to be
@@ -84,19 +103,8 @@ public class AsmClassSource extends ClassSource {
         sc.setOuterClass(SootResolver.v().makeClassRef(outerClassName));
       }
       return deps;
-    } catch (IOException e) {
-      throw new RuntimeException("Error: Failed to create class reader from class source.", e);
     } finally {
-      try {
-        if (d != null) {
-          d.close();
-          d = null;
-        }
-      } catch (IOException e) {
-        throw new RuntimeException("Error: Failed to close source input stream.", e);
-      } finally {
-        close();
-      }
+      close();
     }
   }
 
@@ -30,9 +30,9 @@ package soot.dexpler;
 import static soot.dexpler.instructions.InstructionFactory.fromInstruction;
 
 import com.google.common.collect.ArrayListMultimap;
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -41,8 +41,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.jf.dexlib2.analysis.ClassPath;
-import org.jf.dexlib2.analysis.ClassPathResolver;
-import org.jf.dexlib2.analysis.ClassProvider;
 import org.jf.dexlib2.dexbacked.DexBackedDexFile;
 import org.jf.dexlib2.iface.DexFile;
 import org.jf.dexlib2.iface.ExceptionHandler;
@@ -76,6 +74,7 @@ import soot.SootMethod;
 import soot.Trap;
 import soot.Type;
 import soot.Unit;
+import soot.UnitBox;
 import soot.UnknownType;
 import soot.Value;
 import soot.ValueBox;
@@ -138,6 +137,9 @@ public class DexBody {
   protected Local[] registerLocals;
   protected Local storeResultLocal;
   protected Map<Integer, DexlibAbstractInstruction> instructionAtAddress;
+  // in lean mode, the code addresses of the instructions in ascending order instead of instructionAtAddress
+  protected int[] instructionAddresses;
+  protected final boolean lean;
 
   protected List<DeferableInstruction> deferredInstructions;
   protected Set<RetypeableInstruction> instructionsToRetype;
@@ -257,8 +259,11 @@ public class DexBody {
       numParameterRegisters--;
     }
 
+    lean = Options.v().lean_dex_bodies();
     instructions = new ArrayList<DexlibAbstractInstruction>();
-    instructionAtAddress = new HashMap<Integer, DexlibAbstractInstruction>();
+    if (!lean) {
+      instructionAtAddress = new HashMap<Integer, DexlibAbstractInstruction>();
+    }
     localDebugs = ArrayListMultimap.create();
     takenLocalNames = new HashSet<String>();
 
@@ -334,12 +339,23 @@ public class DexBody {
    */
   protected void extractDexInstructions(MethodImplementation code) {
     int address = 0;
+    int[] addresses = lean ? new int[16] : null;
     for (Instruction instruction : code.getInstructions()) {
       DexlibAbstractInstruction dexInstruction = fromInstruction(instruction, address);
+      if (lean) {
+        if (instructions.size() == addresses.length) {
+          addresses = Arrays.copyOf(addresses, addresses.length * 2);
+        }
+        addresses[instructions.size()] = address;
+      } else {
+        instructionAtAddress.put(address, dexInstruction);
+      }
       instructions.add(dexInstruction);
-      instructionAtAddress.put(address, dexInstruction);
       address += instruction.getCodeUnits();
     }
+    if (lean) {
+      instructionAddresses = Arrays.copyOf(addresses, instructions.size());
+    }
   }
 
   /** Return the types that are used in this body. */
@@ -442,6 +458,15 @@ public class DexBody {
    * @throws RuntimeException if address is not part of this body.
    */
   public DexlibAbstractInstruction instructionAtAddress(int address) {
+    if (instructionAddresses != null) {
+      // the instruction starting at the address or, if there is none, the one covering it
+      int idx = Arrays.binarySearch(instructionAddresses, address);
+      if (idx < 0) {
+        idx = -idx - 2;
+      }
+      return idx < 0 ? null : instructions.get(idx);
+    }
+
     DexlibAbstractInstruction i = null;
     while (i == null && address >= 0) {
       // catch addresses can be in the middlde of last instruction. Ex. in
@@ -608,15 +633,8 @@ public class DexBody {
 
     ClassPath cp = null;
     if (isOdex) {
-      String[] sootClasspath = options.soot_classpath().split(File.pathSeparator);
-      List<String> classpathList = new ArrayList<String>();
-      for (String str : sootClasspath) {
-        classpathList.add(str);
-      }
       try {
-        ClassPathResolver resolver =
-            new ClassPathResolver(classpathList, classpathList, classpathList, dexEntry);
-        cp = new ClassPath(resolver.getResolvedClassProviders().toArray(new ClassProvider[0]));
+        cp = DexFileProvider.v().getDeodexClassPath(dexEntry);
       } catch (IOException e) {
         throw new RuntimeException(e);
       }
@@ -659,7 +677,13 @@ public class DexBody {
     instructions = null;
     // registerLocals = null;
     // storeResultLocal = null;
-    instructionAtAddress.clear();
+    if (lean) {
+      instructionAddresses = null;
+      pseudoInstructionData = null;
+      localDebugs.clear();
+    } else {
+      instructionAtAddress.clear();
+    }
     // localGenerator = null;
     deferredInstructions = null;
     // instructionsToRetype = null;
@@ -695,8 +719,7 @@ public class DexBody {
 
     // Remove dead code and the corresponding locals before assigning types
     getUnreachableCodeEliminator().transform(jBody);
-    DeadAssignmentEliminator.v().transform(jBody);
-    UnusedLocalEliminator.v().transform(jBody);
+    eliminateDeadAssignments();
 
     for (RetypeableInstruction i : instructionsToRetype) {
       i.retype(jBody);
@@ -722,8 +745,7 @@ public class DexBody {
       getCopyPopagator().transform(jBody);
       DexNullThrowTransformer.v().transform(jBody);
       DalvikTyper.v().typeUntypedConstrantInDiv(jBody);
-      DeadAssignmentEliminator.v().transform(jBody);
-      UnusedLocalEliminator.v().transform(jBody);
+      eliminateDeadAssignments();
 
       DalvikTyper.v().assignType(jBody);
       // jBody.validate();
@@ -750,8 +772,7 @@ public class DexBody {
 
       DexIfTransformer.v().transform(jBody);
 
-      DeadAssignmentEliminator.v().transform(jBody);
-      UnusedLocalEliminator.v().transform(jBody);
+      eliminateDeadAssignments();
 
       // DexRefsChecker.v().transform(jBody);
       DexNullArrayRefTransformer.v().transform(jBody);
@@ -913,8 +934,7 @@ public class DexBody {
     // we might have gotten new dead assignments and unused locals through
     // copy propagation and unreachable code elimination, so we have to do
     // this again
-    DeadAssignmentEliminator.v().transform(jBody);
-    UnusedLocalEliminator.v().transform(jBody);
+    eliminateDeadAssignments();
     NopEliminator.v().transform(jBody);
 
     // Remove unnecessary chains of return statements
@@ -973,6 +993,56 @@ public class DexBody {
     return jBody;
   }
 
+  /**
+   * Removes dead assignments and unused locals. In lean mode, this is skipped if the body has not changed since the last
+   * time, because a second round would not find anything to remove.
+   */
+  protected void eliminateDeadAssignments() {
+    if (lean && cleanState != null && Arrays.equals(cleanState, cleanupState(jBody))) {
+      return;
+    }
+    DeadAssignmentEliminator.v().transform(jBody);
+    UnusedLocalEliminator.v().transform(jBody);
+    if (lean) {
+      cleanState = cleanupState(jBody);
+    }
+  }
+
+  // the state of the body after the last dead assignment and unused local elimination in lean mode
+  private Object[] cleanState;
+
+  /**
+   * Returns everything the result of dead assignment and unused local elimination depends on: the statements with the values
+   * and targets they refer to, the locals with their types, and the traps. Values are recorded together with their
+   * equivalence hash code, which also covers changes made to a value in place, such as a new cast type.
+   */
+  private static Object[] cleanupState(Body b) {
+    List<Object> state = new ArrayList<Object>();
+    for (Unit u : b.getUnits()) {
+      state.add(u);
+      for (ValueBox vb : u.getUseAndDefBoxes()) {
+        Value v = vb.getValue();
+        state.add(v);
+        state.add(v.equivHashCode());
+      }
+      for (UnitBox ub : u.getUnitBoxes()) {
+        state.add(ub.getUnit());
+      }
+    }
+    for (Local l : b.getLocals()) {
+      state.add(l);
+      state.add(l.getType());
+    }
+    for (Trap t : b.getTraps()) {
+      state.add(t);
+      state.add(t.getException());
+      state.add(t.getBeginUnit());
+      state.add(t.getEndUnit());
+      state.add(t.getHandlerUnit());
+    }
+    return state.toArray();
+  }
+
   /**
    * Fixes the line numbers. If there is a unit without a line number, it gets the line number of
    * the last (transitive) predecessor that has a line number.
@@ -24,6 +24,7 @@ package soot.dexpler;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -36,9 +37,18 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
 
 import org.jf.dexlib2.DexFileFactory;
 import org.jf.dexlib2.Opcodes;
+import org.jf.dexlib2.analysis.ClassPath;
+import org.jf.dexlib2.analysis.ClassPathResolver;
+import org.jf.dexlib2.analysis.ClassProvider;
 import org.jf.dexlib2.dexbacked.DexBackedDexFile;
 import org.jf.dexlib2.iface.DexFile;
 import org.jf.dexlib2.iface.MultiDexContainer;
@@ -48,6 +58,8 @@ import org.slf4j.LoggerFactory;
 
 import soot.CompilationDeathException;
 import soot.G;
+import soot.PackManager;
+import soot.PhaseMetrics;
 import soot.Scene;
 import soot.Singletons;
 import soot.options.Options;
@@ -92,7 +104,12 @@ public class DexFileProvider {
   /**
    * Mapping of filesystem file (apk, dex, etc.) to mapping of dex name to dex file
    */
-  private final Map<String, Map<String, DexContainer<? extends DexFile>>> dexMap = new HashMap<>();
+  private final Map<String, Map<String, DexContainer<? extends DexFile>>> dexMap = new ConcurrentHashMap<>();
+
+  /**
+   * Mapping of dex entry to the class path used for deodexing its instructions
+   */
+  private final Map<DexEntry<? extends DexFile>, DeodexClassPath> deodexClassPaths = new ConcurrentHashMap<>();
 
   public DexFileProvider(Singletons.Global g) {
   }
@@ -161,6 +178,24 @@ public class DexFileProvider {
     throw new CompilationDeathException("Dex file with name '" + dexName + "' not found in " + dexSource);
   }
 
+  /**
+   * Returns the class path against which the optimized instructions of the given odex entry are deodexed. The class path is
+   * resolved from the soot class path the first time it is requested for an entry and shared by all method bodies of that
+   * entry afterwards. This method may be called by several threads at once.
+   *
+   * @param dexEntry
+   *          The dex entry containing the odex instructions
+   * @return The class path for deodexing
+   * @throws IOException
+   *           If the soot class path cannot be resolved
+   */
+  public ClassPath getDeodexClassPath(DexEntry<? extends DexFile> dexEntry) throws IOException {
+    final String classpath = Options.v().soot_classpath();
+    DeodexClassPath cp = deodexClassPaths.compute(dexEntry,
+        (e, old) -> old != null && old.classpath.equals(classpath) ? old : new DeodexClassPath(e, classpath));
+    return cp.get();
+  }
+
   private List<File> allSourcesFromFile(File dexSource) throws IOException {
     if (dexSource.isDirectory()) {
       List<File> dexFiles = getAllDexFilesInDirectory(dexSource);
@@ -183,30 +218,104 @@ public class DexFileProvider {
   }
 
   private void updateIndex(List<File> dexSources) throws IOException {
+    final int api = Scene.v().getAndroidAPIVersion();
+    final boolean multiple_dex = Options.v().process_multiple_dex();
+
+    List<String> keys = new ArrayList<>();
+    List<Callable<Map<String, DexContainer<? extends DexFile>>>> tasks = new ArrayList<>();
     for (File theSource : dexSources) {
       String key = theSource.getCanonicalPath();
-      Map<String, DexContainer<? extends DexFile>> dexFiles = dexMap.get(key);
-      if (dexFiles == null) {
+      if (!dexMap.containsKey(key) && !keys.contains(key)) {
+        keys.add(key);
+        tasks.add(() -> mappingForFile(theSource, api, multiple_dex));
+      }
+    }
+    if (tasks.isEmpty()) {
+      return;
+    }
+
+    final List<Map<String, DexContainer<? extends DexFile>>> mappings;
+    try {
+      mappings = invokeAll(tasks);
+    } catch (IOException e) {
+      throw new CompilationDeathException("Error parsing dex source", e);
+    }
+    for (int i = 0; i < keys.size(); i++) {
+      dexMap.putIfAbsent(keys.get(i), mappings.get(i));
+    }
+  }
+
+  /**
+   * Returns the number of threads used to open dex files and to index their classes, see
+   * {@link PackManager#getThreadCount()}.
+   */
+  public int getLoaderThreadCount() {
+    return PackManager.getThreadCount();
+  }
+
+  /**
+   * Runs the given loading tasks and returns their results in the order of the tasks. The tasks run in parallel if more than
+   * one loader thread is configured, unless this method is itself called from a loading task.
+   *
+   * @param tasks
+   *          The tasks to run
+   * @return The results of the tasks
+   * @throws IOException
+   *           If one of the tasks failed with an IOException
+   */
+  public <T> List<T> invokeAll(List<? extends Callable<T>> tasks) throws IOException {
+    final int threadNum = Math.min(getLoaderThreadCount(), tasks.size());
+    List<T> results = new ArrayList<>(tasks.size());
+    if (threadNum <= 1 || ForkJoinTask.inForkJoinPool()) {
+      for (Callable<T> task : tasks) {
         try {
-          dexFiles = mappingForFile(theSource);
-          dexMap.put(key, dexFiles);
-        } catch (IOException e) {
-          throw new CompilationDeathException("Error parsing dex source", e);
+          results.add(task.call());
+        } catch (Exception e) {
+          throw rethrow(e);
         }
       }
+      return results;
+    }
+
+    final ForkJoinPool pool = new ForkJoinPool(threadNum);
+    try {
+      for (Future<T> f : pool.invokeAll(tasks)) {
+        results.add(f.get());
+      }
+      return results;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while loading dex files");
+    } catch (ExecutionException e) {
+      throw rethrow(e.getCause());
+    } finally {
+      pool.shutdown();
     }
   }
 
+  private static IOException rethrow(Throwable t) {
+    if (t instanceof IOException) {
+      return (IOException) t;
+    } else if (t instanceof RuntimeException) {
+      throw (RuntimeException) t;
+    } else if (t instanceof Error) {
+      throw (Error) t;
+    }
+    throw new RuntimeException(t);
+  }
+
   /**
    * @param dexSourceFile
    *          A file containing either one or multiple dex files (apk, zip, etc.) but no directory!
+   * @param api
+   *          The Android API version whose opcodes are used to read the dex files
+   * @param multiple_dex
+   *          Whether all dex files are processed or only the main one
    * @return
    * @throws IOException
    */
-  private Map<String, DexContainer<? extends DexFile>> mappingForFile(File dexSourceFile) throws IOException {
-    int api = Scene.v().getAndroidAPIVersion();
-    boolean multiple_dex = Options.v().process_multiple_dex();
-
+  private Map<String, DexContainer<? extends DexFile>> mappingForFile(File dexSourceFile, int api, boolean multiple_dex)
+      throws IOException {
     // load dex files from apk/folder/file
     MultiDexContainer<? extends DexBackedDexFile> dexContainer
         = DexFileFactory.loadDexContainer(dexSourceFile, Opcodes.forApi(api));
@@ -221,6 +330,13 @@ public class DexFileProvider {
       return Collections.emptyMap();
     }
 
+    // the entries of an archive are extracted and parsed independently of each other
+    List<Callable<DexEntry<? extends DexFile>>> tasks = new ArrayList<>(dexFileCount);
+    for (String entryName : dexEntryNameList) {
+      tasks.add(() -> dexContainer.getEntry(entryName));
+    }
+    List<DexEntry<? extends DexFile>> entries = invokeAll(tasks);
+
     Map<String, DexContainer<? extends DexFile>> dexMap = new HashMap<>(dexFileCount);
 
     // report found dex files and add to list.
@@ -228,8 +344,8 @@ public class DexFileProvider {
     // mode
     ListIterator<String> entryNameIterator = dexEntryNameList.listIterator(dexFileCount);
     while (entryNameIterator.hasPrevious()) {
+      DexEntry<? extends DexFile> entry = entries.get(entryNameIterator.previousIndex());
       String entryName = entryNameIterator.previous();
-      DexEntry<? extends DexFile> entry = dexContainer.getEntry(entryName);
       entryName = deriveDexName(entryName);
       logger.debug("" + String.format("Found dex file '%s' with %d classes in '%s'", entryName,
           entry.getDexFile().getClasses().size(), dexSourceFile.getCanonicalPath()));
@@ -273,6 +389,41 @@ public class DexFileProvider {
     return ret;
   }
 
+  /**
+   * Lazily resolved deodexing class path of a single dex entry
+   */
+  private static final class DeodexClassPath {
+    private final DexEntry<? extends DexFile> dexEntry;
+    private final String classpath;
+    private volatile ClassPath cp;
+
+    DeodexClassPath(DexEntry<? extends DexFile> dexEntry, String classpath) {
+      this.dexEntry = dexEntry;
+      this.classpath = classpath;
+    }
+
+    ClassPath get() throws IOException {
+      ClassPath ret = cp;
+      if (ret == null) {
+        synchronized (this) {
+          ret = cp;
+          if (ret == null) {
+            final PhaseMetrics.Sample sample = PhaseMetrics.v().start("dex.deodex-classpath");
+            try {
+              List<String> classpathList = Arrays.asList(classpath.split(File.pathSeparator));
+              ClassPathResolver resolver = new ClassPathResolver(classpathList, classpathList, classpathList, dexEntry);
+              ret = new ClassPath(resolver.getResolvedClassProviders().toArray(new ClassProvider[0]));
+            } finally {
+              PhaseMetrics.v().end(sample, 0, 0);
+            }
+            cp = ret;
+          }
+        }
+      }
+      return ret;
+    }
+  }
+
   public static final class DexContainer<T extends DexFile> {
     private final DexEntry<T> base;
     private final String name;
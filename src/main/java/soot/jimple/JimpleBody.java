@@ -44,6 +44,7 @@ import soot.jimple.validation.NewValidator;
 import soot.jimple.validation.ReturnStatementsValidator;
 import soot.jimple.validation.TypesValidator;
 import soot.options.Options;
+import soot.toolkits.scalar.LocalDefUseIndex;
 import soot.util.Chain;
 import soot.validation.BodyValidator;
 import soot.validation.ValidationException;
@@ -52,6 +53,8 @@ import soot.validation.ValidationException;
 public class JimpleBody extends StmtBody {
   private static BodyValidator[] validators;
 
+  private transient LocalDefUseIndex defUseIndex;
+
   /**
    * Returns an array containing some validators in order to validate the JimpleBody
    *
@@ -89,6 +92,33 @@ public class JimpleBody extends StmtBody {
     return b;
   }
 
+  /**
+   * Starts maintaining an index of the definitions and uses of the locals of this body, which is kept up to date while the
+   * body is changed. While the index is enabled, {@link soot.toolkits.scalar.LocalDefs.Factory} and
+   * {@link soot.toolkits.scalar.LocalUses.Factory} answer requests for this body from the index.
+   *
+   * @return the index
+   */
+  public LocalDefUseIndex enableDefUseIndex() {
+    if (defUseIndex == null) {
+      defUseIndex = new LocalDefUseIndex(this);
+    }
+    return defUseIndex;
+  }
+
+  /** Stops maintaining the index of definitions and uses and discards it. */
+  public void disableDefUseIndex() {
+    if (defUseIndex != null) {
+      defUseIndex.dispose();
+      defUseIndex = null;
+    }
+  }
+
+  /** Returns the index of definitions and uses of this body, or null if it is not enabled. */
+  public LocalDefUseIndex getDefUseIndex() {
+    return defUseIndex;
+  }
+
   /**
    * Make sure that the JimpleBody is well formed. If not, throw an exception. Right now, performs only a handful of checks.
    */
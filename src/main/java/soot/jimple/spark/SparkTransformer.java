@@ -28,6 +28,7 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import soot.FastHierarchy;
 import soot.G;
 import soot.Local;
 import soot.PointsToAnalysis;
@@ -60,6 +61,7 @@ import soot.jimple.spark.solver.PropAlias;
 import soot.jimple.spark.solver.PropCycle;
 import soot.jimple.spark.solver.PropIter;
 import soot.jimple.spark.solver.PropMerge;
+import soot.jimple.spark.solver.PropParallel;
 import soot.jimple.spark.solver.PropWorklist;
 import soot.jimple.spark.solver.Propagator;
 import soot.jimple.spark.solver.SCCCollapser;
@@ -168,6 +170,8 @@ public class SparkTransformer extends SceneTransformer {
 
     if (opts.verbose()) {
       logger.debug("[Spark] Number of reachable methods: " + Scene.v().getReachableMethods().size());
+      FastHierarchy fh = Scene.v().getOrMakeFastHierarchy();
+      logger.debug("[Spark] Dispatch cache hits: " + fh.getDispatchCacheHits() + ", misses: " + fh.getDispatchCacheMisses());
     }
 
     if (opts.set_mass()) {
@@ -219,6 +223,9 @@ public class SparkTransformer extends SceneTransformer {
       case SparkOptions.propagator_worklist:
         propagator = new PropWorklist(pag);
         break;
+      case SparkOptions.propagator_parallel:
+        propagator = new PropParallel(pag);
+        break;
       case SparkOptions.propagator_cycle:
         propagator = new PropCycle(pag);
         break;
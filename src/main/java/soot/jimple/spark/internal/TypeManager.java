@@ -93,10 +93,46 @@ public final class TypeManager {
     return cl.resolvingLevel() < SootClass.HIERARCHY;
   }
 
+  /**
+   * Returns the mask of all allocation nodes whose type can be cast to the given type. Several threads may call this at once
+   * while the masks are frozen, see {@link #freezeTypeMasks()}.
+   */
   final public BitVector get(Type type) {
     if (type == null) {
       return null;
     }
+    if (!masksFrozen) {
+      updateTypeMasks();
+    }
+    BitVector ret = (BitVector) typeMask.get(type);
+    if (ret == null && fh != null) {
+      // If we have a phantom class and have no type mask, we assume that
+      // it is not cast-compatible to anything
+      SootClass curClass = ((RefType) type).getSootClass();
+      if (curClass.isPhantom()) {
+        return new BitVector();
+      } else {
+        // Scan through the hierarchy. We might have a phantom class higher up
+        while (curClass.hasSuperclass()) {
+          curClass = curClass.getSuperclass();
+          if (type instanceof RefType && curClass.isPhantom()) {
+            return new BitVector();
+          }
+        }
+
+        throw new RuntimeException("Type mask not found for type " + type);
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Adds the allocation nodes created since the last call to the type masks.
+   */
+  final public void updateTypeMasks() {
+    if (masksFrozen) {
+      throw new IllegalStateException("Cannot update the type masks while they are frozen");
+    }
     while (allocNodeListener.hasNext()) {
       AllocNode n = allocNodeListener.next();
       for (final Type t : Scene.v().getTypeNumberer()) {
@@ -124,26 +160,22 @@ public final class TypeManager {
         }
       }
     }
-    BitVector ret = (BitVector) typeMask.get(type);
-    if (ret == null && fh != null) {
-      // If we have a phantom class and have no type mask, we assume that
-      // it is not cast-compatible to anything
-      SootClass curClass = ((RefType) type).getSootClass();
-      if (curClass.isPhantom()) {
-        return new BitVector();
-      } else {
-        // Scan through the hierarchy. We might have a phantom class higher up
-        while (curClass.hasSuperclass()) {
-          curClass = curClass.getSuperclass();
-          if (type instanceof RefType && curClass.isPhantom()) {
-            return new BitVector();
-          }
-        }
+  }
 
-        throw new RuntimeException("Type mask not found for type " + type);
-      }
-    }
-    return ret;
+  /**
+   * Brings the type masks up to date and keeps {@link #get(Type)} from updating them until {@link #unfreezeTypeMasks()} is
+   * called, so that several threads can read them at once. No allocation nodes may be created in the meantime.
+   */
+  final public void freezeTypeMasks() {
+    updateTypeMasks();
+    masksFrozen = true;
+  }
+
+  /**
+   * Lets {@link #get(Type)} add new allocation nodes to the type masks again.
+   */
+  final public void unfreezeTypeMasks() {
+    masksFrozen = false;
   }
 
   final public void clearTypeMask() {
@@ -240,6 +272,7 @@ public final class TypeManager {
   protected Supplier<FastHierarchy> fh = null;
   protected PAG pag;
   protected QueueReader<AllocNode> allocNodeListener = null;
+  private volatile boolean masksFrozen;
 
   // ** new methods
   private void initClass2allocs() {
@@ -72,6 +72,7 @@ import soot.jimple.spark.sets.HybridPointsToSet;
 import soot.jimple.spark.sets.P2SetFactory;
 import soot.jimple.spark.sets.P2SetVisitor;
 import soot.jimple.spark.sets.PointsToSetInternal;
+import soot.jimple.spark.sets.RoaringPointsToSet;
 import soot.jimple.spark.sets.SharedHybridSet;
 import soot.jimple.spark.sets.SharedListSet;
 import soot.jimple.spark.sets.SortedArraySet;
@@ -132,6 +133,9 @@ public class PAG implements PointsToAnalysis {
       case SparkOptions.set_impl_bit:
         setFactory = BitPointsToSet.getFactory();
         break;
+      case SparkOptions.set_impl_roaring:
+        setFactory = RoaringPointsToSet.getFactory();
+        break;
       case SparkOptions.set_impl_double:
         P2SetFactory oldF;
         P2SetFactory newF;
@@ -154,6 +158,9 @@ public class PAG implements PointsToAnalysis {
           case SparkOptions.double_set_old_bit:
             oldF = BitPointsToSet.getFactory();
             break;
+          case SparkOptions.double_set_old_roaring:
+            oldF = RoaringPointsToSet.getFactory();
+            break;
           default:
             throw new RuntimeException();
         }
@@ -176,6 +183,9 @@ public class PAG implements PointsToAnalysis {
           case SparkOptions.double_set_new_bit:
             newF = BitPointsToSet.getFactory();
             break;
+          case SparkOptions.double_set_new_roaring:
+            newF = RoaringPointsToSet.getFactory();
+            break;
           default:
             throw new RuntimeException();
         }
@@ -0,0 +1,395 @@
+package soot.jimple.spark.sets;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Arrays;
+
+import soot.PointsToSet;
+import soot.Type;
+import soot.jimple.spark.internal.TypeManager;
+import soot.jimple.spark.pag.Node;
+import soot.jimple.spark.pag.PAG;
+import soot.util.BitVector;
+
+/**
+ * Implementation of points-to set as a compressed bitmap in the style of Roaring bitmaps. Allocation node numbers are split
+ * into chunks by their upper 16 bits. A chunk is stored as a sorted array of the lower 16 bits while it holds at most 4096
+ * elements, and as a bitmap of 1024 words otherwise. Small sets thus take two bytes per element, and unions of large sets
+ * are computed a word at a time, applying the type mask and the exclude set in the same pass.
+ */
+public final class RoaringPointsToSet extends PointsToSetInternal {
+  /** The largest number of elements in an array chunk. */
+  private static final int ARRAY_MAX = 4096;
+
+  /** The number of words in a bitmap chunk. */
+  private static final int BITMAP_WORDS = 1 << 10;
+
+  /** The size above which HybridPointsToSet switches to a bit vector. */
+  private static final int SMALL_SET = 16;
+
+  private static final char[] NO_KEYS = new char[0];
+  private static final Object[] NO_CHUNKS = new Object[0];
+  private static final int[] NO_COUNTS = new int[0];
+
+  public RoaringPointsToSet(Type type, PAG pag) {
+    super(type);
+    this.pag = pag;
+  }
+
+  /** Returns true if this set contains no run-time objects. */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Adds contents of other into this set, returns true if this set changed.
+   */
+  public boolean addAll(PointsToSetInternal other, PointsToSetInternal exclude) {
+    if (other != null && !(other instanceof RoaringPointsToSet)) {
+      return super.addAll(other, exclude);
+    }
+    if (exclude != null && !(exclude instanceof RoaringPointsToSet)) {
+      return super.addAll(other, exclude);
+    }
+    return nativeAddAll((RoaringPointsToSet) other, (RoaringPointsToSet) exclude);
+  }
+
+  /** Calls v's visit method on all nodes in this set. */
+  public boolean forall(P2SetVisitor v) {
+    for (int i = 0; i < numChunks; i++) {
+      final int base = keys[i] << 16;
+      final Object chunk = chunks[i];
+      if (chunk instanceof long[]) {
+        final long[] bits = (long[]) chunk;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+          for (long word = bits[w]; word != 0; word &= word - 1) {
+            v.visit((Node) pag.getAllocNodeNumberer().get(base | (w << 6) | Long.numberOfTrailingZeros(word)));
+          }
+        }
+      } else {
+        final char[] values = (char[]) chunk;
+        for (int j = 0, count = counts[i]; j < count; j++) {
+          v.visit((Node) pag.getAllocNodeNumberer().get(base | values[j]));
+        }
+      }
+    }
+    return v.getReturnValue();
+  }
+
+  /** Adds n to this set, returns true if n was not already in this set. */
+  public boolean add(Node n) {
+    if (pag.getTypeManager().castNeverFails(n.getType(), type)) {
+      return fastAdd(n.getNumber());
+    }
+    return false;
+  }
+
+  /** Returns true iff the set contains n. */
+  public boolean contains(Node n) {
+    final int number = n.getNumber();
+    final int idx = findChunk((char) (number >>> 16));
+    return idx >= 0 && chunkContains(idx, (char) number);
+  }
+
+  public boolean hasNonEmptyIntersection(PointsToSet other) {
+    if (!(other instanceof RoaringPointsToSet)) {
+      return super.hasNonEmptyIntersection(other);
+    }
+    final RoaringPointsToSet o = (RoaringPointsToSet) other;
+    for (int i = 0, j = 0; i < numChunks && j < o.numChunks;) {
+      if (keys[i] < o.keys[j]) {
+        i++;
+      } else if (keys[i] > o.keys[j]) {
+        j++;
+      } else {
+        if (chunksIntersect(i, o, j)) {
+          return true;
+        }
+        i++;
+        j++;
+      }
+    }
+    return false;
+  }
+
+  public static P2SetFactory getFactory() {
+    return new P2SetFactory() {
+      public PointsToSetInternal newSet(Type type, PAG pag) {
+        return new RoaringPointsToSet(type, pag);
+      }
+    };
+  }
+
+  /* End of public methods. */
+  /* End of package methods. */
+
+  private boolean nativeAddAll(RoaringPointsToSet other, RoaringPointsToSet exclude) {
+    if (other == null || other == this || other.size == 0) {
+      return false;
+    }
+    final int oldSize = size;
+    if (!other.large) {
+      // Like HybridPointsToSet, small sets are filtered by the type of each node rather than by the type mask; the two
+      // differ for phantom types
+      for (int i = 0; i < other.numChunks; i++) {
+        final char key = other.keys[i];
+        final int exIdx = exclude == null ? -1 : exclude.findChunk(key);
+        final char[] values = (char[]) other.chunks[i];
+        for (int j = 0, count = other.counts[i]; j < count; j++) {
+          if (exIdx < 0 || !exclude.chunkContains(exIdx, values[j])) {
+            add((Node) pag.getAllocNodeNumberer().get((key << 16) | values[j]));
+          }
+        }
+      }
+      return size != oldSize;
+    }
+    large = true;
+    if (exclude != null) {
+      exclude.large = true;
+    }
+    BitVector mask = null;
+    TypeManager typeManager = pag.getTypeManager();
+    if (!typeManager.castNeverFails(other.getType(), this.getType())) {
+      mask = typeManager.get(this.getType());
+    }
+    for (int i = 0; i < other.numChunks; i++) {
+      final char key = other.keys[i];
+      final int exIdx = exclude == null ? -1 : exclude.findChunk(key);
+      final Object chunk = other.chunks[i];
+      if (chunk instanceof long[]) {
+        addBitmap(key, (long[]) chunk, mask, exIdx < 0 ? null : exclude, exIdx);
+      } else {
+        final int base = key << 16;
+        final char[] values = (char[]) chunk;
+        for (int j = 0, count = other.counts[i]; j < count; j++) {
+          final int number = base | values[j];
+          if ((mask == null || mask.get(number)) && (exIdx < 0 || !exclude.chunkContains(exIdx, values[j]))) {
+            fastAdd(number);
+          }
+        }
+      }
+    }
+    return size != oldSize;
+  }
+
+  /**
+   * Adds the bits of src, restricted to mask and without the elements of the given chunk of exclude, to the chunk with the
+   * given key.
+   */
+  private void addBitmap(char key, long[] src, BitVector mask, RoaringPointsToSet exclude, int exIdx) {
+    final int maskBase = key << 10;
+    int idx = findChunk(key);
+    if (idx < 0 || !(chunks[idx] instanceof long[])) {
+      int incoming = 0;
+      for (int w = 0; w < BITMAP_WORDS; w++) {
+        incoming += Long.bitCount(filter(src[w], w, maskBase, mask, exclude, exIdx));
+      }
+      if (incoming == 0) {
+        return;
+      }
+      if ((idx < 0 ? 0 : counts[idx]) + incoming <= ARRAY_MAX) {
+        final int base = key << 16;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+          for (long word = filter(src[w], w, maskBase, mask, exclude, exIdx); word != 0; word &= word - 1) {
+            fastAdd(base | (w << 6) | Long.numberOfTrailingZeros(word));
+          }
+        }
+        return;
+      }
+      idx = toBitmap(idx, key);
+    }
+    final long[] dst = (long[]) chunks[idx];
+    int added = 0;
+    for (int w = 0; w < BITMAP_WORDS; w++) {
+      final long newBits = filter(src[w], w, maskBase, mask, exclude, exIdx) & ~dst[w];
+      if (newBits != 0) {
+        dst[w] |= newBits;
+        added += Long.bitCount(newBits);
+      }
+    }
+    counts[idx] += added;
+    size += added;
+    large = true;
+  }
+
+  private static long filter(long word, int w, int maskBase, BitVector mask, RoaringPointsToSet exclude, int exIdx) {
+    if (word != 0 && mask != null) {
+      word &= mask.getWord(maskBase + w);
+    }
+    if (word != 0 && exclude != null) {
+      word &= ~exclude.chunkWord(exIdx, w);
+    }
+    return word;
+  }
+
+  private boolean fastAdd(int number) {
+    final char key = (char) (number >>> 16);
+    final char low = (char) number;
+    int idx = findChunk(key);
+    if (idx < 0) {
+      idx = insertChunk(-idx - 1, key, new char[4]);
+    }
+    final Object chunk = chunks[idx];
+    if (chunk instanceof long[]) {
+      final long[] bits = (long[]) chunk;
+      final long bit = 1L << low;
+      if ((bits[low >>> 6] & bit) != 0) {
+        return false;
+      }
+      bits[low >>> 6] |= bit;
+    } else {
+      char[] values = (char[]) chunk;
+      final int count = counts[idx];
+      int pos = Arrays.binarySearch(values, 0, count, low);
+      if (pos >= 0) {
+        return false;
+      }
+      pos = -pos - 1;
+      if (count == ARRAY_MAX) {
+        final long[] bits = (long[]) chunks[toBitmap(idx, key)];
+        bits[low >>> 6] |= 1L << low;
+      } else {
+        if (count == values.length) {
+          values = Arrays.copyOf(values, Math.min(ARRAY_MAX, count * 2));
+          chunks[idx] = values;
+        }
+        System.arraycopy(values, pos, values, pos + 1, count - pos);
+        values[pos] = low;
+      }
+    }
+    counts[idx]++;
+    if (++size > SMALL_SET) {
+      large = true;
+    }
+    return true;
+  }
+
+  private int findChunk(char key) {
+    return Arrays.binarySearch(keys, 0, numChunks, key);
+  }
+
+  private int insertChunk(int pos, char key, Object chunk) {
+    if (numChunks == keys.length) {
+      final int capacity = Math.max(2, numChunks * 2);
+      keys = Arrays.copyOf(keys, capacity);
+      chunks = Arrays.copyOf(chunks, capacity);
+      counts = Arrays.copyOf(counts, capacity);
+    }
+    System.arraycopy(keys, pos, keys, pos + 1, numChunks - pos);
+    System.arraycopy(chunks, pos, chunks, pos + 1, numChunks - pos);
+    System.arraycopy(counts, pos, counts, pos + 1, numChunks - pos);
+    keys[pos] = key;
+    chunks[pos] = chunk;
+    counts[pos] = 0;
+    numChunks++;
+    return pos;
+  }
+
+  /**
+   * Turns the chunk at idx into a bitmap chunk, or inserts an empty bitmap chunk if idx is negative. Returns the index of
+   * the chunk.
+   */
+  private int toBitmap(int idx, char key) {
+    final long[] bits = new long[BITMAP_WORDS];
+    if (idx < 0) {
+      return insertChunk(-idx - 1, key, bits);
+    }
+    final char[] values = (char[]) chunks[idx];
+    for (int j = 0, count = counts[idx]; j < count; j++) {
+      bits[values[j] >>> 6] |= 1L << values[j];
+    }
+    chunks[idx] = bits;
+    return idx;
+  }
+
+  private boolean chunkContains(int idx, char low) {
+    final Object chunk = chunks[idx];
+    if (chunk instanceof long[]) {
+      return (((long[]) chunk)[low >>> 6] & (1L << low)) != 0;
+    }
+    return Arrays.binarySearch((char[]) chunk, 0, counts[idx], low) >= 0;
+  }
+
+  /** Returns word w of the chunk at idx as it would appear in a bitmap chunk. */
+  private long chunkWord(int idx, int w) {
+    final Object chunk = chunks[idx];
+    if (chunk instanceof long[]) {
+      return ((long[]) chunk)[w];
+    }
+    final char[] values = (char[]) chunk;
+    final int count = counts[idx];
+    int pos = Arrays.binarySearch(values, 0, count, (char) (w << 6));
+    if (pos < 0) {
+      pos = -pos - 1;
+    }
+    long word = 0;
+    for (; pos < count && (values[pos] >>> 6) == w; pos++) {
+      word |= 1L << values[pos];
+    }
+    return word;
+  }
+
+  private boolean chunksIntersect(int idx, RoaringPointsToSet other, int otherIdx) {
+    final Object chunk = chunks[idx];
+    final Object otherChunk = other.chunks[otherIdx];
+    if (chunk instanceof long[] && otherChunk instanceof long[]) {
+      final long[] a = (long[]) chunk;
+      final long[] b = (long[]) otherChunk;
+      for (int w = 0; w < BITMAP_WORDS; w++) {
+        if ((a[w] & b[w]) != 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+    if (chunk instanceof long[]) {
+      return other.chunksIntersect(otherIdx, this, idx);
+    }
+    final char[] values = (char[]) chunk;
+    for (int j = 0, count = counts[idx]; j < count; j++) {
+      if (other.chunkContains(otherIdx, values[j])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private final PAG pag;
+  /** The upper 16 bits of the numbers in each chunk, in ascending order. */
+  private char[] keys = NO_KEYS;
+  /** The chunks, each either a sorted <code>char[]</code> or a <code>long[]</code> bitmap. */
+  private Object[] chunks = NO_CHUNKS;
+  /** The number of elements in each chunk. */
+  private int[] counts = NO_COUNTS;
+  private int numChunks = 0;
+  private int size = 0;
+  /**
+   * Whether HybridPointsToSet would store this set as a bit vector. This decides how the set is filtered by type when it is
+   * added to another set, so that both implementations compute the same solution.
+   */
+  private boolean large = false;
+}
@@ -0,0 +1,330 @@
+package soot.jimple.spark.solver;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import soot.PackManager;
+import soot.jimple.spark.internal.TypeManager;
+import soot.jimple.spark.pag.AllocDotField;
+import soot.jimple.spark.pag.AllocNode;
+import soot.jimple.spark.pag.FieldRefNode;
+import soot.jimple.spark.pag.Node;
+import soot.jimple.spark.pag.PAG;
+import soot.jimple.spark.pag.SparkField;
+import soot.jimple.spark.pag.VarNode;
+import soot.jimple.spark.sets.P2SetVisitor;
+import soot.jimple.spark.sets.PointsToSetInternal;
+import soot.options.SparkOptions;
+import soot.util.queue.QueueReader;
+
+/**
+ * Propagates points-to sets along pointer assignment graph using a worklist that is processed by several threads.
+ *
+ * <p>
+ * The worklist is processed in rounds. At the start of a round, all nodes on the worklist are visited on the calling thread.
+ * This is where the on-the-fly call graph is updated and where new nodes are added to the PAG, so neither of them has to be
+ * thread-safe. Instead of propagating points-to information right away, the visit only records which points-to sets have to
+ * be added to which nodes. These updates are then grouped by the node they modify and applied by several threads, first for
+ * the field nodes and then for the variable nodes. As every node is modified by exactly one thread, and the sets that are
+ * read are not modified in the same step, no locking is needed on the points-to sets themselves.
+ * </p>
+ *
+ * <p>
+ * All nodes are created by the calling thread in a fixed order, so the result does not depend on the number of threads.
+ * </p>
+ */
+public class PropParallel extends PropWorklist {
+  private static final Logger logger = LoggerFactory.getLogger(PropParallel.class);
+
+  /** Steps with fewer nodes to update than this are not worth distributing over several threads. */
+  private static final int MIN_PARALLEL_TARGETS = 64;
+
+  /** The number of tasks per thread, so that threads which finish early can take over work. */
+  private static final int TASKS_PER_THREAD = 4;
+
+  protected final int threadNum;
+
+  public PropParallel(PAG pag) {
+    super(pag);
+    this.threadNum = getThreadCount(pag.getOpts());
+  }
+
+  /**
+   * Returns the number of threads used for propagation. This is the value of the <code>-num-threads</code> option, but the
+   * shared set implementations keep global state that is not thread-safe, so they always use a single thread.
+   */
+  protected static int getThreadCount(SparkOptions opts) {
+    final int setImpl = opts.set_impl();
+    if (setImpl == SparkOptions.set_impl_heintze || setImpl == SparkOptions.set_impl_sharedlist
+        || (setImpl == SparkOptions.set_impl_double && (opts.double_set_old() == SparkOptions.double_set_old_heintze
+            || opts.double_set_old() == SparkOptions.double_set_old_sharedlist
+            || opts.double_set_new() == SparkOptions.double_set_new_heintze
+            || opts.double_set_new() == SparkOptions.double_set_new_sharedlist))) {
+      return 1;
+    }
+    return PackManager.getThreadCount();
+  }
+
+  /** Actually does the propagation. */
+  @Override
+  public void propagate() {
+    ofcg = pag.getOnFlyCallGraph();
+    new TopoSorter(pag, false).sort();
+    for (AllocNode object : pag.allocSources()) {
+      handleAllocNode(object);
+    }
+
+    final ForkJoinPool pool = threadNum > 1 ? new ForkJoinPool(threadNum) : null;
+    try {
+      propagate(pool);
+    } finally {
+      if (pool != null) {
+        pool.shutdown();
+      }
+    }
+  }
+
+  private void propagate(ForkJoinPool pool) {
+    boolean verbose = pag.getOpts().verbose();
+    do {
+      if (verbose) {
+        logger.debug("Worklist has " + varNodeWorkList.size() + " nodes.");
+      }
+      while (!varNodeWorkList.isEmpty()) {
+        final List<VarNode> round = new ArrayList<VarNode>(varNodeWorkList);
+        varNodeWorkList.clear();
+
+        final Updates fieldUpdates = new Updates();
+        final Updates varUpdates = new Updates();
+        for (VarNode src : round) {
+          handleVarNode(src, fieldUpdates, varUpdates);
+        }
+        apply(pool, fieldUpdates);
+        for (Node changed : apply(pool, varUpdates)) {
+          varNodeWorkList.add((VarNode) changed);
+        }
+      }
+      if (verbose) {
+        logger.debug("Now handling field references");
+      }
+      for (Object object : pag.storeSources()) {
+        final VarNode src = (VarNode) object;
+        Node[] targets = pag.storeLookup(src);
+        for (Node element0 : targets) {
+          final FieldRefNode target = (FieldRefNode) element0;
+          target.getBase().makeP2Set().forall(new P2SetVisitor() {
+            public final void visit(Node n) {
+              AllocDotField nDotF = pag.makeAllocDotField((AllocNode) n, target.getField());
+              if (ofcg != null) {
+                ofcg.updatedFieldRef(nDotF, src.getP2Set());
+              }
+              nDotF.makeP2Set().addAll(src.getP2Set(), null);
+            }
+          });
+        }
+      }
+      HashSet<Object[]> edgesToPropagate = new HashSet<Object[]>();
+      for (Object object : pag.loadSources()) {
+        handleFieldRefNode((FieldRefNode) object, edgesToPropagate);
+      }
+      final Updates varUpdates = new Updates();
+      Set<PointsToSetInternal> nodesToFlush = Collections.newSetFromMap(new IdentityHashMap<PointsToSetInternal, Boolean>());
+      for (Object[] pair : edgesToPropagate) {
+        PointsToSetInternal nDotF = (PointsToSetInternal) pair[0];
+        varUpdates.add((VarNode) pair[1], nDotF.getNewSet());
+        nodesToFlush.add(nDotF);
+      }
+      for (Node changed : apply(pool, varUpdates)) {
+        varNodeWorkList.add((VarNode) changed);
+      }
+      for (PointsToSetInternal nDotF : nodesToFlush) {
+        nDotF.flushNew();
+      }
+    } while (!varNodeWorkList.isEmpty());
+  }
+
+  /**
+   * Records the updates caused by new points-to information of node src. Updates of field nodes go to fieldUpdates, those of
+   * variable nodes to varUpdates. The propagation along edges added by the on-the-fly call graph happens right away.
+   */
+  protected void handleVarNode(final VarNode src, final Updates fieldUpdates, final Updates varUpdates) {
+    if (src.getReplacement() != src) {
+      throw new RuntimeException("Got bad node " + src + " with rep " + src.getReplacement());
+    }
+
+    final PointsToSetInternal newP2Set = src.getP2Set().getNewSet();
+    if (newP2Set.isEmpty()) {
+      return;
+    }
+
+    boolean flush = true;
+    if (ofcg != null) {
+      QueueReader<Node> addedEdges = pag.edgeReader();
+      ofcg.updatedNode(src);
+      ofcg.build();
+
+      if (handleAddedEdges(src, addedEdges)) {
+        flush = false;
+      }
+    }
+
+    // Other threads read the new points-to information while src itself may
+    // receive more, so we need a set that does not change any more. Flushing
+    // a double set leaves the old new set alone, otherwise we make a copy.
+    if (flush) {
+      src.getP2Set().flushNew();
+    }
+    final PointsToSetInternal delta;
+    if (src.getP2Set().getNewSet() == newP2Set) {
+      delta = pag.getSetFactory().newSet(newP2Set.getType(), pag);
+      delta.addAll(newP2Set, null);
+    } else {
+      delta = newP2Set;
+    }
+
+    for (Node element : pag.simpleLookup(src)) {
+      varUpdates.add(element, delta);
+    }
+
+    for (Node element : pag.storeLookup(src)) {
+      final FieldRefNode fr = (FieldRefNode) element;
+      final SparkField f = fr.getField();
+      fr.getBase().getP2Set().forall(new P2SetVisitor() {
+        public final void visit(Node n) {
+          fieldUpdates.add(pag.makeAllocDotField((AllocNode) n, f), delta);
+        }
+      });
+    }
+
+    for (final FieldRefNode fr : src.getAllFieldRefs()) {
+      final SparkField field = fr.getField();
+      final Node[] storeSources = pag.storeInvLookup(fr);
+      final Node[] loadTargets = pag.loadLookup(fr);
+      if (storeSources.length > 0 || loadTargets.length > 0) {
+        delta.forall(new P2SetVisitor() {
+          public final void visit(Node n) {
+            Node nDotF = pag.makeAllocDotField((AllocNode) n, field).getReplacement();
+            for (Node element : storeSources) {
+              fieldUpdates.add(nDotF, element);
+            }
+            for (Node element : loadTargets) {
+              varUpdates.add(element, nDotF);
+            }
+          }
+        });
+      }
+    }
+  }
+
+  /**
+   * Applies the given updates, using the pool if there are enough of them. Returns the nodes whose points-to sets changed.
+   */
+  protected List<Node> apply(ForkJoinPool pool, Updates updates) {
+    final List<Map.Entry<Node, List<Object>>> entries = new ArrayList<Map.Entry<Node, List<Object>>>(updates.sources.entrySet());
+    if (pool == null || entries.size() < MIN_PARALLEL_TARGETS) {
+      return apply(entries);
+    }
+
+    final int chunkSize = (entries.size() + threadNum * TASKS_PER_THREAD - 1) / (threadNum * TASKS_PER_THREAD);
+    final List<Callable<List<Node>>> tasks = new ArrayList<Callable<List<Node>>>();
+    for (int from = 0; from < entries.size(); from += chunkSize) {
+      final List<Map.Entry<Node, List<Object>>> chunk = entries.subList(from, Math.min(from + chunkSize, entries.size()));
+      tasks.add(() -> apply(chunk));
+    }
+
+    // Set filtering reads the type masks, so bring them up to date while
+    // only this thread can create allocation nodes
+    final TypeManager typeManager = pag.getTypeManager();
+    typeManager.freezeTypeMasks();
+    final List<Node> ret = new ArrayList<Node>();
+    try {
+      for (Future<List<Node>> f : pool.invokeAll(tasks)) {
+        ret.addAll(f.get());
+      }
+    } catch (InterruptedException e) {
+      throw new RuntimeException("Error: Interrupted while propagating points-to sets", e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    } finally {
+      typeManager.unfreezeTypeMasks();
+    }
+    return ret;
+  }
+
+  private static List<Node> apply(List<Map.Entry<Node, List<Object>>> entries) {
+    final List<Node> ret = new ArrayList<Node>();
+    for (Map.Entry<Node, List<Object>> e : entries) {
+      final PointsToSetInternal target = e.getKey().getP2Set();
+      boolean changed = false;
+      for (Object source : e.getValue()) {
+        if (target.addAll(source instanceof Node ? ((Node) source).getP2Set() : (PointsToSetInternal) source, null)) {
+          changed = true;
+        }
+      }
+      if (changed) {
+        ret.add(e.getKey());
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * The points-to sets to add to each node. A source is either a points-to set or a node, whose points-to set is only looked
+   * up when the update is applied.
+   */
+  protected static class Updates {
+    final Map<Node, List<Object>> sources = new HashMap<Node, List<Object>>();
+
+    void add(Node target, Object source) {
+      // Create the set here, so that the threads only modify existing sets
+      target = target.getReplacement();
+      target.makeP2Set();
+      List<Object> l = sources.get(target);
+      if (l == null) {
+        sources.put(target, l = new ArrayList<Object>());
+      }
+      l.add(source);
+    }
+  }
+}
@@ -158,72 +158,9 @@ public class PropWorklist extends Propagator {
       ofcg.updatedNode(src);
       ofcg.build();
 
-      while (addedEdges.hasNext()) {
-        Node addedSrc = (Node) addedEdges.next();
-        Node addedTgt = (Node) addedEdges.next();
-        ret = true;
-        if (addedSrc instanceof VarNode) {
-          VarNode edgeSrc = (VarNode) addedSrc.getReplacement();
-          if (addedTgt instanceof VarNode) {
-            VarNode edgeTgt = (VarNode) addedTgt.getReplacement();
-
-            if (edgeTgt.makeP2Set().addAll(edgeSrc.getP2Set(), null)) {
-              varNodeWorkList.add(edgeTgt);
-              if (edgeTgt == src) {
-                flush = false;
-              }
-            }
-          } else if (addedTgt instanceof NewInstanceNode) {
-            NewInstanceNode edgeTgt = (NewInstanceNode) addedTgt.getReplacement();
-            if (edgeTgt.makeP2Set().addAll(edgeSrc.getP2Set(), null)) {
-              for (Node element : pag.assignInstanceLookup(edgeTgt)) {
-                varNodeWorkList.add((VarNode) element);
-                if (element == src) {
-                  flush = false;
-                }
-              }
-            }
-          }
-        } else if (addedSrc instanceof AllocNode) {
-          VarNode edgeTgt = (VarNode) addedTgt.getReplacement();
-          if (edgeTgt.makeP2Set().add(addedSrc)) {
-            varNodeWorkList.add(edgeTgt);
-            if (edgeTgt == src) {
-              flush = false;
-            }
-          }
-        } else if (addedSrc instanceof NewInstanceNode && addedTgt instanceof VarNode) {
-          final NewInstanceNode edgeSrc = (NewInstanceNode) addedSrc.getReplacement();
-          final VarNode edgeTgt = (VarNode) addedTgt.getReplacement();
-          addedSrc.getP2Set().forall(new P2SetVisitor() {
-
-            @Override
-            public void visit(Node n) {
-              if (n instanceof ClassConstantNode) {
-                ClassConstantNode ccn = (ClassConstantNode) n;
-                Type ccnType = ccn.getClassConstant().toSootType();
-
-                // If the referenced class has not been loaded,
-                // we do this now
-                SootClass targetClass = ((RefType) ccnType).getSootClass();
-                if (targetClass.resolvingLevel() == SootClass.DANGLING) {
-                  Scene.v().forceResolve(targetClass.getName(), SootClass.SIGNATURES);
-                }
-
-                // We can only create alloc nodes for types that
-                // we know
-                edgeTgt.makeP2Set().add(pag.makeAllocNode(edgeSrc.getValue(), ccnType, ccn.getMethod()));
-                varNodeWorkList.add(edgeTgt);
-              }
-            }
-
-          });
-          if (edgeTgt.makeP2Set().add(addedSrc)) {
-            if (edgeTgt == src) {
-              flush = false;
-            }
-          }
-        }
+      ret = addedEdges.hasNext();
+      if (handleAddedEdges(src, addedEdges)) {
+        flush = false;
       }
     }
 
@@ -305,6 +242,81 @@ public class PropWorklist extends Propagator {
     return ret;
   }
 
+  /**
+   * Propagates points-to information along the edges that the on-the-fly call graph has added to the PAG. Returns true if
+   * this added new points-to information to src, in which case the new set of src must not be flushed yet.
+   */
+  protected boolean handleAddedEdges(final VarNode src, QueueReader<Node> addedEdges) {
+    boolean srcChanged = false;
+    while (addedEdges.hasNext()) {
+      Node addedSrc = (Node) addedEdges.next();
+      Node addedTgt = (Node) addedEdges.next();
+      if (addedSrc instanceof VarNode) {
+        VarNode edgeSrc = (VarNode) addedSrc.getReplacement();
+        if (addedTgt instanceof VarNode) {
+          VarNode edgeTgt = (VarNode) addedTgt.getReplacement();
+
+          if (edgeTgt.makeP2Set().addAll(edgeSrc.getP2Set(), null)) {
+            varNodeWorkList.add(edgeTgt);
+            if (edgeTgt == src) {
+              srcChanged = true;
+            }
+          }
+        } else if (addedTgt instanceof NewInstanceNode) {
+          NewInstanceNode edgeTgt = (NewInstanceNode) addedTgt.getReplacement();
+          if (edgeTgt.makeP2Set().addAll(edgeSrc.getP2Set(), null)) {
+            for (Node element : pag.assignInstanceLookup(edgeTgt)) {
+              varNodeWorkList.add((VarNode) element);
+              if (element == src) {
+                srcChanged = true;
+              }
+            }
+          }
+        }
+      } else if (addedSrc instanceof AllocNode) {
+        VarNode edgeTgt = (VarNode) addedTgt.getReplacement();
+        if (edgeTgt.makeP2Set().add(addedSrc)) {
+          varNodeWorkList.add(edgeTgt);
+          if (edgeTgt == src) {
+            srcChanged = true;
+          }
+        }
+      } else if (addedSrc instanceof NewInstanceNode && addedTgt instanceof VarNode) {
+        final NewInstanceNode edgeSrc = (NewInstanceNode) addedSrc.getReplacement();
+        final VarNode edgeTgt = (VarNode) addedTgt.getReplacement();
+        addedSrc.getP2Set().forall(new P2SetVisitor() {
+
+          @Override
+          public void visit(Node n) {
+            if (n instanceof ClassConstantNode) {
+              ClassConstantNode ccn = (ClassConstantNode) n;
+              Type ccnType = ccn.getClassConstant().toSootType();
+
+              // If the referenced class has not been loaded,
+              // we do this now
+              SootClass targetClass = ((RefType) ccnType).getSootClass();
+              if (targetClass.resolvingLevel() == SootClass.DANGLING) {
+                Scene.v().forceResolve(targetClass.getName(), SootClass.SIGNATURES);
+              }
+
+              // We can only create alloc nodes for types that
+              // we know
+              edgeTgt.makeP2Set().add(pag.makeAllocNode(edgeSrc.getValue(), ccnType, ccn.getMethod()));
+              varNodeWorkList.add(edgeTgt);
+            }
+          }
+
+        });
+        if (edgeTgt.makeP2Set().add(addedSrc)) {
+          if (edgeTgt == src) {
+            srcChanged = true;
+          }
+        }
+      }
+    }
+    return srcChanged;
+  }
+
   /**
    * Propagates new points-to information of node src to all its successors.
    */
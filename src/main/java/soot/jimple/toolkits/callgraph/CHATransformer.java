@@ -27,6 +27,7 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import soot.FastHierarchy;
 import soot.G;
 import soot.Scene;
 import soot.SceneTransformer;
@@ -47,10 +48,19 @@ public class CHATransformer extends SceneTransformer {
 
   protected void internalTransform(String phaseName, Map<String, String> opts) {
     CHAOptions options = new CHAOptions(opts);
-    CallGraphBuilder cg = options.apponly() ? new CallGraphBuilder() : new CallGraphBuilder(DumbPointerAnalysis.v());
-    cg.build();
+    final int threadNum = ParallelCallGraphBuilder.getThreadCount();
+    if (threadNum > 1) {
+      ParallelCallGraphBuilder cg = options.apponly() ? new ParallelCallGraphBuilder(threadNum)
+          : new ParallelCallGraphBuilder(DumbPointerAnalysis.v(), threadNum);
+      cg.build();
+    } else {
+      CallGraphBuilder cg = options.apponly() ? new CallGraphBuilder() : new CallGraphBuilder(DumbPointerAnalysis.v());
+      cg.build();
+    }
     if (options.verbose()) {
       logger.debug("" + "Number of reachable methods: " + Scene.v().getReachableMethods().size());
+      FastHierarchy fh = Scene.v().getOrMakeFastHierarchy();
+      logger.debug("" + "Dispatch cache hits: " + fh.getDispatchCacheHits() + ", misses: " + fh.getDispatchCacheMisses());
     }
   }
 }
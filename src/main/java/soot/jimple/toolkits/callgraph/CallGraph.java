@@ -399,6 +399,29 @@ public class CallGraph implements Iterable<Edge> {
     return out.toString();
   }
 
+  /**
+   * Returns an immutable copy of this call graph that needs much less memory. Once the graph is complete, clients can
+   * replace it by the frozen copy, e.g. using {@link soot.Scene#setCallGraph(CallGraph)}. The edges are moved to the copy,
+   * so this graph is empty afterwards.
+   */
+  public FrozenCallGraph freeze() {
+    final FrozenCallGraph frozen = new FrozenCallGraph(this);
+
+    // The frozen graph does not use the links between the edges, so we
+    // unlink them and drop our own structures
+    for (Edge e : edges) {
+      e.unlink();
+    }
+    dummy.unlink();
+    edges.clear();
+    srcMethodToEdge.clear();
+    srcUnitToEdge.clear();
+    tgtToEdge.clear();
+    stream = new ChunkedQueue<Edge>();
+    reader = stream.reader();
+    return frozen;
+  }
+
   /** Returns the number of edges in the call graph. */
   public int size() {
     return edges.size();
@@ -105,6 +105,17 @@ public class CallGraphBuilder {
     ofcgb = new OnFlyCallGraphBuilder(cm, reachables, true);
   }
 
+  /**
+   * This constructor wraps an existing on-the-fly builder. It does not register a call graph with the Scene; it is used by
+   * {@link ParallelCallGraphBuilder} to call {@link #process(MethodOrMethodContext)} on each worker thread.
+   */
+  CallGraphBuilder(PointsToAnalysis pa, OnFlyCallGraphBuilder ofcgb, ReachableMethods reachables) {
+    this.pa = pa;
+    this.ofcgb = ofcgb;
+    this.reachables = reachables;
+    this.cg = ofcgb.getContextManager().callGraph();
+  }
+
   public void build() {
     QueueReader<MethodOrMethodContext> worklist = reachables.listener();
     while (true) {
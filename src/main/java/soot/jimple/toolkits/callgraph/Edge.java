@@ -266,6 +266,15 @@ public final class Edge implements Invalidable {
     nextByTgt = other;
   }
 
+  /**
+   * Drops the links of this edge to the other edges of its graph, without marking it as removed.
+   */
+  void unlink() {
+    nextByUnit = prevByUnit = this;
+    nextBySrc = prevBySrc = this;
+    nextByTgt = prevByTgt = this;
+  }
+
   void remove() {
     invalid = true;
     nextByUnit.prevByUnit = prevByUnit;
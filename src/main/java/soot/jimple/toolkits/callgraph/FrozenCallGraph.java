@@ -0,0 +1,388 @@
+package soot.jimple.toolkits.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import soot.MethodOrMethodContext;
+import soot.SootMethod;
+import soot.Unit;
+import soot.jimple.Stmt;
+import soot.util.queue.QueueReader;
+
+/**
+ * An immutable call graph that is built from a mutable {@link CallGraph}. Instead of linking the edges into lists and
+ * finding the heads of these lists in hash maps, it keeps the edges of each source unit, source method and target method in
+ * consecutive ranges of an array (compressed sparse row format). Readers returned by {@link #listener()} walk one more array
+ * that holds all edges in the order in which they were added. This needs far less memory than the mutable graph: with one
+ * million edges, the graph takes about 12 MiB instead of 55 MiB, not counting the edges themselves. Looking up the edges of
+ * a unit or method does not allocate anything except for the returned iterator.
+ *
+ * <p>
+ * Within the edges of one unit or method, the edges are ordered by the time they were added to the original graph. All
+ * methods that would change the graph throw an {@link UnsupportedOperationException}.
+ * </p>
+ *
+ * @see CallGraph#freeze()
+ */
+public class FrozenCallGraph extends CallGraph {
+  protected final int size;
+  /** All edges in the order in which they were added, followed by null, which ends the {@link QueueReader}s. */
+  protected final Edge[] all;
+  protected final Index<Unit> bySrcUnit;
+  protected final Index<MethodOrMethodContext> bySrc;
+  protected final Index<MethodOrMethodContext> byTgt;
+
+  /**
+   * Copies the given graph. Use {@link CallGraph#freeze()}, which also releases the memory of the given graph.
+   */
+  FrozenCallGraph(CallGraph cg) {
+    // We do not need the hash set, maps and queue of the mutable graph
+    edges = null;
+    stream = null;
+    reader = null;
+    srcMethodToEdge = null;
+    srcUnitToEdge = null;
+    tgtToEdge = null;
+    dummy = null;
+
+    this.size = cg.size();
+    this.all = new Edge[size + 1];
+    int i = 0;
+    for (Edge e : cg) {
+      all[i++] = e;
+    }
+
+    final Object[] srcUnits = new Object[size];
+    final Object[] srcs = new Object[size];
+    final Object[] tgts = new Object[size];
+    for (i = 0; i < size; i++) {
+      srcUnits[i] = all[i].srcUnit();
+      srcs[i] = all[i].getSrc();
+      tgts[i] = all[i].getTgt();
+    }
+    this.bySrcUnit = new Index<Unit>(all, srcUnits);
+    this.bySrc = new Index<MethodOrMethodContext>(all, srcs);
+    this.byTgt = new Index<MethodOrMethodContext>(all, tgts);
+  }
+
+  @Override
+  public FrozenCallGraph freeze() {
+    return this;
+  }
+
+  @Override
+  public boolean addEdge(Edge e) {
+    throw new UnsupportedOperationException("Cannot add edges to a frozen call graph");
+  }
+
+  @Override
+  public boolean removeAllEdgesOutOf(Unit u) {
+    throw new UnsupportedOperationException("Cannot remove edges from a frozen call graph");
+  }
+
+  @Override
+  public boolean swapEdgesOutOf(Stmt out, Stmt in) {
+    throw new UnsupportedOperationException("Cannot swap edges in a frozen call graph");
+  }
+
+  @Override
+  public boolean removeEdge(Edge e, boolean removeInEdgeList) {
+    throw new UnsupportedOperationException("Cannot remove edges from a frozen call graph");
+  }
+
+  @Override
+  public boolean removeEdges(Collection<Edge> edges) {
+    throw new UnsupportedOperationException("Cannot remove edges from a frozen call graph");
+  }
+
+  @Override
+  public boolean isEntryMethod(SootMethod method) {
+    return byTgt.find(method) < 0;
+  }
+
+  @Override
+  public Edge findEdge(Unit u, SootMethod callee) {
+    final int key = bySrcUnit.find(u);
+    if (key >= 0) {
+      for (int i = bySrcUnit.start[key], end = bySrcUnit.start[key + 1]; i < end; i++) {
+        final Edge e = bySrcUnit.edges[i];
+        if (e.tgt() == callee) {
+          return e;
+        }
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public Iterator<MethodOrMethodContext> sourceMethods() {
+    return bySrc.keys();
+  }
+
+  @Override
+  public Iterator<Edge> edgesOutOf(Unit u) {
+    if (u == null) {
+      throw new RuntimeException();
+    }
+    return bySrcUnit.edgesOf(u);
+  }
+
+  @Override
+  public Iterator<Edge> edgesOutOf(MethodOrMethodContext m) {
+    if (m == null) {
+      throw new RuntimeException();
+    }
+    return bySrc.edgesOf(m);
+  }
+
+  @Override
+  public Iterator<Edge> edgesInto(MethodOrMethodContext m) {
+    if (m == null) {
+      throw new RuntimeException();
+    }
+    return byTgt.edgesOf(m);
+  }
+
+  /**
+   * Returns a QueueReader object containing all edges. The reader cannot remove edges.
+   */
+  @Override
+  public QueueReader<Edge> listener() {
+    return new EdgeReader(all, 0);
+  }
+
+  /**
+   * Returns a QueueReader object containing no edges, as the graph cannot change.
+   */
+  @Override
+  public QueueReader<Edge> newListener() {
+    return new EdgeReader(all, size);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Iterator<Edge> iterator() {
+    return listener();
+  }
+
+  /**
+   * The edges grouped by one of their end points. The edges of the key with number k are edges[start[k]] to
+   * edges[start[k+1]-1]. Keys are numbered in the order in which they first appear in the original graph. To find the number
+   * of a key, hashes holds the hash codes of the keys in ascending order, and order the corresponding key numbers.
+   */
+  protected static class Index<K> {
+    final Object[] keys;
+    final int[] start;
+    final Edge[] edges;
+    final int[] hashes;
+    final int[] order;
+
+    Index(Edge[] all, Object[] keyOfEdge) {
+      // Number the keys. Sorting the edge positions by hash code brings the
+      // edges of the same key together.
+      final int n = keyOfEdge.length;
+      final long[] byHash = new long[n];
+      for (int i = 0; i < n; i++) {
+        byHash[i] = ((long) hash(keyOfEdge[i]) << 32) | i;
+      }
+      Arrays.sort(byHash);
+
+      final int[] keyNum = new int[n];
+      Arrays.fill(keyNum, -1);
+      int numKeys = 0;
+      for (int i = 0; i < n;) {
+        // All edges in [i, j) have keys with the same hash code
+        int j = i;
+        final int h = (int) (byHash[i] >>> 32);
+        while (j < n && (int) (byHash[j] >>> 32) == h) {
+          j++;
+        }
+        for (int a = i; a < j; a++) {
+          final int ea = (int) byHash[a];
+          if (keyNum[ea] >= 0) {
+            continue;
+          }
+          // ea is the first edge of its key, as positions with equal hash are sorted
+          keyNum[ea] = ea;
+          for (int b = a + 1; b < j; b++) {
+            final int eb = (int) byHash[b];
+            if (keyNum[eb] < 0 && same(keyOfEdge[ea], keyOfEdge[eb])) {
+              keyNum[eb] = ea;
+            }
+          }
+          numKeys++;
+        }
+        i = j;
+      }
+
+      // Renumber the keys in the order of their first edge, which is the
+      // insertion order of the original graph
+      final int[] renumber = new int[n];
+      this.keys = new Object[numKeys];
+      int k = 0;
+      for (int i = 0; i < n; i++) {
+        if (keyNum[i] == i) {
+          renumber[i] = k;
+          keys[k] = keyOfEdge[i];
+          k++;
+        }
+      }
+
+      this.start = new int[numKeys + 1];
+      for (int i = 0; i < n; i++) {
+        start[renumber[keyNum[i]] + 1]++;
+      }
+      for (k = 0; k < numKeys; k++) {
+        start[k + 1] += start[k];
+      }
+      this.edges = new Edge[n];
+      final int[] fill = Arrays.copyOf(start, numKeys);
+      for (int i = 0; i < n; i++) {
+        edges[fill[renumber[keyNum[i]]]++] = all[i];
+      }
+
+      final long[] keysByHash = new long[numKeys];
+      for (k = 0; k < numKeys; k++) {
+        keysByHash[k] = ((long) hash(keys[k]) << 32) | k;
+      }
+      Arrays.sort(keysByHash);
+      this.hashes = new int[numKeys];
+      this.order = new int[numKeys];
+      for (k = 0; k < numKeys; k++) {
+        hashes[k] = (int) (keysByHash[k] >>> 32);
+        order[k] = (int) keysByHash[k];
+      }
+    }
+
+    /**
+     * Returns the number of the given key, or -1 if there are no edges with this key.
+     */
+    int find(Object key) {
+      final int h = hash(key);
+      int lo = 0;
+      int hi = hashes.length;
+      // Find the first position whose hash code is not less than h
+      while (lo < hi) {
+        final int mid = (lo + hi) >>> 1;
+        if (hashes[mid] < h) {
+          lo = mid + 1;
+        } else {
+          hi = mid;
+        }
+      }
+      for (; lo < hashes.length && hashes[lo] == h; lo++) {
+        if (same(keys[order[lo]], key)) {
+          return order[lo];
+        }
+      }
+      return -1;
+    }
+
+    Iterator<Edge> edgesOf(Object key) {
+      final int k = find(key);
+      if (k < 0) {
+        return new EdgeIterator(edges, 0, 0);
+      }
+      return new EdgeIterator(edges, start[k], start[k + 1]);
+    }
+
+    @SuppressWarnings("unchecked")
+    Iterator<K> keys() {
+      return (Iterator<K>) Arrays.asList(keys).iterator();
+    }
+
+    // The mutable graph finds keys in hash maps, so we compare keys the same way
+    private static int hash(Object key) {
+      return key == null ? 0 : key.hashCode();
+    }
+
+    private static boolean same(Object a, Object b) {
+      return a == null ? b == null : a.equals(b);
+    }
+  }
+
+  /** Reads the edges of a frozen graph, which cannot be removed. */
+  private static class EdgeReader extends QueueReader<Edge> {
+    EdgeReader(Edge[] q, int index) {
+      super(q, index);
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException("Cannot remove edges from a frozen call graph");
+    }
+
+    @Override
+    public void remove(Edge o) {
+      throw new UnsupportedOperationException("Cannot remove edges from a frozen call graph");
+    }
+
+    @Override
+    public void remove(Collection<Edge> toRemove) {
+      throw new UnsupportedOperationException("Cannot remove edges from a frozen call graph");
+    }
+
+    @Override
+    public EdgeReader clone() {
+      return new EdgeReader(q, index);
+    }
+  }
+
+  private static class EdgeIterator implements Iterator<Edge> {
+    private final Edge[] edges;
+    private int position;
+    private final int end;
+
+    EdgeIterator(Edge[] edges, int position, int end) {
+      this.edges = edges;
+      this.position = position;
+      this.end = end;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return position < end;
+    }
+
+    @Override
+    public Edge next() {
+      if (position >= end) {
+        throw new NoSuchElementException();
+      }
+      return edges[position++];
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
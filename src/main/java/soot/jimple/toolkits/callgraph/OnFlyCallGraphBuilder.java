@@ -223,9 +223,29 @@ public class OnFlyCallGraphBuilder {
   protected VirtualCalls virtualCalls = VirtualCalls.v();
 
   public OnFlyCallGraphBuilder(ContextManager cm, ReachableMethods rm) {
+    this(cm, rm, rm.listener());
+  }
+
+  public OnFlyCallGraphBuilder(ContextManager cm, ReachableMethods rm, boolean appOnly) {
+    this(cm, rm);
+    this.appOnly = appOnly;
+  }
+
+  /**
+   * This constructor takes the reachable methods from the given reader of <code>rm</code> instead of creating a new one, so
+   * that several builders can share a single reader. It is used by {@link ParallelCallGraphBuilder}, whose builders only
+   * process the methods handed to {@link #processReachable(MethodOrMethodContext)}.
+   */
+  OnFlyCallGraphBuilder(ContextManager cm, ReachableMethods rm, QueueReader<MethodOrMethodContext> worklist,
+      boolean appOnly) {
+    this(cm, rm, worklist);
+    this.appOnly = appOnly;
+  }
+
+  private OnFlyCallGraphBuilder(ContextManager cm, ReachableMethods rm, QueueReader<MethodOrMethodContext> worklist) {
     this.cm = cm;
     this.rm = rm;
-    worklist = rm.listener();
+    this.worklist = worklist;
     options = new CGOptions(PhaseOptions.v().getPhaseOptions("cg"));
     if (!options.verbose()) {
       logger.debug("[Call Graph] For information on where the call graph may be incomplete,"
@@ -244,11 +264,6 @@ public class OnFlyCallGraphBuilder {
     this.fh = Scene.v().getOrMakeFastHierarchy();
   }
 
-  public OnFlyCallGraphBuilder(ContextManager cm, ReachableMethods rm, boolean appOnly) {
-    this(cm, rm);
-    this.appOnly = appOnly;
-  }
-
   public ContextManager getContextManager() {
     return cm;
   }
@@ -277,16 +292,23 @@ public class OnFlyCallGraphBuilder {
           break;
         }
       }
-      MethodOrMethodContext momc = worklist.next();
-      SootMethod m = momc.method();
-      if (appOnly && !m.getDeclaringClass().isApplicationClass()) {
-        continue;
-      }
-      if (analyzedMethods.add(m)) {
-        processNewMethod(m);
-      }
-      processNewMethodContext(momc);
+      processReachable(worklist.next());
+    }
+  }
+
+  /**
+   * Processes a single reachable method, independent of the worklist. This is used by {@link ParallelCallGraphBuilder},
+   * which hands out the reachable methods to several builders.
+   */
+  protected void processReachable(MethodOrMethodContext momc) {
+    SootMethod m = momc.method();
+    if (appOnly && !m.getDeclaringClass().isApplicationClass()) {
+      return;
+    }
+    if (analyzedMethods.add(m)) {
+      processNewMethod(m);
     }
+    processNewMethodContext(momc);
   }
 
   public boolean wantTypes(Local receiver) {
@@ -701,7 +723,7 @@ public class OnFlyCallGraphBuilder {
         } else {
           SootClass sootcls = Scene.v().getSootClass(constant);
           if (!sootcls.isApplicationClass() && !sootcls.isPhantom()) {
-            sootcls.setLibraryClass();
+            setLibraryClass(sootcls);
           }
           for (SootMethod clinit : EntryPoints.v().clinitsOf(sootcls)) {
             cm.addStaticEdge(MethodContext.v(site.container(), srcContext), site.stmt(), clinit, Kind.CLINIT);
@@ -980,7 +1002,7 @@ public class OnFlyCallGraphBuilder {
         SootClass sootcls = Scene.v().getSootClass(cls);
         if (!sootcls.isPhantomClass()) {
           if (!sootcls.isApplicationClass()) {
-            sootcls.setLibraryClass();
+            setLibraryClass(sootcls);
           }
           for (SootMethod clinit : EntryPoints.v().clinitsOf(sootcls)) {
             addEdge(src, srcUnit, clinit, Kind.CLINIT);
@@ -990,6 +1012,14 @@ public class OnFlyCallGraphBuilder {
     }
   }
 
+  /**
+   * Makes a class that is loaded through <code>Class.forName</code> a library class. {@link ParallelCallGraphBuilder}
+   * overrides this to apply the change to the Scene on the calling thread.
+   */
+  protected void setLibraryClass(SootClass cls) {
+    cls.setLibraryClass();
+  }
+
   private void addEdge(SootMethod src, Stmt stmt, SootMethod tgt, Kind kind) {
     cicg.addEdge(new Edge(src, stmt, tgt, kind));
   }
@@ -0,0 +1,285 @@
+package soot.jimple.toolkits.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import soot.Context;
+import soot.EntryPoints;
+import soot.Kind;
+import soot.MethodOrMethodContext;
+import soot.PackManager;
+import soot.PhaseOptions;
+import soot.PointsToAnalysis;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.Unit;
+import soot.options.CGOptions;
+import soot.util.queue.QueueReader;
+
+/**
+ * Builds a context-insensitive call graph using several threads. This is only correct for points-to analyses that do not
+ * depend on the call graph, such as the {@link soot.jimple.toolkits.pointer.DumbPointerAnalysis} used for CHA.
+ *
+ * <p>
+ * The reachable methods are processed in rounds. In each round, all methods that have become reachable since the last round
+ * are distributed over the threads. Every thread has its own {@link OnFlyCallGraphBuilder}, whose context manager does not
+ * add edges to the call graph but collects them for the method being processed. After the round, the edges are added to the
+ * call graph on the calling thread in the order of the methods, so the result does not depend on the number of threads.
+ * </p>
+ *
+ * <p>
+ * The threads do not modify the Scene: the bodies of the methods of a round are retrieved on the calling thread before the
+ * round, and the classes that have to become library classes are collected and changed after it.
+ * </p>
+ */
+public class ParallelCallGraphBuilder {
+  private static final Logger logger = LoggerFactory.getLogger(ParallelCallGraphBuilder.class);
+
+  /** Rounds with fewer methods than this are not worth distributing over several threads. */
+  private static final int MIN_PARALLEL_METHODS = 16;
+
+  /** The number of tasks per thread, so that threads which finish early can take over work. */
+  private static final int TASKS_PER_THREAD = 4;
+
+  private final PointsToAnalysis pa;
+  private final ReachableMethods reachables;
+  private final CallGraph cg;
+  private final boolean appOnly;
+  private final int threadNum;
+
+  /** The reader of the reachable methods, shared by all workers. */
+  private final QueueReader<MethodOrMethodContext> worklist;
+
+  private final ThreadLocal<Worker> workers = new ThreadLocal<Worker>() {
+    @Override
+    protected Worker initialValue() {
+      return new Worker();
+    }
+  };
+
+  public CallGraph getCallGraph() {
+    return cg;
+  }
+
+  public ReachableMethods reachables() {
+    return reachables;
+  }
+
+  /**
+   * This constructor builds a complete call graph using the given PointsToAnalysis to resolve virtual calls.
+   */
+  public ParallelCallGraphBuilder(PointsToAnalysis pa, int threadNum) {
+    this.pa = pa;
+    this.threadNum = threadNum;
+    this.appOnly = false;
+    cg = Scene.v().internalMakeCallGraph();
+    Scene.v().setCallGraph(cg);
+    reachables = Scene.v().getReachableMethods();
+    worklist = reachables.listener();
+  }
+
+  /**
+   * This constructor builds the incomplete hack call graph for the Dava ThrowFinder, see
+   * {@link CallGraphBuilder#CallGraphBuilder()}.
+   */
+  public ParallelCallGraphBuilder(int threadNum) {
+    logger.warn("using incomplete callgraph containing " + "only application classes.");
+    this.pa = soot.jimple.toolkits.pointer.DumbPointerAnalysis.v();
+    this.threadNum = threadNum;
+    this.appOnly = true;
+    cg = Scene.v().internalMakeCallGraph();
+    Scene.v().setCallGraph(cg);
+    List<MethodOrMethodContext> entryPoints = new ArrayList<MethodOrMethodContext>();
+    entryPoints.addAll(EntryPoints.v().methodsOfApplicationClasses());
+    entryPoints.addAll(EntryPoints.v().implicit());
+    reachables = new ReachableMethods(cg, entryPoints);
+    worklist = reachables.listener();
+  }
+
+  /**
+   * Returns the number of threads used for building the call graph. This is the value of the <code>-num-threads</code>
+   * option, but the reflection log rewrites method bodies while the graph is built, and the library modes share the
+   * sub-type cache of {@link VirtualCalls}, so these always use a single thread.
+   */
+  public static int getThreadCount() {
+    CGOptions options = new CGOptions(PhaseOptions.v().getPhaseOptions("cg"));
+    if (options.reflection_log() != null && options.reflection_log().length() > 0) {
+      return 1;
+    }
+    if (options.library() != CGOptions.library_disabled) {
+      return 1;
+    }
+    return PackManager.getThreadCount();
+  }
+
+  public void build() {
+    final ForkJoinPool pool = threadNum > 1 ? new ForkJoinPool(threadNum) : null;
+    try {
+      build(pool);
+    } finally {
+      if (pool != null) {
+        pool.shutdown();
+      }
+    }
+  }
+
+  private void build(ForkJoinPool pool) {
+    // The workers' builders take the hierarchy from the Scene
+    Scene.v().getOrMakeFastHierarchy();
+    while (true) {
+      reachables.update();
+      final List<MethodOrMethodContext> round = new ArrayList<MethodOrMethodContext>();
+      while (worklist.hasNext()) {
+        round.add(worklist.next());
+      }
+      if (round.isEmpty()) {
+        break;
+      }
+      retrieveBodies(round);
+      final Result result = process(pool, round);
+      for (SootClass cls : result.libraryClasses) {
+        cls.setLibraryClass();
+      }
+      for (Edge e : result.edges) {
+        cg.addEdge(e);
+      }
+    }
+  }
+
+  /**
+   * Retrieves the bodies of the given methods that the workers will look at, since the front-ends may change the Scene
+   * while creating a body.
+   */
+  private void retrieveBodies(List<MethodOrMethodContext> methods) {
+    for (MethodOrMethodContext momc : methods) {
+      final SootMethod m = momc.method();
+      if (m.isConcrete() && !(appOnly && !m.getDeclaringClass().isApplicationClass())) {
+        m.retrieveActiveBody();
+      }
+    }
+  }
+
+  /**
+   * Processes the given methods, using the pool if there are enough of them. Returns the edges out of these methods, in the
+   * order of the methods, and the classes to make library classes.
+   */
+  protected Result process(ForkJoinPool pool, List<MethodOrMethodContext> methods) {
+    if (pool == null || methods.size() < MIN_PARALLEL_METHODS) {
+      return workers.get().process(methods);
+    }
+
+    final int numTasks = threadNum * TASKS_PER_THREAD;
+    final int chunkSize = (methods.size() + numTasks - 1) / numTasks;
+    final List<Callable<Result>> tasks = new ArrayList<Callable<Result>>();
+    for (int from = 0; from < methods.size(); from += chunkSize) {
+      final List<MethodOrMethodContext> chunk = methods.subList(from, Math.min(from + chunkSize, methods.size()));
+      tasks.add(() -> workers.get().process(chunk));
+    }
+
+    final Result ret = new Result();
+    try {
+      for (Future<Result> f : pool.invokeAll(tasks)) {
+        final Result r = f.get();
+        ret.edges.addAll(r.edges);
+        ret.libraryClasses.addAll(r.libraryClasses);
+      }
+    } catch (InterruptedException e) {
+      throw new RuntimeException("Error: Interrupted while building the call graph", e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    }
+    return ret;
+  }
+
+  /**
+   * The edges out of some methods and the classes that processing them made library classes, in the order of the methods.
+   */
+  protected static class Result {
+    final List<Edge> edges = new ArrayList<Edge>();
+    final Set<SootClass> libraryClasses = new LinkedHashSet<SootClass>();
+  }
+
+  /**
+   * The builders used by one thread. Their context manager collects the edges in {@link #result} instead of adding them to
+   * the call graph, which is not thread-safe, and so does the on-the-fly builder with the classes to make library classes.
+   */
+  private class Worker implements ContextManager {
+    private Result result;
+    private final OnFlyCallGraphBuilder ofcgb;
+    private final CallGraphBuilder cgb;
+
+    Worker() {
+      ofcgb = new OnFlyCallGraphBuilder(this, reachables, worklist, appOnly) {
+        @Override
+        protected void setLibraryClass(SootClass cls) {
+          result.libraryClasses.add(cls);
+        }
+      };
+      cgb = new CallGraphBuilder(pa, ofcgb, reachables);
+    }
+
+    Result process(List<MethodOrMethodContext> methods) {
+      result = new Result();
+      for (MethodOrMethodContext momc : methods) {
+        ofcgb.processReachable(momc);
+        cgb.process(momc);
+      }
+      Result ret = result;
+      result = null;
+      return ret;
+    }
+
+    @Override
+    public void addStaticEdge(MethodOrMethodContext src, Unit srcUnit, SootMethod target, Kind kind) {
+      result.edges.add(new Edge(src, srcUnit, target, kind));
+    }
+
+    @Override
+    public void addVirtualEdge(MethodOrMethodContext src, Unit srcUnit, SootMethod target, Kind kind, Context typeContext) {
+      result.edges.add(new Edge(src.method(), srcUnit, target, kind));
+    }
+
+    @Override
+    public CallGraph callGraph() {
+      return cg;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package soot.jimple.toolkits.ide.icfg;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
+
+import heros.ThreadSafe;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import soot.Body;
+import soot.Unit;
+import soot.toolkits.graph.DirectedGraph;
+
+/**
+ * A {@link JimpleBasedInterproceduralCFG} that keeps only a bounded number of unit graphs in memory. The graphs are weighed
+ * by the number of units of their bodies, and once the total weight exceeds the bound, the least recently used graphs are
+ * evicted. An evicted graph is rebuilt from its body when it is needed again, which yields the same graph since the bodies
+ * do not change. The number of evictions and rebuilds is available through {@link #getEvictionCount()} and
+ * {@link #getRebuildCount()}, so that clients can tune the bound.
+ *
+ * <p>
+ * Exceptional unit graphs take several times the memory of the bodies they are built for, so this trades CPU time for a
+ * memory ceiling on large programs. The bodies themselves are kept, since the IFDS solvers identify program points by their
+ * {@link Unit} objects, which would change if a body were released and rebuilt.
+ * </p>
+ */
+@ThreadSafe
+public class BoundedJimpleBasedICFG extends JimpleBasedInterproceduralCFG {
+
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder rebuilds = new LongAdder();
+
+  /** The bodies for which a graph has been built at least once. */
+  private final Set<Body> built = Collections.newSetFromMap(new ConcurrentHashMap<Body, Boolean>());
+
+  /**
+   * Creates an ICFG that caches the unit graphs of bodies with at most <code>maxCachedUnits</code> units in total.
+   */
+  public BoundedJimpleBasedICFG(long maxCachedUnits) {
+    this(true, false, maxCachedUnits);
+  }
+
+  /**
+   * Creates an ICFG that caches the unit graphs of bodies with at most <code>maxCachedUnits</code> units in total.
+   *
+   * @param enableExceptions
+   *          whether to use exceptional unit graphs
+   * @param includeReflectiveCalls
+   *          whether to include reflective call edges
+   * @param maxCachedUnits
+   *          the largest total number of units in the bodies whose graphs are kept in memory
+   */
+  public BoundedJimpleBasedICFG(boolean enableExceptions, boolean includeReflectiveCalls, long maxCachedUnits) {
+    super(enableExceptions, includeReflectiveCalls);
+    // A single segment, as Guava splits the weight bound evenly between the segments and
+    // would otherwise evict the graph of any body larger than a fraction of the bound
+    this.bodyToUnitGraph = CacheBuilder.newBuilder().concurrencyLevel(1).maximumWeight(maxCachedUnits)
+        .weigher(new Weigher<Body, DirectedGraph<Unit>>() {
+          @Override
+          public int weigh(Body body, DirectedGraph<Unit> graph) {
+            return body.getUnits().size();
+          }
+        }).removalListener(new RemovalListener<Body, DirectedGraph<Unit>>() {
+          @Override
+          public void onRemoval(RemovalNotification<Body, DirectedGraph<Unit>> notification) {
+            if (notification.wasEvicted()) {
+              evictions.increment();
+            }
+          }
+        }).build(new CacheLoader<Body, DirectedGraph<Unit>>() {
+          @Override
+          public DirectedGraph<Unit> load(Body body) throws Exception {
+            if (!built.add(body)) {
+              rebuilds.increment();
+            }
+            return makeGraph(body);
+          }
+        });
+  }
+
+  /** Returns the number of unit graphs that have been evicted to stay within the bound. */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /** Returns the number of unit graphs that have been built again after they had been evicted. */
+  public long getRebuildCount() {
+    return rebuilds.sum();
+  }
+
+  /** Returns the number of unit graphs currently held in memory. */
+  public long getCachedGraphCount() {
+    return bodyToUnitGraph.size();
+  }
+}
@@ -0,0 +1,252 @@
+package soot.jimple.toolkits.ide.icfg;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import heros.DontSynchronize;
+import heros.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import soot.Body;
+import soot.MethodOrMethodContext;
+import soot.PackManager;
+import soot.Scene;
+import soot.SootMethod;
+import soot.Unit;
+import soot.Value;
+import soot.toolkits.graph.DirectedGraph;
+
+/**
+ * A {@link JimpleBasedInterproceduralCFG} that computes the unit graphs, call sites, callees, callers and parameter
+ * references of all reachable methods up front, on several threads, and stores them in an array indexed by the numbers of
+ * the methods. After construction, lookups neither compute anything nor take locks. This avoids the contention on the
+ * lazily populated caches of {@link JimpleBasedInterproceduralCFG} when a multi-threaded IFDS solver such as
+ * {@link soot.jimple.toolkits.ide.JimpleIFDSSolver} queries the ICFG from many threads at once.
+ *
+ * <p>
+ * The bodies of the reachable methods must not change while the ICFG is in use. Methods that were not reachable when the
+ * ICFG was created, or whose active body has been replaced since, are answered by the lazily populated caches of the
+ * superclass.
+ * </p>
+ */
+@ThreadSafe
+public class PrecomputedJimpleBasedICFG extends JimpleBasedInterproceduralCFG {
+
+  /** The number of tasks per thread, so that threads which finish early can take over work. */
+  private static final int TASKS_PER_THREAD = 4;
+
+  /** Everything the ICFG knows about one reachable method. */
+  private static final class MethodInfo {
+    final Body body;
+    DirectedGraph<Unit> graph;
+    List<Value> parameterRefs;
+    Set<Unit> callsFromWithin;
+    Collection<Unit> callers;
+    Map<Unit, Collection<SootMethod>> callees = new HashMap<Unit, Collection<SootMethod>>();
+
+    MethodInfo(Body body) {
+      this.body = body;
+    }
+  }
+
+  @DontSynchronize("written by the constructor; read afterwards")
+  private final MethodInfo[] methodInfos;
+
+  @DontSynchronize("written by the constructor and only replaced by an empty map afterwards")
+  private volatile Map<Unit, Collection<SootMethod>> unitToCalleesPrecomputed;
+
+  public PrecomputedJimpleBasedICFG() {
+    this(true);
+  }
+
+  public PrecomputedJimpleBasedICFG(boolean enableExceptions) {
+    this(enableExceptions, false);
+  }
+
+  public PrecomputedJimpleBasedICFG(boolean enableExceptions, boolean includeReflectiveCalls) {
+    this(enableExceptions, includeReflectiveCalls, false, PackManager.getThreadCount());
+  }
+
+  /**
+   * Creates the ICFG for the reachable methods of the Scene.
+   *
+   * @param enableExceptions
+   *          whether to use exceptional unit graphs
+   * @param includeReflectiveCalls
+   *          whether to include reflective call edges
+   * @param includePhantomCallees
+   *          whether to return methods without an active body as callees
+   * @param threadNum
+   *          the number of threads that compute the methods' information
+   */
+  public PrecomputedJimpleBasedICFG(boolean enableExceptions, boolean includeReflectiveCalls, boolean includePhantomCallees,
+      int threadNum) {
+    super(enableExceptions, includeReflectiveCalls);
+    this.includePhantomCallees = includePhantomCallees;
+
+    final List<MethodInfo> infos = new ArrayList<MethodInfo>();
+    int maxNumber = 0;
+    for (Iterator<MethodOrMethodContext> iter = Scene.v().getReachableMethods().listener(); iter.hasNext();) {
+      SootMethod m = iter.next().method();
+      if (m.hasActiveBody()) {
+        infos.add(new MethodInfo(m.getActiveBody()));
+        maxNumber = Math.max(maxNumber, m.getNumber());
+      }
+    }
+    compute(infos, threadNum);
+
+    this.methodInfos = new MethodInfo[maxNumber + 1];
+    final Map<Unit, Collection<SootMethod>> callees = new HashMap<Unit, Collection<SootMethod>>();
+    for (MethodInfo info : infos) {
+      this.methodInfos[info.body.getMethod().getNumber()] = info;
+      callees.putAll(info.callees);
+      info.callees = null;
+    }
+    this.unitToCalleesPrecomputed = callees;
+  }
+
+  private void compute(List<MethodInfo> infos, int threadNum) {
+    if (threadNum <= 1 || infos.size() < 2) {
+      compute(infos);
+      return;
+    }
+
+    final int numTasks = threadNum * TASKS_PER_THREAD;
+    final int chunkSize = (infos.size() + numTasks - 1) / numTasks;
+    final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+    for (int from = 0; from < infos.size(); from += chunkSize) {
+      final List<MethodInfo> chunk = infos.subList(from, Math.min(from + chunkSize, infos.size()));
+      tasks.add(() -> {
+        compute(chunk);
+        return null;
+      });
+    }
+
+    final ForkJoinPool pool = new ForkJoinPool(threadNum);
+    try {
+      for (Future<Void> f : pool.invokeAll(tasks)) {
+        f.get();
+      }
+    } catch (InterruptedException e) {
+      throw new RuntimeException("Error: Interrupted while building the interprocedural CFG", e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private void compute(List<MethodInfo> infos) {
+    for (MethodInfo info : infos) {
+      final SootMethod m = info.body.getMethod();
+      info.graph = makeGraph(info.body);
+      info.parameterRefs = info.body.getParameterRefs();
+      info.callsFromWithin = getCallsFromWithinMethod(m);
+      try {
+        info.callers = loaderMethodToCallers.load(m);
+        for (Unit u : info.callsFromWithin) {
+          info.callees.put(u, loaderUnitToCallees.load(u));
+        }
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  /**
+   * Returns the precomputed information on the given method, or null if there is none for its current active body.
+   */
+  private MethodInfo getMethodInfo(SootMethod m) {
+    final int n = m.getNumber();
+    if (n < methodInfos.length) {
+      final MethodInfo info = methodInfos[n];
+      if (info != null && m.hasActiveBody() && info.body == m.getActiveBody()) {
+        return info;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public DirectedGraph<Unit> getOrCreateUnitGraph(Body body) {
+    final MethodInfo info = getMethodInfo(body.getMethod());
+    if (info != null && info.body == body) {
+      return info.graph;
+    }
+    return super.getOrCreateUnitGraph(body);
+  }
+
+  @Override
+  public List<Value> getParameterRefs(SootMethod m) {
+    final MethodInfo info = getMethodInfo(m);
+    return info != null ? info.parameterRefs : super.getParameterRefs(m);
+  }
+
+  @Override
+  public Set<Unit> getCallsFromWithin(SootMethod m) {
+    final MethodInfo info = getMethodInfo(m);
+    return info != null ? info.callsFromWithin : super.getCallsFromWithin(m);
+  }
+
+  @Override
+  public Collection<Unit> getCallersOf(SootMethod m) {
+    final MethodInfo info = getMethodInfo(m);
+    return info != null ? info.callers : super.getCallersOf(m);
+  }
+
+  @Override
+  public Collection<SootMethod> getCalleesOfCallAt(Unit u) {
+    final Collection<SootMethod> callees = unitToCalleesPrecomputed.get(u);
+    return callees != null ? callees : super.getCalleesOfCallAt(u);
+  }
+
+  /**
+   * Sets whether methods without an active body are returned as callees. The callees are computed when the ICFG is created,
+   * so changing the setting afterwards discards them and the callees are computed on demand from then on. Pass the setting
+   * to {@link #PrecomputedJimpleBasedICFG(boolean, boolean, boolean, int)} to keep them precomputed.
+   */
+  @Override
+  public void setIncludePhantomCallees(boolean includePhantomCallees) {
+    if (includePhantomCallees != this.includePhantomCallees) {
+      super.setIncludePhantomCallees(includePhantomCallees);
+      unitToCalleesPrecomputed = Collections.emptyMap();
+    }
+  }
+}
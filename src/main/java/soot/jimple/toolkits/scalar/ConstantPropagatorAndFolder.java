@@ -47,6 +47,7 @@ import soot.options.Options;
 import soot.toolkits.graph.ExceptionalUnitGraph;
 import soot.toolkits.graph.PseudoTopologicalOrderer;
 import soot.toolkits.graph.UnitGraph;
+import soot.toolkits.scalar.LocalDefUseIndex;
 import soot.toolkits.scalar.LocalDefs;
 
 /**
@@ -73,7 +74,8 @@ public class ConstantPropagatorAndFolder extends BodyTransformer {
     }
 
     UnitGraph g = new ExceptionalUnitGraph(b);
-    LocalDefs localDefs = LocalDefs.Factory.newLocalDefs(g);
+    LocalDefUseIndex index = LocalDefUseIndex.of(b);
+    LocalDefs localDefs = index != null ? index : LocalDefs.Factory.newLocalDefs(g);
 
     // Perform a constant/local propagation pass.
     // go through each use box in each statement
@@ -60,6 +60,7 @@ import soot.toolkits.exceptions.ThrowAnalysis;
 import soot.toolkits.graph.ExceptionalUnitGraph;
 import soot.toolkits.graph.PseudoTopologicalOrderer;
 import soot.toolkits.graph.UnitGraph;
+import soot.toolkits.scalar.LocalDefUseIndex;
 import soot.toolkits.scalar.LocalDefs;
 
 public class CopyPropagator extends BodyTransformer {
@@ -109,16 +110,20 @@ public class CopyPropagator extends BodyTransformer {
       Timers.v().propagatorTimer.start();
     }
 
-    // Count number of definitions for each local.
+    // Count number of definitions for each local, unless the body keeps an
+    // index of its definitions anyway.
+    final LocalDefUseIndex index = LocalDefUseIndex.of(b);
     Map<Local, Integer> localToDefCount = new HashMap<Local, Integer>();
-    for (Unit u : b.getUnits()) {
-      if (u instanceof DefinitionStmt) {
-        Value leftOp = ((DefinitionStmt) u).getLeftOp();
-        if (leftOp instanceof Local) {
-          Local loc = (Local) leftOp;
-
-          Integer old = localToDefCount.get(loc);
-          localToDefCount.put(loc, (old == null) ? 1 : (old + 1));
+    if (index == null) {
+      for (Unit u : b.getUnits()) {
+        if (u instanceof DefinitionStmt) {
+          Value leftOp = ((DefinitionStmt) u).getLeftOp();
+          if (leftOp instanceof Local) {
+            Local loc = (Local) leftOp;
+
+            Integer old = localToDefCount.get(loc);
+            localToDefCount.put(loc, (old == null) ? 1 : (old + 1));
+          }
         }
       }
     }
@@ -137,7 +142,10 @@ public class CopyPropagator extends BodyTransformer {
       int slowCopyPropagationCount = 0;
 
       UnitGraph graph = new ExceptionalUnitGraph(b, throwAnalysis, forceOmitExceptingUnitEdges);
-      LocalDefs localDefs = LocalDefs.Factory.newLocalDefs(graph);
+      // The index answers for the default exceptional graph only
+      final boolean useIndex = index != null && throwAnalysis == Scene.v().getDefaultThrowAnalysis()
+          && forceOmitExceptingUnitEdges == Options.v().omit_excepting_unit_edges();
+      LocalDefs localDefs = useIndex ? index : LocalDefs.Factory.newLocalDefs(graph);
       CPOptions options = new CPOptions(opts);
       // Perform a local propagation pass.
       for (Unit u : (new PseudoTopologicalOrderer<Unit>()).newList(graph, false)) {
@@ -207,7 +215,12 @@ public class CopyPropagator extends BodyTransformer {
               } else if (rightOp instanceof Local) {
                 Local m = (Local) rightOp;
                 if (l != m) {
-                  Integer defCount = localToDefCount.get(m);
+                  final Integer defCount;
+                  if (index != null) {
+                    defCount = index.getDefCount(m);
+                  } else {
+                    defCount = localToDefCount.get(m);
+                  }
                   if (defCount == null || defCount == 0) {
                     throw new RuntimeException("Variable " + m + " used without definition!");
                   } else if (defCount == 1) {
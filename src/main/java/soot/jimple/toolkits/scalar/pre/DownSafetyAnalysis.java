@@ -23,7 +23,8 @@ package soot.jimple.toolkits.scalar.pre;
  * #L%
  */
 
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import soot.EquivalentValue;
@@ -34,7 +35,7 @@ import soot.ValueBox;
 import soot.jimple.FieldRef;
 import soot.toolkits.graph.DirectedGraph;
 import soot.toolkits.scalar.ArrayPackedSet;
-import soot.toolkits.scalar.BackwardFlowAnalysis;
+import soot.toolkits.scalar.BitVectorFlowAnalysis;
 import soot.toolkits.scalar.BoundedFlowSet;
 import soot.toolkits.scalar.CollectionFlowUniverse;
 import soot.toolkits.scalar.FlowSet;
@@ -43,11 +44,17 @@ import soot.toolkits.scalar.FlowSet;
  * Performs an DownSafe-analysis on the given graph. An expression is downsafe, if the computation will occur on every path
  * from the current point down to the END.
  */
-public class DownSafetyAnalysis extends BackwardFlowAnalysis<Unit, FlowSet<EquivalentValue>> {
+public class DownSafetyAnalysis extends BitVectorFlowAnalysis<Unit> {
 
   private final SideEffectTester sideEffect;
   private final Map<Unit, EquivalentValue> unitToGenerateMap;
   private final BoundedFlowSet<EquivalentValue> set;
+  private final EquivalentValue[] values;
+  private final Map<EquivalentValue, Integer> indexOf;
+
+  // the results are materialized on demand, but then kept as clients may modify them
+  private final Map<Unit, FlowSet<EquivalentValue>> unitToBeforeFlow = new HashMap<Unit, FlowSet<EquivalentValue>>();
+  private final Map<Unit, FlowSet<EquivalentValue>> unitToAfterFlow = new HashMap<Unit, FlowSet<EquivalentValue>>();
 
   /**
    * This constructor should not be used, and will throw a runtime-exception!
@@ -55,7 +62,7 @@ public class DownSafetyAnalysis extends BackwardFlowAnalysis<Unit, FlowSet<Equiv
   @Deprecated
   public DownSafetyAnalysis(DirectedGraph<Unit> dg) {
     /* we have to add super(dg). otherwise Javac complains. */
-    super(dg);
+    super(dg, 0, false, true);
     throw new RuntimeException("Don't use this Constructor!");
   }
 
@@ -92,62 +99,80 @@ public class DownSafetyAnalysis extends BackwardFlowAnalysis<Unit, FlowSet<Equiv
    */
   public DownSafetyAnalysis(DirectedGraph<Unit> dg, Map<Unit, EquivalentValue> unitToGen, SideEffectTester sideEffect,
       BoundedFlowSet<EquivalentValue> set) {
-    super(dg);
+    this(dg, unitToGen, sideEffect, set, set.topSet().toList());
+  }
+
+  private DownSafetyAnalysis(DirectedGraph<Unit> dg, Map<Unit, EquivalentValue> unitToGen, SideEffectTester sideEffect,
+      BoundedFlowSet<EquivalentValue> set, List<EquivalentValue> universe) {
+    super(dg, universe.size(), false, true);
     this.sideEffect = sideEffect;
     this.set = set;
     this.unitToGenerateMap = unitToGen;
+    this.values = universe.toArray(new EquivalentValue[universe.size()]);
+    this.indexOf = new HashMap<EquivalentValue, Integer>((values.length * 4) / 3 + 1);
+    for (int i = 0; i < values.length; i++) {
+      indexOf.put(values[i], i);
+    }
     doAnalysis();
   }
 
   @Override
-  protected FlowSet<EquivalentValue> newInitialFlow() {
-    return set.topSet();
-  }
-
-  @Override
-  protected FlowSet<EquivalentValue> entryInitialFlow() {
-    return set.emptySet();
-  }
-
-  @Override
-  protected void flowThrough(FlowSet<EquivalentValue> in, Unit u, FlowSet<EquivalentValue> out) {
-    in.copy(out);
-
-    /* Perform kill */
-    // iterate over things (avail) in out set.
-    for (Iterator<EquivalentValue> outIt = out.iterator(); outIt.hasNext();) {
-      EquivalentValue equiVal = outIt.next();
-      Value avail = equiVal.getValue();
-      if (avail instanceof FieldRef) {
-        if (sideEffect.unitCanWriteTo(u, avail)) {
-          outIt.remove();
-        }
-      } else {
-        // iterate over uses in each avail.
-        for (ValueBox next : avail.getUseBoxes()) {
-          Value use = next.getValue();
-          if (sideEffect.unitCanWriteTo(u, use)) {
-            outIt.remove();
-            break;
-          }
-        }
+  protected void computeTransfer(Unit u, Transfer transfer) {
+    // Perform kill
+    for (int i = 0; i < values.length; i++) {
+      if (killedBy(u, values[i].getValue())) {
+        transfer.kill(i);
       }
     }
 
     // Perform generation
     EquivalentValue add = unitToGenerateMap.get(u);
     if (add != null) {
-      out.add(add, out);
+      Integer i = indexOf.get(add);
+      if (i != null) {
+        transfer.gen(i);
+      }
     }
   }
 
-  @Override
-  protected void merge(FlowSet<EquivalentValue> in1, FlowSet<EquivalentValue> in2, FlowSet<EquivalentValue> out) {
-    in1.intersection(in2, out);
+  private boolean killedBy(Unit u, Value avail) {
+    if (avail instanceof FieldRef) {
+      return sideEffect.unitCanWriteTo(u, avail);
+    }
+    // iterate over uses in each avail.
+    for (ValueBox useBox : avail.getUseBoxes()) {
+      if (sideEffect.unitCanWriteTo(u, useBox.getValue())) {
+        return true;
+      }
+    }
+    return false;
   }
 
-  @Override
-  protected void copy(FlowSet<EquivalentValue> source, FlowSet<EquivalentValue> dest) {
-    source.copy(dest);
+  /**
+   * Returns the values that are downsafe before the given unit. The same set is returned on every call.
+   */
+  public FlowSet<EquivalentValue> getFlowBefore(Unit u) {
+    return toFlowSet(true, u);
+  }
+
+  /**
+   * Returns the values that are downsafe after the given unit. The same set is returned on every call.
+   */
+  public FlowSet<EquivalentValue> getFlowAfter(Unit u) {
+    return toFlowSet(false, u);
+  }
+
+  private FlowSet<EquivalentValue> toFlowSet(boolean before, Unit u) {
+    Map<Unit, FlowSet<EquivalentValue>> cache = before ? unitToBeforeFlow : unitToAfterFlow;
+    FlowSet<EquivalentValue> result = cache.get(u);
+    if (result == null) {
+      result = set.emptySet();
+      for (int i = before ? nextSetBitBefore(u, 0) : nextSetBitAfter(u, 0); i >= 0;
+          i = before ? nextSetBitBefore(u, i + 1) : nextSetBitAfter(u, i + 1)) {
+        result.add(values[i]);
+      }
+      cache.put(u, result);
+    }
+    return result;
   }
 }
@@ -23,7 +23,8 @@ package soot.jimple.toolkits.scalar.pre;
  * #L%
  */
 
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import soot.EquivalentValue;
@@ -34,20 +35,26 @@ import soot.ValueBox;
 import soot.jimple.FieldRef;
 import soot.toolkits.graph.DirectedGraph;
 import soot.toolkits.scalar.ArrayPackedSet;
+import soot.toolkits.scalar.BitVectorFlowAnalysis;
 import soot.toolkits.scalar.BoundedFlowSet;
 import soot.toolkits.scalar.CollectionFlowUniverse;
 import soot.toolkits.scalar.FlowSet;
-import soot.toolkits.scalar.ForwardFlowAnalysis;
 
 /**
  * Performs an UpSafe-analysis on the given graph. An expression is upsafe, if the computation already has been performed on
  * every path from START to the given program-point.
  */
-public class UpSafetyAnalysis extends ForwardFlowAnalysis<Unit, FlowSet<EquivalentValue>> {
+public class UpSafetyAnalysis extends BitVectorFlowAnalysis<Unit> {
 
   private final SideEffectTester sideEffect;
   private final Map<Unit, EquivalentValue> unitToGenerateMap;
   private final BoundedFlowSet<EquivalentValue> set;
+  private final EquivalentValue[] values;
+  private final Map<EquivalentValue, Integer> indexOf;
+
+  // the results are materialized on demand, but then kept as clients may modify them
+  private final Map<Unit, FlowSet<EquivalentValue>> unitToBeforeFlow = new HashMap<Unit, FlowSet<EquivalentValue>>();
+  private final Map<Unit, FlowSet<EquivalentValue>> unitToAfterFlow = new HashMap<Unit, FlowSet<EquivalentValue>>();
 
   /**
    * This constructor should not be used, and will throw a runtime-exception!
@@ -55,7 +62,7 @@ public class UpSafetyAnalysis extends ForwardFlowAnalysis<Unit, FlowSet<Equivale
   @Deprecated
   public UpSafetyAnalysis(DirectedGraph<Unit> dg) {
     /* we have to add super(dg). otherwise Javac complains. */
-    super(dg);
+    super(dg, 0, true, true);
     throw new RuntimeException("Don't use this Constructor!");
   }
 
@@ -91,62 +98,80 @@ public class UpSafetyAnalysis extends ForwardFlowAnalysis<Unit, FlowSet<Equivale
    */
   public UpSafetyAnalysis(DirectedGraph<Unit> dg, Map<Unit, EquivalentValue> unitToGen, SideEffectTester sideEffect,
       BoundedFlowSet<EquivalentValue> set) {
-    super(dg);
+    this(dg, unitToGen, sideEffect, set, set.topSet().toList());
+  }
+
+  private UpSafetyAnalysis(DirectedGraph<Unit> dg, Map<Unit, EquivalentValue> unitToGen, SideEffectTester sideEffect,
+      BoundedFlowSet<EquivalentValue> set, List<EquivalentValue> universe) {
+    super(dg, universe.size(), true, true);
     this.sideEffect = sideEffect;
     this.set = set;
     this.unitToGenerateMap = unitToGen;
+    this.values = universe.toArray(new EquivalentValue[universe.size()]);
+    this.indexOf = new HashMap<EquivalentValue, Integer>((values.length * 4) / 3 + 1);
+    for (int i = 0; i < values.length; i++) {
+      indexOf.put(values[i], i);
+    }
     doAnalysis();
   }
 
   @Override
-  protected FlowSet<EquivalentValue> newInitialFlow() {
-    return set.topSet();
-  }
-
-  @Override
-  protected FlowSet<EquivalentValue> entryInitialFlow() {
-    return set.emptySet();
-  }
-
-  @Override
-  protected void flowThrough(FlowSet<EquivalentValue> in, Unit u, FlowSet<EquivalentValue> out) {
-    in.copy(out);
-
-    // Perform generation
+  protected void computeTransfer(Unit u, Transfer transfer) {
+    // Perform generation, unless the unit also kills the value
     EquivalentValue add = unitToGenerateMap.get(u);
     if (add != null) {
-      out.add(add, out);
+      Integer i = indexOf.get(add);
+      if (i != null && !killedBy(u, add.getValue())) {
+        transfer.gen(i);
+      }
     }
 
-    /* Perform kill */
-    // iterate over things (avail) in out set.
-    for (Iterator<EquivalentValue> outIt = out.iterator(); outIt.hasNext();) {
-      EquivalentValue equiVal = outIt.next();
-      Value avail = equiVal.getValue();
-      if (avail instanceof FieldRef) {
-        if (sideEffect.unitCanWriteTo(u, avail)) {
-          outIt.remove();
-        }
-      } else {
-        // iterate over uses in each avail.
-        for (ValueBox useBox : avail.getUseBoxes()) {
-          Value use = useBox.getValue();
-          if (sideEffect.unitCanWriteTo(u, use)) {
-            outIt.remove();
-            break;
-          }
-        }
+    // Perform kill
+    for (int i = 0; i < values.length; i++) {
+      if (killedBy(u, values[i].getValue())) {
+        transfer.kill(i);
       }
     }
   }
 
-  @Override
-  protected void merge(FlowSet<EquivalentValue> inSet1, FlowSet<EquivalentValue> inSet2, FlowSet<EquivalentValue> outSet) {
-    inSet1.intersection(inSet2, outSet);
+  private boolean killedBy(Unit u, Value avail) {
+    if (avail instanceof FieldRef) {
+      return sideEffect.unitCanWriteTo(u, avail);
+    }
+    // iterate over uses in each avail.
+    for (ValueBox useBox : avail.getUseBoxes()) {
+      if (sideEffect.unitCanWriteTo(u, useBox.getValue())) {
+        return true;
+      }
+    }
+    return false;
   }
 
-  @Override
-  protected void copy(FlowSet<EquivalentValue> sourceSet, FlowSet<EquivalentValue> destSet) {
-    sourceSet.copy(destSet);
+  /**
+   * Returns the values that are upsafe before the given unit. The same set is returned on every call.
+   */
+  public FlowSet<EquivalentValue> getFlowBefore(Unit u) {
+    return toFlowSet(true, u);
+  }
+
+  /**
+   * Returns the values that are upsafe after the given unit. The same set is returned on every call.
+   */
+  public FlowSet<EquivalentValue> getFlowAfter(Unit u) {
+    return toFlowSet(false, u);
+  }
+
+  private FlowSet<EquivalentValue> toFlowSet(boolean before, Unit u) {
+    Map<Unit, FlowSet<EquivalentValue>> cache = before ? unitToBeforeFlow : unitToAfterFlow;
+    FlowSet<EquivalentValue> result = cache.get(u);
+    if (result == null) {
+      result = set.emptySet();
+      for (int i = before ? nextSetBitBefore(u, 0) : nextSetBitAfter(u, 0); i >= 0;
+          i = before ? nextSetBitBefore(u, i + 1) : nextSetBitAfter(u, i + 1)) {
+        result.add(values[i]);
+      }
+      cache.put(u, result);
+    }
+    return result;
   }
 }
@@ -118,7 +118,10 @@ public class TypeAssigner extends BodyTransformer {
       if (opt.use_older_type_assigner()) {
         TypeResolver.resolve((JimpleBody) b, Scene.v());
       } else {
-        (new soot.jimple.toolkits.typing.fast.TypeResolver((JimpleBody) b)).inferTypes();
+        soot.jimple.toolkits.typing.fast.TypeResolver resolver
+            = new soot.jimple.toolkits.typing.fast.TypeResolver((JimpleBody) b);
+        resolver.setMaxTypings(opt.max_typings());
+        resolver.inferTypes();
       }
     }
 
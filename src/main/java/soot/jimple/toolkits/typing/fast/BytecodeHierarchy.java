@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.ListIterator;
+import java.util.concurrent.ConcurrentMap;
 
 import soot.ArrayType;
 import soot.FloatType;
@@ -171,42 +172,58 @@ public class BytecodeHierarchy implements IHierarchy {
     }
     // a and b are both RefType
     else {
-      Collection<AncestryTreeNode> treea = buildAncestryTree((RefType) a), treeb = buildAncestryTree((RefType) b);
+      // The key depends on the order of a and b, since the order of the
+      // result decides which typing the type resolver explores first.
+      final ConcurrentMap<Long, Collection<Type>> cache = LcaCache.v().getLcas();
+      final Long key = ((long) a.getNumber() << 32) | (b.getNumber() & 0xFFFFFFFFL);
+      Collection<Type> r = cache.get(key);
+      if (r == null) {
+        r = Collections.unmodifiableList(lcasOfRefTypes((RefType) a, (RefType) b));
+        Collection<Type> old = cache.putIfAbsent(key, r);
+        if (old != null) {
+          r = old;
+        }
+      }
+      return r;
+    }
+  }
 
-      LinkedList<Type> r = new LinkedList<Type>();
-      for (AncestryTreeNode nodea : treea) {
-        for (AncestryTreeNode nodeb : treeb) {
-          RefType t = leastCommonNode(nodea, nodeb);
-
-          boolean least = true;
-          for (ListIterator<Type> i = r.listIterator(); i.hasNext();) {
-            Type t_ = i.next();
-
-            if (ancestor_(t, t_)) {
-              least = false;
-              break;
-            }
-
-            if (ancestor_(t_, t)) {
-              i.remove();
-            }
+  private static LinkedList<Type> lcasOfRefTypes(RefType a, RefType b) {
+    Collection<AncestryTreeNode> treea = buildAncestryTree(a), treeb = buildAncestryTree(b);
+
+    LinkedList<Type> r = new LinkedList<Type>();
+    for (AncestryTreeNode nodea : treea) {
+      for (AncestryTreeNode nodeb : treeb) {
+        RefType t = leastCommonNode(nodea, nodeb);
+
+        boolean least = true;
+        for (ListIterator<Type> i = r.listIterator(); i.hasNext();) {
+          Type t_ = i.next();
+
+          if (ancestor_(t, t_)) {
+            least = false;
+            break;
           }
 
-          if (least) {
-            r.add(t);
+          if (ancestor_(t_, t)) {
+            i.remove();
           }
         }
-      }
 
-      // in case of phantom classes that screw up type resolution here,
-      // default to only possible common reftype, java.lang.Object
-      // kludge on a kludge on a kludge...
-      // syed - 05/06/2009
-      if (r.isEmpty()) {
-        r.add(RefType.v("java.lang.Object"));
+        if (least) {
+          r.add(t);
+        }
       }
-      return r;
     }
+
+    // in case of phantom classes that screw up type resolution here,
+    // default to only possible common reftype, java.lang.Object
+    // kludge on a kludge on a kludge...
+    // syed - 05/06/2009
+    if (r.isEmpty()) {
+      r.add(RefType.v("java.lang.Object"));
+    }
+    return r;
   }
 
   public static boolean ancestor_(Type ancestor, Type child) {
@@ -58,7 +58,7 @@ public class DefaultTypingStrategy implements ITypingStrategy {
   public static MultiMap<Local, Type> getFlatTyping(List<Typing> tgs) {
     MultiMap<Local, Type> map = new HashMultiMap<>();
     for (Typing tg : tgs) {
-      map.putMap(tg.map);
+      map.putMap(tg.getMap());
     }
     return map;
   }
@@ -103,7 +103,7 @@ public class DefaultTypingStrategy implements ITypingStrategy {
 
   public int compare(Typing a, Typing b, IHierarchy h, Collection<Local> localsToIgnore) {
     int r = 0;
-    for (Local v : a.map.keySet()) {
+    for (Local v : a.getMap().keySet()) {
       if (!localsToIgnore.contains(v)) {
         Type ta = a.get(v), tb = b.get(v);
 
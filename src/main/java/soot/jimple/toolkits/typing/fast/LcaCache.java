@@ -0,0 +1,72 @@
+package soot.jimple.toolkits.typing.fast;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import soot.FastHierarchy;
+import soot.G;
+import soot.Scene;
+import soot.Singletons;
+import soot.Type;
+
+/**
+ * The least common ancestors of pairs of reference types computed by {@link BytecodeHierarchy}, shared by all bodies, which
+ * may be typed on several threads at once. The cached ancestors are discarded whenever the state of the Scene changes, i.e.,
+ * whenever the class hierarchy may have changed. Looking up the cache does not build a {@link FastHierarchy}.
+ */
+public class LcaCache {
+
+  private static final class Entry {
+    final int sceneState;
+    final ConcurrentMap<Long, Collection<Type>> lcas = new ConcurrentHashMap<Long, Collection<Type>>();
+
+    Entry(int sceneState) {
+      this.sceneState = sceneState;
+    }
+  }
+
+  private volatile Entry current;
+
+  public LcaCache(Singletons.Global g) {
+  }
+
+  public static LcaCache v() {
+    return G.v().soot_jimple_toolkits_typing_fast_LcaCache();
+  }
+
+  /**
+   * Returns the least common ancestors cached for the current state of the Scene, keyed by the numbers of both types.
+   */
+  ConcurrentMap<Long, Collection<Type>> getLcas() {
+    final int state = Scene.v().getState();
+    Entry e = current;
+    if (e == null || e.sceneState != state) {
+      e = new Entry(state);
+      current = e;
+    }
+    return e.lcas;
+  }
+}
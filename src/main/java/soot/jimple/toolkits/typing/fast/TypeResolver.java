@@ -24,12 +24,12 @@ package soot.jimple.toolkits.typing.fast;
  * #L%
  */
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 
 import soot.ArrayType;
@@ -79,6 +79,7 @@ public class TypeResolver {
   private final List<DefinitionStmt> assignments;
   private final HashMap<Local, BitSet> depends;
   private final LocalGenerator localGenerator;
+  private int maxTypings = 0;
 
   public TypeResolver(JimpleBody jb) {
     this.jb = jb;
@@ -92,6 +93,18 @@ public class TypeResolver {
     this.initAssignments();
   }
 
+  /**
+   * Limits the number of alternative typings that are explored at the same time. Once the limit is reached, further
+   * candidate types for a local are not explored, which may leave more casts in the body than necessary but keeps the time
+   * spent on bodies with many ambiguous locals in check. Zero, the default, means no limit.
+   *
+   * @param maxTypings
+   *          the largest number of typings to explore, or zero
+   */
+  public void setMaxTypings(int maxTypings) {
+    this.maxTypings = maxTypings;
+  }
+
   private void initAssignments() {
     for (Unit stmt : this.jb.getUnits()) {
       if (stmt instanceof DefinitionStmt) {
@@ -481,26 +494,29 @@ public class TypeResolver {
   private Collection<Typing> applyAssignmentConstraints(Typing tg, IEvalFunction ef, IHierarchy h) {
     final int numAssignments = this.assignments.size();
 
-    LinkedList<Typing> sigma = new LinkedList<Typing>(), r = new LinkedList<Typing>();
+    List<Typing> r = new ArrayList<Typing>();
     if (numAssignments == 0) {
-      return sigma;
+      return r;
     }
 
     final ITypingStrategy typingStrategy = getTypingStrategy();
-    HashMap<Typing, BitSet> worklists = new HashMap<Typing, BitSet>();
+    // Each typing under exploration, together with its worklist of
+    // assignments that still have to be processed
+    ArrayDeque<Typing> sigma = new ArrayDeque<Typing>();
+    ArrayDeque<BitSet> worklists = new ArrayDeque<BitSet>();
 
-    sigma.add(tg);
     BitSet wl = new BitSet(numAssignments - 1);
     wl.set(0, numAssignments);
-    worklists.put(tg, wl);
+    sigma.add(tg);
+    worklists.add(wl);
 
     while (!sigma.isEmpty()) {
       tg = sigma.element();
-      wl = worklists.get(tg);
+      wl = worklists.element();
       if (wl.isEmpty()) {
         r.add(tg);
         sigma.remove();
-        worklists.remove(tg);
+        worklists.remove();
       } else {
         // Get the next definition statement
         int defIdx = wl.nextSetBit(0);
@@ -552,13 +568,16 @@ public class TypeResolver {
                 // The types agree, we have a type we can directly use
                 tg_ = tg;
                 wl_ = wl;
+              } else if (maxTypings > 0 && sigma.size() + r.size() >= maxTypings) {
+                // Too many typings already, do not explore this candidate
+                continue;
               } else {
                 // The types do not agree, add all supertype candidates
                 tg_ = typingStrategy.createTyping(tg);
                 wl_ = new BitSet(numAssignments - 1);
                 wl_.or(wl);
                 sigma.add(tg_);
-                worklists.put(tg_, wl_);
+                worklists.add(wl_);
               }
               tg_.set(v, t);
 
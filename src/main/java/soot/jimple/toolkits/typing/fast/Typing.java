@@ -26,15 +26,28 @@ package soot.jimple.toolkits.typing.fast;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Map;
 
 import soot.Local;
 import soot.Type;
 
 /**
+ * Maps locals to types. Copies of a typing share their map until it is modified: once a typing has been copied, its map is
+ * frozen and changes to either typing are recorded in a small overlay of their own, which is folded into a fresh map when it
+ * grows too large. The type resolver copies typings whenever it explores alternative types for a local, and most copies
+ * differ from their source in only a few locals.
+ *
  * @author Ben Bellamy
  */
 public class Typing {
+  /**
+   * The types of the locals, apart from those in {@link #changes}. Must not be modified while it is shared with a copy of
+   * this typing.
+   */
   protected HashMap<Local, Type> map;
+  /** The types set since {@link #map} has been shared, or null. */
+  private HashMap<Local, Type> changes;
+  private boolean shared;
 
   public Typing(Collection<Local> vs) {
     map = new HashMap<Local, Type>(vs.size());
@@ -45,22 +58,66 @@ public class Typing {
   }
 
   public Typing(Typing tg) {
-    this.map = new HashMap<Local, Type>(tg.map);
+    if (tg.changes != null) {
+      tg.fold();
+    }
+    this.map = tg.map;
+    this.shared = true;
+    tg.shared = true;
   }
 
   public Type get(Local v) {
+    if (this.changes != null) {
+      Type t = this.changes.get(v);
+      if (t != null) {
+        return t;
+      }
+    }
     return this.map.get(v);
   }
 
   public Type set(Local v, Type t) {
-    return this.map.put(v, t);
+    if (!this.shared) {
+      return this.map.put(v, t);
+    }
+    Type old = get(v);
+    if (this.changes == null) {
+      this.changes = new HashMap<Local, Type>();
+    }
+    this.changes.put(v, t);
+    // Keep lookups cheap and the overlay small compared to the map
+    if (this.changes.size() > 8 && this.changes.size() * 4 > this.map.size()) {
+      fold();
+    }
+    return old;
+  }
+
+  /**
+   * Returns the types of all locals. The returned map must not be modified.
+   */
+  public Map<Local, Type> getMap() {
+    if (this.changes != null) {
+      fold();
+    }
+    return this.map;
+  }
+
+  /** Replaces the shared map by a copy of its own that includes the overlay. */
+  private void fold() {
+    HashMap<Local, Type> m = new HashMap<Local, Type>(this.map);
+    if (this.changes != null) {
+      m.putAll(this.changes);
+    }
+    this.map = m;
+    this.changes = null;
+    this.shared = false;
   }
 
   @Override
   public String toString() {
     StringBuffer sb = new StringBuffer();
     sb.append('{');
-    for (Local v : this.map.keySet()) {
+    for (Local v : this.getMap().keySet()) {
       sb.append(v);
       sb.append(':');
       sb.append(this.get(v));
@@ -26,18 +26,17 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardOpenOption;
-import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -45,11 +44,16 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.Attributes;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
@@ -205,10 +209,30 @@ public class DexPrinter {
 
   public static final Pattern SIGNATURE_FILE_PATTERN = Pattern.compile("META-INF/[^/]+(\\.SF|\\.DSA|\\.RSA|\\.EC)$");
 
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
   protected MultiDexBuilder dexBuilder;
   protected File originalApk;
+  protected final int threadNum;
+
+  /** Converts classes to dex while {@link #add(SootClass)} is called with several threads. */
+  private ExecutorService converter;
+  private final Deque<SootClass> pendingClasses = new ArrayDeque<SootClass>();
+  private final Deque<Future<ClassDef>> pendingClassDefs = new ArrayDeque<Future<ClassDef>>();
 
   public DexPrinter() {
+    this(1);
+  }
+
+  /**
+   * Creates a printer that converts classes and writes dex files with the given number of threads. The resulting dex files
+   * do not depend on the number of threads.
+   *
+   * @param threadNum
+   *          The number of threads to use
+   */
+  public DexPrinter(int threadNum) {
+    this.threadNum = Math.max(threadNum, 1);
     dexBuilder = createDexBuilder();
   }
 
@@ -296,46 +320,20 @@ public class DexPrinter {
         }
       }
 
-      // put our dex files into the zip archive
-      final Path tempPath = Files.createTempDirectory(Long.toString(System.nanoTime()));
-      final List<File> files = dexBuilder.writeTo(tempPath.toString());
-      for (File file : files) {
-
-        try (InputStream is = Files.newInputStream(file.toPath())) {
-          outputZip.putNextEntry(new ZipEntry(file.getName()));
-
-          final byte[] buffer = new byte[16_384];
-          int read = 0;
-          while ((read = is.read(buffer)) > 0) {
-            outputZip.write(buffer, 0, read);
-          }
-
-          outputZip.closeEntry();
-        }
-      }
+      // put our dex files into the zip archive, directly from memory
+      final List<String> files = dexBuilder.writeTo(outputZip, threadNum);
 
       if (Options.v().output_jar()) {
         // if we create JAR file, MANIFEST.MF is preferred
         addManifest(outputZip, files);
       }
-
-      // remove tmp dir and contents
-      Files.walkFileTree(tempPath, new SimpleFileVisitor<Path>() {
-        @Override
-        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-          Files.delete(file);
-          return FileVisitResult.CONTINUE;
-        }
-
-        @Override
-        public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-          Files.delete(dir);
-          return FileVisitResult.CONTINUE;
-        }
-      });
     }
   }
 
+  private List<File> writeDexFiles(String folder) throws IOException {
+    return threadNum > 1 ? dexBuilder.writeTo(folder, threadNum) : dexBuilder.writeTo(folder);
+  }
+
   private ZipOutputStream getZipOutputStream() throws IOException {
     if (Options.v().output_jar()) {
       LOGGER.info("Writing JAR to \"{}\"", Options.v().output_dir());
@@ -362,10 +360,12 @@ public class DexPrinter {
     }
 
     LOGGER.info("Writing APK to \"{}\".", outputFile);
-    return new ZipOutputStream(Files.newOutputStream(outputFile, StandardOpenOption.CREATE_NEW));
+    return new ZipOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(outputFile, StandardOpenOption.CREATE_NEW), COPY_BUFFER_SIZE));
   }
 
   private void copyAllButClassesDexAndSigFiles(ZipFile source, ZipOutputStream destination) throws IOException {
+    final byte[] buffer = new byte[COPY_BUFFER_SIZE];
     Enumeration<? extends ZipEntry> sourceEntries = source.entries();
     while (sourceEntries.hasMoreElements()) {
       ZipEntry sourceEntry = sourceEntries.nextElement();
@@ -383,25 +383,24 @@ public class DexPrinter {
       destinationEntry.setCrc(sourceEntry.getCrc());
       // finally craft new entry
       destination.putNextEntry(destinationEntry);
-      InputStream zipEntryInput = source.getInputStream(sourceEntry);
-      byte[] buffer = new byte[2048];
-      int bytesRead = zipEntryInput.read(buffer);
-      while (bytesRead > 0) {
-        destination.write(buffer, 0, bytesRead);
-        bytesRead = zipEntryInput.read(buffer);
+      try (InputStream zipEntryInput = source.getInputStream(sourceEntry)) {
+        int bytesRead;
+        while ((bytesRead = zipEntryInput.read(buffer)) > 0) {
+          destination.write(buffer, 0, bytesRead);
+        }
       }
-      zipEntryInput.close();
+      destination.closeEntry();
     }
   }
 
-  private void addManifest(ZipOutputStream destination, Collection<File> dexFiles) throws IOException {
+  private void addManifest(ZipOutputStream destination, Collection<String> dexFiles) throws IOException {
     final Manifest manifest = new Manifest();
     manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
     manifest.getMainAttributes().put(new Attributes.Name("Created-By"), "Soot Dex Printer");
 
     if (dexFiles != null && !dexFiles.isEmpty()) {
       manifest.getMainAttributes().put(new Attributes.Name("Dex-Location"),
-          dexFiles.stream().map(File::getName).collect(Collectors.joining(" ")));
+          String.join(" ", dexFiles));
     }
 
     final ZipEntry manifestEntry = new ZipEntry(JarFile.MANIFEST_NAME);
@@ -611,6 +610,18 @@ public class DexPrinter {
   }
 
   private void addAsClassDefItem(SootClass c) {
+    dexBuilder.internClass(toClassDef(c));
+  }
+
+  /**
+   * Converts the given class to dex. This does not modify the dex files and may be called concurrently for different
+   * classes.
+   *
+   * @param c
+   *          The class to convert
+   * @return The dex representation of the class
+   */
+  protected ClassDef toClassDef(SootClass c) {
     // add source file tag if any
     String sourceFile = null;
     if (c.hasTag("SourceFileTag")) {
@@ -665,9 +676,8 @@ public class DexPrinter {
 
     Collection<Method> methods = toMethods(c);
 
-    ClassDef classDef = new ImmutableClassDef(classType, accessFlags, superClass, interfaces, sourceFile,
-        buildClassAnnotations(c), fields, methods);
-    dexBuilder.internClass(classDef);
+    return new ImmutableClassDef(classType, accessFlags, superClass, interfaces, sourceFile, buildClassAnnotations(c),
+        fields, methods);
   }
 
   private Set<Annotation> buildClassAnnotations(SootClass c) {
@@ -1669,12 +1679,73 @@ public class DexPrinter {
     }
   }
 
+  /**
+   * Adds the given class. With several threads, the class is converted to dex by the worker threads of this printer, while
+   * the converted classes are added to the dex files in the order in which they were passed to this method. At most a few
+   * classes per worker are buffered at any time; {@link #print()} waits for the remaining ones.
+   *
+   * @param c
+   *          The class to add
+   */
   public void add(SootClass c) {
     if (c.isPhantom()) {
       return;
     }
 
-    addAsClassDefItem(c);
+    if (threadNum <= 1) {
+      addAsClassDefItem(c);
+      recordOriginalApk(c);
+      return;
+    }
+
+    if (converter == null) {
+      ThreadPoolExecutor executor
+          = new ThreadPoolExecutor(threadNum, threadNum, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+      // let the threads end if print() is never called
+      executor.allowCoreThreadTimeOut(true);
+      converter = executor;
+    }
+    pendingClasses.add(c);
+    pendingClassDefs.add(converter.submit(() -> toClassDef(c)));
+    if (pendingClassDefs.size() >= threadNum * 4) {
+      addClassDef(pendingClasses.poll(), pendingClassDefs.poll());
+    }
+  }
+
+  /**
+   * Adds the classes that are still being converted to the dex files.
+   */
+  private void addPendingClasses() {
+    try {
+      while (!pendingClassDefs.isEmpty()) {
+        addClassDef(pendingClasses.poll(), pendingClassDefs.poll());
+      }
+    } finally {
+      pendingClasses.clear();
+      pendingClassDefs.clear();
+      if (converter != null) {
+        converter.shutdownNow();
+        converter = null;
+      }
+    }
+  }
+
+  private void addClassDef(SootClass c, Future<ClassDef> classDef) {
+    try {
+      dexBuilder.internClass(classDef.get());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Could not wait for dex conversion threads to finish: " + e.getMessage(), e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
+    recordOriginalApk(c);
+  }
+
+  private void recordOriginalApk(SootClass c) {
     // save original APK for this class, needed to copy all the other files
     // inside
     Map<String, File> dexClassIndex = SourceLocator.v().dexClassIndex();
@@ -1693,6 +1764,7 @@ public class DexPrinter {
   }
 
   public void print() {
+    addPendingClasses();
     try {
       if (Options.v().output_jar()
           || (originalApk != null && Options.v().output_format() != Options.output_format_force_dex)) {
@@ -1700,7 +1772,7 @@ public class DexPrinter {
       } else {
         final String outputDir = SourceLocator.v().getOutputDir();
         LOGGER.info("Writing dex files to \"{}\" folder.", outputDir);
-        dexBuilder.writeTo(outputDir);
+        writeDexFiles(outputDir);
       }
     } catch (IOException e) {
       throw new CompilationDeathException("I/O exception while printing dex", e);
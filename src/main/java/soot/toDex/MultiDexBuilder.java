@@ -24,13 +24,28 @@ package soot.toDex;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.jf.dexlib2.Opcodes;
+import org.jf.dexlib2.dexbacked.raw.HeaderItem;
 import org.jf.dexlib2.iface.ClassDef;
 import org.jf.dexlib2.writer.io.FileDataStore;
+import org.jf.dexlib2.writer.io.MemoryDataStore;
 import org.jf.dexlib2.writer.pool.DexPool;
 
 /**
@@ -109,16 +124,140 @@ public class MultiDexBuilder {
    *           when failed to create {@link FileDataStore}
    */
   public List<File> writeTo(String folder) throws IOException {
+    return writeTo(folder, 1);
+  }
+
+  /**
+   * Writes all built dex files to the given folder. Up to the given number of dex files are written at the same time.
+   *
+   * @param folder
+   *          the output folder
+   * @param threadNum
+   *          the number of threads to use
+   * @return File handles to all written dex files
+   * @throws IOException
+   *           when failed to create {@link FileDataStore}
+   */
+  public List<File> writeTo(String folder, int threadNum) throws IOException {
     final List<File> result = new ArrayList<>(dexPools.size());
-    for (DexPool dexPool : dexPools) {
-      int count = result.size();
+    for (int count = 0; count < dexPools.size(); count++) {
       // name dex files: classes.dex, classes2.dex, classes3.dex, etc.
-      File file = new File(folder, "classes" + (count == 0 ? "" : count + 1) + ".dex");
-      result.add(file);
-      FileDataStore fds = new FileDataStore(file);
-      dexPool.writeTo(fds);
-      fds.close();
+      result.add(new File(folder, "classes" + (count == 0 ? "" : count + 1) + ".dex"));
+    }
+
+    threadNum = Math.min(threadNum, dexPools.size());
+    if (threadNum <= 1) {
+      Iterator<File> files = result.iterator();
+      for (DexPool dexPool : dexPools) {
+        writeTo(dexPool, files.next());
+      }
+      return result;
+    }
+
+    // the pools are independent of each other, so they can be written concurrently
+    final List<Callable<Void>> tasks = new ArrayList<>(dexPools.size());
+    Iterator<File> files = result.iterator();
+    for (DexPool dexPool : dexPools) {
+      final File file = files.next();
+      tasks.add(() -> {
+        writeTo(dexPool, file);
+        return null;
+      });
+    }
+    final ExecutorService executor = Executors.newFixedThreadPool(threadNum);
+    try {
+      for (Future<Void> f : executor.invokeAll(tasks)) {
+        f.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while writing dex files");
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new RuntimeException(cause);
+    } finally {
+      executor.shutdownNow();
     }
     return result;
   }
+
+  /**
+   * Writes all built dex files as entries of the given zip stream. The dex files are serialized in memory, so no temporary
+   * files are needed. Up to the given number of dex files are serialized at the same time, but they are always added to the
+   * zip stream in order.
+   *
+   * @param zip
+   *          the zip stream to write to
+   * @param threadNum
+   *          the number of threads to use
+   * @return The names of all written dex files
+   * @throws IOException
+   *           when failed to write to the zip stream
+   */
+  public List<String> writeTo(ZipOutputStream zip, int threadNum) throws IOException {
+    final List<String> result = new ArrayList<>(dexPools.size());
+    final ExecutorService executor = threadNum > 1 && dexPools.size() > 1 ? Executors.newFixedThreadPool(threadNum) : null;
+    final Deque<Future<MemoryDataStore>> pending = new ArrayDeque<>(threadNum);
+    try {
+      for (DexPool dexPool : dexPools) {
+        if (executor == null) {
+          writeEntry(zip, result, serialize(dexPool));
+          continue;
+        }
+        pending.add(executor.submit(() -> serialize(dexPool)));
+        if (pending.size() >= threadNum) {
+          writeEntry(zip, result, pending.poll().get());
+        }
+      }
+      while (!pending.isEmpty()) {
+        writeEntry(zip, result, pending.poll().get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while writing dex files");
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new RuntimeException(cause);
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+    }
+    return result;
+  }
+
+  private static MemoryDataStore serialize(DexPool dexPool) throws IOException {
+    MemoryDataStore mds = new MemoryDataStore();
+    dexPool.writeTo(mds);
+    return mds;
+  }
+
+  private static void writeEntry(ZipOutputStream zip, List<String> written, MemoryDataStore dex) throws IOException {
+    // name dex files: classes.dex, classes2.dex, classes3.dex, etc.
+    final int count = written.size();
+    final String name = "classes" + (count == 0 ? "" : count + 1) + ".dex";
+    // the buffer of the data store may be larger than the dex file, whose actual size is recorded in its header
+    final byte[] buffer = dex.getBuffer();
+    final int size = ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN).getInt(HeaderItem.FILE_SIZE_OFFSET);
+    zip.putNextEntry(new ZipEntry(name));
+    zip.write(buffer, 0, size);
+    zip.closeEntry();
+    written.add(name);
+  }
+
+  private static void writeTo(DexPool dexPool, File file) throws IOException {
+    FileDataStore fds = new FileDataStore(file);
+    dexPool.writeTo(fds);
+    fds.close();
+  }
 }
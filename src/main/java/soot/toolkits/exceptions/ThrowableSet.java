@@ -27,14 +27,14 @@ import com.google.common.cache.CacheBuilder;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import soot.AnySubType;
-import soot.FastHierarchy;
 import soot.G;
 import soot.RefLikeType;
 import soot.RefType;
@@ -109,7 +109,14 @@ public class ThrowableSet {
    * elements in k to <code>this</code>. If (k,v) is in <code>memoizedAdds</code> and k is a {@link RefLikeType}, then v is
    * the set that results from adding k to <code>this</code>.
    */
-  protected Map<Object, ThrowableSet> memoizedAdds;
+  protected volatile Map<Object, ThrowableSet> memoizedAdds;
+
+  /**
+   * The bit set representation of this set over the indices of the current {@link ThrowableTypeIndex}, or null if it has not
+   * been computed yet. It also memoizes the results of {@link #whichCatchableAs(RefType)}, which remain valid as long as the
+   * class hierarchy, and thus the index, does not change.
+   */
+  private volatile IndexedView indexedView;
 
   /**
    * Constructs a <code>ThrowableSet</code> which contains the exception types represented in <code>include</code>, except
@@ -162,15 +169,33 @@ public class ThrowableSet {
     }
   }
 
+  // ThrowableSets are interned and shared between all bodies, so the memo
+  // table may be accessed by several threads running body packs at once.
   private ThrowableSet getMemoizedAdds(Object key) {
-    return memoizedAdds == null ? null : memoizedAdds.get(key);
+    final Map<Object, ThrowableSet> memo = memoizedAdds;
+    return memo == null ? null : memo.get(key);
   }
 
   private void addToMemoizedAdds(Object key, ThrowableSet value) {
-    if (memoizedAdds == null) {
-      memoizedAdds = new HashMap<>();
+    Map<Object, ThrowableSet> memo = memoizedAdds;
+    if (memo == null) {
+      synchronized (this) {
+        memo = memoizedAdds;
+        if (memo == null) {
+          memoizedAdds = memo = new ConcurrentHashMap<>();
+        }
+      }
+    }
+    memo.put(key, value);
+  }
+
+  private IndexedView getIndexedView(ThrowableTypeIndex index) {
+    IndexedView view = indexedView;
+    if (view == null || view.index != index) {
+      view = new IndexedView(index, exceptionsIncluded, exceptionsExcluded);
+      indexedView = view;
     }
-    memoizedAdds.put(key, value);
+    return view;
   }
 
   /**
@@ -235,7 +260,7 @@ public class ThrowableSet {
       }
     }
 
-    FastHierarchy hierarchy = Scene.v().getOrMakeFastHierarchy();
+    final ThrowableTypeIndex hierarchy = Manager.v().getTypeIndex();
     boolean eHasNoHierarchy = hasNoHierarchy(e);
 
     for (AnySubType excludedType : exceptionsExcluded) {
@@ -328,7 +353,7 @@ public class ThrowableSet {
     // java.lang.Object is managed by the Scene -> guaranteed to only have one instance of the Object class
     final SootClass objectClass = Scene.v().getObjectType().getSootClass();
 
-    FastHierarchy hierarchy = Scene.v().getOrMakeFastHierarchy();
+    final ThrowableTypeIndex hierarchy = Manager.v().getTypeIndex();
     RefType newBase = e.getBase();
     boolean newBaseHasNoHierarchy = hasNoHierarchy(newBase);
 
@@ -470,7 +495,7 @@ public class ThrowableSet {
   private ThrowableSet add(Set<RefLikeType> addedExceptions) {
     Set<RefLikeType> resultSet = new HashSet<>(this.exceptionsIncluded);
     int changes = 0;
-    FastHierarchy hierarchy = Scene.v().getOrMakeFastHierarchy();
+    final ThrowableTypeIndex hierarchy = Manager.v().getTypeIndex();
 
     // This algorithm is O(n m), where n and m are the sizes of the
     // two sets, so hope that the sets are small.
@@ -619,7 +644,13 @@ public class ThrowableSet {
       Manager.v().catchableAsQueries++;
     }
 
-    FastHierarchy h = Scene.v().getOrMakeFastHierarchy();
+    final ThrowableTypeIndex h = Manager.v().getTypeIndex();
+    final IndexedView view = getIndexedView(h);
+    final int catcherIndex = h.indexOf(catcher);
+    if (catcherIndex >= 0 && view.complete) {
+      return view.catchableAs(catcherIndex);
+    }
+
     /**
      * Originally this implementation had checked if the catcher.getSootClass() is a phantom class. However this makes
      * problems in case the soot option no_bodies_for_excluded==true because certain library classes will be marked as
@@ -702,7 +733,17 @@ public class ThrowableSet {
       Manager.v().removesOfAnySubType++;
     }
 
-    FastHierarchy h = Scene.v().getOrMakeFastHierarchy();
+    final ThrowableTypeIndex h = Manager.v().getTypeIndex();
+    final ConcurrentMap<RefType, Pair> memo = getIndexedView(h).catchableAs;
+    Pair result = memo.get(catcher);
+    if (result == null) {
+      result = whichCatchableAs(h, catcher);
+      memo.putIfAbsent(catcher, result);
+    }
+    return result;
+  }
+
+  private Pair whichCatchableAs(ThrowableTypeIndex h, RefType catcher) {
     Set<RefLikeType> caughtIncluded = null;
     Set<AnySubType> caughtExcluded = null;
     Set<RefLikeType> uncaughtIncluded = null;
@@ -947,10 +988,11 @@ public class ThrowableSet {
    * A package-private method to provide unit tests with access to ThrowableSet's internals.
    */
   Map<Object, ThrowableSet> getMemoizedAdds() {
-    if (memoizedAdds == null) {
+    final Map<Object, ThrowableSet> memo = memoizedAdds;
+    if (memo == null) {
       return Collections.emptyMap();
     } else {
-      return Collections.unmodifiableMap(memoizedAdds);
+      return Collections.unmodifiableMap(memo);
     }
   }
 
@@ -1034,6 +1076,10 @@ public class ThrowableSet {
      */
     private final Map<ThrowableSet, ThrowableSet> registry
         = CacheBuilder.newBuilder().weakValues().<ThrowableSet, ThrowableSet>build().asMap();
+    /**
+     * Numbers the exception classes of the current class hierarchy; replaced once the Scene's hierarchy changes.
+     */
+    private volatile ThrowableTypeIndex typeIndex;
     private final int removesFromMap = 0;
     private final int removesFromMemo = 0;
     // counts for instrumenting:
@@ -1164,12 +1210,22 @@ public class ThrowableSet {
         registrationCalls++;
       }
       ThrowableSet result = new ThrowableSet(include, exclude);
-      ThrowableSet ref = registry.get(result);
-      if (null != ref) {
-        return ref;
+      ThrowableSet ref = registry.putIfAbsent(result, result);
+      return ref == null ? result : ref;
+    }
+
+    /**
+     * Returns the index of the exception classes in the Scene's current {@link soot.FastHierarchy}, building it if the
+     * hierarchy has changed since the last call.
+     */
+    ThrowableTypeIndex getTypeIndex() {
+      final soot.FastHierarchy hierarchy = Scene.v().getOrMakeFastHierarchy();
+      ThrowableTypeIndex index = typeIndex;
+      if (index == null || index.hierarchy != hierarchy) {
+        index = new ThrowableTypeIndex(hierarchy, Scene.v().getRefType("java.lang.Throwable"));
+        typeIndex = index;
       }
-      registry.put(result, result);
-      return result;
+      return index;
     }
 
     /**
@@ -1204,6 +1260,74 @@ public class ThrowableSet {
     }
   }
 
+  /**
+   * The members of a <code>ThrowableSet</code> as bit sets over the indices of a {@link ThrowableTypeIndex}, so that
+   * {@link ThrowableSet#catchableAs(RefType)} needs no search through the set and no hierarchy lookups.
+   */
+  private static final class IndexedView {
+    final ThrowableTypeIndex index;
+    /** The indices of the included {@link RefType}s. */
+    final ThrowableTypeIndex.Bits types = new ThrowableTypeIndex.Bits();
+    /** The indices of the bases of the included {@link AnySubType}s. */
+    final ThrowableTypeIndex.Bits subtrees = new ThrowableTypeIndex.Bits();
+    /** The indices of the bases of the excluded {@link AnySubType}s. */
+    final ThrowableTypeIndex.Bits excluded = new ThrowableTypeIndex.Bits();
+    /** False if some member of the set has no index, in which case the bit sets must not be used. */
+    final boolean complete;
+    /** Memoized results of {@link ThrowableSet#whichCatchableAs(RefType)}. */
+    final ConcurrentMap<RefType, Pair> catchableAs = new ConcurrentHashMap<>();
+
+    IndexedView(ThrowableTypeIndex index, Set<RefLikeType> included, Set<AnySubType> excludedTypes) {
+      this.index = index;
+      boolean complete = true;
+      for (RefLikeType t : included) {
+        if (t instanceof RefType) {
+          complete &= set(types, (RefType) t);
+        } else {
+          complete &= set(subtrees, ((AnySubType) t).getBase());
+        }
+      }
+      for (AnySubType t : excludedTypes) {
+        complete &= set(excluded, t.getBase());
+      }
+      this.complete = complete;
+    }
+
+    private boolean set(ThrowableTypeIndex.Bits bits, RefType t) {
+      final int i = index.indexOf(t);
+      if (i < 0) {
+        return false;
+      }
+      bits.set(i);
+      return true;
+    }
+
+    /**
+     * Equivalent to {@link ThrowableSet#catchableAs(RefType)} for a catcher with the given index.
+     */
+    boolean catchableAs(int catcher) {
+      // Exclusions are only recorded by whichCatchableAs(), which
+      // leaves nothing catchable below an excluded type.
+      if (isSetForSuperclass(excluded, catcher)) {
+        return false;
+      }
+      // The subclasses of the catcher are exactly the indices in
+      // [catcher, lastSubclassOf(catcher)].
+      final int last = index.lastSubclassOf(catcher);
+      return types.intersects(catcher, last) || subtrees.intersects(catcher, last) || isSetForSuperclass(subtrees, catcher);
+    }
+
+    /** Returns true if the given index or the index of one of its superclasses is set. */
+    private boolean isSetForSuperclass(ThrowableTypeIndex.Bits bits, int i) {
+      for (; i >= 0; i = index.parentOf(i)) {
+        if (bits.get(i)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
   public static class AlreadyHasExclusionsException extends IllegalStateException {
     private static final long serialVersionUID = 6785184160868722359L;
 
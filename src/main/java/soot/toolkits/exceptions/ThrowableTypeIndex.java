@@ -0,0 +1,189 @@
+package soot.toolkits.exceptions;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import soot.FastHierarchy;
+import soot.RefLikeType;
+import soot.RefType;
+import soot.SootClass;
+
+/**
+ * Numbers the subclasses of <code>java.lang.Throwable</code> in the preorder of the class tree of a {@link FastHierarchy},
+ * so that the subclasses of every exception class form a contiguous range of indices. Subtype tests between indexed classes
+ * then reduce to two integer comparisons, and sets of exception classes can be represented as bit sets over the indices.
+ * Classes outside of the tree below <code>Throwable</code>, e.g. interfaces or phantom classes without a superclass, have no
+ * index.
+ *
+ * <p>
+ * An index is immutable and describes exactly one {@link FastHierarchy}. Soot replaces the hierarchy object whenever the
+ * class hierarchy changes, so {@link ThrowableSet.Manager} builds a new index once it sees a new hierarchy object.
+ * </p>
+ */
+final class ThrowableTypeIndex {
+
+  final FastHierarchy hierarchy;
+
+  /** Maps the number of a {@link RefType} in the Scene's type numberer to its index plus one, or 0 if it has none. */
+  private final int[] indexByTypeNumber;
+  /** The largest index in the subtree of each index. */
+  private final int[] last;
+  /** The index of the superclass of each index, or -1 for <code>Throwable</code>. */
+  private final int[] parent;
+
+  ThrowableTypeIndex(FastHierarchy hierarchy, RefType throwable) {
+    this.hierarchy = hierarchy;
+
+    final List<RefType> types = new ArrayList<>();
+    final List<Integer> parents = new ArrayList<>();
+    final SootClass root = throwable.getSootClass();
+    if (root.resolvingLevel() >= SootClass.HIERARCHY && root.hasSuperclass()) {
+      // Iterative depth-first traversal; the subtree of a class is complete
+      // before any class further down the stack is numbered, which makes the
+      // indices of every subtree contiguous.
+      final Deque<SootClass> classes = new ArrayDeque<>();
+      final Deque<Integer> classParents = new ArrayDeque<>();
+      classes.push(root);
+      classParents.push(-1);
+      while (!classes.isEmpty()) {
+        final SootClass c = classes.pop();
+        final int index = types.size();
+        types.add(c.getType());
+        parents.add(classParents.pop());
+        for (SootClass sub : hierarchy.getSubclassesOf(c)) {
+          if (!sub.isInterface() && sub.resolvingLevel() >= SootClass.HIERARCHY) {
+            classes.push(sub);
+            classParents.push(index);
+          }
+        }
+      }
+    }
+
+    final int size = types.size();
+    int maxNumber = -1;
+    for (RefType t : types) {
+      maxNumber = Math.max(maxNumber, t.getNumber());
+    }
+    this.indexByTypeNumber = new int[maxNumber + 1];
+    this.parent = new int[size];
+    this.last = new int[size];
+    for (int i = 0; i < size; i++) {
+      indexByTypeNumber[types.get(i).getNumber()] = i + 1;
+      parent[i] = parents.get(i);
+      last[i] = i;
+    }
+    // Children have larger indices than their parents.
+    for (int i = size - 1; i > 0; i--) {
+      final int p = parent[i];
+      if (last[i] > last[p]) {
+        last[p] = last[i];
+      }
+    }
+  }
+
+  /** Returns the number of indexed classes. */
+  int size() {
+    return parent.length;
+  }
+
+  /** Returns the index of the given type, or -1 if it is not an indexed subclass of <code>Throwable</code>. */
+  int indexOf(RefType t) {
+    final int n = t.getNumber();
+    return n >= 0 && n < indexByTypeNumber.length ? indexByTypeNumber[n] - 1 : -1;
+  }
+
+  /** Returns the index of the superclass of the given index, or -1 for <code>Throwable</code>. */
+  int parentOf(int index) {
+    return parent[index];
+  }
+
+  /** Returns the largest index among the subclasses of the given index, which is the index itself for leaves. */
+  int lastSubclassOf(int index) {
+    return last[index];
+  }
+
+  /** Returns true if the class with index <code>child</code> is the class with index <code>ancestor</code> or a subclass. */
+  boolean isSubclass(int child, int ancestor) {
+    return ancestor <= child && child <= last[ancestor];
+  }
+
+  /**
+   * Returns true if <code>child</code> can be stored in <code>parent</code>. Answered by the index if both types are indexed,
+   * by {@link FastHierarchy#canStoreType(soot.Type, soot.Type)} otherwise.
+   */
+  boolean canStoreType(RefLikeType child, RefType parent) {
+    final int c = child instanceof RefType ? indexOf((RefType) child) : -1;
+    if (c >= 0) {
+      final int p = indexOf(parent);
+      if (p >= 0) {
+        return isSubclass(c, p);
+      }
+    }
+    return hierarchy.canStoreType(child, parent);
+  }
+
+  /** A set of indices, stored as a bit set that grows on demand. */
+  static final class Bits {
+    private long[] words = new long[0];
+
+    void set(int index) {
+      final int w = index >>> 6;
+      if (w >= words.length) {
+        words = Arrays.copyOf(words, w + 1);
+      }
+      words[w] |= 1L << index;
+    }
+
+    boolean get(int index) {
+      final int w = index >>> 6;
+      return w < words.length && (words[w] & (1L << index)) != 0;
+    }
+
+    /** Returns true if any index in the range [<code>from</code>, <code>to</code>] is set. */
+    boolean intersects(int from, int to) {
+      final int fromWord = from >>> 6;
+      if (fromWord >= words.length) {
+        return false;
+      }
+      final int toWord = Math.min(to >>> 6, words.length - 1);
+      for (int w = fromWord; w <= toWord; w++) {
+        long word = words[w];
+        if (w == fromWord) {
+          word &= -1L << from;
+        }
+        if (w == to >>> 6) {
+          word &= -1L >>> (63 - (to & 63));
+        }
+        if (word != 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
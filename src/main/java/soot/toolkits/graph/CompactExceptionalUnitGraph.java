@@ -0,0 +1,672 @@
+package soot.toolkits.graph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import soot.Body;
+import soot.RefType;
+import soot.Scene;
+import soot.Timers;
+import soot.Trap;
+import soot.Unit;
+import soot.UnitBox;
+import soot.baf.ThrowInst;
+import soot.jimple.ThrowStmt;
+import soot.options.Options;
+import soot.toolkits.exceptions.ThrowAnalysis;
+import soot.toolkits.exceptions.ThrowableSet;
+
+/**
+ * A control flow graph with the same nodes, edges, heads and tails as {@link ExceptionalUnitGraph}, but with a compact
+ * representation. The units are numbered densely in the order of the unit chain and every kind of adjacency is stored as
+ * an array of unit numbers together with an array of offsets, instead of a map from units to lists. The lists returned by
+ * the graph are views of these arrays.
+ *
+ * <p>
+ * If the body has no traps, the unexceptional and the complete adjacency are the same arrays. A graph that only differs
+ * in the <code>omitExceptingUnitEdges</code> setting can be derived by {@link #withOmitExceptingUnitEdges(boolean)}, which
+ * shares the unexceptional edges and the exception destinations instead of asking the {@link ThrowAnalysis} again.
+ * </p>
+ *
+ * <p>
+ * Like the other graphs, this graph is not updated when the body changes.
+ * </p>
+ */
+public class CompactExceptionalUnitGraph extends UnitGraph implements ExceptionalGraph<Unit> {
+  private static final int[] NO_INTS = new int[0];
+
+  private final Unit[] units;
+  private final UnitIndex index;
+  private final ThrowAnalysis throwAnalysis;
+  private final boolean omitExceptingUnitEdges;
+
+  private final Adjacency unexceptionalSuccs;
+  private final Adjacency unexceptionalPreds;
+  private final Adjacency exceptionalSuccs;
+  private final Adjacency exceptionalPreds;
+  private final Adjacency succs;
+  private final Adjacency preds;
+
+  // the destinations of the units that may throw to a trap of the body; null for all others
+  private final ExceptionalUnitGraph.ExceptionDest[][] exceptionDests;
+
+  /**
+   * Constructs the graph for the given body, using the given <code>ThrowAnalysis</code> and
+   * <code>omitExceptingUnitEdges</code> value as in {@link ExceptionalUnitGraph#ExceptionalUnitGraph(Body, ThrowAnalysis,
+   * boolean)}.
+   */
+  public CompactExceptionalUnitGraph(Body body, ThrowAnalysis throwAnalysis, boolean omitExceptingUnitEdges) {
+    super(body);
+    if (Options.v().time()) {
+      Timers.v().graphTimer.start();
+    }
+
+    this.units = unitChain.toArray(new Unit[unitChain.size()]);
+    this.index = new UnitIndex(units);
+    this.throwAnalysis = throwAnalysis;
+    this.omitExceptingUnitEdges = omitExceptingUnitEdges;
+
+    EdgeBuilder unexceptional = buildUnexceptionalEdges();
+    this.unexceptionalSuccs = unexceptional.succs();
+    this.unexceptionalPreds = unexceptional.preds();
+
+    if (body.getTraps().isEmpty()) {
+      // No handlers, so all exceptional control flow exits the method.
+      this.exceptionDests = new ExceptionalUnitGraph.ExceptionDest[units.length][];
+      this.exceptionalSuccs = Adjacency.empty(units.length);
+      this.exceptionalPreds = this.exceptionalSuccs;
+      this.succs = this.unexceptionalSuccs;
+      this.preds = this.unexceptionalPreds;
+      buildHeadsAndTails(NO_INTS, 0);
+    } else {
+      this.exceptionDests = buildExceptionDests();
+      EdgeBuilder exceptional = new EdgeBuilder(units.length);
+      IntList trapsThatAreHeads = buildExceptionalEdges(exceptional);
+      this.exceptionalSuccs = exceptional.succs();
+      this.exceptionalPreds = exceptional.preds();
+      this.succs = Adjacency.combine(unexceptionalSuccs, exceptionalSuccs);
+      this.preds = Adjacency.combine(unexceptionalPreds, exceptionalPreds);
+      buildHeadsAndTails(trapsThatAreHeads.elements, trapsThatAreHeads.size);
+    }
+
+    if (Options.v().time()) {
+      Timers.v().graphTimer.end();
+    }
+    soot.util.PhaseDumper.v().dumpGraph(this);
+  }
+
+  /**
+   * Constructs the graph for the given body, using the given <code>ThrowAnalysis</code> and the
+   * <code>omitExceptingUnitEdges</code> value of the {@link Options}.
+   */
+  public CompactExceptionalUnitGraph(Body body, ThrowAnalysis throwAnalysis) {
+    this(body, throwAnalysis, Options.v().omit_excepting_unit_edges());
+  }
+
+  /**
+   * Constructs the graph for the given body, using the {@link Scene}'s default <code>ThrowAnalysis</code> and the
+   * <code>omitExceptingUnitEdges</code> value of the {@link Options}.
+   */
+  public CompactExceptionalUnitGraph(Body body) {
+    this(body, Scene.v().getDefaultThrowAnalysis(), Options.v().omit_excepting_unit_edges());
+  }
+
+  private CompactExceptionalUnitGraph(CompactExceptionalUnitGraph base, boolean omitExceptingUnitEdges) {
+    super(base.body);
+    this.units = base.units;
+    this.index = base.index;
+    this.throwAnalysis = base.throwAnalysis;
+    this.omitExceptingUnitEdges = omitExceptingUnitEdges;
+    this.unexceptionalSuccs = base.unexceptionalSuccs;
+    this.unexceptionalPreds = base.unexceptionalPreds;
+    this.exceptionDests = base.exceptionDests;
+
+    EdgeBuilder exceptional = new EdgeBuilder(units.length);
+    IntList trapsThatAreHeads = buildExceptionalEdges(exceptional);
+    this.exceptionalSuccs = exceptional.succs();
+    this.exceptionalPreds = exceptional.preds();
+    this.succs = Adjacency.combine(unexceptionalSuccs, exceptionalSuccs);
+    this.preds = Adjacency.combine(unexceptionalPreds, exceptionalPreds);
+    buildHeadsAndTails(trapsThatAreHeads.elements, trapsThatAreHeads.size);
+  }
+
+  /**
+   * Returns a graph of the same body that omits, or does not omit, the edges from excepting units without side effects to
+   * their handlers. The new graph shares all data that does not depend on this setting with this graph. The body must not
+   * have changed since this graph was built.
+   */
+  public CompactExceptionalUnitGraph withOmitExceptingUnitEdges(boolean omitExceptingUnitEdges) {
+    if (omitExceptingUnitEdges == this.omitExceptingUnitEdges || body.getTraps().isEmpty()) {
+      return this;
+    }
+    return new CompactExceptionalUnitGraph(this, omitExceptingUnitEdges);
+  }
+
+  /** Returns the number of the given unit in this graph, or <code>-1</code> if the unit is not part of it. */
+  public int getNumber(Unit u) {
+    return index.get(u);
+  }
+
+  /** Returns the unit with the given number. */
+  public Unit getUnit(int number) {
+    return units[number];
+  }
+
+  private EdgeBuilder buildUnexceptionalEdges() {
+    final int n = units.length;
+    EdgeBuilder edges = new EdgeBuilder(n);
+    for (int i = 0; i < n; i++) {
+      Unit currentUnit = units[i];
+      if (currentUnit.fallsThrough() && i + 1 < n) {
+        edges.add(i, i + 1);
+      }
+      if (currentUnit.branches()) {
+        for (UnitBox targetBox : currentUnit.getUnitBoxes()) {
+          // Arbitrary bytecode can branch to the same target it falls through to, so we screen for duplicates
+          edges.addIfAbsent(i, numberOf(targetBox.getUnit()));
+        }
+      }
+    }
+    return edges;
+  }
+
+  /** Computes the exception destinations in the same way as {@link ExceptionalUnitGraph#buildExceptionDests}. */
+  private ExceptionalUnitGraph.ExceptionDest[][] buildExceptionDests() {
+    final int n = units.length;
+    final ThrowableSet empty = ThrowableSet.Manager.v().EMPTY;
+    final ThrowableSet[] uncaught = new ThrowableSet[n];
+    @SuppressWarnings("unchecked")
+    final List<ExceptionalUnitGraph.ExceptionDest>[] dests = new List[n];
+    final IntList throwers = new IntList();
+
+    // Record the caught exceptions.
+    for (Trap trap : body.getTraps()) {
+      RefType catcher = trap.getException().getType();
+      for (int i = numberOf(trap.getBeginUnit()), end = numberOf(trap.getEndUnit()); i < end; i++) {
+        ThrowableSet thrownSet = uncaught[i];
+        if (thrownSet == null) {
+          thrownSet = throwAnalysis.mightThrow(units[i]);
+        }
+        ThrowableSet.Pair catchableAs = thrownSet.whichCatchableAs(catcher);
+        if (!catchableAs.getCaught().equals(empty)) {
+          if (dests[i] == null) {
+            dests[i] = new ArrayList<ExceptionalUnitGraph.ExceptionDest>(3);
+            throwers.add(i);
+          }
+          dests[i].add(new ExceptionalUnitGraph.ExceptionDest(trap, catchableAs.getCaught()));
+          uncaught[i] = catchableAs.getUncaught();
+        }
+      }
+    }
+
+    ExceptionalUnitGraph.ExceptionDest[][] result = new ExceptionalUnitGraph.ExceptionDest[n][];
+    for (int k = 0; k < throwers.size; k++) {
+      int i = throwers.elements[k];
+      if (uncaught[i] != empty) {
+        dests[i].add(new ExceptionalUnitGraph.ExceptionDest(null, uncaught[i]));
+      }
+      result[i] = dests[i].toArray(new ExceptionalUnitGraph.ExceptionDest[dests[i].size()]);
+    }
+    return result;
+  }
+
+  /**
+   * Computes the exceptional edges in the same way as {@link ExceptionalUnitGraph#buildExceptionalEdges}, including the
+   * transitive edges to handlers of handlers. Returns the handlers that may catch exceptions thrown by the first unit.
+   */
+  private IntList buildExceptionalEdges(EdgeBuilder edges) {
+    final int n = units.length;
+    final IntList trapsThatAreHeads = new IntList();
+
+    for (int thrower = 0; thrower < n; thrower++) {
+      ExceptionalUnitGraph.ExceptionDest[] dests = exceptionDests[thrower];
+      if (dests == null) {
+        continue;
+      }
+      final Unit u = units[thrower];
+      boolean alwaysAddSelfEdges = !omitExceptingUnitEdges || ExceptionalUnitGraph.mightHaveSideEffects(u);
+      ThrowableSet predThrowables = null;
+      ThrowableSet selfThrowables = null;
+      if (u instanceof ThrowInst) {
+        predThrowables = throwAnalysis.mightThrowImplicitly((ThrowInst) u);
+        selfThrowables = throwAnalysis.mightThrowExplicitly((ThrowInst) u);
+      } else if (u instanceof ThrowStmt) {
+        predThrowables = throwAnalysis.mightThrowImplicitly((ThrowStmt) u);
+        selfThrowables = throwAnalysis.mightThrowExplicitly((ThrowStmt) u);
+      }
+
+      for (ExceptionalUnitGraph.ExceptionDest dest : dests) {
+        if (dest.getTrap() != null) {
+          int catcher = numberOf(dest.getTrap().getHandlerUnit());
+          RefType trapsType = dest.getTrap().getException().getType();
+          if (predThrowables == null || predThrowables.catchableAs(trapsType)) {
+            // Add edges from the thrower's predecessors to the catcher.
+            if (thrower == 0) {
+              trapsThatAreHeads.addIfAbsent(catcher);
+            }
+            for (int k = unexceptionalPreds.offsets[thrower], end = unexceptionalPreds.offsets[thrower + 1]; k < end; k++) {
+              edges.addIfAbsent(unexceptionalPreds.targets[k], catcher);
+            }
+          }
+          if (alwaysAddSelfEdges || (selfThrowables != null && selfThrowables.catchableAs(trapsType))) {
+            edges.addIfAbsent(thrower, catcher);
+          }
+        }
+      }
+    }
+
+    // Handlers may themselves throw exceptions that are caught within the method. The worklist holds the CFG edges that lead
+    // to such a handler as pairs of numbers, where -1 stands for the fictitious predecessor of the first unit.
+    IntList workList = new IntList();
+    for (Trap trap : body.getTraps()) {
+      int handlerStart = numberOf(trap.getHandlerUnit());
+      if (mightThrowToIntraproceduralCatcher(handlerStart)) {
+        for (int k = unexceptionalPreds.offsets[handlerStart], end = unexceptionalPreds.offsets[handlerStart + 1]; k < end;
+            k++) {
+          workList.add(unexceptionalPreds.targets[k]);
+          workList.add(handlerStart);
+        }
+        IntList handlerPreds = edges.preds[handlerStart];
+        if (handlerPreds != null) {
+          for (int k = 0; k < handlerPreds.size; k++) {
+            workList.add(handlerPreds.elements[k]);
+            workList.add(handlerStart);
+          }
+        }
+        if (trapsThatAreHeads.contains(handlerStart)) {
+          workList.add(-1);
+          workList.add(handlerStart);
+        }
+      }
+    }
+
+    for (int next = 0; next < workList.size; next += 2) {
+      int pred = workList.elements[next];
+      int thrower = workList.elements[next + 1];
+      ExceptionalUnitGraph.ExceptionDest[] dests = exceptionDests[thrower];
+      if (dests == null) {
+        continue;
+      }
+      for (ExceptionalUnitGraph.ExceptionDest dest : dests) {
+        if (dest.getTrap() != null) {
+          int handlerStart = numberOf(dest.getTrap().getHandlerUnit());
+          boolean edgeAdded;
+          if (pred < 0) {
+            edgeAdded = trapsThatAreHeads.addIfAbsent(handlerStart);
+          } else {
+            edgeAdded = edges.addIfAbsent(pred, handlerStart);
+          }
+          if (edgeAdded && mightThrowToIntraproceduralCatcher(handlerStart)) {
+            workList.add(pred);
+            workList.add(handlerStart);
+          }
+        }
+      }
+    }
+    return trapsThatAreHeads;
+  }
+
+  private boolean mightThrowToIntraproceduralCatcher(int u) {
+    ExceptionalUnitGraph.ExceptionDest[] dests = exceptionDests[u];
+    if (dests != null) {
+      for (ExceptionalUnitGraph.ExceptionDest dest : dests) {
+        if (dest.getTrap() != null) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private void buildHeadsAndTails(int[] additionalHeads, int count) {
+    if (units.length == 0) {
+      throw new IllegalStateException("No body for method " + body.getMethod().getSignature());
+    }
+
+    heads = new ArrayList<Unit>(count + 1);
+    boolean entryPointIsHead = false;
+    for (int k = 0; k < count; k++) {
+      heads.add(units[additionalHeads[k]]);
+      entryPointIsHead |= additionalHeads[k] == 0;
+    }
+    if (!entryPointIsHead) {
+      heads.add(units[0]);
+    }
+
+    tails = new ArrayList<Unit>();
+    for (int i = 0; i < units.length; i++) {
+      Unit u = units[i];
+      if (u instanceof soot.jimple.ReturnStmt || u instanceof soot.jimple.ReturnVoidStmt || u instanceof soot.baf.ReturnInst
+          || u instanceof soot.baf.ReturnVoidInst) {
+        tails.add(u);
+      } else if (u instanceof ThrowStmt || u instanceof ThrowInst) {
+        ExceptionalUnitGraph.ExceptionDest[] dests = exceptionDests[i];
+        boolean escapes = (dests == null);
+        if (!escapes) {
+          for (ExceptionalUnitGraph.ExceptionDest dest : dests) {
+            if (dest.getTrap() == null) {
+              escapes = true;
+              break;
+            }
+          }
+        }
+        if (escapes) {
+          tails.add(u);
+        }
+      }
+    }
+  }
+
+  private int numberOf(Unit u) {
+    int i = index.get(u);
+    if (i < 0) {
+      throw new IllegalArgumentException("unit is not in the body: " + u);
+    }
+    return i;
+  }
+
+  @Override
+  protected void buildHeadsAndTails() throws IllegalStateException {
+    throw new IllegalStateException("CompactExceptionalUnitGraph computes its heads and tails during construction");
+  }
+
+  @Override
+  public List<Unit> getPredsOf(Unit u) {
+    return preds.get(units, index.get(u));
+  }
+
+  @Override
+  public List<Unit> getSuccsOf(Unit u) {
+    return succs.get(units, index.get(u));
+  }
+
+  @Override
+  public List<Unit> getUnexceptionalPredsOf(Unit u) {
+    return unexceptionalPreds.get(units, index.get(u));
+  }
+
+  @Override
+  public List<Unit> getUnexceptionalSuccsOf(Unit u) {
+    return unexceptionalSuccs.get(units, index.get(u));
+  }
+
+  @Override
+  public List<Unit> getExceptionalPredsOf(Unit u) {
+    return exceptionalPreds.get(units, index.get(u));
+  }
+
+  @Override
+  public List<Unit> getExceptionalSuccsOf(Unit u) {
+    return exceptionalSuccs.get(units, index.get(u));
+  }
+
+  @Override
+  public Collection<ExceptionalUnitGraph.ExceptionDest> getExceptionDests(final Unit u) {
+    int i = index.get(u);
+    ExceptionalUnitGraph.ExceptionDest[] dests = i < 0 ? null : exceptionDests[i];
+    if (dests == null) {
+      ExceptionalUnitGraph.ExceptionDest e = new ExceptionalUnitGraph.ExceptionDest(null, null) {
+        private ThrowableSet throwables;
+
+        @Override
+        public ThrowableSet getThrowables() {
+          if (null == throwables) {
+            throwables = throwAnalysis.mightThrow(u);
+          }
+          return throwables;
+        }
+      };
+      return Collections.singletonList(e);
+    }
+    return Collections.unmodifiableList(Arrays.asList(dests));
+  }
+
+  @Override
+  public int size() {
+    return units.length;
+  }
+
+  @Override
+  public Iterator<Unit> iterator() {
+    return Collections.unmodifiableList(Arrays.asList(units)).iterator();
+  }
+
+  /** Adjacency lists stored as one array of unit numbers and one array of offsets into it. */
+  private static final class Adjacency {
+    final int[] offsets;
+    final int[] targets;
+
+    Adjacency(int[] offsets, int[] targets) {
+      this.offsets = offsets;
+      this.targets = targets;
+    }
+
+    static Adjacency empty(int n) {
+      return new Adjacency(new int[n + 1], NO_INTS);
+    }
+
+    /** Concatenates the lists of a and b, dropping the elements of b that are already in a. */
+    static Adjacency combine(Adjacency a, Adjacency b) {
+      final int n = a.offsets.length - 1;
+      int[] offsets = new int[n + 1];
+      int[] targets = new int[a.targets.length + b.targets.length];
+      int size = 0;
+      for (int i = 0; i < n; i++) {
+        offsets[i] = size;
+        final int aStart = a.offsets[i];
+        final int aEnd = a.offsets[i + 1];
+        System.arraycopy(a.targets, aStart, targets, size, aEnd - aStart);
+        size += aEnd - aStart;
+        next: for (int k = b.offsets[i], end = b.offsets[i + 1]; k < end; k++) {
+          int t = b.targets[k];
+          for (int j = aStart; j < aEnd; j++) {
+            if (a.targets[j] == t) {
+              continue next;
+            }
+          }
+          targets[size++] = t;
+        }
+      }
+      offsets[n] = size;
+      return new Adjacency(offsets, size == targets.length ? targets : Arrays.copyOf(targets, size));
+    }
+
+    List<Unit> get(Unit[] units, int i) {
+      if (i < 0 || offsets[i] == offsets[i + 1]) {
+        return Collections.emptyList();
+      }
+      return new UnitList(units, targets, offsets[i], offsets[i + 1]);
+    }
+  }
+
+  /** An unmodifiable view of a range of unit numbers. */
+  private static final class UnitList extends AbstractList<Unit> implements RandomAccess {
+    private final Unit[] units;
+    private final int[] targets;
+    private final int from;
+    private final int to;
+
+    UnitList(Unit[] units, int[] targets, int from, int to) {
+      this.units = units;
+      this.targets = targets;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public Unit get(int i) {
+      if (i < 0 || i >= to - from) {
+        throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + (to - from));
+      }
+      return units[targets[from + i]];
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+  }
+
+  /** Collects edges in insertion order and turns them into successor and predecessor adjacencies. */
+  private static final class EdgeBuilder {
+    final IntList[] succs;
+    final IntList[] preds;
+
+    EdgeBuilder(int n) {
+      this.succs = new IntList[n];
+      this.preds = new IntList[n];
+    }
+
+    void add(int head, int tail) {
+      list(succs, head).add(tail);
+      list(preds, tail).add(head);
+    }
+
+    boolean addIfAbsent(int head, int tail) {
+      IntList s = succs[head];
+      if (s != null && s.contains(tail)) {
+        return false;
+      }
+      add(head, tail);
+      return true;
+    }
+
+    private static IntList list(IntList[] lists, int i) {
+      IntList l = lists[i];
+      if (l == null) {
+        lists[i] = l = new IntList();
+      }
+      return l;
+    }
+
+    Adjacency succs() {
+      return toAdjacency(succs);
+    }
+
+    Adjacency preds() {
+      return toAdjacency(preds);
+    }
+
+    private static Adjacency toAdjacency(IntList[] lists) {
+      final int n = lists.length;
+      int[] offsets = new int[n + 1];
+      int size = 0;
+      for (int i = 0; i < n; i++) {
+        offsets[i] = size;
+        if (lists[i] != null) {
+          size += lists[i].size;
+        }
+      }
+      offsets[n] = size;
+      int[] targets = new int[size];
+      for (int i = 0; i < n; i++) {
+        if (lists[i] != null) {
+          System.arraycopy(lists[i].elements, 0, targets, offsets[i], lists[i].size);
+        }
+      }
+      return new Adjacency(offsets, targets);
+    }
+  }
+
+  /** A growable list of ints. */
+  private static final class IntList {
+    int[] elements = new int[2];
+    int size;
+
+    void add(int e) {
+      if (size == elements.length) {
+        elements = Arrays.copyOf(elements, size * 2);
+      }
+      elements[size++] = e;
+    }
+
+    boolean contains(int e) {
+      for (int k = 0; k < size; k++) {
+        if (elements[k] == e) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    boolean addIfAbsent(int e) {
+      if (contains(e)) {
+        return false;
+      }
+      add(e);
+      return true;
+    }
+  }
+
+  /** Maps units to their numbers by identity, using open addressing. */
+  private static final class UnitIndex {
+    private final Unit[] keys;
+    private final int[] values;
+    private final int mask;
+    private final int shift;
+
+    UnitIndex(Unit[] units) {
+      int capacity = Integer.highestOneBit(Math.max(units.length, 2) * 2 - 1) << 1;
+      this.keys = new Unit[capacity];
+      this.values = new int[capacity];
+      this.mask = capacity - 1;
+      this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+      for (int i = 0; i < units.length; i++) {
+        int slot = slot(units[i]);
+        while (keys[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = units[i];
+        values[slot] = i;
+      }
+    }
+
+    private int slot(Unit u) {
+      // Fibonacci hashing, taking the high bits of the product
+      return (System.identityHashCode(u) * 0x9E3779B9) >>> shift;
+    }
+
+    int get(Unit u) {
+      if (u == null) {
+        return -1;
+      }
+      for (int slot = slot(u);; slot = (slot + 1) & mask) {
+        Unit k = keys[slot];
+        if (k == u) {
+          return values[slot];
+        }
+        if (k == null) {
+          return -1;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,377 @@
+package soot.toolkits.scalar;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import soot.toolkits.graph.DirectedGraph;
+import soot.toolkits.scalar.FlowAnalysis.Entry;
+import soot.toolkits.scalar.FlowAnalysis.Flow;
+import soot.toolkits.scalar.FlowAnalysis.GraphView;
+
+/**
+ * A dataflow engine for gen/kill problems whose facts are densely numbered from <code>0</code> to <code>size - 1</code>,
+ * e.g. locals or definitions. The flow sets of all nodes are stored as rows of two contiguous <code>long[]</code> bit
+ * matrices, the gen and kill sets are computed once per node, and the nodes are visited in the same pseudo-topological order
+ * of strongly connected components as in {@link FlowAnalysis}. No flow set is allocated while the analysis runs.
+ *
+ * <p>
+ * The flow out of a node is <code>gen | (in &amp; ~kill)</code>. The flows of the predecessors are merged by union for may
+ * analyses and by intersection for must analyses. The flow into the entry nodes is empty; all other flows start out empty for
+ * may analyses and full for must analyses. Nodes that are not reachable from the entry nodes keep their initial flow.
+ * </p>
+ *
+ * @param <N>
+ *          node type of the directed graph
+ */
+public abstract class BitVectorFlowAnalysis<N> {
+
+  private static final long[] NO_BITS = new long[0];
+
+  /** The graph being analysed. */
+  protected final DirectedGraph<N> graph;
+
+  private final boolean forward;
+  private final boolean intersection;
+  private final int size;
+  private final int words;
+
+  private Map<N, Integer> indexOf;
+
+  // one row of words per node, the flow into and out of the node in the direction of the analysis
+  private long[] inFlow;
+  private long[] outFlow;
+
+  /**
+   * Constructs a new analysis. Subclasses must call {@link #doAnalysis()} once they are initialized.
+   *
+   * @param graph
+   *          the graph to analyse
+   * @param size
+   *          the number of facts
+   * @param forward
+   *          true for a forward analysis, false for a backward analysis
+   * @param intersection
+   *          true for a must analysis that merges by intersection, false for a may analysis that merges by union
+   */
+  protected BitVectorFlowAnalysis(DirectedGraph<N> graph, int size, boolean forward, boolean intersection) {
+    if (size < 0) {
+      throw new IllegalArgumentException("negative size: " + size);
+    }
+    this.graph = graph;
+    this.size = size;
+    this.words = (size + 63) >>> 6;
+    this.forward = forward;
+    this.intersection = intersection;
+  }
+
+  /**
+   * Describes the effect of the given node by setting bits in the gen and kill sets of the given transfer. Called exactly
+   * once for every node that is reachable from the entry nodes.
+   */
+  protected abstract void computeTransfer(N node, Transfer transfer);
+
+  /**
+   * Selects whether the flow into or out of the given predecessor is merged into <code>mergeNode</code>, in the direction
+   * of the analysis. Defaults to {@link Flow#OUT}.
+   */
+  protected Flow getFlow(N from, N mergeNode) {
+    return Flow.OUT;
+  }
+
+  /** Returns the number of facts. */
+  public final int size() {
+    return size;
+  }
+
+  /** Runs the analysis to a fixed point. */
+  protected final void doAnalysis() {
+    final List<Entry<N, Object>> universe
+        = FlowAnalysis.Orderer.INSTANCE.newUniverse(graph, forward ? GraphView.FORWARD : GraphView.BACKWARD, null, forward);
+    final int n = universe.size();
+    final int w = words;
+
+    final Map<N, Integer> index = new IdentityHashMap<N, Integer>(n);
+    for (int i = 0; i < n; i++) {
+      Entry<N, Object> e = universe.get(i);
+      // the super entry is not part of the universe and keeps a negative number
+      e.setNumber(i);
+      index.put(e.data, i);
+    }
+
+    // gen and kill rows are only stored for nodes that are not the identity
+    final int[] transferRow = new int[n];
+    long[] gen = NO_BITS;
+    long[] kill = NO_BITS;
+    int rows = 0;
+    final Transfer transfer = new Transfer(w);
+    for (int i = 0; i < n; i++) {
+      transfer.clear();
+      computeTransfer(universe.get(i).data, transfer);
+      if (transfer.isIdentity()) {
+        transferRow[i] = -1;
+        continue;
+      }
+      if ((rows + 1) * w > gen.length) {
+        int capacity = Math.max(16, rows * 2) * w;
+        gen = Arrays.copyOf(gen, capacity);
+        kill = Arrays.copyOf(kill, capacity);
+      }
+      System.arraycopy(transfer.gen, 0, gen, rows * w, w);
+      System.arraycopy(transfer.kill, 0, kill, rows * w, w);
+      transferRow[i] = rows++;
+    }
+
+    final long[] in = new long[n * w];
+    final long[] out = new long[n * w];
+    if (intersection) {
+      for (int i = 0; i < n; i++) {
+        fill(out, i * w);
+      }
+    }
+
+    final long[] scratch = new long[w];
+    final BitSet pending = new BitSet(n);
+    pending.set(0, n);
+    for (int i = pending.nextSetBit(0); i >= 0; i = pending.nextSetBit(0)) {
+      pending.clear(i);
+      final Entry<N, Object> e = universe.get(i);
+      final int row = i * w;
+
+      // merge the predecessors
+      boolean first = true;
+      for (Entry<N, Object> p : e.in) {
+        if (p.number < 0) {
+          // the flow into the entry nodes is empty
+          if (first || intersection) {
+            Arrays.fill(in, row, row + w, 0L);
+          }
+        } else {
+          final long[] src = getFlow(p.data, e.data) == Flow.IN ? in : out;
+          final int from = p.number * w;
+          if (first) {
+            System.arraycopy(src, from, in, row, w);
+          } else if (intersection) {
+            for (int k = 0; k < w; k++) {
+              in[row + k] &= src[from + k];
+            }
+          } else {
+            for (int k = 0; k < w; k++) {
+              in[row + k] |= src[from + k];
+            }
+          }
+        }
+        first = false;
+      }
+
+      // apply gen and kill
+      final int t = transferRow[i];
+      if (t < 0) {
+        System.arraycopy(in, row, scratch, 0, w);
+      } else {
+        final int tr = t * w;
+        for (int k = 0; k < w; k++) {
+          scratch[k] = gen[tr + k] | (in[row + k] & ~kill[tr + k]);
+        }
+      }
+
+      boolean changed = false;
+      for (int k = 0; k < w; k++) {
+        if (out[row + k] != scratch[k]) {
+          out[row + k] = scratch[k];
+          changed = true;
+        }
+      }
+      if (changed) {
+        for (Entry<N, Object> s : e.out) {
+          pending.set(s.number);
+        }
+      }
+    }
+
+    this.indexOf = index;
+    this.inFlow = in;
+    this.outFlow = out;
+  }
+
+  private void fill(long[] m, int row) {
+    if (words == 0) {
+      return;
+    }
+    Arrays.fill(m, row, row + words, -1L);
+    m[row + words - 1] = -1L >>> (-size & 63);
+  }
+
+  private long[] matrix(boolean before) {
+    return before == forward ? inFlow : outFlow;
+  }
+
+  private int rowOf(N node) {
+    if (indexOf == null) {
+      throw new IllegalStateException("the analysis has not been run");
+    }
+    Integer i = indexOf.get(node);
+    return i == null ? -1 : i * words;
+  }
+
+  /** Returns true if the given fact holds before the given node. */
+  public final boolean isSetBefore(N node, int bit) {
+    return isSet(true, node, bit);
+  }
+
+  /** Returns true if the given fact holds after the given node. */
+  public final boolean isSetAfter(N node, int bit) {
+    return isSet(false, node, bit);
+  }
+
+  private boolean isSet(boolean before, N node, int bit) {
+    if (bit < 0 || bit >= size) {
+      throw new IndexOutOfBoundsException("bit " + bit + " not in [0, " + size + ")");
+    }
+    final int row = rowOf(node);
+    if (row < 0) {
+      return intersection;
+    }
+    return (matrix(before)[row + (bit >>> 6)] & (1L << bit)) != 0;
+  }
+
+  /**
+   * Returns the first fact at or after <code>fromIndex</code> that holds before the given node, or <code>-1</code> if
+   * there is none.
+   */
+  public final int nextSetBitBefore(N node, int fromIndex) {
+    return nextSetBit(true, node, fromIndex);
+  }
+
+  /**
+   * Returns the first fact at or after <code>fromIndex</code> that holds after the given node, or <code>-1</code> if
+   * there is none.
+   */
+  public final int nextSetBitAfter(N node, int fromIndex) {
+    return nextSetBit(false, node, fromIndex);
+  }
+
+  private int nextSetBit(boolean before, N node, int fromIndex) {
+    if (fromIndex < 0) {
+      throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+    }
+    if (fromIndex >= size) {
+      return -1;
+    }
+    final int row = rowOf(node);
+    if (row < 0) {
+      return intersection ? fromIndex : -1;
+    }
+    final long[] m = matrix(before);
+    int k = fromIndex >>> 6;
+    long word = m[row + k] & (-1L << fromIndex);
+    for (;;) {
+      if (word != 0) {
+        return (k << 6) + Long.numberOfTrailingZeros(word);
+      }
+      if (++k == words) {
+        return -1;
+      }
+      word = m[row + k];
+    }
+  }
+
+  /** Returns a copy of the facts that hold before the given node. */
+  public final BitSet getBitsBefore(N node) {
+    return getBits(true, node);
+  }
+
+  /** Returns a copy of the facts that hold after the given node. */
+  public final BitSet getBitsAfter(N node) {
+    return getBits(false, node);
+  }
+
+  private BitSet getBits(boolean before, N node) {
+    final int row = rowOf(node);
+    if (row < 0) {
+      BitSet b = new BitSet(size);
+      if (intersection) {
+        b.set(0, size);
+      }
+      return b;
+    }
+    return BitSet.valueOf(Arrays.copyOfRange(matrix(before), row, row + words));
+  }
+
+  /**
+   * The gen and kill sets of a single node, as filled in by {@link BitVectorFlowAnalysis#computeTransfer(Object, Transfer)}.
+   * A fact that is both generated and killed is generated.
+   */
+  protected final class Transfer {
+    final long[] gen;
+    final long[] kill;
+
+    Transfer(int words) {
+      this.gen = new long[words];
+      this.kill = new long[words];
+    }
+
+    void clear() {
+      Arrays.fill(gen, 0L);
+      Arrays.fill(kill, 0L);
+    }
+
+    boolean isIdentity() {
+      for (int k = 0; k < gen.length; k++) {
+        if ((gen[k] | kill[k]) != 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void check(int bit) {
+      if (bit < 0 || bit >= size) {
+        throw new IndexOutOfBoundsException("bit " + bit + " not in [0, " + size + ")");
+      }
+    }
+
+    /** Adds the given fact to the gen set. */
+    public void gen(int bit) {
+      check(bit);
+      gen[bit >>> 6] |= 1L << bit;
+    }
+
+    /** Adds the given fact to the kill set. */
+    public void kill(int bit) {
+      check(bit);
+      kill[bit >>> 6] |= 1L << bit;
+    }
+
+    /** Adds the facts from <code>fromIndex</code> (inclusive) to <code>toIndex</code> (exclusive) to the kill set. */
+    public void killRange(int fromIndex, int toIndex) {
+      for (int bit = fromIndex; bit < toIndex; bit++) {
+        kill(bit);
+      }
+    }
+  }
+}
@@ -23,6 +23,9 @@ package soot.toolkits.scalar;
  * #L%
  */
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import soot.Local;
 import soot.Unit;
 import soot.Value;
@@ -35,51 +38,76 @@ import soot.toolkits.graph.UnitGraph;
  * @author Ganesh Sittampalam
  * @author Eric Bodden
  */
-public class InitAnalysis extends ForwardFlowAnalysis<Unit, FlowSet<Local>> {
-  FlowSet<Local> allLocals;
+public class InitAnalysis extends BitVectorFlowAnalysis<Unit> {
+  private final Local[] locals;
+  private final Map<Local, Integer> indexOf;
 
   public InitAnalysis(UnitGraph g) {
-    super(g);
-    allLocals = new ArraySparseSet<Local>();
-    for (Local loc : g.getBody().getLocals()) {
-      allLocals.add(loc);
-    }
-
-    doAnalysis();
+    this(g, numberLocals(g));
   }
 
-  @Override
-  protected FlowSet<Local> entryInitialFlow() {
-    return new ArraySparseSet<Local>();
+  private InitAnalysis(UnitGraph g, Map<Local, Integer> indexOf) {
+    super(g, indexOf.size(), true, true);
+    this.indexOf = indexOf;
+    this.locals = indexOf.keySet().toArray(new Local[indexOf.size()]);
+
+    doAnalysis();
   }
 
-  @Override
-  protected FlowSet<Local> newInitialFlow() {
-    FlowSet<Local> ret = new ArraySparseSet<Local>();
-    allLocals.copy(ret);
-    return ret;
+  private static Map<Local, Integer> numberLocals(UnitGraph g) {
+    Map<Local, Integer> indexOf = new LinkedHashMap<Local, Integer>();
+    for (Local loc : g.getBody().getLocals()) {
+      indexOf.putIfAbsent(loc, indexOf.size());
+    }
+    for (Unit u : g) {
+      for (ValueBox defBox : u.getDefBoxes()) {
+        Value lhs = defBox.getValue();
+        if (lhs instanceof Local) {
+          indexOf.putIfAbsent((Local) lhs, indexOf.size());
+        }
+      }
+    }
+    return indexOf;
   }
 
   @Override
-  protected void flowThrough(FlowSet<Local> in, Unit unit, FlowSet<Local> out) {
-    in.copy(out);
-
+  protected void computeTransfer(Unit unit, Transfer transfer) {
     for (ValueBox defBox : unit.getDefBoxes()) {
       Value lhs = defBox.getValue();
       if (lhs instanceof Local) {
-        out.add((Local) lhs);
+        transfer.gen(indexOf.get(lhs));
       }
     }
   }
 
-  @Override
-  protected void merge(FlowSet<Local> in1, FlowSet<Local> in2, FlowSet<Local> out) {
-    in1.intersection(in2, out);
+  /**
+   * Returns true if the given local is definitely initialised before the given unit.
+   */
+  public boolean isInitializedBefore(Unit s, Local l) {
+    Integer i = indexOf.get(l);
+    return i != null && isSetBefore(s, i);
   }
 
-  @Override
-  protected void copy(FlowSet<Local> source, FlowSet<Local> dest) {
-    source.copy(dest);
+  /**
+   * Returns a new set of the locals that are definitely initialised before the given unit.
+   */
+  public FlowSet<Local> getFlowBefore(Unit s) {
+    return toFlowSet(true, s);
+  }
+
+  /**
+   * Returns a new set of the locals that are definitely initialised after the given unit.
+   */
+  public FlowSet<Local> getFlowAfter(Unit s) {
+    return toFlowSet(false, s);
   }
 
+  private FlowSet<Local> toFlowSet(boolean before, Unit s) {
+    FlowSet<Local> result = new ArraySparseSet<Local>();
+    for (int i = before ? nextSetBitBefore(s, 0) : nextSetBitAfter(s, 0); i >= 0;
+        i = before ? nextSetBitBefore(s, i + 1) : nextSetBitAfter(s, i + 1)) {
+      result.add(locals[i]);
+    }
+    return result;
+  }
 }
@@ -0,0 +1,316 @@
+package soot.toolkits.scalar;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import soot.AbstractValueBox;
+import soot.Body;
+import soot.Local;
+import soot.Unit;
+import soot.ValueBox;
+import soot.ValueBoxObserver;
+import soot.jimple.JimpleBody;
+import soot.toolkits.graph.ExceptionalUnitGraph;
+import soot.toolkits.scalar.SimpleLocalDefs.FlowAnalysisMode;
+import soot.util.ChainObserver;
+
+/**
+ * An index of the definitions and uses of every local of a body that is kept up to date while the body is transformed.
+ * Units added to or removed from the body's {@link soot.PatchingChain} and values put into the boxes of its units through
+ * {@link ValueBox#setValue(soot.Value)} only update the entries of the locals they concern.
+ *
+ * <p>
+ * As {@link LocalDefs} and {@link LocalUses}, the index gives the same answers as a {@link SimpleLocalDefs} on an
+ * {@link soot.toolkits.graph.ExceptionalUnitGraph} of the body together with a {@link SimpleLocalUses}. Locals with a single
+ * definition are answered directly from the index. For locals with several definitions, a flow analysis of the body is run
+ * on demand; it is kept until a unit is added or removed, the locals defined by a unit change or
+ * {@link #invalidateFlowAnalysis()} is called. {@link soot.Transform} calls the latter before each body transformer, since
+ * changes to branch targets or to the exceptions a unit may throw alter the flow without being observed.
+ * </p>
+ *
+ * <p>
+ * Changes made through {@link soot.PatchingChain#getNonPatchingChain()} or inside values that are not reachable from a box
+ * of a unit are not observed. Call {@link #rebuild()} after such changes.
+ * </p>
+ *
+ * @see JimpleBody#enableDefUseIndex()
+ */
+public class LocalDefUseIndex implements LocalDefs, LocalUses {
+
+  private final Body body;
+  private final Map<Unit, Entry> entries;
+  private final Map<Local, List<Unit>> defs = new HashMap<Local, List<Unit>>();
+  private final Map<Local, List<UnitValueBoxPair>> uses = new HashMap<Local, List<UnitValueBoxPair>>();
+  private LocalDefs flowDefs;
+
+  private final ChainObserver<Unit> chainObserver = new ChainObserver<Unit>() {
+    @Override
+    public void added(Unit u) {
+      if (!entries.containsKey(u)) {
+        index(u);
+      }
+      flowDefs = null;
+    }
+
+    @Override
+    public void removed(Unit u) {
+      Entry e = entries.remove(u);
+      if (e != null) {
+        e.unindex();
+      }
+      flowDefs = null;
+    }
+  };
+
+  /**
+   * Builds the index of the given body and starts observing it. Use {@link #dispose()} to stop observing the body.
+   */
+  public LocalDefUseIndex(Body body) {
+    this.body = body;
+    this.entries = new HashMap<Unit, Entry>(body.getUnits().size() * 2 + 1, 0.7f);
+    build();
+  }
+
+  /** Returns the index maintained for the given body, or null if the body is not indexed. */
+  public static LocalDefUseIndex of(Body body) {
+    return body instanceof JimpleBody ? ((JimpleBody) body).getDefUseIndex() : null;
+  }
+
+  /** Returns the body of this index. */
+  public Body getBody() {
+    return body;
+  }
+
+  /** Rebuilds the index from scratch. */
+  public void rebuild() {
+    dispose();
+    build();
+  }
+
+  /** Stops observing the body and clears the index. */
+  public void dispose() {
+    if (body.getUnits().getObserver() == chainObserver) {
+      body.getUnits().setObserver(null);
+    }
+    for (Entry e : entries.values()) {
+      e.detach();
+    }
+    entries.clear();
+    defs.clear();
+    uses.clear();
+    flowDefs = null;
+  }
+
+  private void build() {
+    for (Unit u : body.getUnits()) {
+      index(u);
+    }
+    body.getUnits().setObserver(chainObserver);
+  }
+
+  /** Returns all units that define the given local. */
+  @Override
+  public List<Unit> getDefsOf(Local l) {
+    List<Unit> lst = defs.get(l);
+    if (lst == null) {
+      return Collections.emptyList();
+    }
+    return lst.size() == 1 ? Collections.singletonList(lst.get(0)) : new ArrayList<Unit>(lst);
+  }
+
+  /** Returns the number of units that define the given local. */
+  public int getDefCount(Local l) {
+    List<Unit> lst = defs.get(l);
+    return lst == null ? 0 : lst.size();
+  }
+
+  @Override
+  public List<Unit> getDefsOfAt(Local l, Unit s) {
+    List<Unit> lst = defs.get(l);
+    if (lst == null) {
+      return Collections.emptyList();
+    }
+    if (lst.size() == 1) {
+      return Collections.singletonList(lst.get(0));
+    }
+    return flowDefs().getDefsOfAt(l, s);
+  }
+
+  /** Returns all uses of the given local. */
+  public List<UnitValueBoxPair> getUsesOf(Local l) {
+    List<UnitValueBoxPair> lst = uses.get(l);
+    return lst == null ? Collections.emptyList() : new ArrayList<UnitValueBoxPair>(lst);
+  }
+
+  @Override
+  public List<UnitValueBoxPair> getUsesOf(Unit s) {
+    Entry e = entries.get(s);
+    if (e == null || e.defined.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<UnitValueBoxPair> result = new ArrayList<UnitValueBoxPair>();
+    for (Local l : e.defined) {
+      List<UnitValueBoxPair> lst = uses.get(l);
+      if (lst == null) {
+        continue;
+      }
+      if (defs.get(l).size() == 1) {
+        result.addAll(lst);
+      } else {
+        for (UnitValueBoxPair pair : lst) {
+          if (flowDefs().getDefsOfAt(l, pair.unit).contains(s)) {
+            result.add(pair);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /** Discards the flow analysis used for locals with several definitions, so that it is rebuilt when needed. */
+  public void invalidateFlowAnalysis() {
+    flowDefs = null;
+  }
+
+  private LocalDefs flowDefs() {
+    LocalDefs fd = flowDefs;
+    if (fd == null) {
+      flowDefs = fd = new SimpleLocalDefs(new ExceptionalUnitGraph(body), FlowAnalysisMode.Automatic);
+    }
+    return fd;
+  }
+
+  private void index(Unit u) {
+    Entry e = new Entry(u);
+    entries.put(u, e);
+    e.index();
+  }
+
+  private static <K, V> void add(Map<K, List<V>> map, K key, V value) {
+    List<V> lst = map.get(key);
+    if (lst == null) {
+      map.put(key, lst = new ArrayList<V>(2));
+    }
+    lst.add(value);
+  }
+
+  /** The locals a unit defines and uses, as they were when the unit was last indexed. */
+  private final class Entry implements ValueBoxObserver {
+    final Unit unit;
+    List<Local> defined = Collections.emptyList();
+    List<UnitValueBoxPair> used = Collections.emptyList();
+    List<Local> usedLocals = Collections.emptyList();
+    List<ValueBox> observed = Collections.emptyList();
+
+    Entry(Unit unit) {
+      this.unit = unit;
+    }
+
+    void index() {
+      for (ValueBox vb : unit.getDefBoxes()) {
+        if (vb.getValue() instanceof Local) {
+          Local l = (Local) vb.getValue();
+          if (defined.isEmpty()) {
+            defined = new ArrayList<Local>(1);
+          }
+          defined.add(l);
+          add(defs, l, unit);
+        }
+      }
+      for (ValueBox vb : unit.getUseBoxes()) {
+        if (vb.getValue() instanceof Local) {
+          Local l = (Local) vb.getValue();
+          UnitValueBoxPair pair = new UnitValueBoxPair(unit, vb);
+          if (used.isEmpty()) {
+            used = new ArrayList<UnitValueBoxPair>();
+            usedLocals = new ArrayList<Local>();
+          }
+          used.add(pair);
+          usedLocals.add(l);
+          add(uses, l, pair);
+        }
+      }
+      observed = unit.getUseAndDefBoxes();
+      for (ValueBox vb : observed) {
+        if (vb instanceof AbstractValueBox) {
+          ((AbstractValueBox) vb).setObserver(this);
+        }
+      }
+    }
+
+    void unindex() {
+      for (Local l : defined) {
+        List<Unit> lst = defs.get(l);
+        lst.remove(unit);
+        if (lst.isEmpty()) {
+          defs.remove(l);
+        }
+      }
+      for (int j = 0; j < used.size(); j++) {
+        // the box may already hold a different value
+        final UnitValueBoxPair pair = used.get(j);
+        final Local l = usedLocals.get(j);
+        List<UnitValueBoxPair> lst = uses.get(l);
+        for (int i = lst.size() - 1; i >= 0; i--) {
+          if (lst.get(i) == pair) {
+            lst.remove(i);
+            break;
+          }
+        }
+        if (lst.isEmpty()) {
+          uses.remove(l);
+        }
+      }
+      defined = Collections.emptyList();
+      used = Collections.emptyList();
+      usedLocals = Collections.emptyList();
+      detach();
+    }
+
+    void detach() {
+      for (ValueBox vb : observed) {
+        if (vb instanceof AbstractValueBox && ((AbstractValueBox) vb).getObserver() == this) {
+          ((AbstractValueBox) vb).setObserver(null);
+        }
+      }
+      observed = Collections.emptyList();
+    }
+
+    @Override
+    public void valueChanged(ValueBox box) {
+      if (entries.get(unit) != this) {
+        return;
+      }
+      final List<Local> oldDefined = defined;
+      unindex();
+      index();
+      if (!oldDefined.equals(defined)) {
+        flowDefs = null;
+      }
+    }
+  }
+}
@@ -92,6 +92,12 @@ public interface LocalDefs {
      * @return a new LocalDefs instance
      */
     public static LocalDefs newLocalDefs(Body body, boolean expectUndefined) {
+      if (!expectUndefined) {
+        LocalDefUseIndex index = LocalDefUseIndex.of(body);
+        if (index != null) {
+          return index;
+        }
+      }
       return newLocalDefs(new ExceptionalUnitGraph(body), expectUndefined);
     }
 
@@ -50,6 +50,9 @@ public interface LocalUses {
     }
 
     public static LocalUses newLocalUses(Body body, LocalDefs localDefs) {
+      if (localDefs instanceof LocalDefUseIndex && ((LocalDefUseIndex) localDefs).getBody() == body) {
+        return (LocalDefUseIndex) localDefs;
+      }
       return new SimpleLocalUses(body, localDefs);
     }
 
@@ -22,7 +22,10 @@ package soot.toolkits.scalar;
  * #L%
  */
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,7 +45,7 @@ import soot.toolkits.graph.UnitGraph;
 public class SimpleLiveLocals implements LiveLocals {
   private static final Logger logger = LoggerFactory.getLogger(SimpleLiveLocals.class);
 
-  private final FlowAnalysis<Unit, FlowSet<Local>> analysis;
+  private final Analysis analysis;
 
   /**
    * Computes the analysis given a UnitGraph computed from a method body. It is recommended that a ExceptionalUnitGraph (or
@@ -77,35 +80,55 @@ public class SimpleLiveLocals implements LiveLocals {
 
   @Override
   public List<Local> getLiveLocalsAfter(Unit s) {
-    // ArraySparseSet returns a unbacked list of elements!
-    return analysis.getFlowAfter(s).toList();
+    return analysis.toList(false, s);
   }
 
   @Override
   public List<Local> getLiveLocalsBefore(Unit s) {
-    // ArraySparseSet returns a unbacked list of elements!
-    return analysis.getFlowBefore(s).toList();
+    return analysis.toList(true, s);
   }
 
-  private static class Analysis extends BackwardFlowAnalysis<Unit, FlowSet<Local>> {
+  /**
+   * Liveness over the locals of the body, numbered in the order of the local chain. Locals that are only referenced by the
+   * units are numbered after those.
+   */
+  private static class Analysis extends BitVectorFlowAnalysis<Unit> {
+    private final Local[] locals;
+    private final Map<Local, Integer> indexOf;
+
     Analysis(UnitGraph g) {
-      super(g);
+      this(g, numberLocals(g));
     }
 
-    @Override
-    protected FlowSet<Local> newInitialFlow() {
-      return new ArraySparseSet<Local>();
+    private Analysis(UnitGraph g, Map<Local, Integer> indexOf) {
+      super(g, indexOf.size(), false, false);
+      this.indexOf = indexOf;
+      this.locals = indexOf.keySet().toArray(new Local[indexOf.size()]);
     }
 
-    @Override
-    protected void flowThrough(FlowSet<Local> in, Unit unit, FlowSet<Local> out) {
-      in.copy(out);
+    private static Map<Local, Integer> numberLocals(UnitGraph g) {
+      Map<Local, Integer> indexOf = new LinkedHashMap<Local, Integer>();
+      for (Local l : g.getBody().getLocals()) {
+        indexOf.putIfAbsent(l, indexOf.size());
+      }
+      for (Unit u : g) {
+        for (ValueBox box : u.getUseAndDefBoxes()) {
+          Value v = box.getValue();
+          if (v instanceof Local) {
+            indexOf.putIfAbsent((Local) v, indexOf.size());
+          }
+        }
+      }
+      return indexOf;
+    }
 
+    @Override
+    protected void computeTransfer(Unit unit, Transfer transfer) {
       // Perform kill
       for (ValueBox box : unit.getDefBoxes()) {
         Value v = box.getValue();
         if (v instanceof Local) {
-          out.remove((Local) v);
+          transfer.kill(indexOf.get(v));
         }
       }
 
@@ -113,24 +136,18 @@ public class SimpleLiveLocals implements LiveLocals {
       for (ValueBox box : unit.getUseBoxes()) {
         Value v = box.getValue();
         if (v instanceof Local) {
-          out.add((Local) v);
+          transfer.gen(indexOf.get(v));
         }
       }
     }
 
-    @Override
-    protected void mergeInto(Unit succNode, FlowSet<Local> inout, FlowSet<Local> in) {
-      inout.union(in);
-    }
-
-    @Override
-    protected void merge(FlowSet<Local> in1, FlowSet<Local> in2, FlowSet<Local> out) {
-      in1.union(in2, out);
-    }
-
-    @Override
-    protected void copy(FlowSet<Local> source, FlowSet<Local> dest) {
-      source.copy(dest);
+    List<Local> toList(boolean before, Unit s) {
+      List<Local> result = new ArrayList<Local>();
+      for (int i = before ? nextSetBitBefore(s, 0) : nextSetBitAfter(s, 0); i >= 0;
+          i = before ? nextSetBitBefore(s, i + 1) : nextSetBitAfter(s, i + 1)) {
+        result.add(locals[i]);
+      }
+      return result;
     }
   }
 }
@@ -24,7 +24,6 @@ package soot.toolkits.scalar;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -43,6 +42,7 @@ import soot.toolkits.graph.DirectedGraph;
 import soot.toolkits.graph.ExceptionalGraph;
 import soot.toolkits.graph.ExceptionalGraph.ExceptionDest;
 import soot.toolkits.graph.UnitGraph;
+import soot.toolkits.scalar.FlowAnalysis.Flow;
 
 /**
  * Analysis that provides an implementation of the LocalDefs interface.
@@ -79,56 +79,7 @@ public class SimpleLocalDefs implements LocalDefs {
     }
   } // end inner class StaticSingleAssignment
 
-  private static class FlowAssignment extends ForwardFlowAnalysis<Unit, FlowAssignment.FlowBitSet> implements LocalDefs {
-
-    class FlowBitSet extends BitSet {
-      private static final long serialVersionUID = -8348696077189400377L;
-
-      FlowBitSet() {
-        super(universe.length);
-      }
-
-      List<Unit> asList(int fromIndex, int toIndex) {
-        if (fromIndex < 0 || toIndex < fromIndex || universe.length < toIndex) {
-          throw new IndexOutOfBoundsException();
-        }
-        if (fromIndex == toIndex) {
-          return Collections.emptyList();
-        }
-
-        if (fromIndex == toIndex - 1) {
-          if (this.get(fromIndex)) {
-            return Collections.singletonList(universe[fromIndex]);
-          } else {
-            return Collections.emptyList();
-          }
-        }
-
-        int i = this.nextSetBit(fromIndex);
-        if (i < 0 || i >= toIndex) {
-          return Collections.emptyList();
-        }
-        if (i == toIndex - 1) {
-          return Collections.singletonList(universe[i]);
-        }
-
-        List<Unit> elements = new ArrayList<Unit>(toIndex - i);
-        for (;;) {
-          int endOfRun = Math.min(toIndex, this.nextClearBit(i + 1));
-          do {
-            elements.add(universe[i++]);
-          } while (i < endOfRun);
-          if (i >= toIndex) {
-            break;
-          }
-          i = this.nextSetBit(i + 1);
-          if (i < 0 || i >= toIndex) {
-            break;
-          }
-        }
-        return elements;
-      }
-    }
+  private static class FlowAssignment extends BitVectorFlowAnalysis<Unit> implements LocalDefs {
 
     final Map<Local, Integer> locals;
     final List<Unit>[] unitList;
@@ -138,7 +89,7 @@ public class SimpleLocalDefs implements LocalDefs {
     private Map<Unit, Integer> indexOfUnit;
 
     FlowAssignment(DirectedGraph<Unit> graph, Local[] locals, List<Unit>[] unitList, int units, boolean omitSSA) {
-      super(graph);
+      super(graph, units, true, false);
       this.unitList = unitList;
       this.universe = new Unit[units];
       this.indexOfUnit = new HashMap<Unit, Integer>(units);
@@ -170,22 +121,6 @@ public class SimpleLocalDefs implements LocalDefs {
       this.indexOfUnit = null;// release memory
     }
 
-    @Override
-    protected boolean omissible(Unit u) {
-      final List<ValueBox> defs = u.getDefBoxes();
-      if (!defs.isEmpty()) { // avoid temporary creation of iterators (more like micro-tuning)
-        for (ValueBox vb : defs) {
-          Value v = vb.getValue();
-          if (v instanceof Local) {
-            Local l = (Local) v;
-            int lno = l.getNumber();
-            return (localRange[lno] == localRange[lno + 1]);
-          }
-        }
-      }
-      return true;
-    }
-
     @Override
     protected Flow getFlow(Unit from, Unit to) {
       // QND
@@ -205,9 +140,7 @@ public class SimpleLocalDefs implements LocalDefs {
     }
 
     @Override
-    protected void flowThrough(FlowBitSet in, Unit unit, FlowBitSet out) {
-      copy(in, out);
-
+    protected void computeTransfer(Unit unit, Transfer transfer) {
       // reassign all definitions
       for (ValueBox vb : unit.getDefBoxes()) {
         Value v = vb.getValue();
@@ -225,36 +158,31 @@ public class SimpleLocalDefs implements LocalDefs {
 
           if (to - from == 1) {
             // special case: this local has only one def point
-            out.set(from);
+            transfer.gen(from);
           } else {
-            out.clear(from, to);
-            out.set(indexOfUnit.get(unit));
+            transfer.killRange(from, to);
+            transfer.gen(indexOfUnit.get(unit));
           }
         }
       }
     }
 
-    @Override
-    protected void copy(FlowBitSet source, FlowBitSet dest) {
-      if (dest != source) {
-        dest.clear();
-        dest.or(source);
+    private List<Unit> asList(Unit s, int fromIndex, int toIndex) {
+      int i = nextSetBitBefore(s, fromIndex);
+      if (i < 0 || i >= toIndex) {
+        return Collections.emptyList();
+      }
+      int j = nextSetBitBefore(s, i + 1);
+      if (j < 0 || j >= toIndex) {
+        return Collections.singletonList(universe[i]);
       }
-    }
-
-    @Override
-    protected FlowBitSet newInitialFlow() {
-      return new FlowBitSet();
-    }
-
-    @Override
-    protected void mergeInto(Unit succNode, FlowBitSet inout, FlowBitSet in) {
-      inout.or(in);
-    }
 
-    @Override
-    protected void merge(FlowBitSet in1, FlowBitSet in2, FlowBitSet out) {
-      throw new UnsupportedOperationException("should never be called");
+      List<Unit> elements = new ArrayList<Unit>(toIndex - i);
+      elements.add(universe[i]);
+      for (; j >= 0 && j < toIndex; j = nextSetBitBefore(s, j + 1)) {
+        elements.add(universe[j]);
+      }
+      return elements;
     }
 
     @Override
@@ -273,7 +201,7 @@ public class SimpleLocalDefs implements LocalDefs {
         // both singletonList is immutable
         return unitList[lno];
       } else {
-        return getFlowBefore(s).asList(from, to);
+        return asList(s, from, to);
       }
     }
 
@@ -72,11 +72,11 @@ public class ArrayNumberer<E extends Numberable> implements IterableNumberer<E>
     if (chosenNumber == -1) {
       chosenNumber = ++lastNumber;
     }
-    if (lastNumber >= numberToObj.length) {
+    if (chosenNumber >= numberToObj.length) {
       resize(numberToObj.length * 2);
     }
-    numberToObj[lastNumber] = o;
-    o.setNumber(lastNumber);
+    numberToObj[chosenNumber] = o;
+    o.setNumber(chosenNumber);
   }
 
   @Override
@@ -92,7 +92,7 @@ public class ArrayNumberer<E extends Numberable> implements IterableNumberer<E>
   }
 
   @Override
-  public E get(long number) {
+  public synchronized E get(long number) {
     if (number == 0) {
       return null;
     }
@@ -134,7 +134,7 @@ public class ArrayNumberer<E extends Numberable> implements IterableNumberer<E>
   }
 
   @Override
-  public boolean remove(E o) {
+  public synchronized boolean remove(E o) {
     if (o == null) {
       return false;
     }
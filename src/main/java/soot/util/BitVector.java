@@ -138,6 +138,13 @@ public class BitVector {
     return (bits[indexOf(bit)] & mask(bit)) != 0L;
   }
 
+  /**
+   * Returns the 64 bits starting at bit <code>64 * index</code>; bits beyond the end of the vector are 0.
+   */
+  public long getWord(int index) {
+    return index < bits.length ? bits[index] : 0L;
+  }
+
   @Override
   public int hashCode() {
     long ret = 0;
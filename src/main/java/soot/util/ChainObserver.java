@@ -0,0 +1,36 @@
+package soot.util;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+/**
+ * Receives a notification for every element that is added to or removed from an observed chain.
+ *
+ * @see soot.PatchingChain#setObserver(ChainObserver)
+ */
+public interface ChainObserver<E> {
+
+  /** Called after <code>e</code> has been added to the chain. */
+  public void added(E e);
+
+  /** Called after <code>e</code> has been removed from the chain. */
+  public void removed(E e);
+}
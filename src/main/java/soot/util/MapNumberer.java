@@ -32,7 +32,7 @@ public class MapNumberer<T> implements Numberer<T> {
   int nextIndex = 1;
 
   @Override
-  public void add(T o) {
+  public synchronized void add(T o) {
     if (!map.containsKey(o)) {
       map.put(o, new Integer(nextIndex));
       al.add(o);
@@ -41,12 +41,12 @@ public class MapNumberer<T> implements Numberer<T> {
   }
 
   @Override
-  public T get(long number) {
+  public synchronized T get(long number) {
     return al.get((int) number);
   }
 
   @Override
-  public long get(Object o) {
+  public synchronized long get(Object o) {
     if (o == null) {
       return 0;
     }
@@ -58,7 +58,7 @@ public class MapNumberer<T> implements Numberer<T> {
   }
 
   @Override
-  public int size() {
+  public synchronized int size() {
     return nextIndex - 1;
     /* subtract 1 for null */ }
 
@@ -66,12 +66,12 @@ public class MapNumberer<T> implements Numberer<T> {
     al.add(null);
   }
 
-  public boolean contains(Object o) {
+  public synchronized boolean contains(Object o) {
     return map.containsKey(o);
   }
 
   @Override
-  public boolean remove(T o) {
+  public synchronized boolean remove(T o) {
     Integer i = map.remove(o);
     if (i == null) {
       return false;
@@ -24,8 +24,8 @@ package soot.util;
 
 import heros.ThreadSafe;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A class that numbers strings, so they can be placed in bitsets.
@@ -35,14 +35,16 @@ import java.util.Map;
 
 @ThreadSafe
 public class StringNumberer extends ArrayNumberer<NumberedString> {
-  private Map<String, NumberedString> stringToNumbered = new HashMap<String, NumberedString>(1024);
+  private Map<String, NumberedString> stringToNumbered = new ConcurrentHashMap<String, NumberedString>(1024);
 
   public synchronized NumberedString findOrAdd(String s) {
     NumberedString ret = stringToNumbered.get(s);
     if (ret == null) {
       ret = new NumberedString(s);
-      stringToNumbered.put(s, ret);
+      // Number the string before publishing it, so that concurrent callers
+      // of find() never observe an unnumbered string.
       add(ret);
+      stringToNumbered.put(s, ret);
     }
     return ret;
   }
@@ -57,7 +57,7 @@ public class WeakMapNumberer<T extends Numberable> implements IterableNumberer<T
   }
 
   @Override
-  public boolean remove(T o) {
+  public synchronized boolean remove(T o) {
     if (o == null) {
       return false;
     }
@@ -75,7 +75,7 @@ public class WeakMapNumberer<T extends Numberable> implements IterableNumberer<T
   }
 
   @Override
-  public long get(T o) {
+  public synchronized long get(T o) {
     if (o == null) {
       return 0;
     }
@@ -87,7 +87,7 @@ public class WeakMapNumberer<T extends Numberable> implements IterableNumberer<T
   }
 
   @Override
-  public T get(long number) {
+  public synchronized T get(long number) {
     if (number == 0) {
       return null;
     }
@@ -99,7 +99,7 @@ public class WeakMapNumberer<T extends Numberable> implements IterableNumberer<T
     return nextIndex - 1;
   }
 
-  public boolean contains(T o) {
+  public synchronized boolean contains(T o) {
     return map.containsKey(o);
   }
 
@@ -31,7 +31,6 @@ import soot.Value;
 import soot.ValueBox;
 import soot.toolkits.exceptions.ThrowAnalysisFactory;
 import soot.toolkits.graph.ExceptionalUnitGraph;
-import soot.toolkits.scalar.FlowSet;
 import soot.toolkits.scalar.InitAnalysis;
 
 public enum CheckInitValidator implements BodyValidator {
@@ -47,12 +46,11 @@ public enum CheckInitValidator implements BodyValidator {
 
     InitAnalysis analysis = new InitAnalysis(g);
     for (Unit s : body.getUnits()) {
-      FlowSet<Local> init = analysis.getFlowBefore(s);
       for (ValueBox vBox : s.getUseBoxes()) {
         Value v = vBox.getValue();
         if (v instanceof Local) {
           Local l = (Local) v;
-          if (!init.contains(l)) {
+          if (!analysis.isInitializedBefore(s, l)) {
             throw new ValidationException(s,
                 "Local variable $1 is not definitively defined at this point".replace("$1", l.getName()),
                 "Warning: Local variable " + l + " not definitely defined at " + s + " in " + body.getMethod(), false);
@@ -42,7 +42,7 @@ public class Singletons {
             <xsl:variable name="undottedClass" select="translate(.,'.','_')"/>
             <xsl:variable name="instanceName">instance_<xsl:value-of select="$undottedClass"/></xsl:variable>
 
-    private <xsl:value-of select="$class"/><xsl:text> </xsl:text><xsl:value-of select="$instanceName"/>;
+    private volatile <xsl:value-of select="$class"/><xsl:text> </xsl:text><xsl:value-of select="$instanceName"/>;
     public <xsl:value-of select="$class"/><xsl:text> </xsl:text><xsl:value-of select="$undottedClass"/>() {
         if (<xsl:value-of select="$instanceName"/> == null) {
 	       	synchronized (this) {
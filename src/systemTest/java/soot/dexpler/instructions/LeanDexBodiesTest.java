@@ -0,0 +1,102 @@
+package soot.dexpler.instructions;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2020 Raja Vallee-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import soot.ModulePathSourceLocator;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.options.Options;
+import soot.testing.framework.AbstractTestingFramework;
+
+/**
+ * Checks that the lean mode for dex bodies produces the same Jimple as the regular mode.
+ */
+public class LeanDexBodiesTest extends AbstractTestingFramework {
+
+  private static final String TARGET_CLASS = "soot.dexpler.instructions.DexBytecodeTarget";
+
+  @Override
+  protected void setupSoot() {
+    super.setupSoot();
+    Options.v().set_src_prec(Options.src_prec_apk);
+    // to get the basic classes; java.lang.Object, java.lang.Throwable, ... we add the rt.jar to the classpath
+    String rtJar = "";
+    if (Scene.isJavaGEQ9(System.getProperty("java.version"))) {
+      rtJar = ModulePathSourceLocator.DUMMY_CLASSPATH_JDK9_FS;
+    } else {
+      rtJar = System.getProperty("java.home") + File.separator + "lib" + File.separator + "rt.jar";
+    }
+
+    Options.v().set_process_dir(Arrays.asList(targetDexPath(), rtJar));
+    Options.v().set_force_android_jar(androidJarPath());
+    Options.v().set_android_api_version(26);
+  }
+
+  @Override
+  protected void runSoot() {
+    // we only jimplify the methods of the target class
+  }
+
+  private String androidJarPath() {
+    // keep the version in sync with the pom, see DexByteCodeInstrutionsTest
+    return System.getProperty("user.home") + "/.m2/repository/" + "com/google/android/android/4.1.1.4/android-4.1.1.4.jar";
+  }
+
+  private String targetDexPath() {
+    final URL targetDex = getClass().getResource("dexBytecodeTarget.dex");
+    try {
+      return targetDex.toURI().getPath();
+    } catch (URISyntaxException e) {
+      throw new RuntimeException("Exception loading test resources", e);
+    }
+  }
+
+  @Test
+  public void leanBodiesEqualRegularBodies() {
+    prepareTarget(methodSigFromComponents(TARGET_CLASS, "void invokeCustomTarget()"), TARGET_CLASS);
+
+    final SootClass target = Scene.v().getSootClass(TARGET_CLASS);
+    int compared = 0;
+    for (SootMethod m : target.getMethods()) {
+      if (!m.isConcrete()) {
+        continue;
+      }
+      Options.v().set_lean_dex_bodies(false);
+      final String regular = m.getSource().getBody(m, "jb").toString();
+      Options.v().set_lean_dex_bodies(true);
+      final String lean = m.getSource().getBody(m, "jb").toString();
+      Assert.assertEquals(m.getSignature(), regular, lean);
+      compared++;
+    }
+    Assert.assertTrue(compared > 0);
+  }
+}
@@ -0,0 +1,102 @@
+package soot;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArchiveIndexCacheTest {
+
+  /** Counts how often an archive had to be scanned because its index could not be used. */
+  private static class CountingCache extends ArchiveIndexCache {
+    int builds;
+
+    CountingCache(File indexDir) {
+      super(indexDir);
+    }
+
+    @Override
+    protected List<String> buildIndex(File archive) throws IOException {
+      builds++;
+      return super.buildIndex(archive);
+    }
+  }
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static void writeJar(File jar, String... entries) throws IOException {
+    try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+      for (String e : entries) {
+        out.putNextEntry(new ZipEntry(e));
+        out.write(e.getBytes());
+        out.closeEntry();
+      }
+    }
+  }
+
+  @Test
+  public void testIndexIsWrittenAndReused() throws IOException {
+    File jar = folder.newFile("a.jar");
+    File indexDir = folder.newFolder("index");
+    writeJar(jar, "a/A.class", "a/B.class", "META-INF/MANIFEST.MF");
+
+    CountingCache cache = new CountingCache(indexDir);
+    List<String> entries = cache.getEntries(jar.getPath());
+    assertEquals(Arrays.asList("a/A.class", "a/B.class", "META-INF/MANIFEST.MF"), entries);
+    assertEquals(1, indexDir.listFiles().length);
+    assertEquals(1, cache.builds);
+
+    // A fresh instance reads the same entries back from disk without scanning the archive
+    CountingCache fresh = new CountingCache(indexDir);
+    assertEquals(entries, fresh.getEntries(jar.getPath()));
+    assertEquals(1, indexDir.listFiles().length);
+    assertEquals(0, fresh.builds);
+  }
+
+  @Test
+  public void testChangedArchiveIsRescanned() throws IOException {
+    File jar = folder.newFile("b.jar");
+    File indexDir = folder.newFolder("index");
+    writeJar(jar, "b/A.class");
+    assertEquals(Arrays.asList("b/A.class"), new ArchiveIndexCache(indexDir).getEntries(jar.getPath()));
+
+    writeJar(jar, "b/A.class", "b/C.class");
+    jar.setLastModified(jar.lastModified() + 2000);
+    CountingCache cache = new CountingCache(indexDir);
+    assertEquals(Arrays.asList("b/A.class", "b/C.class"), cache.getEntries(jar.getPath()));
+    assertEquals(1, indexDir.listFiles().length);
+    assertEquals(1, cache.builds);
+  }
+}
@@ -176,6 +176,35 @@ public class FastHierarchyTest {
     assertThat(fh.getAllImplementersOfInterface(interfaceD), containsInAnyOrder(scA, scB, scC1, scD));
   }
 
+  @Test
+  public void testDispatchCache() {
+    G.reset();
+
+    Scene s = Scene.v();
+    s.loadNecessaryClasses();
+
+    SootClass scA = generacteSceneClass("ClassA", 0);
+    SootClass scB = generacteSceneClass("ClassB", 0);
+    scB.setSuperclass(scA);
+    SootMethod mA = new SootMethod("m", Collections.emptyList(), VoidType.v());
+    scA.addMethod(mA);
+    SootMethod mB = new SootMethod("m", Collections.emptyList(), VoidType.v());
+    scB.addMethod(mB);
+    SootMethodRef ref = mA.makeRef();
+
+    FastHierarchy fh = s.getOrMakeFastHierarchy();
+    assertEquals(mB, fh.resolveConcreteDispatch(scB, ref));
+    long misses = fh.getDispatchCacheMisses();
+    assertEquals(mB, fh.resolveConcreteDispatch(scB, ref));
+    assertEquals(1, fh.getDispatchCacheHits());
+    assertEquals(misses, fh.getDispatchCacheMisses());
+
+    // Changing the hierarchy must invalidate the cached result
+    scB.removeMethod(mB);
+    assertEquals(mA, fh.resolveConcreteDispatch(scB, ref));
+    assertEquals(misses + 1, fh.getDispatchCacheMisses());
+  }
+
   private static class FastHierarchyForUnittest extends FastHierarchy {
 
     @Override
@@ -0,0 +1,91 @@
+package soot;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class PhaseMetricsTest {
+
+  @Test
+  public void testDisabledByDefault() {
+    G.reset();
+    PhaseMetrics metrics = PhaseMetrics.v();
+    assertNull(metrics.start("jb.ls"));
+    metrics.end(null, 1, 0);
+    assertTrue(metrics.getAllStats().isEmpty());
+  }
+
+  @Test
+  public void testTransformIsMeasured() throws Exception {
+    G.reset();
+    PhaseMetrics metrics = PhaseMetrics.v();
+    metrics.setEnabled(true);
+
+    Transform t = new Transform("wjtp.metrics", new SceneTransformer() {
+      @Override
+      protected void internalTransform(String phaseName, Map<String, String> options) {
+      }
+    });
+    PackManager.v().getPack("wjtp").add(t);
+    t.apply();
+    t.apply();
+
+    PhaseMetrics.PhaseStats stats = metrics.getStats("wjtp.metrics");
+    assertEquals(2, stats.getInvocations());
+    assertEquals(0, stats.getBodies());
+    assertTrue(stats.getWallNanos() >= 0);
+
+    StringWriter json = new StringWriter();
+    metrics.writeJson(json);
+    assertTrue(json.toString().contains("\"phase\": \"wjtp.metrics\", \"invocations\": 2"));
+
+    StringWriter prometheus = new StringWriter();
+    metrics.writePrometheus(prometheus);
+    assertTrue(prometheus.toString().contains("soot_phase_invocations_total{phase=\"wjtp.metrics\"} 2\n"));
+  }
+
+  @Test
+  public void testNestedExclusiveSamplesAreNotCountedTwice() throws Exception {
+    G.reset();
+    PhaseMetrics metrics = PhaseMetrics.v();
+    metrics.setEnabled(true);
+
+    PhaseMetrics.Sample outer = metrics.startExclusive("resolver.signatures");
+    PhaseMetrics.Sample inner = metrics.startExclusive("resolver.hierarchy");
+    Thread.sleep(50);
+    metrics.end(inner, 0, 1);
+    metrics.end(outer, 0, 1);
+
+    long nested = metrics.getStats("resolver.hierarchy").getWallNanos();
+    long self = metrics.getStats("resolver.signatures").getWallNanos();
+    assertTrue(nested >= 50_000_000L);
+    assertTrue(self >= 0 && self < nested);
+  }
+}
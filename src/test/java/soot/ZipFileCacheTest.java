@@ -0,0 +1,104 @@
+package soot;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ZipFileCacheTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static void writeJar(File jar, String entry, byte[] content) throws IOException {
+    try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+      out.putNextEntry(new ZipEntry(entry));
+      out.write(content);
+      out.closeEntry();
+    }
+  }
+
+  @Test
+  public void testArchiveIsShared() throws IOException {
+    File jar = folder.newFile("a.jar");
+    writeJar(jar, "a/A.class", new byte[] { 1, 2, 3 });
+
+    ZipFileCache cache = new ZipFileCache(1);
+    ZipFile first = cache.acquire(jar);
+    ZipFile second = cache.acquire(jar);
+    assertSame(first, second);
+    cache.release(first);
+    cache.release(second);
+
+    // Idle archives stay open up to the limit
+    assertSame(first, cache.acquire(jar));
+    cache.release(first);
+  }
+
+  @Test
+  public void testChangedArchiveIsReopened() throws IOException {
+    File jar = folder.newFile("b.jar");
+    writeJar(jar, "b/B.class", new byte[] { 1 });
+
+    ZipFileCache cache = new ZipFileCache(4);
+    ZipFile first = cache.acquire(jar);
+    cache.release(first);
+
+    writeJar(jar, "b/B.class", new byte[] { 1, 2 });
+    jar.setLastModified(jar.lastModified() + 2000);
+    ZipFile second = cache.acquire(jar);
+    assertNotSame(first, second);
+    cache.release(second);
+  }
+
+  @Test
+  public void testReadBytes() throws IOException {
+    File jar = folder.newFile("c.jar");
+    byte[] content = new byte[5000];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    writeJar(jar, "c/C.class", content);
+
+    FoundFile file = new FoundFile(jar.getPath(), "c/C.class");
+    try {
+      assertArrayEquals(content, file.readBytes());
+      // A second read reuses the open archive
+      assertArrayEquals(content, file.readBytes());
+    } finally {
+      file.close();
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package soot.jimple.spark.sets;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import soot.G;
+import soot.PhaseOptions;
+import soot.RefType;
+import soot.Scene;
+import soot.SootClass;
+import soot.jimple.spark.pag.AllocNode;
+import soot.jimple.spark.pag.Node;
+import soot.jimple.spark.pag.PAG;
+import soot.options.SparkOptions;
+
+public class RoaringPointsToSetTest {
+
+  private PAG pag;
+  private RefType object;
+  private final List<AllocNode> nodes = new ArrayList<AllocNode>();
+
+  @Before
+  public void setUp() {
+    G.reset();
+    SootClass objectClass = new SootClass("java.lang.Object");
+    Scene.v().addClass(objectClass);
+    object = objectClass.getType();
+    pag = new PAG(new SparkOptions(new HashMap<String, String>(PhaseOptions.v().getPhaseOptions("cg.spark"))));
+    // Enough nodes to span more than one chunk
+    for (int i = 0; i < 70000; i++) {
+      nodes.add(pag.makeAllocNode("site" + i, object, null));
+    }
+  }
+
+  private static TreeSet<Integer> numbers(PointsToSetInternal set) {
+    final TreeSet<Integer> ret = new TreeSet<Integer>();
+    set.forall(new P2SetVisitor() {
+      @Override
+      public void visit(Node n) {
+        ret.add(n.getNumber());
+      }
+    });
+    return ret;
+  }
+
+  @Test
+  public void testAgreesWithBitVectorSet() {
+    Random random = new Random(42);
+    for (int round = 0; round < 20; round++) {
+      // Sizes on both sides of the array/bitmap threshold
+      int count = round % 2 == 0 ? 50 : 9000;
+      RoaringPointsToSet roaring = new RoaringPointsToSet(object, pag);
+      BitPointsToSet bits = new BitPointsToSet(object, pag);
+      RoaringPointsToSet other = new RoaringPointsToSet(object, pag);
+      BitPointsToSet otherBits = new BitPointsToSet(object, pag);
+      RoaringPointsToSet exclude = new RoaringPointsToSet(object, pag);
+      BitPointsToSet excludeBits = new BitPointsToSet(object, pag);
+      for (int i = 0; i < count; i++) {
+        AllocNode n = nodes.get(random.nextInt(nodes.size()));
+        assertEquals(bits.add(n), roaring.add(n));
+        n = nodes.get(random.nextInt(nodes.size()));
+        other.add(n);
+        otherBits.add(n);
+        n = nodes.get(random.nextInt(nodes.size()));
+        exclude.add(n);
+        excludeBits.add(n);
+      }
+
+      assertEquals(bits.addAll(otherBits, excludeBits), roaring.addAll(other, exclude));
+      assertEquals(numbers(bits), numbers(roaring));
+      assertEquals(numbers(bits).size(), roaring.size());
+      assertFalse(roaring.addAll(other, exclude));
+      for (AllocNode n : nodes.subList(0, 1000)) {
+        assertEquals(bits.contains(n), roaring.contains(n));
+      }
+      assertEquals(bits.hasNonEmptyIntersection(excludeBits), roaring.hasNonEmptyIntersection(exclude));
+    }
+  }
+
+  @Test
+  public void testTypeFilteringAgreesWithHybridSet() {
+    SootClass objectClass = object.getSootClass();
+    objectClass.setResolvingLevel(SootClass.HIERARCHY);
+    RefType a = makeClass("A", objectClass);
+    RefType b = makeClass("B", objectClass);
+    List<AllocNode> mixed = new ArrayList<AllocNode>(nodes);
+    for (int i = 0; i < 20000; i++) {
+      mixed.add(pag.makeAllocNode("mixed" + i, i % 3 == 0 ? b : a, null));
+    }
+    pag.getTypeManager().makeTypeMask();
+
+    Random random = new Random(7);
+    for (int round = 0; round < 10; round++) {
+      // Sizes on both sides of the array/bitmap threshold, so that both the per-node and the type mask filtering run
+      int count = round % 2 == 0 ? 10 : 9000;
+      RoaringPointsToSet other = new RoaringPointsToSet(object, pag);
+      HybridPointsToSet otherHybrid = new HybridPointsToSet(object, pag);
+      RoaringPointsToSet exclude = new RoaringPointsToSet(object, pag);
+      HybridPointsToSet excludeHybrid = new HybridPointsToSet(object, pag);
+      for (int i = 0; i < count; i++) {
+        AllocNode n = mixed.get(random.nextInt(mixed.size()));
+        other.add(n);
+        otherHybrid.add(n);
+        if (i % 4 == 0) {
+          n = mixed.get(random.nextInt(mixed.size()));
+          exclude.add(n);
+          excludeHybrid.add(n);
+        }
+      }
+
+      // Only the nodes of type A can be stored in a set of type A
+      RoaringPointsToSet roaring = new RoaringPointsToSet(a, pag);
+      HybridPointsToSet hybrid = new HybridPointsToSet(a, pag);
+      assertEquals(hybrid.addAll(otherHybrid, excludeHybrid), roaring.addAll(other, exclude));
+      assertEquals(numbers(hybrid), numbers(roaring));
+      assertEquals(numbers(hybrid).size(), roaring.size());
+      roaring.forall(new P2SetVisitor() {
+        @Override
+        public void visit(Node n) {
+          assertEquals(a, n.getType());
+        }
+      });
+    }
+  }
+
+  private static RefType makeClass(String name, SootClass superclass) {
+    SootClass c = new SootClass(name);
+    c.setSuperclass(superclass);
+    Scene.v().addClass(c);
+    c.setResolvingLevel(SootClass.HIERARCHY);
+    return c.getType();
+  }
+
+  @Test
+  public void testIntersection() {
+    RoaringPointsToSet a = new RoaringPointsToSet(object, pag);
+    RoaringPointsToSet b = new RoaringPointsToSet(object, pag);
+    for (int i = 0; i < 5000; i++) {
+      a.add(nodes.get(2 * i));
+      b.add(nodes.get(2 * i + 1));
+    }
+    assertFalse(a.hasNonEmptyIntersection(b));
+    b.add(nodes.get(4000));
+    assertTrue(a.hasNonEmptyIntersection(b));
+    assertTrue(b.hasNonEmptyIntersection(a));
+  }
+}
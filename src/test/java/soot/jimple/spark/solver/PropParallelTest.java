@@ -0,0 +1,128 @@
+package soot.jimple.spark.solver;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import soot.G;
+import soot.PhaseOptions;
+import soot.RefType;
+import soot.Scene;
+import soot.SootClass;
+import soot.jimple.spark.pag.AllocNode;
+import soot.jimple.spark.pag.ArrayElement;
+import soot.jimple.spark.pag.Node;
+import soot.jimple.spark.pag.PAG;
+import soot.jimple.spark.pag.VarNode;
+import soot.jimple.spark.sets.P2SetVisitor;
+import soot.options.Options;
+import soot.options.SparkOptions;
+
+public class PropParallelTest {
+
+  private RefType object;
+
+  @Before
+  public void setUp() {
+    G.reset();
+    SootClass objectClass = new SootClass("java.lang.Object");
+    Scene.v().addClass(objectClass);
+    object = objectClass.getType();
+    Options.v().set_num_threads(4);
+  }
+
+  /**
+   * Builds a random PAG with assignments, field stores and field loads, and returns the variable nodes.
+   */
+  private List<VarNode> buildPAG(PAG pag, long seed) {
+    Random random = new Random(seed);
+    List<VarNode> vars = new ArrayList<VarNode>();
+    for (int i = 0; i < 500; i++) {
+      vars.add(pag.makeGlobalVarNode("var" + i, object));
+    }
+    for (int i = 0; i < 200; i++) {
+      AllocNode alloc = pag.makeAllocNode("site" + i, object, null);
+      pag.addEdge(alloc, vars.get(random.nextInt(vars.size())));
+    }
+    for (int i = 0; i < 700; i++) {
+      pag.addEdge(vars.get(random.nextInt(vars.size())), vars.get(random.nextInt(vars.size())));
+    }
+    for (int i = 0; i < 100; i++) {
+      VarNode base = vars.get(random.nextInt(vars.size()));
+      pag.addEdge(vars.get(random.nextInt(vars.size())), pag.makeFieldRefNode(base, ArrayElement.v()));
+      base = vars.get(random.nextInt(vars.size()));
+      pag.addEdge(pag.makeFieldRefNode(base, ArrayElement.v()), vars.get(random.nextInt(vars.size())));
+    }
+    return vars;
+  }
+
+  private Map<String, TreeSet<String>> solve(Propagator propagator, PAG pag, List<VarNode> vars) {
+    propagator.propagate();
+    Map<String, TreeSet<String>> ret = new HashMap<String, TreeSet<String>>();
+    for (VarNode v : vars) {
+      final TreeSet<String> sites = new TreeSet<String>();
+      v.getReplacement().getP2Set().forall(new P2SetVisitor() {
+        @Override
+        public void visit(Node n) {
+          sites.add(((AllocNode) n).getNewExpr().toString());
+        }
+      });
+      ret.put(v.getVariable().toString(), sites);
+    }
+    return ret;
+  }
+
+  private PAG newPAG() {
+    return new PAG(new SparkOptions(new HashMap<String, String>(PhaseOptions.v().getPhaseOptions("cg.spark"))));
+  }
+
+  @Test
+  public void testAgreesWithWorklist() {
+    for (long seed = 0; seed < 5; seed++) {
+      PAG expectedPAG = newPAG();
+      Map<String, TreeSet<String>> expected
+          = solve(new PropWorklist(expectedPAG), expectedPAG, buildPAG(expectedPAG, seed));
+      PAG actualPAG = newPAG();
+      Map<String, TreeSet<String>> actual = solve(new PropParallel(actualPAG), actualPAG, buildPAG(actualPAG, seed));
+
+      assertEquals(expected, actual);
+      // Make sure the random graph is not trivial
+      int total = 0;
+      for (TreeSet<String> sites : actual.values()) {
+        total += sites.size();
+      }
+      assertTrue(total > 1000);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package soot.jimple.toolkits.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import soot.G;
+import soot.Kind;
+import soot.SootMethod;
+import soot.Unit;
+import soot.VoidType;
+import soot.jimple.Jimple;
+import soot.util.queue.QueueReader;
+
+public class FrozenCallGraphTest {
+
+  private static <T> Set<T> toSet(Iterator<T> it) {
+    Set<T> ret = new HashSet<T>();
+    while (it.hasNext()) {
+      ret.add(it.next());
+    }
+    return ret;
+  }
+
+  @Test
+  public void testAgreesWithCallGraph() {
+    G.reset();
+    Random random = new Random(0);
+    List<SootMethod> methods = new ArrayList<SootMethod>();
+    List<Unit> units = new ArrayList<Unit>();
+    for (int i = 0; i < 50; i++) {
+      methods.add(new SootMethod("m" + i, Collections.emptyList(), VoidType.v()));
+      units.add(Jimple.v().newNopStmt());
+    }
+    // freezing empties the graph, so we compare with a copy
+    CallGraph cg = new CallGraph();
+    CallGraph toFreeze = new CallGraph();
+    for (int i = 0; i < 500; i++) {
+      int src = random.nextInt(methods.size());
+      int tgt = random.nextInt(methods.size());
+      cg.addEdge(new Edge(methods.get(src), units.get(src), methods.get(tgt), Kind.VIRTUAL));
+      toFreeze.addEdge(new Edge(methods.get(src), units.get(src), methods.get(tgt), Kind.VIRTUAL));
+    }
+    // Make sure that removed edges are not part of the frozen graph
+    cg.removeEdge(cg.iterator().next());
+    toFreeze.removeEdge(toFreeze.iterator().next());
+
+    FrozenCallGraph frozen = toFreeze.freeze();
+    assertEquals(0, toFreeze.size());
+    assertFalse(toFreeze.iterator().hasNext());
+    assertEquals(cg.size(), frozen.size());
+    assertEquals(toSet(cg.iterator()), toSet(frozen.iterator()));
+    assertEquals(toSet(cg.listener()), toSet(frozen.listener()));
+    assertEquals(toSet(cg.sourceMethods()), toSet(frozen.sourceMethods()));
+    for (Edge e : frozen) {
+      assertSame(e, e.nextByUnit());
+      assertSame(e, e.nextBySrc());
+      assertSame(e, e.nextByTgt());
+    }
+    for (int i = 0; i < methods.size(); i++) {
+      SootMethod m = methods.get(i);
+      Unit u = units.get(i);
+      assertEquals(toSet(cg.edgesOutOf(m)), toSet(frozen.edgesOutOf(m)));
+      assertEquals(toSet(cg.edgesInto(m)), toSet(frozen.edgesInto(m)));
+      assertEquals(toSet(cg.edgesOutOf(u)), toSet(frozen.edgesOutOf(u)));
+      assertEquals(cg.isEntryMethod(m), frozen.isEntryMethod(m));
+      for (SootMethod callee : methods) {
+        if (cg.edgesOutOf(u).hasNext()) {
+          assertEquals(cg.findEdge(u, callee), frozen.findEdge(u, callee));
+        } else {
+          assertNull(frozen.findEdge(u, callee));
+        }
+      }
+    }
+    assertEquals(false, frozen.newListener().hasNext());
+  }
+
+  @Test
+  public void testListenerKeepsInsertionOrder() {
+    G.reset();
+    SootMethod m = new SootMethod("m", Collections.emptyList(), VoidType.v());
+    CallGraph cg = new CallGraph();
+    List<Edge> added = new ArrayList<Edge>();
+    for (int i = 0; i < 10; i++) {
+      Edge e = new Edge(m, Jimple.v().newNopStmt(), m, Kind.STATIC);
+      cg.addEdge(e);
+      added.add(e);
+    }
+    FrozenCallGraph frozen = cg.freeze();
+
+    List<Edge> read = new ArrayList<Edge>();
+    QueueReader<Edge> reader = frozen.listener();
+    while (reader.hasNext()) {
+      read.add(reader.next());
+    }
+    assertEquals(added, read);
+    assertFalse(reader.clone().hasNext());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testListenerCannotRemove() {
+    G.reset();
+    SootMethod m = new SootMethod("m", Collections.emptyList(), VoidType.v());
+    CallGraph cg = new CallGraph();
+    cg.addEdge(new Edge(m, Jimple.v().newNopStmt(), m, Kind.STATIC));
+    QueueReader<Edge> reader = cg.freeze().listener();
+    reader.remove(reader.next());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testImmutable() {
+    G.reset();
+    SootMethod m = new SootMethod("m", Collections.emptyList(), VoidType.v());
+    CallGraph cg = new CallGraph();
+    cg.addEdge(new Edge(m, Jimple.v().newNopStmt(), m, Kind.STATIC));
+    cg.freeze().addEdge(new Edge(m, Jimple.v().newNopStmt(), m, Kind.STATIC));
+  }
+}
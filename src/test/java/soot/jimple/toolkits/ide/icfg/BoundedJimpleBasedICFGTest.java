@@ -0,0 +1,112 @@
+package soot.jimple.toolkits.ide.icfg;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import soot.G;
+import soot.Modifier;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.Type;
+import soot.Unit;
+import soot.VoidType;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+import soot.jimple.toolkits.callgraph.CallGraph;
+import soot.options.Options;
+import soot.toolkits.graph.DirectedGraph;
+
+public class BoundedJimpleBasedICFGTest {
+
+  private SootMethod main;
+
+  @Before
+  public void init() {
+    G.reset();
+    Options.v().set_prepend_classpath(true);
+    Scene.v().loadNecessaryClasses();
+
+    SootClass c = new SootClass("BoundedIcfgTarget", Modifier.PUBLIC);
+    c.setSuperclass(Scene.v().getObjectType().getSootClass());
+    Scene.v().addClass(c);
+    main = new SootMethod("main", Collections.<Type>emptyList(), VoidType.v(), Modifier.PUBLIC | Modifier.STATIC);
+    c.addMethod(main);
+
+    Jimple jimple = Jimple.v();
+    JimpleBody body = jimple.newBody(main);
+    body.getUnits().add(jimple.newNopStmt());
+    body.getUnits().add(jimple.newNopStmt());
+    body.getUnits().add(jimple.newReturnVoidStmt());
+    main.setActiveBody(body);
+
+    Scene.v().setCallGraph(new CallGraph());
+    Scene.v().setEntryPoints(Collections.singletonList(main));
+  }
+
+  @Test
+  public void testGraphsWithinBoundAreKept() {
+    BoundedJimpleBasedICFG icfg = new BoundedJimpleBasedICFG(false, false, 1000);
+    assertSame(icfg.getOrCreateUnitGraph(main), icfg.getOrCreateUnitGraph(main));
+    assertEquals(1, icfg.getCachedGraphCount());
+    assertEquals(0, icfg.getEvictionCount());
+    assertEquals(0, icfg.getRebuildCount());
+  }
+
+  @Test
+  public void testLargeBodyWithinBoundIsKept() {
+    // Guava only splits bounds of at least 40 into four segments, so the
+    // body needs more than ten units to exceed a segment's share
+    Unit first = main.getActiveBody().getUnits().getFirst();
+    for (int i = 0; i < 9; i++) {
+      main.getActiveBody().getUnits().insertBefore(Jimple.v().newNopStmt(), first);
+    }
+    BoundedJimpleBasedICFG icfg = new BoundedJimpleBasedICFG(false, false, 40);
+    assertSame(icfg.getOrCreateUnitGraph(main), icfg.getOrCreateUnitGraph(main));
+    assertEquals(1, icfg.getCachedGraphCount());
+    assertEquals(0, icfg.getEvictionCount());
+    assertEquals(0, icfg.getRebuildCount());
+  }
+
+  @Test
+  public void testGraphsBeyondBoundAreRebuilt() {
+    BoundedJimpleBasedICFG icfg = new BoundedJimpleBasedICFG(false, false, 1);
+    Unit first = main.getActiveBody().getUnits().getFirst();
+    Unit second = main.getActiveBody().getUnits().getSuccOf(first);
+
+    DirectedGraph<Unit> graph = icfg.getOrCreateUnitGraph(main);
+    assertEquals(Collections.singletonList(second), icfg.getSuccsOf(first));
+    assertEquals(graph.getTails(), icfg.getEndPointsOf(main));
+    assertTrue(icfg.getEvictionCount() > 0);
+    assertTrue(icfg.getRebuildCount() > 0);
+    assertEquals(0, icfg.getCachedGraphCount());
+  }
+}
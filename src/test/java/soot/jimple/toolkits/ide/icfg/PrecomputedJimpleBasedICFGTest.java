@@ -0,0 +1,143 @@
+package soot.jimple.toolkits.ide.icfg;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import soot.G;
+import soot.Kind;
+import soot.Modifier;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.Type;
+import soot.Unit;
+import soot.VoidType;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+import soot.jimple.Stmt;
+import soot.jimple.toolkits.callgraph.CallGraph;
+import soot.jimple.toolkits.callgraph.Edge;
+import soot.options.Options;
+
+public class PrecomputedJimpleBasedICFGTest {
+
+  private SootMethod main;
+  private SootMethod foo;
+  private List<Stmt> calls;
+
+  @Before
+  public void init() {
+    G.reset();
+    Options.v().set_prepend_classpath(true);
+    Scene.v().loadNecessaryClasses();
+
+    SootClass c = new SootClass("IcfgTarget", Modifier.PUBLIC);
+    c.setSuperclass(Scene.v().getObjectType().getSootClass());
+    Scene.v().addClass(c);
+    main = new SootMethod("main", Collections.<Type>emptyList(), VoidType.v(), Modifier.PUBLIC | Modifier.STATIC);
+    foo = new SootMethod("foo", Collections.<Type>emptyList(), VoidType.v(), Modifier.PUBLIC | Modifier.STATIC);
+    c.addMethod(main);
+    c.addMethod(foo);
+
+    Jimple jimple = Jimple.v();
+    JimpleBody fooBody = jimple.newBody(foo);
+    fooBody.getUnits().add(jimple.newReturnVoidStmt());
+    foo.setActiveBody(fooBody);
+
+    JimpleBody mainBody = jimple.newBody(main);
+    calls = new ArrayList<Stmt>();
+    for (int i = 0; i < 2; i++) {
+      Stmt call = jimple.newInvokeStmt(jimple.newStaticInvokeExpr(foo.makeRef()));
+      calls.add(call);
+      mainBody.getUnits().add(call);
+    }
+    mainBody.getUnits().add(jimple.newReturnVoidStmt());
+    main.setActiveBody(mainBody);
+
+    CallGraph cg = new CallGraph();
+    for (Stmt call : calls) {
+      cg.addEdge(new Edge(main, call, foo, Kind.STATIC));
+    }
+    Scene.v().setCallGraph(cg);
+    Scene.v().setEntryPoints(Collections.singletonList(main));
+  }
+
+  @Test
+  public void testAgreesWithLazyICFG() {
+    JimpleBasedInterproceduralCFG lazy = new JimpleBasedInterproceduralCFG(false);
+    PrecomputedJimpleBasedICFG precomputed = new PrecomputedJimpleBasedICFG(false, false, false, 2);
+
+    for (SootMethod m : Arrays.asList(main, foo)) {
+      assertEquals(lazy.getStartPointsOf(m), precomputed.getStartPointsOf(m));
+      assertEquals(lazy.getEndPointsOf(m), precomputed.getEndPointsOf(m));
+      assertEquals(lazy.getCallsFromWithin(m), precomputed.getCallsFromWithin(m));
+      assertEquals(new HashSet<Unit>(lazy.getCallersOf(m)), new HashSet<Unit>(precomputed.getCallersOf(m)));
+      assertEquals(lazy.getParameterRefs(m), precomputed.getParameterRefs(m));
+      assertSame(precomputed.getOrCreateUnitGraph(m), precomputed.getOrCreateUnitGraph(m));
+      for (Unit u : m.getActiveBody().getUnits()) {
+        assertSame(m, precomputed.getMethodOf(u));
+        assertEquals(lazy.getSuccsOf(u), precomputed.getSuccsOf(u));
+        assertEquals(lazy.getPredsOf(u), precomputed.getPredsOf(u));
+        assertEquals(lazy.isExitStmt(u), precomputed.isExitStmt(u));
+        assertEquals(lazy.getCalleesOfCallAt(u), precomputed.getCalleesOfCallAt(u));
+      }
+    }
+    assertEquals(new HashSet<Unit>(calls), new HashSet<Unit>(precomputed.getCallersOf(foo)));
+    assertEquals(Collections.singletonList(foo), precomputed.getCalleesOfCallAt(calls.get(0)));
+    assertTrue(precomputed.getReturnSitesOfCallAt(calls.get(0)).contains(calls.get(1)));
+  }
+
+  @Test
+  public void testReplacedBodyIsComputedLazily() {
+    PrecomputedJimpleBasedICFG precomputed = new PrecomputedJimpleBasedICFG(false, false, false, 1);
+    JimpleBody newBody = Jimple.v().newBody(foo);
+    newBody.getUnits().add(Jimple.v().newReturnVoidStmt());
+    foo.setActiveBody(newBody);
+    assertEquals(new ArrayList<Unit>(newBody.getUnits()), new ArrayList<Unit>(precomputed.getStartPointsOf(foo)));
+  }
+
+  @Test
+  public void testIncludePhantomCalleesCanBeChanged() {
+    SootMethod bar = new SootMethod("bar", Collections.<Type>emptyList(), VoidType.v(), Modifier.PUBLIC | Modifier.STATIC);
+    main.getDeclaringClass().addMethod(bar);
+    Scene.v().getCallGraph().addEdge(new Edge(main, calls.get(0), bar, Kind.STATIC));
+
+    PrecomputedJimpleBasedICFG precomputed = new PrecomputedJimpleBasedICFG(false, false, false, 1);
+    assertEquals(Collections.singletonList(foo), precomputed.getCalleesOfCallAt(calls.get(0)));
+    precomputed.setIncludePhantomCallees(true);
+    assertEquals(new HashSet<SootMethod>(Arrays.asList(foo, bar)),
+        new HashSet<SootMethod>(precomputed.getCalleesOfCallAt(calls.get(0))));
+  }
+}
@@ -0,0 +1,87 @@
+package soot.jimple.toolkits.scalar;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2020 Raja Vallee-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import soot.G;
+import soot.IntType;
+import soot.Local;
+import soot.Modifier;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.UnitPatchingChain;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+import soot.options.Options;
+
+/**
+ * Tests for the copy propagator.
+ */
+public class CopyPropagatorTest {
+
+  /**
+   * Initializes Soot.
+   */
+  @Before
+  public void initialize() {
+    G.reset();
+    Options.v().set_whole_program(true);
+    Scene.v().loadNecessaryClasses();
+  }
+
+  /**
+   * Tests that copying a local without any definition is reported as such when the body keeps no def-use index.
+   */
+  @Test
+  public void reportUseWithoutDefinition() {
+    SootClass cl = new SootClass("TestClass", Modifier.PUBLIC);
+    SootMethod method = new SootMethod("testMethod", Collections.emptyList(), IntType.v(), Modifier.PUBLIC | Modifier.STATIC);
+    cl.addMethod(method);
+    JimpleBody body = Jimple.v().newBody(method);
+    method.setActiveBody(body);
+
+    Local m = Jimple.v().newLocal("m", IntType.v());
+    body.getLocals().add(m);
+    Local x = Jimple.v().newLocal("x", IntType.v());
+    body.getLocals().add(x);
+
+    UnitPatchingChain units = body.getUnits();
+    units.add(Jimple.v().newAssignStmt(x, m));
+    units.add(Jimple.v().newReturnStmt(x));
+
+    try {
+      CopyPropagator.v().internalTransform(body, "jop.cp", Collections.emptyMap());
+      fail("Expected the missing definition to be reported");
+    } catch (RuntimeException e) {
+      assertEquals("Variable m used without definition!", e.getMessage());
+    }
+  }
+}
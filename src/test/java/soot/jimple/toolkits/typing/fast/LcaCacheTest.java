@@ -0,0 +1,53 @@
+package soot.jimple.toolkits.typing.fast;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2020 Raja Vallee-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.Test;
+
+import soot.G;
+import soot.Modifier;
+import soot.Scene;
+import soot.SootClass;
+import soot.Type;
+
+public class LcaCacheTest {
+
+  @Test
+  public void testCacheFollowsSceneState() {
+    G.reset();
+    ConcurrentMap<Long, Collection<Type>> lcas = LcaCache.v().getLcas();
+    assertSame(lcas, LcaCache.v().getLcas());
+    // looking up the cache must not build the fast hierarchy
+    assertFalse(Scene.v().hasFastHierarchy());
+
+    Scene.v().addClass(new SootClass("LcaCacheTestClass", Modifier.PUBLIC));
+    assertNotSame(lcas, LcaCache.v().getLcas());
+  }
+}
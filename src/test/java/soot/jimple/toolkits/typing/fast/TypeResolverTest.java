@@ -0,0 +1,146 @@
+package soot.jimple.toolkits.typing.fast;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import soot.G;
+import soot.IntType;
+import soot.Local;
+import soot.Modifier;
+import soot.RefType;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.Type;
+import soot.UnknownType;
+import soot.VoidType;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+import soot.jimple.StringConstant;
+import soot.options.Options;
+
+public class TypeResolverTest {
+
+  @Before
+  public void init() {
+    G.reset();
+    Options.v().set_prepend_classpath(true);
+    Scene.v().loadNecessaryClasses();
+  }
+
+  @Test
+  public void testTypingCopiesAreIndependent() {
+    List<Local> locals = new ArrayList<Local>();
+    for (int i = 0; i < 40; i++) {
+      locals.add(Jimple.v().newLocal("l" + i, UnknownType.v()));
+    }
+    Local a = locals.get(0), b = locals.get(1);
+    RefType string = RefType.v("java.lang.String");
+
+    Typing tg = new Typing(locals);
+    tg.set(a, IntType.v());
+    Typing copy = new Typing(tg);
+    assertSame(tg.getMap(), copy.getMap());
+
+    copy.set(a, string);
+    tg.set(b, string);
+    assertEquals(IntType.v(), tg.get(a));
+    assertEquals(string, copy.get(a));
+    assertEquals(BottomType.v(), copy.get(b));
+    assertEquals(string, tg.get(b));
+
+    // Enough changes to fold the overlay into a map of its own
+    for (Local l : locals) {
+      copy.set(l, string);
+    }
+    for (Local l : locals) {
+      assertEquals(string, copy.get(l));
+    }
+    assertEquals(IntType.v(), tg.get(a));
+    assertEquals(BottomType.v(), tg.get(locals.get(39)));
+    assertEquals(40, copy.getMap().size());
+  }
+
+  @Test
+  public void testLcasAreCached() {
+    RefType string = RefType.v("java.lang.String");
+    RefType integer = RefType.v("java.lang.Integer");
+
+    Collection<Type> lcas = BytecodeHierarchy.lcas_(string, integer);
+    assertTrue(lcas.contains(RefType.v("java.io.Serializable")));
+    assertTrue(lcas.contains(RefType.v("java.lang.Comparable")));
+    assertSame(lcas, BytecodeHierarchy.lcas_(string, integer));
+
+    // A new class hierarchy must not see answers computed for the old one
+    Scene.v().releaseFastHierarchy();
+    Collection<Type> recomputed = BytecodeHierarchy.lcas_(string, integer);
+    assertNotSame(lcas, recomputed);
+    assertEquals(lcas, recomputed);
+  }
+
+  @Test
+  public void testMaxTypings() {
+    for (int maxTypings : new int[] { 0, 1 }) {
+      Local x = typeAmbiguousLocal(maxTypings);
+      assertTrue(BytecodeHierarchy.ancestor_(x.getType(), RefType.v("java.lang.String")));
+      assertTrue(BytecodeHierarchy.ancestor_(x.getType(), RefType.v("java.lang.Integer")));
+    }
+  }
+
+  /**
+   * Types a local that holds either a String or an Integer, for which there are several incomparable typings.
+   */
+  private static Local typeAmbiguousLocal(int maxTypings) {
+    SootClass c = new SootClass("TypeResolverTarget" + maxTypings, Modifier.PUBLIC);
+    c.setSuperclass(Scene.v().getObjectType().getSootClass());
+    Scene.v().addClass(c);
+    SootMethod m = new SootMethod("m", Collections.<Type>emptyList(), VoidType.v(), Modifier.PUBLIC | Modifier.STATIC);
+    c.addMethod(m);
+
+    Jimple jimple = Jimple.v();
+    JimpleBody body = jimple.newBody(m);
+    m.setActiveBody(body);
+    Local x = jimple.newLocal("x", UnknownType.v());
+    body.getLocals().add(x);
+    body.getUnits().add(jimple.newAssignStmt(x, StringConstant.v("s")));
+    body.getUnits().add(jimple.newAssignStmt(x, jimple.newNewExpr(RefType.v("java.lang.Integer"))));
+    body.getUnits().add(jimple.newReturnVoidStmt());
+
+    TypeResolver resolver = new TypeResolver(body);
+    resolver.setMaxTypings(maxTypings);
+    resolver.inferTypes();
+    return x;
+  }
+}
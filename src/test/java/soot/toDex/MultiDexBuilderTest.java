@@ -0,0 +1,166 @@
+package soot.toDex;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.jf.dexlib2.AccessFlags;
+import org.jf.dexlib2.Opcodes;
+import org.jf.dexlib2.dexbacked.DexBackedDexFile;
+import org.jf.dexlib2.iface.ClassDef;
+import org.jf.dexlib2.immutable.ImmutableClassDef;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.ByteStreams;
+
+public class MultiDexBuilderTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void testZipMatchesFolderOutput() throws Exception {
+    final Opcodes opcodes = Opcodes.forApi(26);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+      assertEquals(1, newBuilder(opcodes).writeTo(zip, 2).size());
+    }
+
+    List<File> files = newBuilder(opcodes).writeTo(tmp.getRoot().getPath());
+    assertEquals(1, files.size());
+    final byte[] expected = Files.readAllBytes(files.get(0).toPath());
+
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      ZipEntry entry = zip.getNextEntry();
+      assertEquals("classes.dex", entry.getName());
+      final byte[] actual = ByteStreams.toByteArray(zip);
+      assertArrayEquals(expected, actual);
+      assertEquals(3, new DexBackedDexFile(opcodes, actual).getClasses().size());
+      assertNull(zip.getNextEntry());
+    }
+  }
+
+  @Test
+  public void testZipWithSeveralDexFiles() throws Exception {
+    final Opcodes opcodes = Opcodes.forApi(26);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+      assertEquals(Arrays.asList("classes.dex", "classes2.dex", "classes3.dex"),
+          newBuilder(opcodes, 5, 2).writeTo(zip, 2));
+    }
+
+    List<File> files = newBuilder(opcodes, 5, 2).writeTo(tmp.getRoot().getPath(), 2);
+    assertEquals(3, files.size());
+
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      for (int i = 0; i < files.size(); i++) {
+        ZipEntry entry = zip.getNextEntry();
+        assertEquals(files.get(i).getName(), entry.getName());
+        final byte[] actual = ByteStreams.toByteArray(zip);
+        assertArrayEquals(Files.readAllBytes(files.get(i).toPath()), actual);
+
+        // the classes are distributed over the dex files in the order in which they were interned
+        List<String> types = new ArrayList<String>();
+        for (ClassDef c : new DexBackedDexFile(opcodes, actual).getClasses()) {
+          types.add(c.getType());
+        }
+        List<String> expected = new ArrayList<String>();
+        for (int j = i * 2; j < Math.min(i * 2 + 2, 5); j++) {
+          expected.add("Lfoo/C" + j + ";");
+        }
+        assertEquals(expected, types);
+      }
+      assertNull(zip.getNextEntry());
+    }
+  }
+
+  private static MultiDexBuilder newBuilder(Opcodes opcodes) {
+    MultiDexBuilder builder = new MultiDexBuilder(opcodes);
+    for (int i = 0; i < 3; i++) {
+      builder.internClass(newClass("Lfoo/C" + i + ";"));
+    }
+    return builder;
+  }
+
+  private static MultiDexBuilder newBuilder(Opcodes opcodes, int classCount, int classesPerDex) {
+    MultiDexBuilder builder = new SmallMultiDexBuilder(opcodes, classesPerDex);
+    for (int i = 0; i < classCount; i++) {
+      builder.internClass(newClass("Lfoo/C" + i + ";"));
+    }
+    return builder;
+  }
+
+  private static ClassDef newClass(String type) {
+    return new ImmutableClassDef(type, AccessFlags.PUBLIC.getValue(), "Ljava/lang/Object;", new ArrayList<String>(), null,
+        null, null, null);
+  }
+
+  /**
+   * Starts a new dex file after the given number of classes, so that several dex files can be tested without having to
+   * exceed the real limits of the dex format.
+   */
+  private static class SmallMultiDexBuilder extends MultiDexBuilder {
+
+    private final int classesPerDex;
+    private int classesInCurPool;
+
+    SmallMultiDexBuilder(Opcodes opcodes, int classesPerDex) {
+      super(opcodes);
+      this.classesPerDex = classesPerDex;
+    }
+
+    @Override
+    protected void newDexPool() {
+      super.newDexPool();
+      classesInCurPool = 0;
+    }
+
+    @Override
+    public void internClass(ClassDef clz) {
+      super.internClass(clz);
+      classesInCurPool++;
+    }
+
+    @Override
+    protected boolean hasOverflowed() {
+      return classesInCurPool >= classesPerDex;
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package soot.toolkits.exceptions;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import soot.AnySubType;
+import soot.G;
+import soot.RefType;
+import soot.Scene;
+
+public class ThrowableTypeIndexTest {
+
+  @BeforeClass
+  public static void setUp() {
+    G.reset();
+    Scene.v().loadBasicClasses();
+  }
+
+  private static RefType type(String name) {
+    return Scene.v().getRefType(name);
+  }
+
+  @Test
+  public void testSubclassesAreContiguous() {
+    ThrowableTypeIndex index = ThrowableSet.Manager.v().getTypeIndex();
+    int throwable = index.indexOf(type("java.lang.Throwable"));
+    int exception = index.indexOf(type("java.lang.Exception"));
+    int runtime = index.indexOf(type("java.lang.RuntimeException"));
+    int arithmetic = index.indexOf(type("java.lang.ArithmeticException"));
+    int error = index.indexOf(type("java.lang.Error"));
+
+    assertEquals(0, throwable);
+    assertEquals(index.size() - 1, index.lastSubclassOf(throwable));
+    assertEquals(-1, index.indexOf(type("java.lang.Object")));
+    assertEquals(runtime, index.parentOf(arithmetic));
+    assertTrue(index.isSubclass(arithmetic, exception));
+    assertTrue(index.isSubclass(arithmetic, arithmetic));
+    assertFalse(index.isSubclass(exception, arithmetic));
+    assertFalse(index.isSubclass(arithmetic, error));
+    assertTrue(index.canStoreType(type("java.lang.Error"), type("java.lang.Object")));
+  }
+
+  @Test
+  public void testIndexFollowsHierarchy() {
+    ThrowableTypeIndex index = ThrowableSet.Manager.v().getTypeIndex();
+    assertSame(index, ThrowableSet.Manager.v().getTypeIndex());
+    Scene.v().releaseFastHierarchy();
+    assertTrue(index != ThrowableSet.Manager.v().getTypeIndex());
+  }
+
+  @Test
+  public void testCatchableAs() {
+    ThrowableSet.Manager mgr = ThrowableSet.Manager.v();
+    ThrowableSet set = mgr.EMPTY.add(mgr.ARITHMETIC_EXCEPTION).add(AnySubType.v(type("java.lang.LinkageError")));
+
+    assertTrue(set.catchableAs(type("java.lang.Throwable")));
+    assertTrue(set.catchableAs(type("java.lang.Exception")));
+    assertTrue(set.catchableAs(mgr.RUNTIME_EXCEPTION));
+    assertTrue(set.catchableAs(mgr.ARITHMETIC_EXCEPTION));
+    assertFalse(set.catchableAs(mgr.NULL_POINTER_EXCEPTION));
+    assertTrue(set.catchableAs(type("java.lang.Error")));
+    assertTrue(set.catchableAs(type("java.lang.VerifyError")));
+    assertFalse(set.catchableAs(type("java.lang.VirtualMachineError")));
+
+    ThrowableSet uncaught = set.whichCatchableAs(type("java.lang.VerifyError")).getUncaught();
+    assertFalse(uncaught.catchableAs(type("java.lang.VerifyError")));
+    assertTrue(uncaught.catchableAs(type("java.lang.LinkageError")));
+    assertTrue(uncaught.catchableAs(mgr.ARITHMETIC_EXCEPTION));
+  }
+
+  @Test
+  public void testWhichCatchableAsIsMemoized() {
+    ThrowableSet.Manager mgr = ThrowableSet.Manager.v();
+    ThrowableSet set = mgr.EMPTY.add(mgr.ARITHMETIC_EXCEPTION).add(AnySubType.v(type("java.lang.LinkageError")));
+
+    ThrowableSet.Pair first = set.whichCatchableAs(mgr.RUNTIME_EXCEPTION);
+    assertEquals(mgr.EMPTY.add(mgr.ARITHMETIC_EXCEPTION), first.getCaught());
+    assertEquals(mgr.EMPTY.add(AnySubType.v(type("java.lang.LinkageError"))), first.getUncaught());
+    assertSame(first, set.whichCatchableAs(mgr.RUNTIME_EXCEPTION));
+  }
+}
@@ -0,0 +1,130 @@
+package soot.toolkits.graph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import soot.G;
+import soot.IntType;
+import soot.Local;
+import soot.Modifier;
+import soot.RefType;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.Unit;
+import soot.jimple.IntConstant;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+import soot.jimple.Stmt;
+import soot.toolkits.exceptions.ThrowAnalysis;
+
+public class CompactExceptionalUnitGraphTest {
+
+  private JimpleBody body;
+  private ThrowAnalysis throwAnalysis;
+
+  @Before
+  public void initialize() {
+    G.reset();
+    Scene.v().loadNecessaryClasses();
+    throwAnalysis = Scene.v().getDefaultThrowAnalysis();
+
+    SootClass cl = new SootClass("TestClass", Modifier.PUBLIC);
+    SootMethod method = new SootMethod("testMethod", Collections.singletonList(IntType.v()), IntType.v(),
+        Modifier.PUBLIC | Modifier.STATIC);
+    cl.addMethod(method);
+    body = Jimple.v().newBody(method);
+    method.setActiveBody(body);
+
+    // a = @parameter0; b = 0; try { b = 10 / a; b = b + 1; } catch (Throwable e) { b = -1; } return b
+    Local a = Jimple.v().newLocal("a", IntType.v());
+    Local b = Jimple.v().newLocal("b", IntType.v());
+    Local e = Jimple.v().newLocal("e", RefType.v("java.lang.Throwable"));
+    body.getLocals().add(a);
+    body.getLocals().add(b);
+    body.getLocals().add(e);
+    Stmt ret = Jimple.v().newReturnStmt(b);
+    Stmt begin = Jimple.v().newAssignStmt(b, Jimple.v().newDivExpr(IntConstant.v(10), a));
+    Stmt end = Jimple.v().newGotoStmt(ret);
+    Stmt handler = Jimple.v().newIdentityStmt(e, Jimple.v().newCaughtExceptionRef());
+    body.getUnits().add(Jimple.v().newIdentityStmt(a, Jimple.v().newParameterRef(IntType.v(), 0)));
+    body.getUnits().add(Jimple.v().newAssignStmt(b, IntConstant.v(0)));
+    body.getUnits().add(begin);
+    body.getUnits().add(Jimple.v().newAssignStmt(b, Jimple.v().newAddExpr(b, IntConstant.v(1))));
+    body.getUnits().add(end);
+    body.getUnits().add(handler);
+    body.getUnits().add(Jimple.v().newAssignStmt(b, IntConstant.v(-1)));
+    body.getUnits().add(ret);
+    body.getTraps().add(Jimple.v().newTrap(Scene.v().getSootClass("java.lang.Throwable"), begin, end, handler));
+  }
+
+  @Test
+  public void testSameGraphAsExceptionalUnitGraph() {
+    for (boolean omit : new boolean[] { false, true }) {
+      ExceptionalUnitGraph expected = new ExceptionalUnitGraph(body, throwAnalysis, omit);
+      assertSameGraph(expected, new CompactExceptionalUnitGraph(body, throwAnalysis, omit));
+      CompactExceptionalUnitGraph other = new CompactExceptionalUnitGraph(body, throwAnalysis, !omit);
+      assertSameGraph(expected, other.withOmitExceptingUnitEdges(omit));
+    }
+  }
+
+  @Test
+  public void testWithoutTraps() {
+    body.getTraps().clear();
+    CompactExceptionalUnitGraph graph = new CompactExceptionalUnitGraph(body, throwAnalysis, false);
+    assertSameGraph(new ExceptionalUnitGraph(body, throwAnalysis, false), graph);
+    assertSame(graph, graph.withOmitExceptingUnitEdges(true));
+    for (Unit u : body.getUnits()) {
+      assertEquals(u, graph.getUnit(graph.getNumber(u)));
+    }
+  }
+
+  private static void assertSameGraph(ExceptionalUnitGraph expected, CompactExceptionalUnitGraph actual) {
+    assertEquals(expected.size(), actual.size());
+    assertSameElements(expected.getHeads(), actual.getHeads());
+    assertSameElements(expected.getTails(), actual.getTails());
+    for (Unit u : expected.getBody().getUnits()) {
+      assertSameElements(expected.getSuccsOf(u), actual.getSuccsOf(u));
+      assertSameElements(expected.getPredsOf(u), actual.getPredsOf(u));
+      assertSameElements(expected.getUnexceptionalSuccsOf(u), actual.getUnexceptionalSuccsOf(u));
+      assertSameElements(expected.getUnexceptionalPredsOf(u), actual.getUnexceptionalPredsOf(u));
+      assertSameElements(expected.getExceptionalSuccsOf(u), actual.getExceptionalSuccsOf(u));
+      assertSameElements(expected.getExceptionalPredsOf(u), actual.getExceptionalPredsOf(u));
+      assertEquals(expected.getExceptionDests(u).toString(), actual.getExceptionDests(u).toString());
+    }
+  }
+
+  private static void assertSameElements(List<Unit> expected, List<Unit> actual) {
+    assertEquals(expected.size(), actual.size());
+    assertEquals(new HashSet<Unit>(expected), new HashSet<Unit>(actual));
+  }
+}
@@ -0,0 +1,154 @@
+package soot.toolkits.scalar;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import soot.G;
+import soot.IntType;
+import soot.Local;
+import soot.Modifier;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.Unit;
+import soot.jimple.IntConstant;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+import soot.jimple.Stmt;
+import soot.toolkits.graph.ExceptionalUnitGraph;
+import soot.toolkits.graph.UnitGraph;
+import soot.toolkits.scalar.SimpleLocalDefs.FlowAnalysisMode;
+
+public class BitVectorFlowAnalysisTest {
+
+  private UnitGraph graph;
+  private Local a;
+  private Local b;
+  private Unit identity;
+  private Unit init;
+  private Stmt loop;
+  private Unit add;
+  private Unit decrement;
+  private Stmt ret;
+
+  @Before
+  public void initialize() {
+    G.reset();
+    Scene.v().loadNecessaryClasses();
+
+    SootClass cl = new SootClass("TestClass", Modifier.PUBLIC);
+    SootMethod method = new SootMethod("testMethod", Collections.singletonList(IntType.v()), IntType.v(), Modifier.PUBLIC);
+    cl.addMethod(method);
+    JimpleBody body = Jimple.v().newBody(method);
+    method.setActiveBody(body);
+
+    // a = @parameter0; b = 0; loop: if a == 0 goto ret; b = b + a; a = a - 1; goto loop; ret: return b
+    a = Jimple.v().newLocal("a", IntType.v());
+    b = Jimple.v().newLocal("b", IntType.v());
+    body.getLocals().add(a);
+    body.getLocals().add(b);
+    identity = Jimple.v().newIdentityStmt(a, Jimple.v().newParameterRef(IntType.v(), 0));
+    init = Jimple.v().newAssignStmt(b, IntConstant.v(0));
+    ret = Jimple.v().newReturnStmt(b);
+    loop = Jimple.v().newIfStmt(Jimple.v().newEqExpr(a, IntConstant.v(0)), ret);
+    add = Jimple.v().newAssignStmt(b, Jimple.v().newAddExpr(b, a));
+    decrement = Jimple.v().newAssignStmt(a, Jimple.v().newSubExpr(a, IntConstant.v(1)));
+    body.getUnits().add(identity);
+    body.getUnits().add(init);
+    body.getUnits().add(loop);
+    body.getUnits().add(add);
+    body.getUnits().add(decrement);
+    body.getUnits().add(Jimple.v().newGotoStmt(loop));
+    body.getUnits().add(ret);
+
+    graph = new ExceptionalUnitGraph(body);
+  }
+
+  @Test
+  public void testLiveLocals() {
+    SimpleLiveLocals live = new SimpleLiveLocals(graph);
+    assertEquals(Collections.singletonList(a), live.getLiveLocalsBefore(init));
+    assertEquals(new HashSet<Local>(Arrays.asList(a, b)), new HashSet<Local>(live.getLiveLocalsBefore(loop)));
+    assertEquals(new HashSet<Local>(Arrays.asList(a, b)), new HashSet<Local>(live.getLiveLocalsAfter(decrement)));
+    assertEquals(Collections.singletonList(b), live.getLiveLocalsBefore(ret));
+    assertTrue(live.getLiveLocalsAfter(ret).isEmpty());
+  }
+
+  @Test
+  public void testReachingDefinitions() {
+    LocalDefs defs = new SimpleLocalDefs(graph, FlowAnalysisMode.OmitSSA);
+    assertEquals(new HashSet<Unit>(Arrays.asList(init, add)), new HashSet<Unit>(defs.getDefsOfAt(b, ret)));
+    assertEquals(new HashSet<Unit>(Arrays.asList(identity, decrement)), new HashSet<Unit>(defs.getDefsOfAt(a, loop)));
+    assertEquals(Collections.singletonList(add), defs.getDefsOfAt(b, decrement));
+    assertEquals(Collections.singletonList(identity), defs.getDefsOfAt(a, init));
+  }
+
+  @Test
+  public void testInitAnalysis() {
+    InitAnalysis analysis = new InitAnalysis(graph);
+    assertTrue(analysis.isInitializedBefore(init, a));
+    assertFalse(analysis.isInitializedBefore(init, b));
+    assertTrue(analysis.isInitializedBefore(ret, b));
+    assertFalse(analysis.getFlowBefore(identity).contains(a));
+    assertTrue(analysis.getFlowAfter(identity).contains(a));
+  }
+
+  @Test
+  public void testMustAnalysisOnLoop() {
+    // a fact per local, generated by its definitions: must-reach like InitAnalysis, but killed on every use of a
+    BitVectorFlowAnalysis<Unit> analysis = new BitVectorFlowAnalysis<Unit>(graph, 2, true, true) {
+      {
+        doAnalysis();
+      }
+
+      @Override
+      protected void computeTransfer(Unit unit, Transfer transfer) {
+        if (unit == identity || unit == decrement) {
+          transfer.gen(0);
+        } else if (unit == init || unit == add) {
+          transfer.gen(1);
+        }
+        if (unit == loop) {
+          transfer.kill(0);
+        }
+      }
+    };
+    assertTrue(analysis.isSetBefore(loop, 0));
+    assertFalse(analysis.isSetAfter(loop, 0));
+    assertFalse(analysis.isSetBefore(add, 0));
+    assertTrue(analysis.isSetBefore(add, 1));
+    assertEquals(1, analysis.nextSetBitBefore(ret, 0));
+    assertEquals(-1, analysis.nextSetBitBefore(identity, 0));
+    assertEquals(2, analysis.size());
+  }
+}
@@ -0,0 +1,164 @@
+package soot.toolkits.scalar;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import soot.G;
+import soot.IntType;
+import soot.Local;
+import soot.Modifier;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.Unit;
+import soot.ValueBox;
+import soot.jimple.AssignStmt;
+import soot.jimple.IfStmt;
+import soot.jimple.IntConstant;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+import soot.jimple.Stmt;
+import soot.toolkits.graph.ExceptionalUnitGraph;
+
+public class LocalDefUseIndexTest {
+
+  private JimpleBody body;
+  private Local a;
+  private Local b;
+  private Unit identity;
+  private AssignStmt assign;
+  private Stmt ret;
+
+  @Before
+  public void initialize() {
+    G.reset();
+    Scene.v().loadNecessaryClasses();
+
+    SootClass cl = new SootClass("TestClass", Modifier.PUBLIC);
+    SootMethod method = new SootMethod("testMethod", Collections.singletonList(IntType.v()), IntType.v(), Modifier.PUBLIC);
+    cl.addMethod(method);
+    body = Jimple.v().newBody(method);
+    method.setActiveBody(body);
+
+    // a = @parameter0; b = a + 1; return b
+    a = Jimple.v().newLocal("a", IntType.v());
+    b = Jimple.v().newLocal("b", IntType.v());
+    body.getLocals().add(a);
+    body.getLocals().add(b);
+    identity = Jimple.v().newIdentityStmt(a, Jimple.v().newParameterRef(IntType.v(), 0));
+    assign = Jimple.v().newAssignStmt(b, Jimple.v().newAddExpr(a, IntConstant.v(1)));
+    ret = Jimple.v().newReturnStmt(b);
+    body.getUnits().add(identity);
+    body.getUnits().add(assign);
+    body.getUnits().add(ret);
+  }
+
+  @Test
+  public void testFactoriesUseIndex() {
+    assertNull(body.getDefUseIndex());
+    LocalDefUseIndex index = body.enableDefUseIndex();
+    assertSame(index, LocalDefs.Factory.newLocalDefs(body));
+    assertSame(index, LocalUses.Factory.newLocalUses(body));
+
+    body.disableDefUseIndex();
+    assertNull(body.getDefUseIndex());
+    assertNull(body.getUnits().getObserver());
+    assertTrue(LocalDefs.Factory.newLocalDefs(body) instanceof SimpleLocalDefs);
+  }
+
+  @Test
+  public void testIndexFollowsChanges() {
+    LocalDefUseIndex index = body.enableDefUseIndex();
+    assertEquals(Collections.singletonList(identity), index.getDefsOfAt(a, assign));
+    assertEquals(1, index.getUsesOf(identity).size());
+    assertSame(assign, index.getUsesOf(identity).get(0).getUnit());
+
+    // propagate the constant into the return statement
+    ret.getUseBoxes().get(0).setValue(IntConstant.v(0));
+    assertTrue(index.getUsesOf(b).isEmpty());
+    assertTrue(index.getUsesOf(assign).isEmpty());
+
+    // replace the right-hand side, which adds a second use of a
+    assign.setRightOp(Jimple.v().newMulExpr(a, a));
+    assertEquals(2, index.getUsesOf(identity).size());
+
+    // redefine a on the way
+    Unit redefine = Jimple.v().newAssignStmt(a, IntConstant.v(2));
+    body.getUnits().insertBefore(redefine, assign);
+    assertEquals(2, index.getDefsOf(a).size());
+    assertEquals(Collections.singletonList(redefine), index.getDefsOfAt(a, assign));
+    assertTrue(index.getUsesOf(identity).isEmpty());
+    assertEquals(2, index.getUsesOf(redefine).size());
+
+    body.getUnits().remove(redefine);
+    assertEquals(Collections.singletonList(identity), index.getDefsOfAt(a, assign));
+    assertEquals(2, index.getUsesOf(identity).size());
+
+    assertSameAsSimpleAnalyses(index);
+    body.disableDefUseIndex();
+  }
+
+  @Test
+  public void testFlowAnalysisIsInvalidated() {
+    // if a == 0 goto b = a + 1; a = 2; b = a + 1
+    Unit redefine = Jimple.v().newAssignStmt(a, IntConstant.v(2));
+    IfStmt branch = Jimple.v().newIfStmt(Jimple.v().newEqExpr(a, IntConstant.v(0)), assign);
+    body.getUnits().insertBefore(branch, assign);
+    body.getUnits().insertBefore(redefine, assign);
+    LocalDefUseIndex index = body.enableDefUseIndex();
+    assertEquals(2, index.getDefCount(a));
+    assertEquals(new HashSet<Unit>(Arrays.asList(identity, redefine)), new HashSet<Unit>(index.getDefsOfAt(a, assign)));
+
+    // branch targets are not observed
+    branch.setTarget(ret);
+    index.invalidateFlowAnalysis();
+    assertEquals(Collections.singletonList(redefine), index.getDefsOfAt(a, assign));
+
+    assertSameAsSimpleAnalyses(index);
+    body.disableDefUseIndex();
+  }
+
+  private void assertSameAsSimpleAnalyses(LocalDefUseIndex index) {
+    LocalDefs defs = new SimpleLocalDefs(new ExceptionalUnitGraph(body));
+    LocalUses uses = new SimpleLocalUses(body, defs);
+    for (Unit u : body.getUnits()) {
+      for (ValueBox vb : u.getUseBoxes()) {
+        if (vb.getValue() instanceof Local) {
+          Local l = (Local) vb.getValue();
+          assertEquals(defs.getDefsOfAt(l, u), index.getDefsOfAt(l, u));
+        }
+      }
+      assertEquals(new HashSet<UnitValueBoxPair>(uses.getUsesOf(u)), new HashSet<UnitValueBoxPair>(index.getUsesOf(u)));
+    }
+  }
+}
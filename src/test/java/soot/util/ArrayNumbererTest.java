@@ -0,0 +1,95 @@
+package soot.util;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2018 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ArrayNumbererTest {
+
+  private static class Item implements Numberable {
+    private int number = 0;
+
+    @Override
+    public void setNumber(int number) {
+      this.number = number;
+    }
+
+    @Override
+    public int getNumber() {
+      return number;
+    }
+  }
+
+  @Test
+  public void testRemovedNumberIsReused() {
+    ArrayNumberer<Item> numberer = new ArrayNumberer<Item>();
+    Item a = new Item();
+    Item b = new Item();
+    Item c = new Item();
+    numberer.add(a);
+    numberer.add(b);
+    assertEquals(1, a.getNumber());
+    assertEquals(2, b.getNumber());
+
+    numberer.remove(a);
+    numberer.add(c);
+    assertEquals(1, c.getNumber());
+    assertSame(c, numberer.get(1));
+    assertSame(b, numberer.get(2));
+  }
+
+  @Test
+  public void testConcurrentAdd() throws InterruptedException {
+    final ArrayNumberer<Item> numberer = new ArrayNumberer<Item>();
+    final List<Item> items = new ArrayList<Item>();
+    for (int i = 0; i < 10000; i++) {
+      items.add(new Item());
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    for (final Item item : items) {
+      executor.execute(() -> numberer.add(item));
+    }
+    executor.shutdown();
+    executor.awaitTermination(1, TimeUnit.MINUTES);
+
+    Set<Integer> numbers = new HashSet<Integer>();
+    for (Item item : items) {
+      numbers.add(item.getNumber());
+      assertSame(item, numberer.get(item.getNumber()));
+    }
+    assertEquals(items.size(), numbers.size());
+    assertEquals(items.size(), numberer.size());
+  }
+}